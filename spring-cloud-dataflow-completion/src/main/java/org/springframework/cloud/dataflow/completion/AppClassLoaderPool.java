@@ -0,0 +1,238 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.completion;
+
+import java.io.IOException;
+import java.net.URLClassLoader;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.springframework.cloud.dataflow.configuration.metadata.ApplicationConfigurationMetadataResolver;
+import org.springframework.core.io.Resource;
+import org.springframework.util.Assert;
+import org.springframework.util.CustomizableThreadCreator;
+
+/**
+ * Pool of the ClassLoaders created by an {@link ApplicationConfigurationMetadataResolver}
+ * for apps, keyed by app metadata resource, so that they are not created and closed again
+ * for every completion.
+ * <p>
+ * ClassLoaders are reference counted and only closed once no longer in use. Those that
+ * have not been used for a while are closed by a background sweep, so that idle apps do
+ * not keep their archives open, and the least recently used ones are closed when more
+ * than a maximum number of them are pooled.
+ */
+class AppClassLoaderPool {
+
+	private static final int DEFAULT_MAX_SIZE = 10;
+
+	private static final long DEFAULT_MAX_IDLE_TIME = 60_000L;
+
+	private final ApplicationConfigurationMetadataResolver metadataResolver;
+
+	private final int maxSize;
+
+	private final long maxIdleTime;
+
+	private final Map<String, PooledClassLoader> classLoaders = new LinkedHashMap<>(16, 0.75f, true);
+
+	/**
+	 * Closes idle ClassLoaders, or {@literal null} if they are closed as soon as released.
+	 */
+	private final ScheduledExecutorService sweeper;
+
+	AppClassLoaderPool(ApplicationConfigurationMetadataResolver metadataResolver) {
+		this(metadataResolver, DEFAULT_MAX_SIZE, DEFAULT_MAX_IDLE_TIME);
+	}
+
+	/**
+	 * Create a pool keeping at most {@code maxSize} ClassLoaders, unless more are in use at
+	 * the same time, and closing those unused for more than {@code maxIdleTime}. Idle
+	 * ClassLoaders are looked for every {@code maxIdleTime}, so they may stay open up to
+	 * twice that long.
+	 *
+	 * @param metadataResolver the resolver used to create app ClassLoaders
+	 * @param maxSize the maximum number of pooled ClassLoaders
+	 * @param maxIdleTime the time after which unused ClassLoaders are closed, in
+	 * milliseconds
+	 */
+	AppClassLoaderPool(ApplicationConfigurationMetadataResolver metadataResolver, int maxSize, long maxIdleTime) {
+		Assert.notNull(metadataResolver, "metadataResolver must not be null");
+		Assert.isTrue(maxSize >= 0, "'maxSize' must not be negative");
+		Assert.isTrue(maxIdleTime >= 0, "'maxIdleTime' must not be negative");
+		this.metadataResolver = metadataResolver;
+		this.maxSize = maxSize;
+		this.maxIdleTime = maxIdleTime;
+		if (maxIdleTime > 0) {
+			CustomizableThreadCreator threadCreator = new CustomizableThreadCreator("app-classloader-sweep-");
+			threadCreator.setDaemon(true);
+			this.sweeper = Executors.newSingleThreadScheduledExecutor(threadCreator::createThread);
+			this.sweeper.scheduleWithFixedDelay(this::evictIdle, maxIdleTime, maxIdleTime, TimeUnit.MILLISECONDS);
+		}
+		else {
+			this.sweeper = null;
+		}
+	}
+
+	/**
+	 * Invoke the given callback with the ClassLoader of an app, which must not be used
+	 * once the callback returns.
+	 */
+	<T> T doWithClassLoader(Resource metadataResource, Function<ClassLoader, T> callback) {
+		PooledClassLoader pooled = acquire(metadataResource);
+		try {
+			return callback.apply(pooled.classLoader);
+		}
+		finally {
+			release(pooled);
+		}
+	}
+
+	/**
+	 * Stop pooling the ClassLoader of an app, typically because the app changed. The
+	 * ClassLoader is closed once no longer in use.
+	 */
+	void evict(Resource metadataResource) {
+		synchronized (this.classLoaders) {
+			PooledClassLoader pooled = this.classLoaders.remove(metadataResource.getDescription());
+			if (pooled != null) {
+				retire(pooled);
+			}
+		}
+	}
+
+	/**
+	 * Close all pooled ClassLoaders, or mark them to be closed once no longer in use, and
+	 * stop looking for idle ones.
+	 */
+	void close() {
+		if (this.sweeper != null) {
+			this.sweeper.shutdownNow();
+		}
+		synchronized (this.classLoaders) {
+			for (PooledClassLoader pooled : this.classLoaders.values()) {
+				retire(pooled);
+			}
+			this.classLoaders.clear();
+		}
+	}
+
+	int size() {
+		synchronized (this.classLoaders) {
+			return this.classLoaders.size();
+		}
+	}
+
+	private PooledClassLoader acquire(Resource metadataResource) {
+		String location = metadataResource.getDescription();
+		synchronized (this.classLoaders) {
+			PooledClassLoader pooled = this.classLoaders.get(location);
+			if (pooled != null) {
+				pooled.references++;
+				return pooled;
+			}
+		}
+		// Opening the app archive may take a while, so do it without holding the lock
+		PooledClassLoader created = new PooledClassLoader(this.metadataResolver.createAppClassLoader(metadataResource));
+		synchronized (this.classLoaders) {
+			PooledClassLoader pooled = this.classLoaders.get(location);
+			if (pooled == null) {
+				pooled = created;
+				this.classLoaders.put(location, pooled);
+			}
+			else {
+				close(created);
+			}
+			pooled.references++;
+			evictUnused(System.currentTimeMillis());
+			return pooled;
+		}
+	}
+
+	private void release(PooledClassLoader pooled) {
+		long now = System.currentTimeMillis();
+		synchronized (this.classLoaders) {
+			pooled.references--;
+			pooled.lastReleased = now;
+			if (pooled.retired && pooled.references == 0) {
+				close(pooled);
+			}
+			evictUnused(now);
+		}
+	}
+
+	/**
+	 * Close the unused ClassLoaders that have been idle for too long.
+	 */
+	void evictIdle() {
+		synchronized (this.classLoaders) {
+			evictUnused(System.currentTimeMillis());
+		}
+	}
+
+	/**
+	 * Close the unused ClassLoaders that have been idle for too long, and the least
+	 * recently used ones in excess.
+	 */
+	private void evictUnused(long now) {
+		int excess = this.classLoaders.size() - this.maxSize;
+		for (Iterator<PooledClassLoader> iterator = this.classLoaders.values().iterator(); iterator.hasNext();) {
+			PooledClassLoader pooled = iterator.next();
+			if (pooled.references == 0 && (excess > 0 || now - pooled.lastReleased > this.maxIdleTime)) {
+				iterator.remove();
+				close(pooled);
+				excess--;
+			}
+		}
+	}
+
+	private void retire(PooledClassLoader pooled) {
+		pooled.retired = true;
+		if (pooled.references == 0) {
+			close(pooled);
+		}
+	}
+
+	private void close(PooledClassLoader pooled) {
+		try {
+			pooled.classLoader.close();
+		}
+		catch (IOException e) {
+			// ignore
+		}
+	}
+
+	private static class PooledClassLoader {
+
+		private final URLClassLoader classLoader;
+
+		private int references;
+
+		private long lastReleased;
+
+		private boolean retired;
+
+		PooledClassLoader(URLClassLoader classLoader) {
+			this.classLoader = classLoader;
+		}
+	}
+}
@@ -18,10 +18,12 @@ package org.springframework.cloud.dataflow.completion;
 
 import java.util.List;
 
+import org.springframework.cloud.dataflow.core.ApplicationType;
 import org.springframework.cloud.dataflow.core.StreamDefinition;
 import org.springframework.cloud.dataflow.core.dsl.CheckPointedParseException;
+import org.springframework.cloud.dataflow.core.dsl.ParseResult;
+import org.springframework.cloud.dataflow.core.dsl.StreamParser;
 import org.springframework.cloud.dataflow.registry.AppRegistryCommon;
-import org.springframework.cloud.dataflow.registry.domain.AppRegistration;
 
 import static org.springframework.cloud.dataflow.core.ApplicationType.processor;
 import static org.springframework.cloud.dataflow.core.ApplicationType.sink;
@@ -46,19 +48,23 @@ public class AppsAfterPipeRecoveryStrategy
 	@Override
 	public void addProposals(String dsl, CheckPointedParseException exception, int detailLevel,
 			List<CompletionProposal> collector) {
+		addProposals(dsl, StreamParser.parseRecovering("__dummy", dsl), detailLevel, collector);
+	}
+
+	@Override
+	public void addProposals(String dsl, ParseResult<?> parseResult, int detailLevel,
+			List<CompletionProposal> collector) {
 
-		StreamDefinition streamDefinition = new StreamDefinition("__dummy",
-				exception.getExpressionStringUntilCheckpoint());
+		StreamDefinition streamDefinition = CompletionUtils.checkpointStreamDefinition(parseResult);
 
 		CompletionProposal.Factory proposals = CompletionProposal.expanding(dsl);
 
 		// We only support full streams at the moment, so completions can only be
 		// processor or sink
-		for (AppRegistration appRegistration : appRegistry.findAll()) {
-			if (appRegistration.getType() == processor || appRegistration.getType() == sink) {
-				String expansion = CompletionUtils.maybeQualifyWithLabel(appRegistration.getName(), streamDefinition);
-				collector.add(proposals.withSeparateTokens(expansion,
-						"Continue stream definition with a " + appRegistration.getType()));
+		for (ApplicationType type : new ApplicationType[] { processor, sink }) {
+			for (String name : appRegistry.findNames(type, "")) {
+				String expansion = CompletionUtils.maybeQualifyWithLabel(name, streamDefinition);
+				collector.add(proposals.withSeparateTokens(expansion, "Continue stream definition with a " + type));
 			}
 		}
 	}
@@ -94,7 +94,7 @@ public class CompletionConfiguration {
 
 	@Bean
 	public RecoveryStrategy<?> configurationPropertyValueHintRecoveryStrategy() {
-		return new ConfigurationPropertyValueHintRecoveryStrategy(appRegistry, metadataResolver);
+		return new ConfigurationPropertyValueHintRecoveryStrategy(appRegistry, metadataResolver, valueHintCache());
 	}
 
 	@Bean
@@ -114,7 +114,12 @@ public class CompletionConfiguration {
 
 	@Bean
 	public ExpansionStrategy configurationPropertyValueHintExpansionStrategy() {
-		return new ConfigurationPropertyValueHintExpansionStrategy(appRegistry, metadataResolver);
+		return new ConfigurationPropertyValueHintExpansionStrategy(appRegistry, metadataResolver, valueHintCache());
+	}
+
+	@Bean(destroyMethod = "close")
+	ValueHintCache valueHintCache() {
+		return new ValueHintCache(metadataResolver);
 	}
 
 	@Bean
@@ -166,7 +171,7 @@ public class CompletionConfiguration {
 
 	@Bean
 	public TaskExpansionStrategy taskConfigurationPropertyValueHintExpansionStrategy() {
-		return new ConfigurationPropertyValueHintTaskExpansionStrategy(appRegistry, metadataResolver);
+		return new ConfigurationPropertyValueHintTaskExpansionStrategy(appRegistry, metadataResolver, valueHintCache());
 	}
 
 	@Bean
@@ -181,7 +186,7 @@ public class CompletionConfiguration {
 
 	@Bean
 	public RecoveryStrategy<?> configurationPropertyValueHintTaskRecoveryStrategy() {
-		return new ConfigurationPropertyValueHintTaskRecoveryStrategy(appRegistry, metadataResolver);
+		return new ConfigurationPropertyValueHintTaskRecoveryStrategy(appRegistry, metadataResolver, valueHintCache());
 	}
 
 	@Bean
@@ -16,6 +16,7 @@
 
 package org.springframework.cloud.dataflow.completion;
 
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -25,7 +26,15 @@ import org.springframework.cloud.dataflow.core.ApplicationType;
 import org.springframework.cloud.dataflow.core.BindingPropertyKeys;
 import org.springframework.cloud.dataflow.core.StreamAppDefinition;
 import org.springframework.cloud.dataflow.core.StreamDefinition;
+import org.springframework.cloud.dataflow.core.TaskDefinition;
 import org.springframework.cloud.dataflow.core.TaskPropertyKeys;
+import org.springframework.cloud.dataflow.core.dsl.CheckPointedParseException;
+import org.springframework.cloud.dataflow.core.dsl.ParseException;
+import org.springframework.cloud.dataflow.core.dsl.ParseResult;
+import org.springframework.cloud.dataflow.core.dsl.StreamNode;
+import org.springframework.cloud.dataflow.core.dsl.TaskNode;
+import org.springframework.cloud.dataflow.core.dsl.TokenKind;
+import org.springframework.util.Assert;
 
 /**
  * Various utility methods used throughout the completion package.
@@ -128,4 +137,54 @@ public class CompletionUtils {
 			return false;
 		}
 	}
+
+	/**
+	 * Return a fingerprint of where in the grammar the parsing of some DSL text failed,
+	 * made of the type and message code of the parse error, the kind of the last known
+	 * good token and the kinds of the tokens consumed since then. Dotted names count as a
+	 * single identifier, so that {@literal --foo} and {@literal --foo.bar} have the same
+	 * fingerprint.
+	 */
+	static List<Object> parseErrorFingerprint(Exception exception) {
+		List<Object> fingerprint = new ArrayList<>();
+		fingerprint.add(exception.getClass());
+		if (exception instanceof ParseException) {
+			fingerprint.add(((ParseException) exception).getMessageCode());
+		}
+		if (exception instanceof CheckPointedParseException) {
+			CheckPointedParseException checkPointed = (CheckPointedParseException) exception;
+			int checkpoint = checkPointed.getCheckpointPointer();
+			fingerprint.add(checkpoint > 0 ? checkPointed.getTokens().get(checkpoint - 1).getKind() : null);
+			List<TokenKind> kinds = checkPointed.getTokenKindsSinceCheckpoint();
+			for (int i = 0; i < kinds.size(); i++) {
+				if (kinds.get(i) == TokenKind.DOT && i > 0 && kinds.get(i - 1) == TokenKind.IDENTIFIER
+						&& i + 1 < kinds.size() && kinds.get(i + 1) == TokenKind.IDENTIFIER) {
+					i++; // skip the next segment of a dotted name
+					continue;
+				}
+				fingerprint.add(kinds.get(i));
+			}
+		}
+		return fingerprint;
+	}
+
+	/**
+	 * Return the stream definition of the text until the checkpoint of a failed parse,
+	 * built from the AST shared by the parse result rather than by parsing that text again.
+	 */
+	static StreamDefinition checkpointStreamDefinition(ParseResult<?> parseResult) {
+		StreamNode streamNode = (StreamNode) parseResult.getCheckpointAst();
+		Assert.notNull(streamNode, "the text until the checkpoint should parse: " + parseResult);
+		return new StreamDefinition("__dummy", parseResult.getDslUntilCheckpoint(), streamNode);
+	}
+
+	/**
+	 * Return the task definition of the text until the checkpoint of a failed parse,
+	 * built from the AST shared by the parse result rather than by parsing that text again.
+	 */
+	static TaskDefinition checkpointTaskDefinition(ParseResult<?> parseResult) {
+		TaskNode taskNode = (TaskNode) parseResult.getCheckpointAst();
+		Assert.notNull(taskNode, "the text until the checkpoint should parse: " + parseResult);
+		return new TaskDefinition("__dummy", parseResult.getDslUntilCheckpoint(), taskNode);
+	}
 }
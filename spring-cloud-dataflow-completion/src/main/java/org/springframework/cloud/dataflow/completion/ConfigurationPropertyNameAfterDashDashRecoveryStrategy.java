@@ -24,6 +24,8 @@ import org.springframework.cloud.dataflow.configuration.metadata.ApplicationConf
 import org.springframework.cloud.dataflow.core.StreamAppDefinition;
 import org.springframework.cloud.dataflow.core.StreamDefinition;
 import org.springframework.cloud.dataflow.core.dsl.CheckPointedParseException;
+import org.springframework.cloud.dataflow.core.dsl.ParseResult;
+import org.springframework.cloud.dataflow.core.dsl.StreamParser;
 import org.springframework.cloud.dataflow.registry.domain.AppRegistration;
 import org.springframework.cloud.dataflow.registry.AppRegistryCommon;
 
@@ -49,9 +51,15 @@ class ConfigurationPropertyNameAfterDashDashRecoveryStrategy
 	@Override
 	public void addProposals(String dsl, CheckPointedParseException exception, int detailLevel,
 			List<CompletionProposal> collector) {
+		addProposals(dsl, StreamParser.parseRecovering("__dummy", dsl), detailLevel, collector);
+	}
+
+	@Override
+	public void addProposals(String dsl, ParseResult<?> parseResult, int detailLevel,
+			List<CompletionProposal> collector) {
 
-		String safe = exception.getExpressionStringUntilCheckpoint();
-		StreamDefinition streamDefinition = new StreamDefinition("__dummy", safe);
+		String safe = parseResult.getDslUntilCheckpoint();
+		StreamDefinition streamDefinition = CompletionUtils.checkpointStreamDefinition(parseResult);
 		StreamAppDefinition lastApp = streamDefinition.getDeploymentOrderIterator().next();
 
 		AppRegistration appRegistration = this.collectorSupport.findAppRegistration(lastApp.getName(), CompletionUtils.determinePotentialTypes(lastApp));
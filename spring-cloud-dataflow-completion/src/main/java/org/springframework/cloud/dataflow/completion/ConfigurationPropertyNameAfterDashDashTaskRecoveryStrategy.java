@@ -24,6 +24,8 @@ import org.springframework.cloud.dataflow.configuration.metadata.ApplicationConf
 import org.springframework.cloud.dataflow.core.ApplicationType;
 import org.springframework.cloud.dataflow.core.TaskDefinition;
 import org.springframework.cloud.dataflow.core.dsl.CheckPointedParseException;
+import org.springframework.cloud.dataflow.core.dsl.ParseResult;
+import org.springframework.cloud.dataflow.core.dsl.TaskParser;
 import org.springframework.cloud.dataflow.registry.AppRegistryCommon;
 import org.springframework.cloud.dataflow.registry.domain.AppRegistration;
 
@@ -50,9 +52,15 @@ class ConfigurationPropertyNameAfterDashDashTaskRecoveryStrategy
 	@Override
 	public void addProposals(String dsl, CheckPointedParseException exception, int detailLevel,
 			List<CompletionProposal> collector) {
+		addProposals(dsl, TaskParser.parseRecovering("__dummy", dsl, true, true), detailLevel, collector);
+	}
+
+	@Override
+	public void addProposals(String dsl, ParseResult<?> parseResult, int detailLevel,
+			List<CompletionProposal> collector) {
 
-		String safe = exception.getExpressionStringUntilCheckpoint();
-		TaskDefinition taskDefinition = new TaskDefinition("__dummy", safe);
+		String safe = parseResult.getDslUntilCheckpoint();
+		TaskDefinition taskDefinition = CompletionUtils.checkpointTaskDefinition(parseResult);
 
 		AppRegistration appRegistration = this.collectorSupport.findAppRegistration(taskDefinition.getRegisteredAppName(), ApplicationType.task);
 
@@ -25,6 +25,7 @@ import org.springframework.cloud.dataflow.configuration.metadata.ApplicationConf
 import org.springframework.cloud.dataflow.core.StreamAppDefinition;
 import org.springframework.cloud.dataflow.core.StreamDefinition;
 import org.springframework.cloud.dataflow.core.dsl.CheckPointedParseException;
+import org.springframework.cloud.dataflow.core.dsl.StreamParser;
 import org.springframework.cloud.dataflow.core.dsl.Token;
 import org.springframework.cloud.dataflow.core.dsl.TokenKind;
 import org.springframework.cloud.dataflow.registry.AppRegistryCommon;
@@ -46,8 +47,8 @@ public class ConfigurationPropertyValueHintExpansionStrategy implements Expansio
 	private ValueHintProvider[] valueHintProviders = new ValueHintProvider[0];
 
 	ConfigurationPropertyValueHintExpansionStrategy(AppRegistryCommon appRegistry,
-			ApplicationConfigurationMetadataResolver metadataResolver) {
-		this.collectorSupport = new ProposalsCollectorSupportUtils(appRegistry, metadataResolver);
+			ApplicationConfigurationMetadataResolver metadataResolver, ValueHintCache valueHintCache) {
+		this.collectorSupport = new ProposalsCollectorSupportUtils(appRegistry, metadataResolver, valueHintCache);
 	}
 
 	@Override
@@ -75,30 +76,26 @@ public class ConfigurationPropertyValueHintExpansionStrategy implements Expansio
 	// This may be the safest way to backtrack to the property name
 	// to avoid dealing with escaped space characters, etc.
 	private String recoverPropertyName(String text) {
-		try {
-			new StreamDefinition("__dummy", text + " --");
+		RuntimeException error = StreamParser.parseRecovering("__dummy", text + " --").getError();
+		CheckPointedParseException exception = (CheckPointedParseException) error;
+		List<Token> tokens = exception.getTokens();
+		int end = tokens.size() - 1 - 2; // -2 for skipping dangling -- and space
+											// preceding it
+		int tokenPointer = end;
+		while (!tokens.get(tokenPointer - 1).isKind(TokenKind.DOUBLE_MINUS)) {
+			tokenPointer--;
 		}
-		catch (CheckPointedParseException exception) {
-			List<Token> tokens = exception.getTokens();
-			int end = tokens.size() - 1 - 2; // -2 for skipping dangling -- and space
-												// preceding it
-			int tokenPointer = end;
-			while (!tokens.get(tokenPointer - 1).isKind(TokenKind.DOUBLE_MINUS)) {
-				tokenPointer--;
+		StringBuilder builder;
+		for (builder = new StringBuilder(); tokenPointer < end; tokenPointer++) {
+			Token t = tokens.get(tokenPointer);
+			if (t.isIdentifier()) {
+				builder.append(t.stringValue());
 			}
-			StringBuilder builder;
-			for (builder = new StringBuilder(); tokenPointer < end; tokenPointer++) {
-				Token t = tokens.get(tokenPointer);
-				if (t.isIdentifier()) {
-					builder.append(t.stringValue());
-				}
-				else {
-					builder.append(t.getKind().getTokenChars());
-				}
+			else {
+				builder.append(t.getKind().getTokenChars());
 			}
-			return builder.toString();
 		}
-		throw new AssertionError("Can't be reached");
+		return builder.toString();
 	}
 
 }
@@ -23,6 +23,8 @@ import org.springframework.cloud.dataflow.configuration.metadata.ApplicationConf
 import org.springframework.cloud.dataflow.core.StreamAppDefinition;
 import org.springframework.cloud.dataflow.core.StreamDefinition;
 import org.springframework.cloud.dataflow.core.dsl.CheckPointedParseException;
+import org.springframework.cloud.dataflow.core.dsl.ParseResult;
+import org.springframework.cloud.dataflow.core.dsl.StreamParser;
 import org.springframework.cloud.dataflow.core.dsl.Token;
 import org.springframework.cloud.dataflow.core.dsl.TokenKind;
 import org.springframework.cloud.dataflow.registry.domain.AppRegistration;
@@ -45,27 +47,32 @@ public class ConfigurationPropertyValueHintRecoveryStrategy
 	private ValueHintProvider[] valueHintProviders = new ValueHintProvider[0];
 
 	ConfigurationPropertyValueHintRecoveryStrategy(AppRegistryCommon appRegistry,
-			ApplicationConfigurationMetadataResolver metadataResolver) {
+			ApplicationConfigurationMetadataResolver metadataResolver, ValueHintCache valueHintCache) {
 		super(CheckPointedParseException.class, "foo --bar=", "foo | wizz --bar=");
-		this.collectorSupport = new ProposalsCollectorSupportUtils(appRegistry, metadataResolver);
+		this.collectorSupport = new ProposalsCollectorSupportUtils(appRegistry, metadataResolver, valueHintCache);
 	}
 
 	@Override
 	public void addProposals(String dsl, CheckPointedParseException exception, int detailLevel,
 			List<CompletionProposal> collector) {
+		addProposals(dsl, StreamParser.parseRecovering("__dummy", dsl), detailLevel, collector);
+	}
+
+	@Override
+	public void addProposals(String dsl, ParseResult<?> parseResult, int detailLevel,
+			List<CompletionProposal> collector) {
 
-		String propertyName = recoverPropertyName(exception);
+		String propertyName = recoverPropertyName((CheckPointedParseException) parseResult.getError());
 
-		AppRegistration lastAppRegistration = lookupLastApp(exception);
+		AppRegistration lastAppRegistration = lookupLastApp(parseResult);
 
 		if (lastAppRegistration != null) {
 			this.collectorSupport.addValueHintsProposals(dsl, lastAppRegistration, collector, propertyName, valueHintProviders);
 		}
 	}
 
-	private AppRegistration lookupLastApp(CheckPointedParseException exception) {
-		String safe = exception.getExpressionStringUntilCheckpoint();
-		StreamDefinition streamDefinition = new StreamDefinition("__dummy", safe);
+	private AppRegistration lookupLastApp(ParseResult<?> parseResult) {
+		StreamDefinition streamDefinition = CompletionUtils.checkpointStreamDefinition(parseResult);
 		StreamAppDefinition lastApp = streamDefinition.getDeploymentOrderIterator().next();
 		return this.collectorSupport.findAppRegistration(lastApp.getName(), CompletionUtils.determinePotentialTypes(lastApp));
 	}
@@ -25,6 +25,7 @@ import org.springframework.cloud.dataflow.configuration.metadata.ApplicationConf
 import org.springframework.cloud.dataflow.core.ApplicationType;
 import org.springframework.cloud.dataflow.core.TaskDefinition;
 import org.springframework.cloud.dataflow.core.dsl.CheckPointedParseException;
+import org.springframework.cloud.dataflow.core.dsl.TaskParser;
 import org.springframework.cloud.dataflow.core.dsl.Token;
 import org.springframework.cloud.dataflow.core.dsl.TokenKind;
 import org.springframework.cloud.dataflow.registry.domain.AppRegistration;
@@ -47,8 +48,8 @@ public class ConfigurationPropertyValueHintTaskExpansionStrategy implements Task
 	private ValueHintProvider[] valueHintProviders = new ValueHintProvider[0];
 
 	ConfigurationPropertyValueHintTaskExpansionStrategy(AppRegistryCommon appRegistry,
-			ApplicationConfigurationMetadataResolver metadataResolver) {
-		this.collectorSupport = new ProposalsCollectorSupportUtils(appRegistry, metadataResolver);
+			ApplicationConfigurationMetadataResolver metadataResolver, ValueHintCache valueHintCache) {
+		this.collectorSupport = new ProposalsCollectorSupportUtils(appRegistry, metadataResolver, valueHintCache);
 	}
 
 	@Override
@@ -74,30 +75,26 @@ public class ConfigurationPropertyValueHintTaskExpansionStrategy implements Task
 	// This may be the safest way to backtrack to the property name
 	// to avoid dealing with escaped space characters, etc.
 	private String recoverPropertyName(String text) {
-		try {
-			new TaskDefinition("__dummy", text + " --");
+		RuntimeException error = TaskParser.parseRecovering("__dummy", text + " --", true, true).getError();
+		CheckPointedParseException exception = (CheckPointedParseException) error;
+		List<Token> tokens = exception.getTokens();
+		int end = tokens.size() - 1 - 2; // -2 for skipping dangling -- and space
+											// preceding it
+		int tokenPointer = end;
+		while (!tokens.get(tokenPointer - 1).isKind(TokenKind.DOUBLE_MINUS)) {
+			tokenPointer--;
 		}
-		catch (CheckPointedParseException exception) {
-			List<Token> tokens = exception.getTokens();
-			int end = tokens.size() - 1 - 2; // -2 for skipping dangling -- and space
-												// preceding it
-			int tokenPointer = end;
-			while (!tokens.get(tokenPointer - 1).isKind(TokenKind.DOUBLE_MINUS)) {
-				tokenPointer--;
+		StringBuilder builder;
+		for (builder = new StringBuilder(); tokenPointer < end; tokenPointer++) {
+			Token t = tokens.get(tokenPointer);
+			if (t.isIdentifier()) {
+				builder.append(t.stringValue());
 			}
-			StringBuilder builder;
-			for (builder = new StringBuilder(); tokenPointer < end; tokenPointer++) {
-				Token t = tokens.get(tokenPointer);
-				if (t.isIdentifier()) {
-					builder.append(t.stringValue());
-				}
-				else {
-					builder.append(t.getKind().getTokenChars());
-				}
+			else {
+				builder.append(t.getKind().getTokenChars());
 			}
-			return builder.toString();
 		}
-		throw new AssertionError("Can't be reached");
+		return builder.toString();
 	}
 
 }
@@ -23,6 +23,8 @@ import org.springframework.cloud.dataflow.configuration.metadata.ApplicationConf
 import org.springframework.cloud.dataflow.core.ApplicationType;
 import org.springframework.cloud.dataflow.core.TaskDefinition;
 import org.springframework.cloud.dataflow.core.dsl.CheckPointedParseException;
+import org.springframework.cloud.dataflow.core.dsl.ParseResult;
+import org.springframework.cloud.dataflow.core.dsl.TaskParser;
 import org.springframework.cloud.dataflow.core.dsl.Token;
 import org.springframework.cloud.dataflow.core.dsl.TokenKind;
 import org.springframework.cloud.dataflow.registry.domain.AppRegistration;
@@ -47,27 +49,32 @@ public class ConfigurationPropertyValueHintTaskRecoveryStrategy
 	private ValueHintProvider[] valueHintProviders = new ValueHintProvider[0];
 
 	ConfigurationPropertyValueHintTaskRecoveryStrategy(AppRegistryCommon appRegistry,
-			ApplicationConfigurationMetadataResolver metadataResolver) {
+			ApplicationConfigurationMetadataResolver metadataResolver, ValueHintCache valueHintCache) {
 		super(CheckPointedParseException.class, "foo --bar=");
-		this.collectorSupport = new ProposalsCollectorSupportUtils(appRegistry, metadataResolver);
+		this.collectorSupport = new ProposalsCollectorSupportUtils(appRegistry, metadataResolver, valueHintCache);
 	}
 
 	@Override
 	public void addProposals(String dsl, CheckPointedParseException exception, int detailLevel,
 			List<CompletionProposal> collector) {
+		addProposals(dsl, TaskParser.parseRecovering("__dummy", dsl, true, true), detailLevel, collector);
+	}
+
+	@Override
+	public void addProposals(String dsl, ParseResult<?> parseResult, int detailLevel,
+			List<CompletionProposal> collector) {
 
-		String propertyName = recoverPropertyName(exception);
+		String propertyName = recoverPropertyName((CheckPointedParseException) parseResult.getError());
 
-		AppRegistration appRegistration = lookupLastApp(exception);
+		AppRegistration appRegistration = lookupLastApp(parseResult);
 
 		if (appRegistration != null) {
 			this.collectorSupport.addValueHintsProposals(dsl, appRegistration, collector, propertyName, valueHintProviders);
 		}
 	}
 
-	private AppRegistration lookupLastApp(CheckPointedParseException exception) {
-		String safe = exception.getExpressionStringUntilCheckpoint();
-		TaskDefinition taskDefinition = new TaskDefinition("__dummy", safe);
+	private AppRegistration lookupLastApp(ParseResult<?> parseResult) {
+		TaskDefinition taskDefinition = CompletionUtils.checkpointTaskDefinition(parseResult);
 		return this.collectorSupport.findAppRegistration(taskDefinition.getRegisteredAppName(), ApplicationType.task);
 	}
 
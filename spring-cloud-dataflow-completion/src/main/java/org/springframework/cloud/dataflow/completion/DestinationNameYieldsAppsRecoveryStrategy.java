@@ -18,9 +18,9 @@ package org.springframework.cloud.dataflow.completion;
 
 import java.util.List;
 
+import org.springframework.cloud.dataflow.core.ApplicationType;
 import org.springframework.cloud.dataflow.core.dsl.CheckPointedParseException;
 import org.springframework.cloud.dataflow.registry.AppRegistryCommon;
-import org.springframework.cloud.dataflow.registry.domain.AppRegistration;
 
 import static org.springframework.cloud.dataflow.core.ApplicationType.processor;
 import static org.springframework.cloud.dataflow.core.ApplicationType.sink;
@@ -55,10 +55,9 @@ class DestinationNameYieldsAppsRecoveryStrategy
 	public void addProposals(String dsl, CheckPointedParseException exception, int detailLevel,
 			List<CompletionProposal> proposals) {
 		CompletionProposal.Factory completionFactory = CompletionProposal.expanding(dsl);
-		for (AppRegistration appRegistration : appRegistry.findAll()) {
-			if (appRegistration.getType() == processor || appRegistration.getType() == sink) {
-				proposals.add(completionFactory.withSeparateTokens(appRegistration.getName(),
-						"Wire destination into a " + appRegistration.getType() + " app"));
+		for (ApplicationType type : new ApplicationType[] { processor, sink }) {
+			for (String name : appRegistry.findNames(type, "")) {
+				proposals.add(completionFactory.withSeparateTokens(name, "Wire destination into a " + type + " app"));
 			}
 		}
 	}
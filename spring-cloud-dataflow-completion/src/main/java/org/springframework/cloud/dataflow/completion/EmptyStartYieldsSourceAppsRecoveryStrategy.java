@@ -19,7 +19,7 @@ package org.springframework.cloud.dataflow.completion;
 import java.util.List;
 
 import org.springframework.cloud.dataflow.core.ApplicationType;
-import org.springframework.cloud.dataflow.registry.domain.AppRegistration;
+import org.springframework.cloud.dataflow.core.dsl.CheckPointedParseException;
 import org.springframework.cloud.dataflow.registry.AppRegistryCommon;
 
 /**
@@ -29,23 +29,21 @@ import org.springframework.cloud.dataflow.registry.AppRegistryCommon;
  * @author Mark Fisher
  */
 class EmptyStartYieldsSourceAppsRecoveryStrategy
-		extends StacktraceFingerprintingRecoveryStrategy<IllegalArgumentException> {
+		extends StacktraceFingerprintingRecoveryStrategy<CheckPointedParseException> {
 
 	private final AppRegistryCommon registry;
 
 	public EmptyStartYieldsSourceAppsRecoveryStrategy(AppRegistryCommon registry) {
-		super(IllegalArgumentException.class, "");
+		super(CheckPointedParseException.class, "");
 		this.registry = registry;
 	}
 
 	@Override
-	public void addProposals(String dsl, IllegalArgumentException exception, int detailLevel,
+	public void addProposals(String dsl, CheckPointedParseException exception, int detailLevel,
 			List<CompletionProposal> proposals) {
 		CompletionProposal.Factory completionFactory = CompletionProposal.expanding(dsl);
-		for (AppRegistration app : this.registry.findAll()) {
-			if (app.getType() == ApplicationType.source) {
-				proposals.add(completionFactory.withSeparateTokens(app.getName(), "Start with a source app"));
-			}
+		for (String name : this.registry.findNames(ApplicationType.source, "")) {
+			proposals.add(completionFactory.withSeparateTokens(name, "Start with a source app"));
 		}
 	}
 
@@ -20,7 +20,6 @@ import java.util.List;
 
 import org.springframework.cloud.dataflow.core.ApplicationType;
 import org.springframework.cloud.dataflow.core.dsl.CheckPointedParseException;
-import org.springframework.cloud.dataflow.registry.domain.AppRegistration;
 import org.springframework.cloud.dataflow.registry.AppRegistryCommon;
 
 /**
@@ -44,10 +43,8 @@ class EmptyStartYieldsSourceAppsTaskRecoveryStrategy
 	public void addProposals(String dsl, CheckPointedParseException exception, int detailLevel,
 			List<CompletionProposal> proposals) {
 		CompletionProposal.Factory completionFactory = CompletionProposal.expanding(dsl);
-		for (AppRegistration app : this.registry.findAll()) {
-			if (app.getType() == ApplicationType.task) {
-				proposals.add(completionFactory.withSeparateTokens(app.getName(), "Choose a task app"));
-			}
+		for (String name : this.registry.findNames(ApplicationType.task, "")) {
+			proposals.add(completionFactory.withSeparateTokens(name, "Choose a task app"));
 		}
 	}
 
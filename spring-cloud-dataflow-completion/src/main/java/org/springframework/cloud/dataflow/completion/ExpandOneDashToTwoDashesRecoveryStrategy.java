@@ -19,9 +19,11 @@ package org.springframework.cloud.dataflow.completion;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cloud.dataflow.core.StreamDefinition;
 import org.springframework.cloud.dataflow.core.dsl.CheckPointedParseException;
 import org.springframework.cloud.dataflow.core.dsl.ParseException;
+import org.springframework.cloud.dataflow.core.dsl.ParseResult;
+import org.springframework.cloud.dataflow.core.dsl.StreamNode;
+import org.springframework.cloud.dataflow.core.dsl.StreamParser;
 import org.springframework.util.Assert;
 
 /**
@@ -45,13 +47,11 @@ class ExpandOneDashToTwoDashesRecoveryStrategy extends StacktraceFingerprintingR
 		// Pretend there was an additional dash and invoke the dedicated strategy for that
 		// case
 		String withDashDash = dsl + "-";
-		try {
-			new StreamDefinition("__dummy", withDashDash);
-		}
-		catch (CheckPointedParseException recoverable) {
-			Assert.isTrue(recoveryAfterDashDash.shouldTrigger(withDashDash, recoverable),
+		ParseResult<StreamNode> result = StreamParser.parseRecovering("__dummy", withDashDash);
+		if (result.getError() instanceof CheckPointedParseException) {
+			Assert.isTrue(recoveryAfterDashDash.shouldTrigger(withDashDash, result.getError()),
 					"did not tigger after dash-dash");
-			recoveryAfterDashDash.addProposals(withDashDash, recoverable, detailLevel, proposals);
+			recoveryAfterDashDash.addProposals(withDashDash, result, detailLevel, proposals);
 		}
 	}
 
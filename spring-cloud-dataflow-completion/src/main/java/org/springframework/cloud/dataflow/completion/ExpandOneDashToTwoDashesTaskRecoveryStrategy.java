@@ -19,9 +19,11 @@ package org.springframework.cloud.dataflow.completion;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cloud.dataflow.core.TaskDefinition;
 import org.springframework.cloud.dataflow.core.dsl.CheckPointedParseException;
 import org.springframework.cloud.dataflow.core.dsl.ParseException;
+import org.springframework.cloud.dataflow.core.dsl.ParseResult;
+import org.springframework.cloud.dataflow.core.dsl.TaskNode;
+import org.springframework.cloud.dataflow.core.dsl.TaskParser;
 import org.springframework.util.Assert;
 
 /**
@@ -47,13 +49,11 @@ class ExpandOneDashToTwoDashesTaskRecoveryStrategy
 		// Pretend there was an additional dash and invoke the dedicated strategy for that
 		// case
 		String withDashDash = dsl + "-";
-		try {
-			new TaskDefinition("__dummy", withDashDash);
-		}
-		catch (CheckPointedParseException recoverable) {
-			Assert.isTrue(recoveryAfterDashDash.shouldTrigger(withDashDash, recoverable),
+		ParseResult<TaskNode> result = TaskParser.parseRecovering("__dummy", withDashDash, true, true);
+		if (result.getError() instanceof CheckPointedParseException) {
+			Assert.isTrue(recoveryAfterDashDash.shouldTrigger(withDashDash, result.getError()),
 					"did not trigger after dash-dash");
-			recoveryAfterDashDash.addProposals(withDashDash, recoverable, detailLevel, proposals);
+			recoveryAfterDashDash.addProposals(withDashDash, result, detailLevel, proposals);
 		}
 	}
 
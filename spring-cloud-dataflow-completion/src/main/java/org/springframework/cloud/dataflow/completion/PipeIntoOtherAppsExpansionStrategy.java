@@ -18,10 +18,10 @@ package org.springframework.cloud.dataflow.completion;
 
 import java.util.List;
 
+import org.springframework.cloud.dataflow.core.ApplicationType;
 import org.springframework.cloud.dataflow.core.StreamAppDefinition;
 import org.springframework.cloud.dataflow.core.StreamDefinition;
 import org.springframework.cloud.dataflow.registry.AppRegistryCommon;
-import org.springframework.cloud.dataflow.registry.domain.AppRegistration;
 
 import static org.springframework.cloud.dataflow.core.ApplicationType.processor;
 import static org.springframework.cloud.dataflow.core.ApplicationType.sink;
@@ -59,11 +59,11 @@ public class PipeIntoOtherAppsExpansionStrategy implements ExpansionStrategy {
 		}
 
 		CompletionProposal.Factory proposals = CompletionProposal.expanding(text);
-		for (AppRegistration appRegistration : appRegistry.findAll()) {
-			if (appRegistration.getType() == processor || appRegistration.getType() == sink) {
-				String expansion = CompletionUtils.maybeQualifyWithLabel(appRegistration.getName(), parseResult);
+		for (ApplicationType type : new ApplicationType[] { processor, sink }) {
+			for (String name : appRegistry.findNames(type, "")) {
+				String expansion = CompletionUtils.maybeQualifyWithLabel(name, parseResult);
 				collector.add(proposals.withSeparateTokens("| " + expansion,
-						"Continue stream definition with a " + appRegistration.getType()));
+						"Continue stream definition with a " + type));
 			}
 		}
 		return false;
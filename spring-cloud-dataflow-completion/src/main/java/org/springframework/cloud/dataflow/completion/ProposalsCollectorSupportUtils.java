@@ -15,13 +15,10 @@
  */
 package org.springframework.cloud.dataflow.completion;
 
-import java.io.IOException;
-import java.net.URLClassLoader;
 import java.util.List;
 import java.util.Set;
 
 import org.springframework.boot.configurationmetadata.ConfigurationMetadataProperty;
-import org.springframework.boot.configurationmetadata.ValueHint;
 import org.springframework.cloud.dataflow.configuration.metadata.ApplicationConfigurationMetadataResolver;
 import org.springframework.cloud.dataflow.core.ApplicationType;
 import org.springframework.cloud.dataflow.core.dsl.CheckPointedParseException;
@@ -47,9 +44,17 @@ class ProposalsCollectorSupportUtils {
 
 	private final ApplicationConfigurationMetadataResolver metadataResolver;
 
+	private final ValueHintCache valueHintCache;
+
 	ProposalsCollectorSupportUtils(AppRegistryCommon appRegistry, ApplicationConfigurationMetadataResolver metadataResolver) {
+		this(appRegistry, metadataResolver, new ValueHintCache(metadataResolver));
+	}
+
+	ProposalsCollectorSupportUtils(AppRegistryCommon appRegistry, ApplicationConfigurationMetadataResolver metadataResolver,
+			ValueHintCache valueHintCache) {
 		this.appRegistry = appRegistry;
 		this.metadataResolver = metadataResolver;
+		this.valueHintCache = valueHintCache;
 	}
 
 	void addPropertiesProposals(String text, String startsWith, AppRegistration appRegistration, Set<String> alreadyPresentOptions, List<CompletionProposal> collector, int detailLevel){
@@ -57,18 +62,20 @@ class ProposalsCollectorSupportUtils {
 		// For whitelisted properties, use their simple name
 		if (metadataResource != null) {
 			CompletionProposal.Factory proposals = expanding(text);
-			for (ConfigurationMetadataProperty property : metadataResolver.listProperties(metadataResource)) {
+			for (ConfigurationMetadataProperty property : metadataResolver
+					.listPropertiesStartingWith(metadataResource, false, startsWith)) {
 				String name = property.getName();
-				if (!alreadyPresentOptions.contains(name) && name.startsWith(startsWith)) {
+				if (!alreadyPresentOptions.contains(name)) {
 					collector.add(proposals
 							.withSeparateTokens("--" + property.getName() + "=", property.getShortDescription()));
 				}
 			}
 			// For other properties (including WL'ed in full form), use their id
 			if (detailLevel > 1) {
-				for (ConfigurationMetadataProperty property : metadataResolver.listProperties(metadataResource, true)) {
+				for (ConfigurationMetadataProperty property : metadataResolver
+						.listPropertiesStartingWith(metadataResource, true, startsWith)) {
 					String id = property.getId();
-					if (!alreadyPresentOptions.contains(id) && id.startsWith(startsWith)) {
+					if (!alreadyPresentOptions.contains(id)) {
 						collector.add(proposals
 								.withSeparateTokens("--" + property.getId() + "=", property.getShortDescription()));
 					}
@@ -80,22 +87,13 @@ class ProposalsCollectorSupportUtils {
 	void addValueHintsProposals(final String dsl, AppRegistration appRegistration, final List<CompletionProposal> collector, final String propertyName, final ValueHintProvider[] valueHintProviders){
 		final Resource metadataResource = this.appRegistry.getAppMetadataResource(appRegistration);
 		if (metadataResource != null) {
-			final URLClassLoader classLoader = metadataResolver.createAppClassLoader(metadataResource);
-			this.doWithClassLoader(classLoader, () -> {
-				CompletionProposal.Factory proposals = expanding(dsl);
-				List<ConfigurationMetadataProperty> whiteList = metadataResolver.listProperties(metadataResource);
-				for (ConfigurationMetadataProperty property : metadataResolver.listProperties(metadataResource, true)) {
-					if (CompletionUtils.isMatchingProperty(propertyName, property, whiteList)) {
-						for (ValueHintProvider valueHintProvider : valueHintProviders) {
-							for (ValueHint valueHint : valueHintProvider.generateValueHints(property, classLoader)) {
-								collector.add(proposals.withSuffix(String.valueOf(valueHint.getValue()),
-										valueHint.getShortDescription()));
-							}
-						}
-					}
+			CompletionProposal.Factory proposals = expanding(dsl);
+			for (ValueHintCache.ProvidedValueHints providedValueHints : this.valueHintCache
+					.getValueHints(metadataResource, propertyName, valueHintProviders)) {
+				for (ValueHintCache.CachedValueHint valueHint : providedValueHints.getValueHints()) {
+					collector.add(proposals.withSuffix(valueHint.getValue(), valueHint.getShortDescription()));
 				}
-				return null;
-			});
+			}
 		}
 	}
 
@@ -104,33 +102,24 @@ class ProposalsCollectorSupportUtils {
 		if (metadataResource == null) {
 			return false;
 		}
-		final URLClassLoader classLoader = metadataResolver.createAppClassLoader(metadataResource);
-		return this.doWithClassLoader(classLoader, () -> {
-			CompletionProposal.Factory proposals = expanding(text);
-			List<ConfigurationMetadataProperty> allProps = metadataResolver.listProperties(metadataResource, true);
-			List<ConfigurationMetadataProperty> whiteListedProps = metadataResolver.listProperties(metadataResource);
-			for (ConfigurationMetadataProperty property : allProps) {
-				if (CompletionUtils.isMatchingProperty(propertyName, property, whiteListedProps)) {
-					for (ValueHintProvider valueHintProvider : valueHintProviders) {
-						List<ValueHint> valueHints = valueHintProvider.generateValueHints(property, classLoader);
-						if (!valueHints.isEmpty() && valueHintProvider.isExclusive(property)) {
-							collector.clear();
-						}
-						for (ValueHint valueHint : valueHints) {
-							String candidate = String.valueOf(valueHint.getValue());
-							if (!candidate.equals(alreadyTyped) && candidate.startsWith(alreadyTyped)) {
-								collector.add(proposals.withSuffix(candidate.substring(alreadyTyped.length()),
-										valueHint.getShortDescription()));
-							}
-						}
-						if (!valueHints.isEmpty() && valueHintProvider.isExclusive(property)) {
-							return true;
-						}
-					}
+		CompletionProposal.Factory proposals = expanding(text);
+		for (ValueHintCache.ProvidedValueHints providedValueHints : this.valueHintCache
+				.getValueHints(metadataResource, propertyName, valueHintProviders)) {
+			if (providedValueHints.isExclusive()) {
+				collector.clear();
+			}
+			for (ValueHintCache.CachedValueHint valueHint : providedValueHints.getValueHints()) {
+				String candidate = valueHint.getValue();
+				if (!candidate.equals(alreadyTyped) && candidate.startsWith(alreadyTyped)) {
+					collector.add(proposals.withSuffix(candidate.substring(alreadyTyped.length()),
+							valueHint.getShortDescription()));
 				}
 			}
-			return false;
-		});
+			if (providedValueHints.isExclusive()) {
+				return true;
+			}
+		}
+		return false;
 	}
 
 	AppRegistration findAppRegistration(String appName, ApplicationType... appTypes){
@@ -163,25 +152,4 @@ class ProposalsCollectorSupportUtils {
 		String startsWith = startsWithBuffer.toString();
 		return startsWith;
 	}
-
-	/**
-	 * Emulates 'try-with-resources' by closing class loader (ignoring any exceptions) after executing callback.
-	 */
-	private <T> T doWithClassLoader(URLClassLoader classLoader, Callback<T> callback) {
-		try {
-			return callback.invoke();
-		}
-		finally {
-			try {
-				classLoader.close();
-			}
-			catch (IOException e) {
-				// ignore
-			}
-		}
-	}
-
-	private static interface Callback<T> {
-		T invoke();
-	}
 }
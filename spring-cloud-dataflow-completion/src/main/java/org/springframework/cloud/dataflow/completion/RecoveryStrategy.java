@@ -18,6 +18,8 @@ package org.springframework.cloud.dataflow.completion;
 
 import java.util.List;
 
+import org.springframework.cloud.dataflow.core.dsl.ParseResult;
+
 /**
  * Used to provide completions on ill-formed stream definitions, after an initial (failed)
  * parse.
@@ -31,7 +33,7 @@ public interface RecoveryStrategy<E extends Exception> {
 	 * Whether this completion should be triggered.
 	 *
 	 * @param dslStart the partial DSL text
-	 * @param exception the exception thrown when parsing the DSL text
+	 * @param exception the error that stopped the parsing of the DSL text
 	 * @return if proposals to complete the DSL should be provided
 	 */
 	boolean shouldTrigger(String dslStart, Exception exception);
@@ -40,11 +42,30 @@ public interface RecoveryStrategy<E extends Exception> {
 	 * Perform code completion by adding proposals to the {@code proposals} list.
 	 *
 	 * @param dsl the partial DSL text
-	 * @param exception the exception thrown when parsing the DSL text
+	 * @param exception the error that stopped the parsing of the DSL text
 	 * @param detailLevel an integer describing the level of detail to include in
 	 * proposal, starting at 1. Higher values request more detail, with values typically
 	 * in the range [1..5]
 	 * @param proposals the list of completion proposals to show the user
 	 */
 	void addProposals(String dsl, E exception, int detailLevel, List<CompletionProposal> proposals);
+
+	/**
+	 * Perform code completion from the failed parse of the DSL text. Strategies that need
+	 * the text until the checkpoint parsed should override this method, and use the AST
+	 * the result shares, rather than parse that text again. By default, delegates to
+	 * {@link #addProposals(String, Exception, int, List)} with the error of the result.
+	 *
+	 * @param dsl the partial DSL text
+	 * @param parseResult the failed parse of the DSL text
+	 * @param detailLevel an integer describing the level of detail to include in
+	 * proposal, starting at 1. Higher values request more detail, with values typically
+	 * in the range [1..5]
+	 * @param proposals the list of completion proposals to show the user
+	 */
+	@SuppressWarnings("unchecked")
+	default void addProposals(String dsl, ParseResult<?> parseResult, int detailLevel,
+			List<CompletionProposal> proposals) {
+		addProposals(dsl, (E) parseResult.getError(), detailLevel, proposals);
+	}
 }
@@ -16,43 +16,31 @@
 
 package org.springframework.cloud.dataflow.completion;
 
-import java.util.ArrayList;
-import java.util.LinkedHashSet;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
-import org.springframework.cloud.dataflow.core.StreamDefinition;
+import org.springframework.cloud.dataflow.core.dsl.ParseResult;
+import org.springframework.cloud.dataflow.core.dsl.StreamNode;
+import org.springframework.cloud.dataflow.core.dsl.StreamParser;
 import org.springframework.util.Assert;
 
 /**
  * A recovery strategy that will trigger if the parser failure is similar to that of some
- * sample unfinished stream definition. The match is decided by analyzing the top frames
- * of the stack trace emitted by the parser when it encounters the ill formed input.
- * Multiple fingerprints are supported, as the control flow in the parser code may be
- * different depending on the form of the expression. For example, for the rule
- * {@code stream = module (| module)* }, the pseudo code for the parser may look like
- * <p>
- *
- * <pre>
- * <code>
- * stream() {
- *   module();  (1)
- *   while(moreInput()) {
- *     swallowPipe();
- *     module();  (2)
- *   }
- * }
- * </code>
- * </pre>
- * <p>
- * In that setup, whether we're dealing with the first module, or a subsequent module,
- * stack frames would be different (see (1) and (2)).
+ * sample unfinished stream definition. The match is decided by analyzing where in the
+ * grammar the parser stopped when it encountered the ill formed input: the message code
+ * of the parse error, the kind of the last known good token and the kinds of the tokens
+ * consumed since then, regardless of the actual names and values typed by the user.
+ * Multiple fingerprints are supported, as the same rule may fail in different contexts
+ * depending on the form of the expression. For example, for the rule
+ * {@code stream = module (| module)* }, an unfinished first module is not preceded by any
+ * token, whereas a subsequent one is preceded by the previous module.
  *
  * @author Eric Bottard
  */
 public abstract class StacktraceFingerprintingRecoveryStrategy<E extends Exception> implements RecoveryStrategy<E> {
 
-	private final Set<List<StackTraceElement>> fingerprints = new LinkedHashSet<>();
+	private final Set<List<Object>> fingerprints = new HashSet<>();
 
 	private final Class<E> exceptionClass;
 
@@ -62,8 +50,8 @@ public abstract class StacktraceFingerprintingRecoveryStrategy<E extends Excepti
 	 * that is to be parsed.
 	 *
 	 * @param exceptionClass the expected exception that results from parsing the sample
-	 * fragment stream definitions. Stack frames from the thrown exception are used to
-	 * store the fingerprint of this exception thrown by the parser.
+	 * fragment stream definitions. Where in the grammar the parser stopped is used to store
+	 * the fingerprint of this exception.
 	 * @param samples the sample fragments of stream definitions.
 	 */
 	public StacktraceFingerprintingRecoveryStrategy(Class<E> exceptionClass, String... samples) {
@@ -73,65 +61,21 @@ public abstract class StacktraceFingerprintingRecoveryStrategy<E extends Excepti
 		initFingerprints(samples);
 	}
 
-	@SuppressWarnings("unchecked")
 	private void initFingerprints(String... samples) {
 		for (String sample : samples) {
-			try {
-				new StreamDefinition("__dummy", sample);
-			}
-			catch (RuntimeException exception) {
-				if (this.exceptionClass.isAssignableFrom(exception.getClass())) {
-					addFingerprintForException((E) exception);
-				}
-				else {
-					throw exception;
-				}
-			}
-		}
-	}
-
-	/**
-	 * Extract the top frames (until the call to the {@link StreamDefinition} constructor
-	 * appears) of the given exception.
-	 */
-	private void addFingerprintForException(E exception) {
-		boolean seenParserClass = false;
-		List<StackTraceElement> fingerPrint = new ArrayList<StackTraceElement>();
-		for (StackTraceElement frame : exception.getStackTrace()) {
-			if (frame.getClassName().equals(StreamDefinition.class.getName())) {
-				seenParserClass = true;
-			}
-			else if (seenParserClass) {
-				break;
-			}
-			fingerPrint.add(frame);
-		}
-		fingerprints.add(fingerPrint);
-	}
-
-	private boolean fingerprintMatches(E exception, List<StackTraceElement> fingerPrint) {
-		int i = 0;
-		StackTraceElement[] stackTrace = exception.getStackTrace();
-		for (StackTraceElement frame : fingerPrint) {
-			if (!stackTrace[i++].equals(frame)) {
-				return false;
+			ParseResult<StreamNode> result = StreamParser.parseRecovering("__dummy", sample);
+			if (!this.exceptionClass.isInstance(result.getError())) {
+				throw new IllegalArgumentException(String.format("Sample '%s' should fail to parse with a %s: %s",
+						sample, this.exceptionClass.getSimpleName(), result));
 			}
+			this.fingerprints.add(CompletionUtils.parseErrorFingerprint(result.getError()));
 		}
-		return true;
 	}
 
 	@Override
-	@SuppressWarnings("unchecked")
 	public boolean shouldTrigger(String dslStart, Exception exception) {
-		if (!exceptionClass.isAssignableFrom(exception.getClass())) {
-			return false;
-		}
-		for (List<StackTraceElement> fingerPrint : fingerprints) {
-			if (fingerprintMatches((E) exception, fingerPrint)) {
-				return true;
-			}
-		}
-		return false;
+		return this.exceptionClass.isInstance(exception)
+				&& this.fingerprints.contains(CompletionUtils.parseErrorFingerprint(exception));
 	}
 
 }
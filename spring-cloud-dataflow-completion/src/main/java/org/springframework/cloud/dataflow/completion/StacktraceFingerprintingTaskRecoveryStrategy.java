@@ -16,28 +16,28 @@
 
 package org.springframework.cloud.dataflow.completion;
 
-import java.util.ArrayList;
-import java.util.LinkedHashSet;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
-import org.springframework.cloud.dataflow.core.TaskDefinition;
+import org.springframework.cloud.dataflow.core.dsl.ParseResult;
+import org.springframework.cloud.dataflow.core.dsl.TaskNode;
+import org.springframework.cloud.dataflow.core.dsl.TaskParser;
 import org.springframework.util.Assert;
 
 /**
  * A recovery strategy that will trigger if the parser failure is similar to that of some
- * sample unfinished task definition. The match is decided by analyzing the top frames of
- * the stack trace emitted by the parser when it encounters the ill formed input. Multiple
- * fingerprints are supported, as the control flow in the parser code may be different
- * depending on the form of the expression. See
- * {@link StacktraceFingerprintingRecoveryStrategy}.
+ * sample unfinished task definition. The match is decided by analyzing where in the
+ * grammar the parser stopped when it encountered the ill formed input. Multiple
+ * fingerprints are supported, as the same rule may fail in different contexts depending
+ * on the form of the expression. See {@link StacktraceFingerprintingRecoveryStrategy}.
  *
  * @author Eric Bottard
  * @author Andy Clement
  */
 public abstract class StacktraceFingerprintingTaskRecoveryStrategy<E extends Exception> implements RecoveryStrategy<E> {
 
-	private final Set<List<StackTraceElement>> fingerprints = new LinkedHashSet<>();
+	private final Set<List<Object>> fingerprints = new HashSet<>();
 
 	private final Class<E> exceptionClass;
 
@@ -47,8 +47,8 @@ public abstract class StacktraceFingerprintingTaskRecoveryStrategy<E extends Exc
 	 * that is to be parsed.
 	 *
 	 * @param exceptionClass the expected exception that results from parsing the sample
-	 * fragment stream definitions. Stack frames from the thrown exception are used to
-	 * store the fingerprint of this exception thrown by the parser.
+	 * fragment task definitions. Where in the grammar the parser stopped is used to store
+	 * the fingerprint of this exception.
 	 * @param samples the sample fragments of task definitions.
 	 */
 	public StacktraceFingerprintingTaskRecoveryStrategy(Class<E> exceptionClass, String... samples) {
@@ -58,65 +58,21 @@ public abstract class StacktraceFingerprintingTaskRecoveryStrategy<E extends Exc
 		initFingerprints(samples);
 	}
 
-	@SuppressWarnings("unchecked")
 	private void initFingerprints(String... samples) {
 		for (String sample : samples) {
-			try {
-				new TaskDefinition("__dummy", sample);
+			ParseResult<TaskNode> result = TaskParser.parseRecovering("__dummy", sample, true, true);
+			if (!this.exceptionClass.isInstance(result.getError())) {
+				throw new IllegalArgumentException(String.format("Sample '%s' should fail to parse with a %s: %s",
+						sample, this.exceptionClass.getSimpleName(), result));
 			}
-			catch (RuntimeException exception) {
-				if (this.exceptionClass.isAssignableFrom(exception.getClass())) {
-					addFingerprintForException((E) exception);
-				}
-				else {
-					throw exception;
-				}
-			}
-		}
-	}
-
-	/**
-	 * Extract the top frames (until the call to the {@link TaskDefinition} constructor
-	 * appears) of the given exception.
-	 */
-	private void addFingerprintForException(E exception) {
-		boolean seenParserClass = false;
-		List<StackTraceElement> fingerPrint = new ArrayList<StackTraceElement>();
-		for (StackTraceElement frame : exception.getStackTrace()) {
-			if (frame.getClassName().equals(TaskDefinition.class.getName())) {
-				seenParserClass = true;
-			}
-			else if (seenParserClass) {
-				break;
-			}
-			fingerPrint.add(frame);
+			this.fingerprints.add(CompletionUtils.parseErrorFingerprint(result.getError()));
 		}
-		fingerprints.add(fingerPrint);
-	}
-
-	private boolean fingerprintMatches(E exception, List<StackTraceElement> fingerPrint) {
-		int i = 0;
-		StackTraceElement[] stackTrace = exception.getStackTrace();
-		for (StackTraceElement frame : fingerPrint) {
-			if (!stackTrace[i++].equals(frame)) {
-				return false;
-			}
-		}
-		return true;
 	}
 
 	@Override
-	@SuppressWarnings("unchecked")
 	public boolean shouldTrigger(String dslStart, Exception exception) {
-		if (!exceptionClass.isAssignableFrom(exception.getClass())) {
-			return false;
-		}
-		for (List<StackTraceElement> fingerPrint : fingerprints) {
-			if (fingerprintMatches((E) exception, fingerPrint)) {
-				return true;
-			}
-		}
-		return false;
+		return this.exceptionClass.isInstance(exception)
+				&& this.fingerprints.contains(CompletionUtils.parseErrorFingerprint(exception));
 	}
 
 }
@@ -20,6 +20,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.springframework.cloud.dataflow.core.StreamDefinition;
+import org.springframework.cloud.dataflow.core.dsl.ParseResult;
+import org.springframework.cloud.dataflow.core.dsl.StreamNode;
+import org.springframework.cloud.dataflow.core.dsl.StreamParser;
 
 /**
  * Provides code completion on a (maybe ill-formed) stream definition.
@@ -43,26 +46,28 @@ public class StreamCompletionProvider {
 	 * Attempt to parse the text the user has already typed in. This either succeeds, in
 	 * which case we may propose to expand what she has typed, or it fails (most likely
 	 * because this is not well formed), in which case we try to recover from the parsing
-	 * failure and still add proposals.
+	 * failure and still add proposals. Parsing is done in recovering mode, so that failures
+	 * are returned rather than thrown to us and are created without a stack trace. The
+	 * failed result is handed to the recovery strategies, which share the parse of the text
+	 * until the checkpoint.
 	 */
 	@SuppressWarnings("unchecked")
 	public List<CompletionProposal> complete(String dslStart, int detailLevel) {
 		List<CompletionProposal> collector = new ArrayList<>();
 
-		StreamDefinition parsed;
-		try {
-			parsed = new StreamDefinition("__dummy", dslStart);
-		}
-		catch (Exception recoverable) {
+		ParseResult<StreamNode> result = StreamParser.parseRecovering("__dummy", dslStart);
+		if (!result.isSuccessful()) {
+			RuntimeException recoverable = result.getError();
 			for (RecoveryStrategy strategy : completionRecoveryStrategies) {
 				if (strategy.shouldTrigger(dslStart, recoverable)) {
-					strategy.addProposals(dslStart, recoverable, detailLevel, collector);
+					strategy.addProposals(dslStart, result, detailLevel, collector);
 				}
 			}
 
 			return collector;
 		}
 
+		StreamDefinition parsed = new StreamDefinition("__dummy", dslStart, result.getAst());
 		for (ExpansionStrategy strategy : completionExpansionStrategies) {
 			strategy.addProposals(dslStart, parsed, detailLevel, collector);
 		}
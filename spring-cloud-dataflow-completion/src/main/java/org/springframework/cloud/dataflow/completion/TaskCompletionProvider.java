@@ -20,6 +20,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.springframework.cloud.dataflow.core.TaskDefinition;
+import org.springframework.cloud.dataflow.core.dsl.ParseResult;
+import org.springframework.cloud.dataflow.core.dsl.TaskNode;
+import org.springframework.cloud.dataflow.core.dsl.TaskParser;
 
 /**
  * Provides code completion on a (maybe ill-formed) task definition.
@@ -44,26 +47,28 @@ public class TaskCompletionProvider {
 	 * Attempt to parse the text the user has already typed in. This either succeeds, in
 	 * which case we may propose to expand what she has typed, or it fails (most likely
 	 * because this is not well formed), in which case we try to recover from the parsing
-	 * failure and still add proposals.
+	 * failure and still add proposals. Parsing is done in recovering mode, so that failures
+	 * are returned rather than thrown to us and are created without a stack trace. The
+	 * failed result is handed to the recovery strategies, which share the parse of the text
+	 * until the checkpoint.
 	 */
 	@SuppressWarnings({ "unchecked", "rawtypes" })
 	public List<CompletionProposal> complete(String dslStart, int detailLevel) {
 		List<CompletionProposal> collector = new ArrayList<>();
 
-		TaskDefinition parsed;
-		try {
-			parsed = new TaskDefinition("__dummy", dslStart);
-		}
-		catch (Exception recoverable) {
+		ParseResult<TaskNode> result = TaskParser.parseRecovering("__dummy", dslStart, true, true);
+		if (!result.isSuccessful()) {
+			RuntimeException recoverable = result.getError();
 			for (RecoveryStrategy strategy : completionRecoveryStrategies) {
 				if (strategy.shouldTrigger(dslStart, recoverable)) {
-					strategy.addProposals(dslStart, recoverable, detailLevel, collector);
+					strategy.addProposals(dslStart, result, detailLevel, collector);
 				}
 			}
 
 			return collector;
 		}
 
+		TaskDefinition parsed = new TaskDefinition("__dummy", dslStart, result.getAst());
 		for (TaskExpansionStrategy strategy : completionExpansionStrategies) {
 			strategy.addProposals(dslStart, parsed, detailLevel, collector);
 		}
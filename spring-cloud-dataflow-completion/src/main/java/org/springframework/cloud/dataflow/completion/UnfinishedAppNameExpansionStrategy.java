@@ -16,7 +16,6 @@
 
 package org.springframework.cloud.dataflow.completion;
 
-import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -24,7 +23,6 @@ import java.util.Set;
 import org.springframework.cloud.dataflow.core.ApplicationType;
 import org.springframework.cloud.dataflow.core.StreamAppDefinition;
 import org.springframework.cloud.dataflow.core.StreamDefinition;
-import org.springframework.cloud.dataflow.registry.domain.AppRegistration;
 import org.springframework.cloud.dataflow.registry.AppRegistryCommon;
 
 /**
@@ -58,16 +56,15 @@ public class UnfinishedAppNameExpansionStrategy implements ExpansionStrategy {
 		String alreadyTyped = lastApp.getName();
 		CompletionProposal.Factory proposals = CompletionProposal.expanding(text);
 
-		List<ApplicationType> validTypesAtThisPosition = Arrays
-				.asList(CompletionUtils.determinePotentialTypes(lastApp));
+		ApplicationType[] validTypesAtThisPosition = CompletionUtils.determinePotentialTypes(lastApp);
 
-		for (AppRegistration appRegistration : appRegistry.findAll()) {
-			String candidateName = appRegistration.getName();
-			if (validTypesAtThisPosition.contains(appRegistration.getType()) && !alreadyTyped.equals(candidateName)
-					&& candidateName.startsWith(alreadyTyped)) {
-				String expansion = CompletionUtils.maybeQualifyWithLabel(appRegistration.getName(), streamDefinition);
+		for (ApplicationType type : validTypesAtThisPosition) {
+			for (String candidateName : appRegistry.findNames(type, alreadyTyped)) {
+				if (!alreadyTyped.equals(candidateName)) {
+					String expansion = CompletionUtils.maybeQualifyWithLabel(candidateName, streamDefinition);
 
-				collector.add(proposals.withSuffix(expansion.substring(alreadyTyped.length())));
+					collector.add(proposals.withSuffix(expansion.substring(alreadyTyped.length())));
+				}
 			}
 		}
 		return false;
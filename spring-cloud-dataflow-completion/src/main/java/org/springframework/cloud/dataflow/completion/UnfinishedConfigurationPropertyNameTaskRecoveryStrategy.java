@@ -24,6 +24,8 @@ import org.springframework.cloud.dataflow.configuration.metadata.ApplicationConf
 import org.springframework.cloud.dataflow.core.ApplicationType;
 import org.springframework.cloud.dataflow.core.TaskDefinition;
 import org.springframework.cloud.dataflow.core.dsl.CheckPointedParseException;
+import org.springframework.cloud.dataflow.core.dsl.ParseResult;
+import org.springframework.cloud.dataflow.core.dsl.TaskParser;
 import org.springframework.cloud.dataflow.registry.domain.AppRegistration;
 import org.springframework.cloud.dataflow.registry.AppRegistryCommon;
 
@@ -49,9 +51,15 @@ public class UnfinishedConfigurationPropertyNameTaskRecoveryStrategy
 
 	@Override
 	public void addProposals(String dsl, CheckPointedParseException exception, int detailLevel, List<CompletionProposal> collector) {
+		addProposals(dsl, TaskParser.parseRecovering("__dummy", dsl, true, true), detailLevel, collector);
+	}
+
+	@Override
+	public void addProposals(String dsl, ParseResult<?> parseResult, int detailLevel, List<CompletionProposal> collector) {
+		CheckPointedParseException exception = (CheckPointedParseException) parseResult.getError();
 		String safe = exception.getExpressionStringUntilCheckpoint();
 
-		TaskDefinition taskDefinition = new TaskDefinition("__dummy", safe);
+		TaskDefinition taskDefinition = CompletionUtils.checkpointTaskDefinition(parseResult);
 
 		AppRegistration appRegistration = this.collectorSupport.findAppRegistration(taskDefinition.getRegisteredAppName(), ApplicationType.task);
 
@@ -16,14 +16,12 @@
 
 package org.springframework.cloud.dataflow.completion;
 
-import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
 import org.springframework.cloud.dataflow.core.ApplicationType;
 import org.springframework.cloud.dataflow.core.TaskDefinition;
-import org.springframework.cloud.dataflow.registry.domain.AppRegistration;
 import org.springframework.cloud.dataflow.registry.AppRegistryCommon;
 
 /**
@@ -57,15 +55,9 @@ public class UnfinishedTaskAppNameExpansionStrategy implements TaskExpansionStra
 		String alreadyTyped = taskDefinition.getRegisteredAppName();
 		CompletionProposal.Factory proposals = CompletionProposal.expanding(text);
 
-		List<ApplicationType> validTypesAtThisPosition = Arrays.asList(ApplicationType.task);
-
-		for (AppRegistration appRegistration : appRegistry.findAll()) {
-			String candidateName = appRegistration.getName();
-			if (validTypesAtThisPosition.contains(appRegistration.getType()) && !alreadyTyped.equals(candidateName)
-					&& candidateName.startsWith(alreadyTyped)) {
-				String expansion = appRegistration.getName();
-
-				collector.add(proposals.withSuffix(expansion.substring(alreadyTyped.length())));
+		for (String candidateName : appRegistry.findNames(ApplicationType.task, alreadyTyped)) {
+			if (!alreadyTyped.equals(candidateName)) {
+				collector.add(proposals.withSuffix(candidateName.substring(alreadyTyped.length())));
 			}
 		}
 		return false;
@@ -0,0 +1,246 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.completion;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.boot.configurationmetadata.ConfigurationMetadataProperty;
+import org.springframework.boot.configurationmetadata.ValueHint;
+import org.springframework.cloud.dataflow.configuration.metadata.ApplicationConfigurationMetadataResolver;
+import org.springframework.core.io.Resource;
+
+/**
+ * Caches the value hints of the configuration properties of apps, so that completing the
+ * value of a property only loads app classes the first time.
+ * <p>
+ * Hints are computed with ClassLoaders from an {@link AppClassLoaderPool} and cached per
+ * app metadata resource for as long as the metadata resolver returns the same metadata for
+ * that resource. Metadata is first compared by identity, which is enough for resolvers
+ * caching it. Otherwise, a hash of the ids and types of its properties is compared, so
+ * that resolvers re-reading it on every call still hit the cache. Only the string form of
+ * hints is kept, so that cached hints do not hold on to app classes.
+ */
+class ValueHintCache {
+
+	private static final int DEFAULT_CACHE_SIZE = 100;
+
+	private final ApplicationConfigurationMetadataResolver metadataResolver;
+
+	private final AppClassLoaderPool classLoaderPool;
+
+	private final Map<String, AppValueHints> cache;
+
+	ValueHintCache(ApplicationConfigurationMetadataResolver metadataResolver) {
+		this(metadataResolver, new AppClassLoaderPool(metadataResolver), DEFAULT_CACHE_SIZE);
+	}
+
+	/**
+	 * Create a cache keeping the value hints of at most {@code cacheSize} apps, evicting
+	 * the least recently used ones first.
+	 *
+	 * @param metadataResolver the resolver used to list app properties
+	 * @param classLoaderPool the pool of ClassLoaders used to compute value hints
+	 * @param cacheSize the maximum number of apps for which value hints are cached
+	 */
+	ValueHintCache(ApplicationConfigurationMetadataResolver metadataResolver, AppClassLoaderPool classLoaderPool,
+			int cacheSize) {
+		this.metadataResolver = metadataResolver;
+		this.classLoaderPool = classLoaderPool;
+		this.cache = new LinkedHashMap<String, AppValueHints>(16, 0.75f, true) {
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, AppValueHints> eldest) {
+				return size() > cacheSize;
+			}
+		};
+	}
+
+	/**
+	 * Return the value hints of the properties of an app matching the given name, as
+	 * returned by each of the given providers in turn. Providers returning no hints for a
+	 * property are left out.
+	 *
+	 * @param metadataResource the metadata resource of the app
+	 * @param propertyName the name of the property, in short or full form
+	 * @param valueHintProviders the providers of value hints
+	 * @return the value hints of each matching property and provider
+	 */
+	List<ProvidedValueHints> getValueHints(Resource metadataResource, String propertyName,
+			ValueHintProvider[] valueHintProviders) {
+		List<ConfigurationMetadataProperty> allProps = this.metadataResolver.listProperties(metadataResource, true);
+		List<Object> key = Arrays.asList(propertyName, Arrays.asList(valueHintProviders));
+		AppValueHints appValueHints;
+		synchronized (this.cache) {
+			appValueHints = this.cache.get(metadataResource.getDescription());
+			if (appValueHints == null || !appValueHints.isFor(allProps)) {
+				if (appValueHints != null) {
+					// changed app metadata, its classes may have changed as well
+					this.classLoaderPool.evict(metadataResource);
+				}
+				appValueHints = new AppValueHints(allProps);
+				this.cache.put(metadataResource.getDescription(), appValueHints);
+			}
+			List<ProvidedValueHints> valueHints = appValueHints.valueHints.get(key);
+			if (valueHints != null) {
+				return valueHints;
+			}
+		}
+		List<ConfigurationMetadataProperty> whiteListedProps = this.metadataResolver.listProperties(metadataResource);
+		List<ConfigurationMetadataProperty> matchingProps = new ArrayList<>();
+		for (ConfigurationMetadataProperty property : allProps) {
+			if (CompletionUtils.isMatchingProperty(propertyName, property, whiteListedProps)) {
+				matchingProps.add(property);
+			}
+		}
+		if (matchingProps.isEmpty()) {
+			// not cached, as any name may be typed
+			return Collections.emptyList();
+		}
+		List<ProvidedValueHints> valueHints = this.classLoaderPool.doWithClassLoader(metadataResource,
+				classLoader -> generateValueHints(matchingProps, valueHintProviders, classLoader));
+		synchronized (this.cache) {
+			appValueHints.valueHints.put(key, valueHints);
+		}
+		return valueHints;
+	}
+
+	void close() {
+		this.classLoaderPool.close();
+	}
+
+	/**
+	 * Return a hash of the id and type of each of the given properties.
+	 */
+	private static int metadataHash(List<ConfigurationMetadataProperty> properties) {
+		int hash = 1;
+		for (ConfigurationMetadataProperty property : properties) {
+			hash = 31 * hash + Objects.hashCode(property.getId());
+			hash = 31 * hash + Objects.hashCode(property.getType());
+		}
+		return hash;
+	}
+
+	private List<ProvidedValueHints> generateValueHints(List<ConfigurationMetadataProperty> properties,
+			ValueHintProvider[] valueHintProviders, ClassLoader classLoader) {
+		List<ProvidedValueHints> result = new ArrayList<>();
+		for (ConfigurationMetadataProperty property : properties) {
+			for (ValueHintProvider valueHintProvider : valueHintProviders) {
+				List<ValueHint> valueHints = valueHintProvider.generateValueHints(property, classLoader);
+				if (!valueHints.isEmpty()) {
+					List<CachedValueHint> cached = new ArrayList<>(valueHints.size());
+					for (ValueHint valueHint : valueHints) {
+						cached.add(new CachedValueHint(String.valueOf(valueHint.getValue()),
+								valueHint.getShortDescription()));
+					}
+					result.add(new ProvidedValueHints(Collections.unmodifiableList(cached),
+							valueHintProvider.isExclusive(property)));
+				}
+			}
+		}
+		return Collections.unmodifiableList(result);
+	}
+
+	/**
+	 * The value hints of the properties of an app, keyed by property name and providers.
+	 */
+	private static class AppValueHints {
+
+		/**
+		 * The metadata the value hints were computed from, not kept from being collected
+		 * once the resolver no longer caches it.
+		 */
+		private WeakReference<List<ConfigurationMetadataProperty>> metadata;
+
+		private final int metadataHash;
+
+		private final Map<List<Object>, List<ProvidedValueHints>> valueHints = new HashMap<>();
+
+		AppValueHints(List<ConfigurationMetadataProperty> metadata) {
+			this.metadata = new WeakReference<>(metadata);
+			this.metadataHash = metadataHash(metadata);
+		}
+
+		/**
+		 * Return whether these value hints were computed from the given metadata.
+		 */
+		boolean isFor(List<ConfigurationMetadataProperty> metadata) {
+			if (this.metadata.get() == metadata) {
+				return true;
+			}
+			if (this.metadataHash == metadataHash(metadata)) {
+				// same metadata read again, compared by identity from now on
+				this.metadata = new WeakReference<>(metadata);
+				return true;
+			}
+			return false;
+		}
+	}
+
+	/**
+	 * The value hints returned by a {@link ValueHintProvider} for a property.
+	 */
+	static class ProvidedValueHints {
+
+		private final List<CachedValueHint> valueHints;
+
+		private final boolean exclusive;
+
+		ProvidedValueHints(List<CachedValueHint> valueHints, boolean exclusive) {
+			this.valueHints = valueHints;
+			this.exclusive = exclusive;
+		}
+
+		List<CachedValueHint> getValueHints() {
+			return this.valueHints;
+		}
+
+		/**
+		 * @see ValueHintProvider#isExclusive(ConfigurationMetadataProperty)
+		 */
+		boolean isExclusive() {
+			return this.exclusive;
+		}
+	}
+
+	static class CachedValueHint {
+
+		private final String value;
+
+		private final String shortDescription;
+
+		CachedValueHint(String value, String shortDescription) {
+			this.value = value;
+			this.shortDescription = shortDescription;
+		}
+
+		String getValue() {
+			return this.value;
+		}
+
+		String getShortDescription() {
+			return this.shortDescription;
+		}
+	}
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.completion;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import org.springframework.boot.configurationmetadata.ConfigurationMetadataProperty;
+import org.springframework.cloud.dataflow.configuration.metadata.ApplicationConfigurationMetadataResolver;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class AppClassLoaderPoolTests {
+
+	private final List<TrackingClassLoader> created = new ArrayList<>();
+
+	private final ApplicationConfigurationMetadataResolver metadataResolver = new ApplicationConfigurationMetadataResolver() {
+
+		@Override
+		public List<ConfigurationMetadataProperty> listProperties(Resource metadataResource, boolean exhaustive) {
+			return Collections.emptyList();
+		}
+
+		@Override
+		public URLClassLoader createAppClassLoader(Resource app) {
+			TrackingClassLoader classLoader = new TrackingClassLoader();
+			created.add(classLoader);
+			return classLoader;
+		}
+	};
+
+	private final Resource foo = new ByteArrayResource(new byte[0], "foo");
+
+	private final Resource bar = new ByteArrayResource(new byte[0], "bar");
+
+	@Test
+	public void classLoadersAreReused() {
+		AppClassLoaderPool pool = new AppClassLoaderPool(metadataResolver, 10, 60_000L);
+		ClassLoader first = pool.doWithClassLoader(foo, classLoader -> classLoader);
+		ClassLoader second = pool.doWithClassLoader(foo, classLoader -> classLoader);
+		assertThat(second, sameInstance(first));
+		assertThat(created.size(), is(1));
+		assertThat(created.get(0).closed, is(false));
+
+		pool.close();
+		assertThat(created.get(0).closed, is(true));
+	}
+
+	@Test
+	public void leastRecentlyUsedClassLoadersAreClosed() {
+		AppClassLoaderPool pool = new AppClassLoaderPool(metadataResolver, 1, 60_000L);
+		pool.doWithClassLoader(foo, classLoader -> classLoader);
+		pool.doWithClassLoader(bar, classLoader -> classLoader);
+		assertThat(pool.size(), is(1));
+		assertThat(created.get(0).closed, is(true));
+		assertThat(created.get(1).closed, is(false));
+		pool.close();
+	}
+
+	@Test
+	public void classLoadersInUseAreOnlyClosedOnceReleased() {
+		AppClassLoaderPool pool = new AppClassLoaderPool(metadataResolver, 0, 60_000L);
+		pool.doWithClassLoader(foo, outer -> {
+			pool.doWithClassLoader(foo, inner -> inner);
+			assertThat(created.size(), is(1));
+			assertThat(created.get(0).closed, is(false));
+			pool.evict(foo);
+			assertThat(created.get(0).closed, is(false));
+			return outer;
+		});
+		assertThat(created.get(0).closed, is(true));
+		assertThat(pool.size(), is(0));
+		pool.close();
+	}
+
+	@Test
+	public void idleClassLoadersAreClosed() throws InterruptedException {
+		AppClassLoaderPool pool = new AppClassLoaderPool(metadataResolver, 10, 0L);
+		pool.doWithClassLoader(foo, classLoader -> classLoader);
+		Thread.sleep(10L);
+		pool.doWithClassLoader(bar, classLoader -> classLoader);
+		assertThat(created.get(0).closed, is(true));
+	}
+
+	@Test
+	public void idleClassLoadersAreClosedInTheBackground() throws InterruptedException {
+		AppClassLoaderPool pool = new AppClassLoaderPool(metadataResolver, 10, 50L);
+		pool.doWithClassLoader(foo, classLoader -> classLoader);
+		for (int i = 0; i < 100 && !created.get(0).closed; i++) {
+			Thread.sleep(20L);
+		}
+		assertThat(created.get(0).closed, is(true));
+		assertThat(pool.size(), is(0));
+		pool.close();
+	}
+
+	private static class TrackingClassLoader extends URLClassLoader {
+
+		private boolean closed;
+
+		TrackingClassLoader() {
+			super(new URL[0], null);
+		}
+
+		@Override
+		public void close() throws IOException {
+			this.closed = true;
+			super.close();
+		}
+	}
+}
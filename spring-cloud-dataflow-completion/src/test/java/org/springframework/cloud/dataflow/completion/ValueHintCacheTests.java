@@ -0,0 +1,203 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.completion;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Test;
+
+import org.springframework.boot.configurationmetadata.ConfigurationMetadataProperty;
+import org.springframework.boot.configurationmetadata.ValueHint;
+import org.springframework.cloud.dataflow.configuration.metadata.ApplicationConfigurationMetadataResolver;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class ValueHintCacheTests {
+
+	private final List<TrackingClassLoader> created = new ArrayList<>();
+
+	private volatile String propertyType = "java.lang.String";
+
+	/**
+	 * Reads the metadata again on every call, as a resolver without cache does.
+	 */
+	private final ApplicationConfigurationMetadataResolver metadataResolver = new ApplicationConfigurationMetadataResolver() {
+
+		@Override
+		public List<ConfigurationMetadataProperty> listProperties(Resource metadataResource, boolean exhaustive) {
+			ConfigurationMetadataProperty property = new ConfigurationMetadataProperty();
+			property.setId("foo.bar");
+			property.setName("bar");
+			property.setType(propertyType);
+			return Collections.singletonList(property);
+		}
+
+		@Override
+		public URLClassLoader createAppClassLoader(Resource app) {
+			TrackingClassLoader classLoader = new TrackingClassLoader();
+			created.add(classLoader);
+			return classLoader;
+		}
+	};
+
+	private final CountingValueHintProvider valueHintProvider = new CountingValueHintProvider();
+
+	private final ValueHintProvider[] valueHintProviders = { valueHintProvider };
+
+	private final Resource foo = new ByteArrayResource(new byte[0], "foo");
+
+	private ValueHintCache valueHintCache;
+
+	@After
+	public void tearDown() {
+		if (valueHintCache != null) {
+			valueHintCache.close();
+		}
+	}
+
+	@Test
+	public void valueHintsAreCachedWhileMetadataIsUnchanged() {
+		valueHintCache = new ValueHintCache(metadataResolver, new AppClassLoaderPool(metadataResolver), 10);
+		List<ValueHintCache.ProvidedValueHints> first = valueHintCache.getValueHints(foo, "foo.bar",
+				valueHintProviders);
+		List<ValueHintCache.ProvidedValueHints> second = valueHintCache.getValueHints(foo, "foo.bar",
+				valueHintProviders);
+		assertThat(first.size(), is(1));
+		assertThat(first.get(0).getValueHints().get(0).getValue(), is("java.lang.String"));
+		assertThat(second, is(first));
+		assertThat(valueHintProvider.calls, is(1));
+		assertThat(created.size(), is(1));
+	}
+
+	@Test
+	public void changedMetadataEvictsValueHintsAndClassLoader() {
+		valueHintCache = new ValueHintCache(metadataResolver, new AppClassLoaderPool(metadataResolver), 10);
+		valueHintCache.getValueHints(foo, "foo.bar", valueHintProviders);
+
+		propertyType = "java.lang.Integer";
+		List<ValueHintCache.ProvidedValueHints> valueHints = valueHintCache.getValueHints(foo, "foo.bar",
+				valueHintProviders);
+		assertThat(valueHints.get(0).getValueHints().get(0).getValue(), is("java.lang.Integer"));
+		assertThat(valueHintProvider.calls, is(2));
+		assertThat(created.size(), is(2));
+		assertThat(created.get(0).closed, is(true));
+		assertThat(created.get(1).closed, is(false));
+	}
+
+	@Test
+	public void metadataReturnedAgainIsComparedByIdentity() {
+		CountingProperty property = new CountingProperty();
+		property.setId("foo.bar");
+		property.setName("bar");
+		property.setType("java.lang.String");
+		List<ConfigurationMetadataProperty> metadata = Collections.singletonList(property);
+		ApplicationConfigurationMetadataResolver cachingResolver = new ApplicationConfigurationMetadataResolver() {
+
+			@Override
+			public List<ConfigurationMetadataProperty> listProperties(Resource metadataResource, boolean exhaustive) {
+				return metadata;
+			}
+
+			@Override
+			public URLClassLoader createAppClassLoader(Resource app) {
+				return new TrackingClassLoader();
+			}
+		};
+		valueHintCache = new ValueHintCache(cachingResolver, new AppClassLoaderPool(cachingResolver), 10);
+		valueHintCache.getValueHints(foo, "foo.bar", valueHintProviders);
+		int typeReads = property.typeReads;
+
+		valueHintCache.getValueHints(foo, "foo.bar", valueHintProviders);
+		assertThat(property.typeReads, is(typeReads));
+		assertThat(valueHintProvider.calls, is(1));
+	}
+
+	@Test
+	public void classLoadersArePooledWithoutCachedValueHints() {
+		valueHintCache = new ValueHintCache(metadataResolver, new AppClassLoaderPool(metadataResolver), 0);
+		valueHintCache.getValueHints(foo, "foo.bar", valueHintProviders);
+		valueHintCache.getValueHints(foo, "foo.bar", valueHintProviders);
+		assertThat(valueHintProvider.calls, is(2));
+		assertThat(created.size(), is(1));
+		assertThat(created.get(0).closed, is(false));
+	}
+
+	@Test
+	public void unknownPropertiesHaveNoValueHints() {
+		valueHintCache = new ValueHintCache(metadataResolver, new AppClassLoaderPool(metadataResolver), 10);
+		assertThat(valueHintCache.getValueHints(foo, "foo.wizz", valueHintProviders), is(empty()));
+		assertThat(valueHintProvider.calls, is(0));
+		assertThat(created.size(), is(0));
+	}
+
+	/**
+	 * Proposes the type of properties as their only value hint.
+	 */
+	private static class CountingValueHintProvider implements ValueHintProvider {
+
+		private int calls;
+
+		@Override
+		public List<ValueHint> generateValueHints(ConfigurationMetadataProperty property, ClassLoader classLoader) {
+			this.calls++;
+			ValueHint valueHint = new ValueHint();
+			valueHint.setValue(property.getType());
+			return Collections.singletonList(valueHint);
+		}
+
+		@Override
+		public boolean isExclusive(ConfigurationMetadataProperty property) {
+			return false;
+		}
+	}
+
+	private static class CountingProperty extends ConfigurationMetadataProperty {
+
+		private int typeReads;
+
+		@Override
+		public String getType() {
+			this.typeReads++;
+			return super.getType();
+		}
+	}
+
+	private static class TrackingClassLoader extends URLClassLoader {
+
+		private boolean closed;
+
+		TrackingClassLoader() {
+			super(new URL[0], null);
+		}
+
+		@Override
+		public void close() throws IOException {
+			this.closed = true;
+			super.close();
+		}
+	}
+}
@@ -18,6 +18,7 @@ package org.springframework.cloud.dataflow.configuration.metadata;
 
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.springframework.boot.configurationmetadata.ConfigurationMetadataProperty;
@@ -59,4 +60,41 @@ public abstract class ApplicationConfigurationMetadataResolver {
 	 * @return the list of configuration metdata properties
 	 */
 	public abstract List<ConfigurationMetadataProperty> listProperties(Resource metadataResource, boolean exhaustive);
+
+	/**
+	 * Return the configuration properties of an app that start with the given prefix, the
+	 * way they are referred to in definitions: white listed properties by their simple name
+	 * and, if {@code exhaustive}, all properties by their full id. For resolvers that
+	 * support it, properties are looked up in a sorted index rather than by going through
+	 * all of them. The default implementation filters {@link #listProperties(Resource, boolean)}.
+	 *
+	 * @param metadataResource the metadata file that contains app specific configuration
+	 * properties
+	 * @param exhaustive match all properties by id rather than white listed properties by
+	 * name
+	 * @param prefix the prefix of the property names or ids, possibly empty
+	 * @return the matching configuration metadata properties
+	 */
+	public List<ConfigurationMetadataProperty> listPropertiesStartingWith(Resource metadataResource,
+			boolean exhaustive, String prefix) {
+		List<ConfigurationMetadataProperty> result = new ArrayList<>();
+		for (ConfigurationMetadataProperty property : listProperties(metadataResource, exhaustive)) {
+			String key = exhaustive ? property.getId() : property.getName();
+			if (key.startsWith(prefix)) {
+				result.add(property);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * For resolvers that cache metadata, discard any cached information about the given
+	 * resource. Typically invoked when an app is (re-)registered or unregistered. The
+	 * default implementation does nothing.
+	 *
+	 * @param metadataResource the metadata resource whose cached information should be
+	 * discarded, may be {@literal null}
+	 */
+	public void evict(Resource metadataResource) {
+	}
 }
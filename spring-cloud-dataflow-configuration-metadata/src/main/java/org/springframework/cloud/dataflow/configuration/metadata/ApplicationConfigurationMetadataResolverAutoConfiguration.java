@@ -17,6 +17,7 @@
 package org.springframework.cloud.dataflow.configuration.metadata;
 
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -27,11 +28,16 @@ import org.springframework.context.annotation.Configuration;
  * @author Eric Bottard
  */
 @Configuration
+@EnableConfigurationProperties(ApplicationConfigurationMetadataResolverProperties.class)
 public class ApplicationConfigurationMetadataResolverAutoConfiguration {
 
 	@Bean
 	@ConditionalOnMissingBean(ApplicationConfigurationMetadataResolver.class)
-	public ApplicationConfigurationMetadataResolver metadataResolver() {
-		return new BootApplicationConfigurationMetadataResolver();
+	public ApplicationConfigurationMetadataResolver metadataResolver(
+			ApplicationConfigurationMetadataResolverProperties properties) {
+		BootApplicationConfigurationMetadataResolver resolver = new BootApplicationConfigurationMetadataResolver(null,
+				properties.getCacheSize());
+		resolver.setIndexDirectory(properties.getIndexDirectory());
+		return resolver;
 	}
 }
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.cloud.dataflow.configuration.metadata;
+
+import java.io.File;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for namespace 'spring.cloud.dataflow.configuration-metadata'.
+ */
+@ConfigurationProperties(prefix = ApplicationConfigurationMetadataResolverProperties.PREFIX)
+public class ApplicationConfigurationMetadataResolverProperties {
+
+	public static final String PREFIX = "spring.cloud.dataflow.configuration-metadata";
+
+	/**
+	 * The maximum number of apps for which configuration metadata is cached in memory.
+	 */
+	private int cacheSize = 100;
+
+	/**
+	 * Directory where configuration metadata extracted from apps is persisted across
+	 * restarts, as one JSON file per app. Defaults to a directory under the temporary
+	 * directory of the JVM. If set to an empty value, metadata is only cached in memory.
+	 */
+	private File indexDirectory = new File(System.getProperty("java.io.tmpdir"),
+			"spring-cloud-dataflow/configuration-metadata");
+
+	public int getCacheSize() {
+		return cacheSize;
+	}
+
+	public void setCacheSize(int cacheSize) {
+		this.cacheSize = cacheSize;
+	}
+
+	public File getIndexDirectory() {
+		return indexDirectory;
+	}
+
+	public void setIndexDirectory(File indexDirectory) {
+		this.indexDirectory = indexDirectory != null && !indexDirectory.getPath().isEmpty() ? indexDirectory : null;
+	}
+}
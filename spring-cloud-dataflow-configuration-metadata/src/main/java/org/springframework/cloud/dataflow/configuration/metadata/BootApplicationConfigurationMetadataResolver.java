@@ -24,7 +24,9 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 
@@ -38,6 +40,7 @@ import org.springframework.boot.loader.jar.JarFile;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 
 /**
@@ -59,18 +62,43 @@ public class BootApplicationConfigurationMetadataResolver extends ApplicationCon
 
 	private static final String CONFIGURATION_PROPERTIES_NAMES = "configuration-properties.names";
 
+	private static final int DEFAULT_CACHE_SIZE = 100;
+
 	private final Set<String> globalWhiteListedProperties = new HashSet<>();
 
 	private final Set<String> globalWhiteListedClasses = new HashSet<>();
 
 	private final ClassLoader parent;
 
+	private final Map<String, CachedAppMetadata> cache;
+
+	private ConfigurationMetadataIndex index;
+
 	public BootApplicationConfigurationMetadataResolver() {
 		this(null);
 	}
 
 	public BootApplicationConfigurationMetadataResolver(ClassLoader parent) {
+		this(parent, DEFAULT_CACHE_SIZE);
+	}
+
+	/**
+	 * Create a resolver that keeps the parsed metadata of at most {@code cacheSize} apps,
+	 * evicting the least recently used ones first.
+	 *
+	 * @param parent the parent ClassLoader of app ClassLoaders
+	 * @param cacheSize the maximum number of apps for which metadata is cached
+	 */
+	public BootApplicationConfigurationMetadataResolver(ClassLoader parent, int cacheSize) {
+		Assert.isTrue(cacheSize >= 0, "'cacheSize' must not be negative");
 		this.parent = parent;
+		this.cache = new LinkedHashMap<String, CachedAppMetadata>(16, 0.75f, true) {
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, CachedAppMetadata> eldest) {
+				return size() > cacheSize;
+			}
+		};
 		JarFile.registerUrlProtocolHandler();
 		try {
 			Resource[] globalResources = new PathMatchingResourcePatternResolver(
@@ -82,10 +110,24 @@ public class BootApplicationConfigurationMetadataResolver extends ApplicationCon
 		}
 	}
 
+	/**
+	 * Set a directory where extracted metadata is persisted, so that it survives restarts
+	 * without having to resolve and open app archives again.
+	 *
+	 * @param indexDirectory the directory to use, or {@literal null} to only cache metadata
+	 * in memory
+	 */
+	public void setIndexDirectory(File indexDirectory) {
+		this.index = indexDirectory != null ? new ConfigurationMetadataIndex(indexDirectory) : null;
+	}
+
 	/**
 	 * Return metadata about configuration properties that are documented via <a href=
 	 * "http://docs.spring.io/spring-boot/docs/current/reference/html/configuration-metadata.html">
 	 * Spring Boot configuration metadata</a> and visible in an app.
+	 * <p>
+	 * Results are cached per resource (and, if configured, persisted to the index
+	 * directory) until the resource is evicted or its backing file changes.
 	 *
 	 * @param app a Spring Cloud Stream app; typically a Boot uberjar, but directories are
 	 * supported as well
@@ -93,8 +135,23 @@ public class BootApplicationConfigurationMetadataResolver extends ApplicationCon
 	public List<ConfigurationMetadataProperty> listProperties(Resource app, boolean exhaustive) {
 		try {
 			if (app != null) {
-				Archive archive = resolveAsArchive(app);
-				return listProperties(archive, exhaustive);
+				return getMetadata(app).getProperties(exhaustive);
+			}
+		}
+		catch (IOException e) {
+		}
+		return Collections.emptyList();
+	}
+
+	/**
+	 * Properties are looked up in a sorted index, built once per cached resource.
+	 */
+	@Override
+	public List<ConfigurationMetadataProperty> listPropertiesStartingWith(Resource app, boolean exhaustive,
+			String prefix) {
+		try {
+			if (app != null) {
+				return getMetadata(app).getPropertiesStartingWith(exhaustive, prefix);
 			}
 		}
 		catch (IOException e) {
@@ -103,40 +160,90 @@ public class BootApplicationConfigurationMetadataResolver extends ApplicationCon
 	}
 
 	public List<ConfigurationMetadataProperty> listProperties(Archive archive, boolean exhaustive) {
+		return resolveMetadata(archive, null).getProperties(exhaustive);
+	}
+
+	@Override
+	public void evict(Resource metadataResource) {
+		if (metadataResource == null) {
+			return;
+		}
+		String location = metadataResource.getDescription();
+		synchronized (cache) {
+			cache.remove(location);
+		}
+		if (index != null) {
+			index.remove(location);
+		}
+	}
+
+	/**
+	 * Look up metadata in memory then in the index, and only resolve and open the app
+	 * archive as a last resort.
+	 */
+	private CachedAppMetadata getMetadata(Resource app) throws IOException {
+		String location = app.getDescription();
+		CachedAppMetadata metadata;
+		synchronized (cache) {
+			metadata = cache.get(location);
+		}
+		if (metadata == null && index != null) {
+			metadata = index.load(location);
+		}
+		if (metadata == null || metadata.isStale()) {
+			File file = app.getFile();
+			metadata = resolveMetadata(resolveAsArchive(file), file);
+			if (index != null) {
+				index.store(location, metadata);
+			}
+		}
+		synchronized (cache) {
+			cache.put(location, metadata);
+		}
+		return metadata;
+	}
+
+	/**
+	 * Open the archive once and compute both the white listed and the exhaustive lists of
+	 * properties.
+	 */
+	private CachedAppMetadata resolveMetadata(Archive archive, File source) {
 		try (URLClassLoader moduleClassLoader = new BootClassLoaderFactory(archive, parent).createClassLoader()) {
-			List<ConfigurationMetadataProperty> result = new ArrayList<>();
+			List<ConfigurationMetadataProperty> whiteListed = new ArrayList<>();
+			List<ConfigurationMetadataProperty> exhaustive = new ArrayList<>();
 			ResourcePatternResolver moduleResourceLoader = new PathMatchingResourcePatternResolver(moduleClassLoader);
 			Collection<String> whiteListedClasses = new HashSet<>(globalWhiteListedClasses);
 			Collection<String> whiteListedProperties = new HashSet<>(globalWhiteListedProperties);
 			Resource[] whitelistDescriptors = moduleResourceLoader.getResources(WHITELIST_PROPERTIES);
-			boolean include = (whitelistDescriptors.length == 0) || exhaustive;
 			// when no descriptors return everything
+			boolean include = whitelistDescriptors.length == 0;
 			loadWhiteLists(whitelistDescriptors, whiteListedClasses, whiteListedProperties);
 			ConfigurationMetadataRepositoryJsonBuilder builder = ConfigurationMetadataRepositoryJsonBuilder.create();
 			for (Resource r : moduleResourceLoader.getResources(CONFIGURATION_METADATA_PATTERN)) {
 				builder.withJsonResource(r.getInputStream());
 			}
 			for (ConfigurationMetadataGroup group : builder.build().getAllGroups().values()) {
+				exhaustive.addAll(group.getProperties().values());
 				if (include || isWhiteListed(group, whiteListedClasses)) {
-					result.addAll(group.getProperties().values());
+					whiteListed.addAll(group.getProperties().values());
 				} // Props in the root group have an id that looks prefixed itself. Handle
 					// here
 				else if ("_ROOT_GROUP_".equals(group.getId())) {
 					for (ConfigurationMetadataProperty property : group.getProperties().values()) {
 						if (isWhiteListed(property, whiteListedProperties)) {
-							result.add(property);
+							whiteListed.add(property);
 						}
 					}
 				}
 				else { // Look for per property WL
 					for (ConfigurationMetadataProperty property : group.getProperties().values()) {
 						if (isWhiteListed(property, whiteListedProperties)) {
-							result.add(property);
+							whiteListed.add(property);
 						}
 					}
 				}
 			}
-			return result;
+			return new CachedAppMetadata(whiteListed, exhaustive, source);
 		}
 		catch (Exception e) {
 			throw new RuntimeException("Exception trying to list configuration properties for application " + archive,
@@ -155,7 +262,10 @@ public class BootApplicationConfigurationMetadataResolver extends ApplicationCon
 	}
 
 	private Archive resolveAsArchive(Resource app) throws IOException {
-		File moduleFile = app.getFile();
+		return resolveAsArchive(app.getFile());
+	}
+
+	private Archive resolveAsArchive(File moduleFile) throws IOException {
 		return moduleFile.isDirectory() ? new ExplodedArchive(moduleFile) : new JarFileArchive(moduleFile);
 	}
 
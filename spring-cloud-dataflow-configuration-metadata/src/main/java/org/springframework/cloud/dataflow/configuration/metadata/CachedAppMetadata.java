@@ -0,0 +1,121 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.cloud.dataflow.configuration.metadata;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.boot.configurationmetadata.ConfigurationMetadataProperty;
+
+/**
+ * The white listed and exhaustive lists of configuration properties of an app, together
+ * with the modification stamp of the file they have been extracted from.
+ */
+class CachedAppMetadata {
+
+	private final List<ConfigurationMetadataProperty> whiteListed;
+
+	private final List<ConfigurationMetadataProperty> exhaustive;
+
+	private final String sourcePath;
+
+	private final long lastModified;
+
+	private final long length;
+
+	/**
+	 * White listed properties by name, built on first use.
+	 */
+	private volatile ConfigurationPropertyPrefixIndex whiteListedByName;
+
+	/**
+	 * All properties by id, built on first use.
+	 */
+	private volatile ConfigurationPropertyPrefixIndex exhaustiveById;
+
+	CachedAppMetadata(List<ConfigurationMetadataProperty> whiteListed, List<ConfigurationMetadataProperty> exhaustive,
+			File source) {
+		this(whiteListed, exhaustive, source != null ? source.getAbsolutePath() : null,
+				source != null ? source.lastModified() : 0L, source != null ? source.length() : 0L);
+	}
+
+	/**
+	 * Restore metadata extracted from the file at the given path, when it had the given
+	 * modification stamp.
+	 */
+	CachedAppMetadata(List<ConfigurationMetadataProperty> whiteListed, List<ConfigurationMetadataProperty> exhaustive,
+			String sourcePath, long lastModified, long length) {
+		this.whiteListed = Collections.unmodifiableList(new ArrayList<>(whiteListed));
+		this.exhaustive = Collections.unmodifiableList(new ArrayList<>(exhaustive));
+		this.sourcePath = sourcePath;
+		this.lastModified = lastModified;
+		this.length = length;
+	}
+
+	List<ConfigurationMetadataProperty> getProperties(boolean exhaustive) {
+		return exhaustive ? this.exhaustive : this.whiteListed;
+	}
+
+	/**
+	 * Return the white listed properties whose name starts with the given prefix or, if
+	 * {@code exhaustive}, all the properties whose id starts with it, sorted accordingly.
+	 */
+	List<ConfigurationMetadataProperty> getPropertiesStartingWith(boolean exhaustive, String prefix) {
+		ConfigurationPropertyPrefixIndex index = exhaustive ? this.exhaustiveById : this.whiteListedByName;
+		if (index == null) {
+			// concurrent callers may both build it, which is harmless
+			if (exhaustive) {
+				index = this.exhaustiveById = new ConfigurationPropertyPrefixIndex(this.exhaustive,
+						ConfigurationMetadataProperty::getId);
+			}
+			else {
+				index = this.whiteListedByName = new ConfigurationPropertyPrefixIndex(this.whiteListed,
+						ConfigurationMetadataProperty::getName);
+			}
+		}
+		return index.startingWith(prefix);
+	}
+
+	String getSourcePath() {
+		return sourcePath;
+	}
+
+	long getLastModified() {
+		return lastModified;
+	}
+
+	long getLength() {
+		return length;
+	}
+
+	/**
+	 * Return whether the file this metadata has been extracted from is known to have
+	 * changed since. A file that is no longer present locally (<em>e.g.</em> a purged
+	 * Maven cache) does not make the metadata stale.
+	 */
+	boolean isStale() {
+		if (sourcePath == null) {
+			return false;
+		}
+		File source = new File(sourcePath);
+		return source.exists() && (source.lastModified() != lastModified || source.length() != length);
+	}
+
+}
@@ -0,0 +1,257 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.cloud.dataflow.configuration.metadata;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.boot.configurationmetadata.ConfigurationMetadataProperty;
+import org.springframework.boot.configurationmetadata.Deprecation;
+import org.springframework.boot.configurationmetadata.ValueHint;
+import org.springframework.boot.configurationmetadata.ValueProvider;
+import org.springframework.util.Assert;
+import org.springframework.util.DigestUtils;
+
+/**
+ * Persists {@link CachedAppMetadata} to a local directory as JSON, one file per metadata
+ * resource, so that metadata survives server restarts without having to re-resolve and
+ * re-open app archives.
+ * <p>
+ * Failures to read or write the index are logged and otherwise ignored: the index is
+ * only ever an optimization.
+ */
+class ConfigurationMetadataIndex {
+
+	private static final Logger logger = LoggerFactory.getLogger(ConfigurationMetadataIndex.class);
+
+	private static final String SUFFIX = ".json";
+
+	/**
+	 * Version of the format of index entries, entries of other versions being discarded.
+	 */
+	private static final int FORMAT_VERSION = 1;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final File directory;
+
+	ConfigurationMetadataIndex(File directory) {
+		Assert.notNull(directory, "'directory' must not be null");
+		this.directory = directory;
+	}
+
+	/**
+	 * Return the metadata indexed for the given location, or {@literal null} if there is
+	 * none (or it could not be read).
+	 */
+	CachedAppMetadata load(String location) {
+		File file = fileFor(location);
+		if (!file.isFile()) {
+			return null;
+		}
+		try {
+			JsonNode entry = objectMapper.readTree(file);
+			if (entry.path("version").asInt() == FORMAT_VERSION && location.equals(entry.path("location").asText())) {
+				return new CachedAppMetadata(readProperties(entry.path("whiteListed")),
+						readProperties(entry.path("exhaustive")),
+						entry.hasNonNull("sourcePath") ? entry.get("sourcePath").asText() : null,
+						entry.path("lastModified").asLong(), entry.path("length").asLong());
+			}
+		}
+		catch (Exception e) {
+			logger.warn("Could not read metadata index entry " + file + ", discarding it", e);
+			remove(location);
+		}
+		return null;
+	}
+
+	void store(String location, CachedAppMetadata metadata) {
+		File tmp = null;
+		try {
+			ObjectNode entry = objectMapper.createObjectNode();
+			entry.put("version", FORMAT_VERSION);
+			entry.put("location", location);
+			entry.put("sourcePath", metadata.getSourcePath());
+			entry.put("lastModified", metadata.getLastModified());
+			entry.put("length", metadata.getLength());
+			entry.set("whiteListed", writeProperties(metadata.getProperties(false)));
+			entry.set("exhaustive", writeProperties(metadata.getProperties(true)));
+			Files.createDirectories(directory.toPath());
+			tmp = File.createTempFile("index", ".tmp", directory);
+			objectMapper.writeValue(tmp, entry);
+			Files.move(tmp.toPath(), fileFor(location).toPath(), StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch (IOException e) {
+			logger.warn("Could not write metadata index entry for " + location, e);
+			if (tmp != null) {
+				tmp.delete();
+			}
+		}
+	}
+
+	void remove(String location) {
+		try {
+			Files.deleteIfExists(fileFor(location).toPath());
+		}
+		catch (IOException e) {
+			logger.warn("Could not delete metadata index entry for " + location, e);
+		}
+	}
+
+	private File fileFor(String location) {
+		return new File(directory, DigestUtils.md5DigestAsHex(location.getBytes(StandardCharsets.UTF_8)) + SUFFIX);
+	}
+
+	private ArrayNode writeProperties(List<ConfigurationMetadataProperty> properties) {
+		ArrayNode nodes = objectMapper.createArrayNode();
+		for (ConfigurationMetadataProperty property : properties) {
+			ObjectNode node = nodes.addObject();
+			node.put("id", property.getId());
+			node.put("name", property.getName());
+			node.put("type", property.getType());
+			node.put("description", property.getDescription());
+			node.put("shortDescription", property.getShortDescription());
+			node.set("defaultValue", objectMapper.valueToTree(property.getDefaultValue()));
+			Deprecation deprecation = property.getDeprecation();
+			if (deprecation != null) {
+				ObjectNode deprecationNode = node.putObject("deprecation");
+				deprecationNode.put("level", deprecation.getLevel() != null ? deprecation.getLevel().name() : null);
+				deprecationNode.put("reason", deprecation.getReason());
+				deprecationNode.put("replacement", deprecation.getReplacement());
+			}
+			node.set("keyHints", writeValueHints(property.getHints().getKeyHints()));
+			node.set("keyProviders", writeValueProviders(property.getHints().getKeyProviders()));
+			node.set("valueHints", writeValueHints(property.getHints().getValueHints()));
+			node.set("valueProviders", writeValueProviders(property.getHints().getValueProviders()));
+		}
+		return nodes;
+	}
+
+	private ArrayNode writeValueHints(List<ValueHint> valueHints) {
+		ArrayNode nodes = objectMapper.createArrayNode();
+		for (ValueHint valueHint : valueHints) {
+			ObjectNode node = nodes.addObject();
+			node.set("value", objectMapper.valueToTree(valueHint.getValue()));
+			node.put("description", valueHint.getDescription());
+			node.put("shortDescription", valueHint.getShortDescription());
+		}
+		return nodes;
+	}
+
+	private ArrayNode writeValueProviders(List<ValueProvider> valueProviders) {
+		ArrayNode nodes = objectMapper.createArrayNode();
+		for (ValueProvider valueProvider : valueProviders) {
+			ObjectNode node = nodes.addObject();
+			node.put("name", valueProvider.getName());
+			node.set("parameters", objectMapper.valueToTree(valueProvider.getParameters()));
+		}
+		return nodes;
+	}
+
+	private List<ConfigurationMetadataProperty> readProperties(JsonNode nodes) throws JsonProcessingException {
+		List<ConfigurationMetadataProperty> properties = new ArrayList<>();
+		for (JsonNode node : nodes) {
+			ConfigurationMetadataProperty property = new ConfigurationMetadataProperty();
+			property.setId(readText(node, "id"));
+			property.setName(readText(node, "name"));
+			property.setType(readText(node, "type"));
+			property.setDescription(readText(node, "description"));
+			property.setShortDescription(readText(node, "shortDescription"));
+			property.setDefaultValue(readValue(node.path("defaultValue")));
+			JsonNode deprecationNode = node.path("deprecation");
+			if (deprecationNode.isObject()) {
+				Deprecation deprecation = new Deprecation();
+				String level = readText(deprecationNode, "level");
+				deprecation.setLevel(level != null ? Deprecation.Level.valueOf(level) : null);
+				deprecation.setReason(readText(deprecationNode, "reason"));
+				deprecation.setReplacement(readText(deprecationNode, "replacement"));
+				property.setDeprecation(deprecation);
+			}
+			readValueHints(node.path("keyHints"), property.getHints().getKeyHints());
+			readValueProviders(node.path("keyProviders"), property.getHints().getKeyProviders());
+			readValueHints(node.path("valueHints"), property.getHints().getValueHints());
+			readValueProviders(node.path("valueProviders"), property.getHints().getValueProviders());
+			properties.add(property);
+		}
+		return properties;
+	}
+
+	private void readValueHints(JsonNode nodes, List<ValueHint> valueHints) throws JsonProcessingException {
+		for (JsonNode node : nodes) {
+			ValueHint valueHint = new ValueHint();
+			valueHint.setValue(readValue(node.path("value")));
+			valueHint.setDescription(readText(node, "description"));
+			valueHint.setShortDescription(readText(node, "shortDescription"));
+			valueHints.add(valueHint);
+		}
+	}
+
+	private void readValueProviders(JsonNode nodes, List<ValueProvider> valueProviders)
+			throws JsonProcessingException {
+		for (JsonNode node : nodes) {
+			ValueProvider valueProvider = new ValueProvider();
+			valueProvider.setName(readText(node, "name"));
+			Iterator<Map.Entry<String, JsonNode>> parameters = node.path("parameters").fields();
+			while (parameters.hasNext()) {
+				Map.Entry<String, JsonNode> parameter = parameters.next();
+				valueProvider.getParameters().put(parameter.getKey(), readValue(parameter.getValue()));
+			}
+			valueProviders.add(valueProvider);
+		}
+	}
+
+	private static String readText(JsonNode node, String field) {
+		JsonNode value = node.get(field);
+		return value != null && !value.isNull() ? value.asText() : null;
+	}
+
+	/**
+	 * Read a default or hint value, restoring arrays as the {@code Object[]} Spring Boot
+	 * reads them as.
+	 */
+	private Object readValue(JsonNode node) throws JsonProcessingException {
+		if (node.isMissingNode() || node.isNull()) {
+			return null;
+		}
+		if (node.isArray()) {
+			Object[] values = new Object[node.size()];
+			for (int i = 0; i < values.length; i++) {
+				values[i] = readValue(node.get(i));
+			}
+			return values;
+		}
+		return objectMapper.treeToValue(node, Object.class);
+	}
+
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.configuration.metadata;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.boot.configurationmetadata.ConfigurationMetadataProperty;
+
+/**
+ * Configuration properties sorted by a key (their name or their id), so that the ones
+ * whose key starts with a given prefix are found with a binary search.
+ */
+class ConfigurationPropertyPrefixIndex {
+
+	private final String[] keys;
+
+	private final ConfigurationMetadataProperty[] properties;
+
+	/**
+	 * Index the given properties. Properties sharing the same key are kept in their
+	 * original order.
+	 *
+	 * @param properties the properties to index
+	 * @param key the function returning the key of a property
+	 */
+	ConfigurationPropertyPrefixIndex(List<ConfigurationMetadataProperty> properties,
+			Function<ConfigurationMetadataProperty, String> key) {
+		List<ConfigurationMetadataProperty> sorted = new ArrayList<>(properties);
+		// stable sort
+		Collections.sort(sorted, Comparator.comparing(key));
+		this.keys = new String[sorted.size()];
+		this.properties = new ConfigurationMetadataProperty[sorted.size()];
+		for (int i = 0; i < sorted.size(); i++) {
+			this.keys[i] = key.apply(sorted.get(i));
+			this.properties[i] = sorted.get(i);
+		}
+	}
+
+	/**
+	 * Return the properties whose key starts with the given prefix, sorted by key.
+	 */
+	List<ConfigurationMetadataProperty> startingWith(String prefix) {
+		List<ConfigurationMetadataProperty> result = new ArrayList<>();
+		for (int i = lowerBound(prefix); i < this.keys.length && this.keys[i].startsWith(prefix); i++) {
+			result.add(this.properties[i]);
+		}
+		return result;
+	}
+
+	/**
+	 * Return the index of the first key not lower than the given prefix.
+	 */
+	private int lowerBound(String prefix) {
+		int low = 0;
+		int high = this.keys.length;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (this.keys[middle].compareTo(prefix) < 0) {
+				low = middle + 1;
+			}
+			else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+}
@@ -16,19 +16,31 @@
 
 package org.springframework.cloud.dataflow.configuration.metadata;
 
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.hamcrest.Matcher;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import org.springframework.boot.configurationmetadata.ConfigurationMetadataProperty;
+import org.springframework.core.io.AbstractResource;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.util.ObjectUtils;
 
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasProperty;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertThat;
 
 /**
@@ -38,6 +50,9 @@ import static org.junit.Assert.assertThat;
  */
 public class BootApplicationConfigurationMetadataResolverTests {
 
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
 	private ApplicationConfigurationMetadataResolver resolver = new BootApplicationConfigurationMetadataResolver();
 
 	@Test
@@ -67,6 +82,84 @@ public class BootApplicationConfigurationMetadataResolverTests {
 		assertThat(properties.size(), is(full.size()));
 	}
 
+	@Test
+	public void propertiesShouldBeFoundByPrefix() {
+		ClassPathResource app = new ClassPathResource("apps/filter-processor", getClass());
+		for (String prefix : new String[] { "", "e", "exp", "expresso", "filter.", "some.prefix", "zzz" }) {
+			for (boolean exhaustive : new boolean[] { false, true }) {
+				List<ConfigurationMetadataProperty> expected = new ArrayList<>();
+				for (ConfigurationMetadataProperty property : resolver.listProperties(app, exhaustive)) {
+					String key = exhaustive ? property.getId() : property.getName();
+					if (key.startsWith(prefix)) {
+						expected.add(property);
+					}
+				}
+				List<ConfigurationMetadataProperty> found = resolver.listPropertiesStartingWith(app, exhaustive, prefix);
+				assertThat(found, containsInAnyOrder(expected.toArray(new ConfigurationMetadataProperty[0])));
+			}
+		}
+		assertThat(resolver.listPropertiesStartingWith(app, true, "some.prefix"),
+				hasItem(configPropertyIdentifiedAs("some.prefix.hidden.by.default.secret")));
+		assertThat(resolver.listPropertiesStartingWith(app, false, "some.prefix"),
+				not(hasItem(configPropertyIdentifiedAs("some.prefix.hidden.by.default.secret"))));
+	}
+
+	@Test
+	public void metadataShouldBeCachedUntilEvicted() {
+		ClassPathResource app = new ClassPathResource("apps/filter-processor", getClass());
+		List<ConfigurationMetadataProperty> properties = resolver.listProperties(app);
+		assertThat(resolver.listProperties(app), sameInstance(properties));
+		resolver.evict(new ClassPathResource("apps/filter-processor", getClass()));
+		List<ConfigurationMetadataProperty> reloaded = resolver.listProperties(app);
+		assertThat(reloaded, not(sameInstance(properties)));
+		assertThat(describe(reloaded), containsInAnyOrder(describe(properties).toArray(new String[0])));
+	}
+
+	@Test
+	public void indexedMetadataShouldSurviveRestartsWithoutResolvingResource() throws IOException {
+		File indexDirectory = temporaryFolder.newFolder();
+		ClassPathResource app = new ClassPathResource("apps/filter-processor", getClass());
+		BootApplicationConfigurationMetadataResolver first = new BootApplicationConfigurationMetadataResolver();
+		first.setIndexDirectory(indexDirectory);
+		List<ConfigurationMetadataProperty> properties = first.listProperties(app, true);
+		assertThat(indexDirectory.list((dir, name) -> name.endsWith(".json")).length, is(1));
+
+		BootApplicationConfigurationMetadataResolver second = new BootApplicationConfigurationMetadataResolver();
+		second.setIndexDirectory(indexDirectory);
+		Resource unresolvable = new AbstractResource() {
+
+			@Override
+			public String getDescription() {
+				return app.getDescription();
+			}
+
+			@Override
+			public InputStream getInputStream() throws IOException {
+				throw new FileNotFoundException("Should not be resolved");
+			}
+		};
+		assertThat(describe(second.listProperties(unresolvable, true)),
+				containsInAnyOrder(describe(properties).toArray(new String[0])));
+		assertThat(second.listProperties(unresolvable), hasItem(configPropertyIdentifiedAs("filter.expression")));
+
+		second.evict(unresolvable);
+		assertThat(second.listProperties(unresolvable).size(), is(0));
+	}
+
+	/**
+	 * Describe properties by id, name, type, description, default value and number of
+	 * value hints, as properties do not implement equals().
+	 */
+	private List<String> describe(List<ConfigurationMetadataProperty> properties) {
+		List<String> descriptions = new ArrayList<>();
+		for (ConfigurationMetadataProperty property : properties) {
+			descriptions.add(property.getId() + "|" + property.getName() + "|" + property.getType() + "|"
+					+ property.getDescription() + "|" + ObjectUtils.nullSafeToString(property.getDefaultValue()) + "|"
+					+ property.getHints().getValueHints().size());
+		}
+		return descriptions;
+	}
+
 	private Matcher<ConfigurationMetadataProperty> configPropertyIdentifiedAs(String name) {
 		return hasProperty("id", is(name));
 	}
@@ -16,10 +16,9 @@
 
 package org.springframework.cloud.dataflow.core;
 
-import java.util.Collections;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.ListIterator;
 
 import org.springframework.cloud.dataflow.core.dsl.StreamNode;
 import org.springframework.cloud.dataflow.core.dsl.StreamParser;
@@ -51,10 +50,11 @@ public class StreamDefinition {
 	private final String dslText;
 
 	/**
-	 * Ordered list of {@link StreamAppDefinition}s comprising this stream. The source is
-	 * the first entry and the sink is the last entry.
+	 * Ordered, unmodifiable list of {@link StreamAppDefinition}s comprising this stream.
+	 * The source is the first entry and the sink is the last entry. Only set once the DSL
+	 * has been parsed.
 	 */
-	private final LinkedList<StreamAppDefinition> applicationDefinitions;
+	private volatile List<StreamAppDefinition> applicationDefinitions;
 
 	/**
 	 * Construct a {@code StreamDefinition}.
@@ -63,17 +63,49 @@ public class StreamDefinition {
 	 * @param dslText DSL definition for stream
 	 */
 	public StreamDefinition(String name, String dslText) {
+		this(name, dslText, false);
+	}
+
+	/**
+	 * Construct a {@code StreamDefinition}, possibly deferring the parsing of its DSL
+	 * until its application definitions are first requested. Parsing should only be
+	 * deferred for DSLs known to be valid, such as persisted ones, since parse errors are
+	 * then only thrown by the methods returning application definitions.
+	 *
+	 * @param name name of stream
+	 * @param dslText DSL definition for stream
+	 * @param lazy whether to defer parsing the DSL
+	 */
+	public StreamDefinition(String name, String dslText, boolean lazy) {
 		Assert.hasText(name, "name is required");
 		Assert.hasText(dslText, "dslText is required");
 		this.name = name;
 		this.dslText = dslText;
-		this.applicationDefinitions = new LinkedList<>();
-		StreamNode streamNode = new StreamParser(name, dslText).parse();
-		for (StreamAppDefinition appDefinition : new StreamApplicationDefinitionBuilder(name, streamNode).build()) {
-			this.applicationDefinitions.addFirst(appDefinition);
+		if (!lazy) {
+			this.applicationDefinitions = StreamDefinitionParseCache.getAppDefinitions(name, dslText);
 		}
 	}
 
+	/**
+	 * Construct a {@code StreamDefinition} from the AST of its already parsed DSL, such as
+	 * one returned by {@link StreamParser#parseRecovering(String, String)}. Unlike the
+	 * other constructors, the application definitions are not shared through the parse
+	 * cache, so that transient DSLs such as partially typed ones do not evict persisted
+	 * ones.
+	 *
+	 * @param name name of stream
+	 * @param dslText DSL definition for stream
+	 * @param streamNode the AST of the DSL definition
+	 */
+	public StreamDefinition(String name, String dslText, StreamNode streamNode) {
+		Assert.hasText(name, "name is required");
+		Assert.hasText(dslText, "dslText is required");
+		Assert.notNull(streamNode, "streamNode is required");
+		this.name = name;
+		this.dslText = dslText;
+		this.applicationDefinitions = StreamDefinitionParseCache.build(name, streamNode);
+	}
+
 	/**
 	 * Return the name of this stream.
 	 *
@@ -101,7 +133,7 @@ public class StreamDefinition {
 	 * @return list of application definitions for this stream definition
 	 */
 	public List<StreamAppDefinition> getAppDefinitions() {
-		return Collections.unmodifiableList(this.applicationDefinitions);
+		return applicationDefinitions();
 	}
 
 	/**
@@ -112,7 +144,17 @@ public class StreamDefinition {
 	 * @return iterator that iterates over the application definitions in deployment order
 	 */
 	public Iterator<StreamAppDefinition> getDeploymentOrderIterator() {
-		return new ReadOnlyIterator<>(this.applicationDefinitions.descendingIterator());
+		List<StreamAppDefinition> appDefinitions = applicationDefinitions();
+		return new DescendingIterator<>(appDefinitions.listIterator(appDefinitions.size()));
+	}
+
+	private List<StreamAppDefinition> applicationDefinitions() {
+		List<StreamAppDefinition> appDefinitions = this.applicationDefinitions;
+		if (appDefinitions == null) {
+			appDefinitions = StreamDefinitionParseCache.getAppDefinitions(this.name, this.dslText);
+			this.applicationDefinitions = appDefinitions;
+		}
+		return appDefinitions;
 	}
 
 	@Override
@@ -154,25 +196,25 @@ public class StreamDefinition {
 	}
 
 	/**
-	 * Iterator that prevents mutation of its backing data structure.
+	 * Iterator that goes backwards through a list, and prevents mutation of that list.
 	 *
 	 * @param <T> the type of elements returned by this iterator
 	 */
-	private static class ReadOnlyIterator<T> implements Iterator<T> {
-		private final Iterator<T> wrapped;
+	private static class DescendingIterator<T> implements Iterator<T> {
+		private final ListIterator<T> wrapped;
 
-		ReadOnlyIterator(Iterator<T> wrapped) {
+		DescendingIterator(ListIterator<T> wrapped) {
 			this.wrapped = wrapped;
 		}
 
 		@Override
 		public boolean hasNext() {
-			return wrapped.hasNext();
+			return wrapped.hasPrevious();
 		}
 
 		@Override
 		public T next() {
-			return wrapped.next();
+			return wrapped.previous();
 		}
 
 		@Override
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.cloud.dataflow.core.dsl.StreamNode;
+import org.springframework.cloud.dataflow.core.dsl.StreamParser;
+
+/**
+ * Bounded cache of the application definitions parsed out of stream DSLs, keyed by stream
+ * name and DSL text. {@link StreamDefinition}s created with the same name and DSL share
+ * the same immutable list of {@link StreamAppDefinition}s.
+ * <p>
+ * DSLs that fail to parse are not cached.
+ */
+final class StreamDefinitionParseCache {
+
+	static final int MAX_ENTRIES = 1024;
+
+	private static final Map<Key, List<StreamAppDefinition>> appDefinitions = new LinkedHashMap<Key, List<StreamAppDefinition>>(
+			16, 0.75f, true) {
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Key, List<StreamAppDefinition>> eldest) {
+			return size() > MAX_ENTRIES;
+		}
+	};
+
+	private StreamDefinitionParseCache() {
+	}
+
+	/**
+	 * Return the application definitions of a stream, in stream flow order.
+	 *
+	 * @param name the name of the stream
+	 * @param dslText the DSL definition of the stream
+	 * @return the unmodifiable list of application definitions of the stream
+	 */
+	static List<StreamAppDefinition> getAppDefinitions(String name, String dslText) {
+		Key key = new Key(name, dslText);
+		synchronized (appDefinitions) {
+			List<StreamAppDefinition> cached = appDefinitions.get(key);
+			if (cached != null) {
+				return cached;
+			}
+		}
+		// parse outside of the lock, concurrent parses of the same DSL are harmless
+		List<StreamAppDefinition> parsed = build(name, new StreamParser(name, dslText).parse());
+		synchronized (appDefinitions) {
+			List<StreamAppDefinition> cached = appDefinitions.putIfAbsent(key, parsed);
+			return cached != null ? cached : parsed;
+		}
+	}
+
+	/**
+	 * Build the application definitions of a stream from the AST of its DSL, without
+	 * caching them.
+	 *
+	 * @param name the name of the stream
+	 * @param streamNode the AST of the DSL definition of the stream
+	 * @return the unmodifiable list of application definitions of the stream, in stream
+	 * flow order
+	 */
+	static List<StreamAppDefinition> build(String name, StreamNode streamNode) {
+		// the builder returns application definitions in deployment order
+		List<StreamAppDefinition> parsed = new ArrayList<>(
+				new StreamApplicationDefinitionBuilder(name, streamNode).build());
+		Collections.reverse(parsed);
+		return Collections.unmodifiableList(parsed);
+	}
+
+	private static final class Key {
+
+		private final String name;
+
+		private final String dslText;
+
+		Key(String name, String dslText) {
+			this.name = name;
+			this.dslText = dslText;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) o;
+			return this.name.equals(other.name) && this.dslText.equals(other.dslText);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * this.name.hashCode() + this.dslText.hashCode();
+		}
+	}
+}
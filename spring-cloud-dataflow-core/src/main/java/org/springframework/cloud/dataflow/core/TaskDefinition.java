@@ -48,9 +48,20 @@ public class TaskDefinition extends DataFlowAppDefinition {
 	}
 
 	public TaskDefinition(String name, String dsl) {
+		this(name, dsl, new TaskParser(name, dsl, true, true).parse());
+	}
+
+	/**
+	 * Construct a {@code TaskDefinition} from the AST of its already parsed DSL, such as
+	 * one returned by {@link TaskParser#parseRecovering(String, String, boolean, boolean)}.
+	 *
+	 * @param name the name of the task
+	 * @param dsl the DSL definition of the task
+	 * @param taskNode the AST of the DSL definition, parsed in app mode
+	 */
+	public TaskDefinition(String name, String dsl, TaskNode taskNode) {
 		this.dslText = dsl;
 		Map<String, String> properties = new HashMap<>();
-		TaskNode taskNode = new TaskParser(name, dsl, true, true).parse();
 		if (taskNode.isComposed()) {
 			setRegisteredAppName(name);
 		}
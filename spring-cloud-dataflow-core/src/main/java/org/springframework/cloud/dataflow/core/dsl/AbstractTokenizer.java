@@ -64,12 +64,8 @@ public abstract class AbstractTokenizer {
 	protected String expressionString;
 
 	/**
-	 * The expressionString as a char array.
-	 */
-	protected char[] toProcess;
-
-	/**
-	 * Length of input data.
+	 * Length of input data, including the sentinel {@code '\0'} character which
+	 * {@link #charAt(int)} returns past the end of the expression string.
 	 */
 	protected int max;
 
@@ -88,16 +84,38 @@ public abstract class AbstractTokenizer {
 	 */
 	protected int[] linebreaks = NO_LINEBREAKS;
 
+	/**
+	 * Whether parse errors are reported to the caller of a recovering parse rather than
+	 * thrown, in which case they are created without a stack trace.
+	 */
+	private final boolean recovering;
+
+	protected AbstractTokenizer() {
+		this(false);
+	}
+
+	protected AbstractTokenizer(boolean recovering) {
+		this.recovering = recovering;
+	}
+
 	abstract void process();
 
 	public Tokens getTokens(String inputData) {
 		this.expressionString = inputData;
-		this.toProcess = (inputData + "\0").toCharArray();
-		this.max = toProcess.length;
+		this.max = inputData.length() + 1;
 		this.pos = 0;
 		this.tokens.clear();
 		process();
-		return new Tokens(inputData, tokens, linebreaks);
+		return new Tokens(inputData, tokens, linebreaks, this.recovering);
+	}
+
+	/**
+	 * Return the character of the input data at the given position, or {@code '\0'} past
+	 * the end of the input data. Reading characters in place avoids copying the input
+	 * data, and the sentinel saves bound checks when looking ahead.
+	 */
+	protected char charAt(int index) {
+		return index < expressionString.length() ? expressionString.charAt(index) : '\0';
 	}
 
 	/**
@@ -105,9 +123,9 @@ public abstract class AbstractTokenizer {
 	 */
 	protected boolean isTwoCharToken(TokenKind kind) {
 		Assert.isTrue(kind.tokenChars.length == 2, "The token kind being looked for should be of length 2");
-		Assert.isTrue(toProcess[pos] == kind.tokenChars[0],
+		Assert.isTrue(charAt(pos) == kind.tokenChars[0],
 				"Expected these characters to have already been tested for equality");
-		return toProcess[pos + 1] == kind.tokenChars[1];
+		return charAt(pos + 1) == kind.tokenChars[1];
 	}
 
 	/**
@@ -152,20 +170,13 @@ public abstract class AbstractTokenizer {
 		return (flags[ch] & IS_ALPHA) != 0;
 	}
 
-	protected char[] subArray(int start, int end) {
-		char[] result = new char[end - start];
-		System.arraycopy(toProcess, start, result, 0, end - start);
-		return result;
-	}
-
 	protected void lexIdentifier() {
 		int start = pos;
 		do {
 			pos++;
 		}
-		while (isIdentifier(toProcess[pos]));
-		char[] subarray = subArray(start, pos);
-		tokens.add(new Token(TokenKind.IDENTIFIER, subarray, start, pos));
+		while (isIdentifier(charAt(pos)));
+		tokens.add(new Token(TokenKind.IDENTIFIER, expressionString, start, pos));
 	}
 
 	/**
@@ -189,10 +200,10 @@ public abstract class AbstractTokenizer {
 		boolean terminated = false;
 		while (!terminated) {
 			pos++;
-			char ch = toProcess[pos];
+			char ch = charAt(pos);
 			if (ch == quoteChar) {
 				// may not be the end if the char after is also a quoteChar
-				if (toProcess[pos + 1] == quoteChar) {
+				if (charAt(pos + 1) == quoteChar) {
 					pos++; // skip over that too, and continue
 				}
 				else {
@@ -200,11 +211,11 @@ public abstract class AbstractTokenizer {
 				}
 			}
 			if (ch == 0) {
-				throw new ParseException(expressionString, start, messageOnNonTerminationError);
+				throw parseException(start, messageOnNonTerminationError);
 			}
 		}
 		pos++;
-		tokens.add(new Token(TokenKind.LITERAL_STRING, subArray(start, pos), start, pos));
+		tokens.add(new Token(TokenKind.LITERAL_STRING, expressionString, start, pos));
 	}
 
 	/**
@@ -240,14 +251,14 @@ public abstract class AbstractTokenizer {
 									// 'hello'+'world'
 		Character quoteInUse = null; // If set, indicates this is being treated as a
 										// quoted string
-		if (isQuote(toProcess[pos])) {
+		if (isQuote(charAt(pos))) {
 			quoteOpen = true;
-			quoteInUse = toProcess[pos++];
+			quoteInUse = charAt(pos++);
 		}
 		do {
-			char ch = toProcess[pos];
+			char ch = charAt(pos);
 			if ((quoteInUse != null && ch == quoteInUse) || (quoteInUse == null && isQuote(ch))) {
-				if (quoteInUse != null && quoteInUse == '\'' && ch == '\'' && toProcess[pos + 1] == '\'') {
+				if (quoteInUse != null && quoteInUse == '\'' && ch == '\'' && charAt(pos + 1) == '\'') {
 					pos++; // skip over that too, and continue
 				}
 				else {
@@ -259,29 +270,27 @@ public abstract class AbstractTokenizer {
 			}
 			pos++;
 		}
-		while (!isArgValueIdentifierTerminator(toProcess[pos], quoteOpen));
-		char[] subarray = null;
+		while (!isArgValueIdentifierTerminator(charAt(pos), quoteOpen));
 		if (quoteInUse != null && quoteInUse == '"' && quoteClosedCount == 0) {
-			throw new ParseException(expressionString, start, DSLMessage.NON_TERMINATING_DOUBLE_QUOTED_STRING);
+			throw parseException(start, DSLMessage.NON_TERMINATING_DOUBLE_QUOTED_STRING);
 		}
 		else if (quoteInUse != null && quoteInUse == '\'' && quoteClosedCount == 0) {
-			throw new ParseException(expressionString, start, DSLMessage.NON_TERMINATING_QUOTED_STRING);
+			throw parseException(start, DSLMessage.NON_TERMINATING_QUOTED_STRING);
 		}
 		else if (quoteClosedCount == 1 && sameQuotes(start, pos - 1)) {
-			tokens.add(new Token(TokenKind.LITERAL_STRING, subArray(start, pos), start, pos));
+			tokens.add(new Token(TokenKind.LITERAL_STRING, expressionString, start, pos));
 		}
 		else {
-			subarray = subArray(start, pos);
-			tokens.add(new Token(TokenKind.IDENTIFIER, subarray, start, pos));
+			tokens.add(new Token(TokenKind.IDENTIFIER, expressionString, start, pos));
 		}
 	}
 
 	protected boolean sameQuotes(int pos1, int pos2) {
-		if (toProcess[pos1] == '\'') {
-			return toProcess[pos2] == '\'';
+		if (charAt(pos1) == '\'') {
+			return charAt(pos2) == '\'';
 		}
-		else if (toProcess[pos1] == '"') {
-			return toProcess[pos2] == '"';
+		else if (charAt(pos1) == '"') {
+			return charAt(pos2) == '"';
 		}
 		return false;
 	}
@@ -299,7 +308,20 @@ public abstract class AbstractTokenizer {
 	}
 
 	public void raiseException(DSLMessage message, Object... inserts) {
-		throw new ParseException(expressionString, pos, message, inserts);
+		throw parseException(pos, message, inserts);
+	}
+
+	/**
+	 * Create the exception describing a parse error at the given position of the input
+	 * data.
+	 *
+	 * @param position the position of the error
+	 * @param message the error message
+	 * @param inserts variables that may be inserted in the error message
+	 * @return the exception to throw
+	 */
+	protected ParseException parseException(int position, DSLMessage message, Object... inserts) {
+		return new ParseException(expressionString, position, !this.recovering, message, inserts);
 	}
 
 	protected void addLinebreak() {
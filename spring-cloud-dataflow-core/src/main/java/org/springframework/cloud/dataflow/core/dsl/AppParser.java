@@ -71,7 +71,7 @@ public class AppParser {
 		Token name = tokens.next();
 		if (!name.isKind(TokenKind.IDENTIFIER)) {
 			tokens.raiseException(name.startPos, DSLMessage.EXPECTED_APPNAME,
-					name.data != null ? name.data : new String(name.getKind().tokenChars));
+					name.stringValue() != null ? name.stringValue() : new String(name.getKind().tokenChars));
 		}
 		if (tokens.peek(TokenKind.COLON)) {
 			if (!tokens.isNextAdjacent()) {
@@ -88,7 +88,7 @@ public class AppParser {
 		tokens.checkpoint();
 		ArgumentNode[] args = eatAppArgs();
 		int startPos = label != null ? label.startPos : appName.startPos;
-		return new AppNode(toLabelNode(label), appName.data, startPos, appName.endPos, args);
+		return new AppNode(toLabelNode(label), appName.stringValue(), startPos, appName.endPos, args);
 	}
 
 	/**
@@ -142,14 +142,15 @@ public class AppParser {
 		Token t = tokens.next();
 		String argValue = null;
 		if (t.getKind() == TokenKind.IDENTIFIER) {
-			argValue = t.data;
+			argValue = t.stringValue();
 		}
 		else if (t.getKind() == TokenKind.LITERAL_STRING) {
-			String quotesUsed = t.data.substring(0, 1);
-			argValue = t.data.substring(1, t.data.length() - 1).replace(quotesUsed + quotesUsed, quotesUsed);
+			String literal = t.stringValue();
+			String quotesUsed = literal.substring(0, 1);
+			argValue = literal.substring(1, literal.length() - 1).replace(quotesUsed + quotesUsed, quotesUsed);
 		}
 		else {
-			tokens.raiseException(t.startPos, DSLMessage.EXPECTED_ARGUMENT_VALUE, t.data);
+			tokens.raiseException(t.startPos, DSLMessage.EXPECTED_ARGUMENT_VALUE, t.stringValue());
 		}
 		return argValue;
 	}
@@ -166,7 +167,7 @@ public class AppParser {
 		Token name = tokens.next();
 		if (!name.isKind(TokenKind.IDENTIFIER)) {
 			tokens.raiseException(name.startPos, DSLMessage.NOT_EXPECTED_TOKEN,
-					name.data != null ? name.data : new String(name.getKind().tokenChars));
+					name.stringValue() != null ? name.stringValue() : new String(name.getKind().tokenChars));
 		}
 		result.add(name);
 		while (tokens.peek(TokenKind.DOT)) {
@@ -190,7 +191,7 @@ public class AppParser {
 	 * if the provided token is {@code null}
 	 */
 	protected LabelNode toLabelNode(Token label) {
-		return label == null ? null : new LabelNode(label.data, label.startPos, label.endPos);
+		return label == null ? null : new LabelNode(label.stringValue(), label.startPos, label.endPos);
 	}
 
 	/**
@@ -202,7 +203,7 @@ public class AppParser {
 		StringBuilder result = new StringBuilder();
 		for (Token t : iterable) {
 			if (t.getKind().hasPayload()) {
-				result.append(t.data);
+				result.append(t.stringValue());
 			}
 			else {
 				result.append(t.getKind().tokenChars);
@@ -223,7 +224,7 @@ public class AppParser {
 		}
 		List<String> data = new ArrayList<String>();
 		for (Token token : tokens) {
-			data.add(token.data);
+			data.add(token.stringValue());
 		}
 		return data;
 	}
@@ -16,6 +16,7 @@
 
 package org.springframework.cloud.dataflow.core.dsl;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -47,7 +48,25 @@ public class CheckPointedParseException extends ParseException {
 	 */
 	public CheckPointedParseException(String expressionString, int textPosition, int tokenPointer,
 			int checkpointPointer, List<Token> tokens, DSLMessage message, Object... inserts) {
-		super(expressionString, textPosition, message, inserts);
+		this(expressionString, textPosition, tokenPointer, checkpointPointer, tokens, true, message, inserts);
+	}
+
+	/**
+	 * Construct a new {@code CheckPointedParseException}, possibly without a stack trace.
+	 *
+	 * @param expressionString the raw, untokenized text that was being parsed
+	 * @param textPosition the text offset where the error occurs
+	 * @param tokenPointer the token-index of token where the error occurred
+	 * @param checkpointPointer the token-index of the last known good token
+	 * @param tokens the list of tokens that make up expressionString
+	 * @param writableStackTrace whether the stack trace should be filled in
+	 * @param message the error message
+	 * @param inserts variables that may be inserted in the error message
+	 */
+	protected CheckPointedParseException(String expressionString, int textPosition, int tokenPointer,
+			int checkpointPointer, List<Token> tokens, boolean writableStackTrace, DSLMessage message,
+			Object... inserts) {
+		super(expressionString, textPosition, writableStackTrace, message, inserts);
 		this.tokenPointer = tokenPointer;
 		this.checkpointPointer = checkpointPointer;
 		this.tokens = tokens;
@@ -129,4 +148,19 @@ public class CheckPointedParseException extends ParseException {
 		return tokenPointer;
 	}
 
+	/**
+	 * Return the kinds of the tokens consumed since the last known good token. Along with
+	 * the message code, they tell where in the grammar parsing stopped, regardless of the
+	 * actual names and values that were typed.
+	 *
+	 * @return the kinds of the tokens between the checkpoint and the error
+	 */
+	public List<TokenKind> getTokenKindsSinceCheckpoint() {
+		List<TokenKind> kinds = new ArrayList<>();
+		for (int i = checkpointPointer; i < tokenPointer && i < tokens.size(); i++) {
+			kinds.add(tokens.get(i).getKind());
+		}
+		return kinds;
+	}
+
 }
@@ -39,7 +39,23 @@ public class ParseException extends RuntimeException {
 	protected Object[] inserts;
 
 	public ParseException(String expressionString, int position, DSLMessage message, Object... inserts) {
-		super(message.formatMessage(position, inserts));
+		this(expressionString, position, true, message, inserts);
+	}
+
+	/**
+	 * Construct a new {@code ParseException}, possibly without a stack trace. Parse errors
+	 * reported by a recovering parse are not thrown to the caller, so filling in their
+	 * stack trace would only be wasted work.
+	 *
+	 * @param expressionString the raw text that was being parsed
+	 * @param position the text offset where the error occurs
+	 * @param writableStackTrace whether the stack trace should be filled in
+	 * @param message the error message
+	 * @param inserts variables that may be inserted in the error message
+	 */
+	protected ParseException(String expressionString, int position, boolean writableStackTrace, DSLMessage message,
+			Object... inserts) {
+		super(message.formatMessage(position, inserts), null, true, writableStackTrace);
 		this.position = position;
 		this.message = message;
 		this.inserts = inserts;
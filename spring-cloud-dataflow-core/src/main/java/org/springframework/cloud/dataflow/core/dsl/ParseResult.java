@@ -0,0 +1,165 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.core.dsl;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Result of a recovering parse, as performed by
+ * {@link StreamParser#parseRecovering(String, String)} and
+ * {@link TaskParser#parseRecovering(String, String, boolean, boolean)}. Holds either the
+ * AST of the parsed DSL text or the error that stopped the parse, along with where in
+ * the grammar parsing stopped.
+ * <p>
+ * Errors held by a result are not thrown to the caller of the recovering parse, and are
+ * created without a stack trace. The parser still unwinds to the recovering entry point
+ * by throwing them internally.
+ *
+ * @param <T> the type of the AST
+ */
+public class ParseResult<T extends AstNode> {
+
+	private final String dsl;
+
+	private final T ast;
+
+	private final RuntimeException error;
+
+	private final Function<String, T> checkpointParser;
+
+	private T checkpointAst;
+
+	private boolean checkpointParsed;
+
+	ParseResult(String dsl, T ast) {
+		this(dsl, ast, null, null);
+	}
+
+	ParseResult(String dsl, RuntimeException error, Function<String, T> checkpointParser) {
+		this(dsl, null, error, checkpointParser);
+	}
+
+	private ParseResult(String dsl, T ast, RuntimeException error, Function<String, T> checkpointParser) {
+		this.dsl = dsl;
+		this.ast = ast;
+		this.error = error;
+		this.checkpointParser = checkpointParser;
+	}
+
+	/**
+	 * @return the DSL text that was parsed
+	 */
+	public String getDsl() {
+		return this.dsl;
+	}
+
+	/**
+	 * @return whether the DSL text was parsed without error
+	 */
+	public boolean isSuccessful() {
+		return this.error == null;
+	}
+
+	/**
+	 * @return the AST of the DSL text, or {@code null} if parsing failed
+	 */
+	public T getAst() {
+		return this.ast;
+	}
+
+	/**
+	 * Return the error that stopped the parse. This is either a {@link ParseException},
+	 * possibly {@link CheckPointedParseException checkpointed}, or a
+	 * {@link TaskValidationException} if the AST of a task failed validation.
+	 *
+	 * @return the parse error, or {@code null} if parsing succeeded
+	 */
+	public RuntimeException getError() {
+		return this.error;
+	}
+
+	/**
+	 * @return the message code of the parse error, or {@code null} if parsing succeeded
+	 * or the AST failed validation
+	 */
+	public DSLMessage getMessageCode() {
+		return this.error instanceof ParseException ? ((ParseException) this.error).getMessageCode() : null;
+	}
+
+	/**
+	 * @return the position of the parse error in the DSL text, or {@code -1} if unknown
+	 */
+	public int getPosition() {
+		return this.error instanceof ParseException ? ((ParseException) this.error).getPosition() : -1;
+	}
+
+	/**
+	 * Return the kinds of the tokens consumed since the last known good token, which
+	 * along with the message code tell where in the grammar parsing stopped.
+	 *
+	 * @return the kinds of the tokens between the checkpoint and the error, empty if the
+	 * error was not raised while processing tokens
+	 * @see CheckPointedParseException#getTokenKindsSinceCheckpoint()
+	 */
+	public List<TokenKind> getTokenKindsSinceCheckpoint() {
+		return this.error instanceof CheckPointedParseException
+				? ((CheckPointedParseException) this.error).getTokenKindsSinceCheckpoint()
+				: Collections.<TokenKind>emptyList();
+	}
+
+	/**
+	 * Return the DSL text up to the last known good token.
+	 *
+	 * @return the DSL text until the checkpoint, or {@code null} if the error was not
+	 * raised while processing tokens
+	 * @see CheckPointedParseException#getExpressionStringUntilCheckpoint()
+	 */
+	public String getDslUntilCheckpoint() {
+		return this.error instanceof CheckPointedParseException
+				? ((CheckPointedParseException) this.error).getExpressionStringUntilCheckpoint()
+				: null;
+	}
+
+	/**
+	 * Return the AST of the DSL text up to the last known good token. It is parsed on
+	 * first request only, so that all the callers recovering from the same error, such as
+	 * completion strategies, share it.
+	 *
+	 * @return the AST of the DSL text until the checkpoint, or {@code null} if parsing
+	 * succeeded, the error was not raised while processing tokens or the text until the
+	 * checkpoint does not parse either
+	 * @see #getDslUntilCheckpoint()
+	 */
+	public synchronized T getCheckpointAst() {
+		if (!this.checkpointParsed) {
+			String dslUntilCheckpoint = getDslUntilCheckpoint();
+			if (dslUntilCheckpoint != null && !dslUntilCheckpoint.trim().isEmpty()) {
+				this.checkpointAst = this.checkpointParser.apply(dslUntilCheckpoint);
+			}
+			this.checkpointParsed = true;
+		}
+		return this.checkpointAst;
+	}
+
+	@Override
+	public String toString() {
+		return isSuccessful() ? "ParseResult[" + this.ast + "]" : "ParseResult[" + this.error.getMessage() + "]";
+	}
+
+}
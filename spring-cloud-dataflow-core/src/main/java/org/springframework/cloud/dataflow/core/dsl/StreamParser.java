@@ -41,6 +41,11 @@ public class StreamParser extends AppParser {
 	 */
 	private final String dsl;
 
+	/**
+	 * Whether parse errors are reported to the caller rather than thrown.
+	 */
+	private final boolean recovering;
+
 	/**
 	 * Construct a {@code StreamParser} without supplying the stream name up front. The
 	 * stream name may be embedded in the definition; for example:
@@ -59,9 +64,32 @@ public class StreamParser extends AppParser {
 	 * @param dsl stream dsl text
 	 */
 	public StreamParser(String name, String dsl) {
-		super(new Tokenizer().getTokens(dsl));
+		this(name, dsl, false);
+	}
+
+	private StreamParser(String name, String dsl, boolean recovering) {
+		super(new Tokenizer(recovering).getTokens(dsl));
 		this.name = name;
 		this.dsl = dsl;
+		this.recovering = recovering;
+	}
+
+	/**
+	 * Parse a stream definition that may well be ill-formed, such as one being typed in.
+	 * Parse errors are reported in the returned result rather than thrown to the caller,
+	 * and are created without filling in their stack trace.
+	 *
+	 * @param name stream name (may be {@code null})
+	 * @param dsl stream dsl text
+	 * @return the AST for the parsed stream, or the error that stopped the parse
+	 */
+	public static ParseResult<StreamNode> parseRecovering(String name, String dsl) {
+		try {
+			return new ParseResult<>(dsl, new StreamParser(name, dsl, true).parse());
+		}
+		catch (ParseException e) {
+			return new ParseResult<>(dsl, e, checkpointDsl -> parseRecovering(name, checkpointDsl).getAst());
+		}
 	}
 
 	/**
@@ -75,10 +103,10 @@ public class StreamParser extends AppParser {
 
 		// Check the stream name, however it was specified
 		if (ast.getName() != null && !isValidName(ast.getName())) {
-			throw new ParseException(ast.getName(), 0, DSLMessage.ILLEGAL_STREAM_NAME, ast.getName());
+			throw new ParseException(ast.getName(), 0, !recovering, DSLMessage.ILLEGAL_STREAM_NAME, ast.getName());
 		}
 		if (name != null && !isValidName(name)) {
-			throw new ParseException(name, 0, DSLMessage.ILLEGAL_STREAM_NAME, name);
+			throw new ParseException(name, 0, !recovering, DSLMessage.ILLEGAL_STREAM_NAME, name);
 		}
 
 		// Check that each app has a unique label (either explicit or implicit)
@@ -89,8 +117,8 @@ public class StreamParser extends AppParser {
 			if (previous != null) {
 				String duplicate = node.getLabelName();
 				int previousIndex = new ArrayList<String>(alreadySeen.keySet()).indexOf(duplicate);
-				throw new ParseException(dsl, node.startPos, DSLMessage.DUPLICATE_LABEL, duplicate, previous.getName(),
-						previousIndex, node.getName(), m);
+				throw new ParseException(dsl, node.startPos, !recovering, DSLMessage.DUPLICATE_LABEL, duplicate,
+						previous.getName(), previousIndex, node.getName(), m);
 			}
 		}
 		Tokens tokens = getTokens();
@@ -114,7 +142,7 @@ public class StreamParser extends AppParser {
 		String streamName = null;
 		if (tokens.lookAhead(1, TokenKind.EQUALS)) {
 			if (tokens.peek(TokenKind.IDENTIFIER)) {
-				streamName = tokens.eat(TokenKind.IDENTIFIER).data;
+				streamName = tokens.eat(TokenKind.IDENTIFIER).stringValue();
 				tokens.next(); // skip '='
 			}
 			else {
@@ -66,6 +66,11 @@ public class TaskParser extends AppParser {
 	 */
 	private final boolean validate;
 
+	/**
+	 * Whether parse errors are reported to the caller rather than thrown.
+	 */
+	private final boolean recovering;
+
 	/**
 	 * Parse a task definition into an abstract syntax tree (AST).
 	 *
@@ -76,19 +81,49 @@ public class TaskParser extends AppParser {
 	 * @param validate if true then extra validation will be performed on the AST
 	 */
 	public TaskParser(String taskName, String taskDefinition, boolean inAppMode, boolean validate) {
-		super(new TaskTokenizer().getTokens(taskDefinition));
+		this(taskName, taskDefinition, inAppMode, validate, false);
+	}
+
+	private TaskParser(String taskName, String taskDefinition, boolean inAppMode, boolean validate,
+			boolean recovering) {
+		super(new TaskTokenizer(recovering).getTokens(taskDefinition));
 		Assert.notNull(taskName, "taskName must be a non-null string");
 		Assert.notNull(taskDefinition, "taskDefinition must be a non-null string");
 		this.taskName = taskName;
 		this.inAppMode = inAppMode;
 		this.taskDefinition = taskDefinition.trim();
 		this.validate = validate;
+		this.recovering = recovering;
+	}
+
+	/**
+	 * Parse a task definition that may well be ill-formed, such as one being typed in.
+	 * Parse and validation errors are reported in the returned result rather than thrown
+	 * to the caller, and are created without filling in their stack trace.
+	 *
+	 * @param taskName the name of the task
+	 * @param taskDefinition the textual task definition
+	 * @param inAppMode if true then expect apps with arguments otherwise expect app
+	 * definition references
+	 * @param validate if true then extra validation will be performed on the AST
+	 * @return the AST for the parsed task, or the error that stopped the parse
+	 */
+	public static ParseResult<TaskNode> parseRecovering(String taskName, String taskDefinition, boolean inAppMode,
+			boolean validate) {
+		try {
+			return new ParseResult<>(taskDefinition,
+					new TaskParser(taskName, taskDefinition, inAppMode, validate, true).parse());
+		}
+		catch (ParseException | TaskValidationException e) {
+			return new ParseResult<>(taskDefinition, e,
+					checkpointDsl -> parseRecovering(taskName, checkpointDsl, inAppMode, validate).getAst());
+		}
 	}
 
 	public TaskNode parse() {
 		List<LabelledTaskNode> sequences = eatSequences();
 		if (taskName != null && !isValidName(taskName)) {
-			throw new ParseException(taskName, 0, DSLMessage.ILLEGAL_TASK_NAME, taskName);
+			throw new ParseException(taskName, 0, !recovering, DSLMessage.ILLEGAL_TASK_NAME, taskName);
 		}
 		TaskNode taskNode = new TaskNode(taskName, taskDefinition, sequences, inAppMode);
 		if (getTokens().hasNext()) {
@@ -100,7 +135,7 @@ public class TaskParser extends AppParser {
 			taskNode.accept(validator);
 			List<TaskValidationProblem> problems = validator.getProblems();
 			if (!problems.isEmpty()) {
-				throw new TaskValidationException(taskNode, problems);
+				throw new TaskValidationException(taskNode, problems, !recovering);
 			}
 		}
 		return taskNode;
@@ -207,7 +242,7 @@ public class TaskParser extends AppParser {
 		Token name = eat();
 		if (!name.isKind(TokenKind.IDENTIFIER)) {
 			getTokens().raiseException(name.startPos, DSLMessage.EXPECTED_APPNAME,
-					name.data != null ? name.data : new String(name.getKind().tokenChars));
+					name.stringValue() != null ? name.stringValue() : new String(name.getKind().tokenChars));
 		}
 		getTokens().checkpoint();
 		ArgumentNode[] arguments = (inAppMode ? maybeEatAppArgs() : null);
@@ -25,11 +25,18 @@ package org.springframework.cloud.dataflow.core.dsl;
  */
 class TaskTokenizer extends AbstractTokenizer {
 
+	TaskTokenizer() {
+	}
+
+	TaskTokenizer(boolean recovering) {
+		super(recovering);
+	}
+
 	@Override
 	protected void process() {
 		boolean justProcessedEquals = false;
 		while (pos < max) {
-			char ch = toProcess[pos];
+			char ch = charAt(pos);
 
 			if (justProcessedEquals) {
 				if (!isWhitespace(ch) && ch != 0) {
@@ -59,7 +66,7 @@ class TaskTokenizer extends AbstractTokenizer {
 						pushPairToken(TokenKind.ARROW);
 					}
 					else {
-						throw new ParseException(expressionString, pos, DSLMessage.MISSING_CHARACTER, "-");
+						throw parseException(pos, DSLMessage.MISSING_CHARACTER, "-");
 					}
 					break;
 				case '&':
@@ -138,15 +145,14 @@ class TaskTokenizer extends AbstractTokenizer {
 		int start = pos;
 		do {
 			pos++;
-			if (toProcess[pos] == '-' && toProcess[pos + 1] == '>') {
+			if (charAt(pos) == '-' && charAt(pos + 1) == '>') {
 				// When hitting '0->' treat '->' as an arrow and end marker of the
 				// identifier '0'
 				break;
 			}
 		}
-		while (isIdentifier(toProcess[pos]));
-		char[] subarray = subArray(start, pos);
-		tokens.add(new Token(TokenKind.IDENTIFIER, subarray, start, pos));
+		while (isIdentifier(charAt(pos)));
+		tokens.add(new Token(TokenKind.IDENTIFIER, expressionString, start, pos));
 	}
 
 }
@@ -32,6 +32,20 @@ public class TaskValidationException extends RuntimeException {
 	private List<TaskValidationProblem> validationProblems;
 
 	public TaskValidationException(TaskNode taskNode, List<TaskValidationProblem> validationProblems) {
+		this(taskNode, validationProblems, true);
+	}
+
+	/**
+	 * Construct a new {@code TaskValidationException}, possibly without a stack trace, for
+	 * validation errors reported by a recovering parse.
+	 *
+	 * @param taskNode the AST that failed validation
+	 * @param validationProblems the validation errors found
+	 * @param writableStackTrace whether the stack trace should be filled in
+	 */
+	protected TaskValidationException(TaskNode taskNode, List<TaskValidationProblem> validationProblems,
+			boolean writableStackTrace) {
+		super(null, null, true, writableStackTrace);
 		this.taskNode = taskNode;
 		this.validationProblems = validationProblems;
 	}
@@ -18,7 +18,8 @@ package org.springframework.cloud.dataflow.core.dsl;
 
 /**
  * Holder for a kind of token, the associated data and its position in the input data
- * stream (start/end).
+ * stream (start/end). The data of a token is only extracted from the input data when
+ * first asked for.
  *
  * @author Andy Clement
  */
@@ -29,10 +30,16 @@ public class Token {
 	 */
 	TokenKind kind;
 
+	/**
+	 * The input data, for tokens with extra data.
+	 */
+	private final CharSequence source;
+
 	/**
 	 * Any extra data for this token instance, e.g. the text for an identifier token.
+	 * Extracted from the source on first access.
 	 */
-	String data;
+	private String data;
 
 	/**
 	 * Index of first character.
@@ -48,18 +55,19 @@ public class Token {
 	 * Constructor for use when there is no particular data for the token
 	 */
 	Token(TokenKind tokenKind, int startPos, int endPos) {
-		this.kind = tokenKind;
-		this.startPos = startPos;
-		this.endPos = endPos;
+		this(tokenKind, null, startPos, endPos);
 	}
 
 	/**
 	 * Constructor for use when there is extra data to associate with a token. For example
-	 * the text for an identifier token.
+	 * the text for an identifier token, which is the section of the source between the
+	 * start and end positions.
 	 */
-	Token(TokenKind tokenKind, char[] tokenData, int pos, int endPos) {
-		this(tokenKind, pos, endPos);
-		this.data = new String(tokenData.clone());
+	Token(TokenKind tokenKind, CharSequence source, int startPos, int endPos) {
+		this.kind = tokenKind;
+		this.source = source;
+		this.startPos = startPos;
+		this.endPos = endPos;
 	}
 
 	public TokenKind getKind() {
@@ -71,7 +79,7 @@ public class Token {
 		StringBuilder s = new StringBuilder();
 		s.append("[").append(kind.toString());
 		if (kind.hasPayload()) {
-			s.append(":").append(data);
+			s.append(":").append(stringValue());
 		}
 		s.append("]");
 		s.append("(").append(startPos).append(",").append(endPos).append(")");
@@ -82,14 +90,20 @@ public class Token {
 		return kind == TokenKind.IDENTIFIER;
 	}
 
+	/**
+	 * @return the extra data of this token, or {@code null} if it has none
+	 */
 	public String stringValue() {
-		return data;
+		if (this.data == null && this.source != null) {
+			this.data = this.source.subSequence(this.startPos, this.endPos).toString();
+		}
+		return this.data;
 	}
 
 	@Override
 	public int hashCode() {
 		return this.kind.ordinal() * 37 + (this.startPos + this.endPos) * 37
-				+ (this.kind.hasPayload() ? this.data.hashCode() : 0);
+				+ (this.kind.hasPayload() ? stringValue().hashCode() : 0);
 	}
 
 	@Override
@@ -102,7 +116,7 @@ public class Token {
 		if (!basicMatch)
 			return false;
 		if (this.kind.hasPayload()) {
-			if (!this.data.equals(token.data)) {
+			if (!stringValue().equals(token.stringValue())) {
 				return false;
 			}
 		}
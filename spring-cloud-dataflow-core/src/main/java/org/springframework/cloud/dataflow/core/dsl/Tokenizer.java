@@ -27,10 +27,14 @@ class Tokenizer extends AbstractTokenizer {
 	Tokenizer() {
 	}
 
+	Tokenizer(boolean recovering) {
+		super(recovering);
+	}
+
 	protected void process() {
 		boolean justProcessedEquals = false;
 		while (pos < max) {
-			char ch = toProcess[pos];
+			char ch = charAt(pos);
 
 			if (justProcessedEquals) {
 				if (!isWhitespace(ch) && ch != 0) {
@@ -51,7 +55,7 @@ class Tokenizer extends AbstractTokenizer {
 				switch (ch) {
 				case '-':
 					if (!isTwoCharToken(TokenKind.DOUBLE_MINUS)) {
-						throw new ParseException(expressionString, pos, DSLMessage.MISSING_CHARACTER, "-");
+						throw parseException(pos, DSLMessage.MISSING_CHARACTER, "-");
 					}
 					pushPairToken(TokenKind.DOUBLE_MINUS);
 					break;
@@ -100,9 +104,9 @@ class Tokenizer extends AbstractTokenizer {
 					pos++; // will take us to the end
 					break;
 				case '\\':
-					throw new ParseException(expressionString, pos, DSLMessage.UNEXPECTED_ESCAPE_CHAR);
+					throw parseException(pos, DSLMessage.UNEXPECTED_ESCAPE_CHAR);
 				default:
-					throw new ParseException(expressionString, pos, DSLMessage.UNEXPECTED_DATA,
+					throw parseException(pos, DSLMessage.UNEXPECTED_DATA,
 							Character.valueOf(ch).toString());
 				}
 			}
@@ -55,6 +55,12 @@ public class Tokens {
 	 */
 	private int lastGoodPosition = 0;
 
+	/**
+	 * Whether parse errors are reported to the caller of a recovering parse rather than
+	 * thrown, in which case they are created without a stack trace.
+	 */
+	private final boolean recovering;
+
 	/**
 	 * Create a new tokens holder that can be iterated over. Created by the particular
 	 * tokenizer instance (some concrete subclass of {@link AbstractTokenizer}).
@@ -62,11 +68,13 @@ public class Tokens {
 	 * @param expression string expression to convert into {@link Token tokens}.
 	 * @param tokens the stream of tokens
 	 * @param linebreaks the offsets within the expression where newlines occur
+	 * @param recovering whether parse errors are created without a stack trace
 	 */
-	Tokens(String expression, List<Token> tokens, int[] linebreaks) {
+	Tokens(String expression, List<Token> tokens, int[] linebreaks, boolean recovering) {
 		this.expression = expression;
 		this.linebreaks = linebreaks;
 		this.tokenStream = Collections.unmodifiableList(tokens);
+		this.recovering = recovering;
 	}
 
 	/**
@@ -218,7 +226,7 @@ public class Tokens {
 		}
 		if (t.kind != expectedKind) {
 			raiseException(t.startPos, DSLMessage.NOT_EXPECTED_TOKEN, expectedKind.toString().toLowerCase(),
-					(t.data == null) ? new String(t.getKind().tokenChars).toLowerCase() : t.data);
+					(t.stringValue() == null) ? new String(t.getKind().tokenChars).toLowerCase() : t.stringValue());
 		}
 		return t;
 	}
@@ -274,7 +282,7 @@ public class Tokens {
 	 */
 	protected void raiseException(int position, DSLMessage message, Object... inserts) {
 		throw new CheckPointedParseException(expression, position, this.position, lastGoodPosition, tokenStream,
-				message, inserts);
+				!recovering, message, inserts);
 	}
 
 	/**
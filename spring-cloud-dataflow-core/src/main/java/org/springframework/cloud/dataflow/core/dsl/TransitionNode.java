@@ -68,9 +68,9 @@ public class TransitionNode extends AstNode {
 		// If it is quoted, strip them off to determine real status
 		if (statusToken.isKind(LITERAL_STRING)) {
 			isExitCodeCheck = false;
-			String quotesUsed = statusToken.data.substring(0, 1);
-			this.status = statusToken.data.substring(1, statusToken.data.length() - 1).replace(quotesUsed + quotesUsed,
-					quotesUsed);
+			String literal = statusToken.stringValue();
+			String quotesUsed = literal.substring(0, 1);
+			this.status = literal.substring(1, literal.length() - 1).replace(quotesUsed + quotesUsed, quotesUsed);
 		}
 		else {
 			isExitCodeCheck = true;
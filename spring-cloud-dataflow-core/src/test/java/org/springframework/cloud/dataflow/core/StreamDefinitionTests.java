@@ -25,10 +25,12 @@ import org.springframework.cloud.dataflow.core.dsl.ParseException;
 
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 /**
  * @author Mark Fisher
@@ -233,4 +235,24 @@ public class StreamDefinitionTests {
 		assertEquals("ticktock", sink.getProperties().get(BindingPropertyKeys.INPUT_GROUP));
 		assertFalse(sink.getProperties().containsKey(BindingPropertyKeys.OUTPUT_DESTINATION));
 	}
+
+	@Test
+	public void testParsedAppDefinitionsAreShared() {
+		StreamDefinition first = new StreamDefinition("ticktock", "time | log");
+		StreamDefinition second = new StreamDefinition("ticktock", "time | log", true);
+		assertThat(second.getAppDefinitions().get(0), sameInstance(first.getAppDefinitions().get(0)));
+		assertThat(second.getDeploymentOrderIterator().next(), sameInstance(first.getAppDefinitions().get(1)));
+	}
+
+	@Test
+	public void testLazyParseErrors() {
+		StreamDefinition streamDefinition = new StreamDefinition("test", "time |", true);
+		assertEquals("time |", streamDefinition.getDslText());
+		try {
+			streamDefinition.getAppDefinitions();
+			fail("ParseException expected");
+		}
+		catch (ParseException expected) {
+		}
+	}
 }
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.dataflow.core.dsl;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the throughput and allocation rate of tokenizing and parsing a stream of 50
+ * apps and a composed task of 30 apps. Run with the {@code main} method from the test
+ * classpath, which reports allocation rates through the GC profiler.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DslParserBenchmark {
+
+	private static final int STREAM_APPS = 50;
+
+	private String streamDsl;
+
+	private String composedTaskDsl;
+
+	@Setup
+	public void setup() {
+		StringBuilder stream = new StringBuilder(":orders.http > ");
+		for (int i = 0; i < STREAM_APPS; i++) {
+			if (i > 0) {
+				stream.append(" | ");
+			}
+			if (i % 5 == 0) {
+				stream.append("filter").append(i).append(" --expression='payload.contains(''order-").append(i)
+						.append("'')'");
+			}
+			else if (i % 5 == 1) {
+				stream.append("transform").append(i).append(" --expression=payload.toUpperCase()");
+			}
+			else {
+				stream.append("proc").append(i).append(" --app.proc.timeout=").append(i * 100)
+						.append(" --spring.cloud.stream.bindings.output.producer.partitionCount=").append(i % 7 + 1)
+						.append(" --label=\"step ").append(i).append('"');
+			}
+		}
+		this.streamDsl = stream.append(" > :orders.done").toString();
+
+		// three splits of three flows of two apps, then a flow of twelve apps with
+		// transitions
+		StringBuilder task = new StringBuilder();
+		int app = 0;
+		for (int split = 0; split < 3; split++) {
+			task.append(split > 0 ? " && <" : "<");
+			for (int flow = 0; flow < 3; flow++) {
+				task.append(flow > 0 ? " || " : "").append("job").append(app++).append(" --size=").append(app)
+						.append(" && job").append(app++);
+			}
+			task.append('>');
+		}
+		for (int i = 0; i < 4; i++) {
+			task.append(" && step").append(app++).append(" 'FAILED'->cleanup").append(app++).append(" 1->:retry")
+					.append(i).append(" && retry").append(i).append(": job").append(i);
+		}
+		this.composedTaskDsl = task.toString();
+	}
+
+	@Benchmark
+	public Tokens tokenizeStream() {
+		return new Tokenizer().getTokens(this.streamDsl);
+	}
+
+	@Benchmark
+	public StreamNode parseStream() {
+		return new StreamParser("orders", this.streamDsl).parse();
+	}
+
+	@Benchmark
+	public Tokens tokenizeComposedTask() {
+		return new TaskTokenizer().getTokens(this.composedTaskDsl);
+	}
+
+	@Benchmark
+	public TaskNode parseComposedTask() {
+		return new TaskParser("composed", this.composedTaskDsl, true, true).parse();
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(DslParserBenchmark.class.getSimpleName())
+				.addProfiler(GCProfiler.class).build()).run();
+	}
+}
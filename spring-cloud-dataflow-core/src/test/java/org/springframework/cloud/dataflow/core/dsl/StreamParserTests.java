@@ -16,6 +16,7 @@
 
 package org.springframework.cloud.dataflow.core.dsl;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Properties;
 
@@ -23,8 +24,12 @@ import org.junit.Test;
 
 import static org.hamcrest.Matchers.equalTo;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 /**
@@ -511,6 +516,29 @@ public class StreamParserTests {
 				equalTo("payload" + ".replace(\"abc\", '')"));
 	}
 
+	@Test
+	public void parseRecovering() {
+		ParseResult<StreamNode> result = StreamParser.parseRecovering("s", "http | log");
+		assertTrue(result.isSuccessful());
+		assertEquals("[(AppNode:http:0>4)(AppNode:log:7>10)]", result.getAst().stringify(true));
+
+		result = StreamParser.parseRecovering("s", "http | filter --expression.");
+		assertFalse(result.isSuccessful());
+		assertNull(result.getAst());
+		assertEquals(DSLMessage.OOD, result.getMessageCode());
+		assertEquals("http | filter", result.getDslUntilCheckpoint());
+		assertEquals(Arrays.asList(TokenKind.DOUBLE_MINUS, TokenKind.IDENTIFIER, TokenKind.DOT),
+				result.getTokenKindsSinceCheckpoint());
+		assertEquals(0, result.getError().getStackTrace().length);
+		assertEquals("[(AppNode:http:0>4)(AppNode:filter:7>13)]", result.getCheckpointAst().stringify(true));
+		assertSame(result.getCheckpointAst(), result.getCheckpointAst());
+
+		result = StreamParser.parseRecovering("s", "http -");
+		assertEquals(DSLMessage.MISSING_CHARACTER, result.getMessageCode());
+		assertEquals(0, result.getError().getStackTrace().length);
+		assertNull(result.getDslUntilCheckpoint());
+		assertNull(result.getCheckpointAst());
+	}
 
 	// ---
 
@@ -1010,6 +1010,26 @@ public class TaskParserTests {
 		checkForParseError("aa  &&&& bb", DSLMessage.EXPECTED_APPNAME, 6, "&&");
 	}
 
+	@Test
+	public void parseRecovering() {
+		ParseResult<TaskNode> result = TaskParser.parseRecovering("foo", "appA && appB", true, true);
+		assertTrue(result.isSuccessful());
+		assertEquals("appA && appB", result.getAst().toDSL());
+
+		result = TaskParser.parseRecovering("foo", "appA && appB --p1=", true, true);
+		assertFalse(result.isSuccessful());
+		assertNull(result.getAst());
+		assertEquals(DSLMessage.OOD, result.getMessageCode());
+		assertEquals("appA && appB", result.getDslUntilCheckpoint());
+		assertEquals(0, result.getError().getStackTrace().length);
+		assertEquals("appA && appB", result.getCheckpointAst().toDSL());
+
+		result = TaskParser.parseRecovering("foo", "a: appA && a: appB", true, true);
+		assertTrue(result.getError() instanceof TaskValidationException);
+		assertNull(result.getMessageCode());
+		assertEquals(0, result.getError().getStackTrace().length);
+	}
+
 	@Test
 	public void toDSLTextTransitions() {
 		// [SHOULD-VALIDATE] There is no real route to bbb
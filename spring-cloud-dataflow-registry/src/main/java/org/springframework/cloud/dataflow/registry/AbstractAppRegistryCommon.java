@@ -16,6 +16,7 @@ import org.slf4j.LoggerFactory;
 
 import org.springframework.cloud.dataflow.core.ApplicationType;
 import org.springframework.cloud.dataflow.registry.domain.AppRegistration;
+import org.springframework.cloud.dataflow.registry.support.AppNameIndex;
 import org.springframework.cloud.dataflow.registry.support.ResourceUtils;
 import org.springframework.cloud.deployer.resource.maven.MavenProperties;
 import org.springframework.core.io.Resource;
@@ -26,6 +27,12 @@ import org.springframework.util.StringUtils;
 
 /**
  * {@link AppRegistryCommon} implementation common for the Classic and the Skipper modes.
+ * <p>
+ * App names are looked up in an {@link AppNameIndex} loaded from {@link #findAll()} on
+ * first use and kept current by subclasses as apps are saved and deleted. Registrations
+ * changed by another server are picked up when the index is reloaded: once it is older
+ * than one minute, when its size no longer matches a cheap {@link #count()}, or when
+ * {@link #invalidateAppNameIndex()} is called.
  * 
  * @author Christian Tzolov
  * @author Ilayaperumal Gopinathan
@@ -40,6 +47,19 @@ public abstract class AbstractAppRegistryCommon implements AppRegistryCommon {
 
 	protected MavenProperties mavenProperties;
 
+	/**
+	 * Maximum age of the app name index, in milliseconds, bounding how long registrations
+	 * changed by another server may be missed.
+	 */
+	private static final long MAX_APP_NAME_INDEX_AGE = 60_000;
+
+	private final AppNameIndex appNameIndex = new AppNameIndex();
+
+	/**
+	 * Time at which the app name index was loaded, or {@literal null} if not loaded.
+	 */
+	private Long appNameIndexLoadedAt;
+
 	public AbstractAppRegistryCommon(ResourceLoader resourceLoader) {
 		this.resourceLoader = resourceLoader;
 	}
@@ -60,6 +80,58 @@ public abstract class AbstractAppRegistryCommon implements AppRegistryCommon {
 				appRegistration.getMetadataUri().toString()) : null;
 	}
 
+	@Override
+	public List<String> findNames(ApplicationType type, String prefix) {
+		long count = count();
+		synchronized (this.appNameIndex) {
+			long now = System.currentTimeMillis();
+			if (this.appNameIndexLoadedAt == null || now - this.appNameIndexLoadedAt >= MAX_APP_NAME_INDEX_AGE
+					|| (count >= 0 && this.appNameIndex.size() != count)) {
+				this.appNameIndex.clear();
+				for (AppRegistration app : findAll()) {
+					this.appNameIndex.add(app.getType(), app.getName(), app.getVersion());
+				}
+				this.appNameIndexLoadedAt = now;
+			}
+			return this.appNameIndex.find(type, prefix);
+		}
+	}
+
+	/**
+	 * Force the app name index to be reloaded on next use, such as after registrations
+	 * were changed without going through this registry.
+	 */
+	public void invalidateAppNameIndex() {
+		synchronized (this.appNameIndex) {
+			this.appNameIndexLoadedAt = null;
+		}
+	}
+
+	/**
+	 * Count the registered apps, if that is cheap enough to be done on every app name
+	 * lookup. Only then is the app name index reloaded as soon as its size differs.
+	 *
+	 * @return the number of registered apps, counting each version, or a negative value if
+	 * they cannot be counted cheaply
+	 */
+	protected long count() {
+		return -1;
+	}
+
+	protected void addToAppNameIndex(ApplicationType type, String name, String version) {
+		synchronized (this.appNameIndex) {
+			if (this.appNameIndexLoadedAt != null) {
+				this.appNameIndex.add(type, name, version);
+			}
+		}
+	}
+
+	protected void removeFromAppNameIndex(ApplicationType type, String name, String version) {
+		synchronized (this.appNameIndex) {
+			this.appNameIndex.remove(type, name, version);
+		}
+	}
+
 	protected Properties loadProperties(Resource resource) {
 		try {
 			return PropertiesLoaderUtils.loadProperties(resource);
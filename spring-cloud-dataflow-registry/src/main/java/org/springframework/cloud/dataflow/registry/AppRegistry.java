@@ -65,6 +65,12 @@ public class AppRegistry extends AbstractAppRegistryCommon implements AppRegistr
 
 	private static final Logger logger = LoggerFactory.getLogger(AppRegistry.class);
 
+	/**
+	 * Version of the {@link AppRegistration}s returned by {@link #findAll()}, as apps are
+	 * not versioned in Classic mode.
+	 */
+	private static final String NO_VERSION = "none";
+
 	private final UriRegistry uriRegistry;
 
 	private static final Function<Map.Entry<Object, Object>, AbstractMap.SimpleImmutableEntry<String, URI>> toStringAndUriFUNC = kv -> {
@@ -139,6 +145,7 @@ public class AppRegistry extends AbstractAppRegistryCommon implements AppRegistr
 		if (metadataUri != null) {
 			this.uriRegistry.register(metadataKey(name, type), metadataUri);
 		}
+		addToAppNameIndex(type, name, NO_VERSION);
 		return new AppRegistration(name, type, uri, metadataUri);
 	}
 
@@ -150,7 +157,7 @@ public class AppRegistry extends AbstractAppRegistryCommon implements AppRegistr
 			String name = tokens[1];
 			ApplicationType type = ApplicationType.valueOf(tokens[0]);
 			URI appURI = warnOnMalformedURI(key, kv.getValue());
-			return Stream.of(new AppRegistration(name, type, "none", appURI, metadataURI));
+			return Stream.of(new AppRegistration(name, type, NO_VERSION, appURI, metadataURI));
 		}
 		else {
 			Assert.isTrue(tokens.length == 3 && METADATA_KEY_SUFFIX.equals(tokens[2]),
@@ -185,6 +192,7 @@ public class AppRegistry extends AbstractAppRegistryCommon implements AppRegistr
 		if (this.find(name, type) != null) {
 			this.uriRegistry.unregister(key(name, type));
 			this.uriRegistry.unregister(metadataKey(name, type));
+			removeFromAppNameIndex(type, name, null);
 		}
 		else {
 			throw new NoSuchAppRegistrationException(name, type);
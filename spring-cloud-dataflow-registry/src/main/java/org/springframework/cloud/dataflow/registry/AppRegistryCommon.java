@@ -31,6 +31,14 @@ public interface AppRegistryCommon {
 	 */
 	List<AppRegistration> findAll();
 
+	/**
+	 * @param type application type
+	 * @param prefix the prefix of the names to return, or an empty string for all names
+	 * @return the names of the applications of that type starting with the prefix, in
+	 * alphabetical order and listed once regardless of their number of versions
+	 */
+	List<String> findNames(ApplicationType type, String prefix);
+
 	/**
 	 * @param name application name
 	 * @param type application typ
@@ -144,7 +144,9 @@ public class DefaultAppRegistryService extends AbstractAppRegistryCommon impleme
 		if (getDefaultApp(app.getName(), app.getType()) == null) {
 			app.setDefaultVersion(true);
 		}
-		return this.appRegistrationRepository.save(app);
+		AppRegistration saved = this.appRegistrationRepository.save(app);
+		addToAppNameIndex(saved.getType(), saved.getName(), saved.getVersion());
+		return saved;
 	}
 
 	/**
@@ -157,9 +159,15 @@ public class DefaultAppRegistryService extends AbstractAppRegistryCommon impleme
 	 */
 	public void delete(String name, ApplicationType type, String version) {
 		this.appRegistrationRepository.deleteAppRegistrationByNameAndTypeAndVersion(name, type, version);
+		removeFromAppNameIndex(type, name, version);
 		// TODO select new default
 	}
 
+	@Override
+	protected long count() {
+		return this.appRegistrationRepository.count();
+	}
+
 	@Override
 	protected boolean isOverwrite(AppRegistration app, boolean overwrite) {
 		return overwrite || this.appRegistrationRepository.findAppRegistrationByNameAndTypeAndVersion(app.getName(),
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.registry.support;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.springframework.cloud.dataflow.core.ApplicationType;
+import org.springframework.util.Assert;
+
+/**
+ * In memory index of the names of registered apps, answering prefix searches for a given
+ * {@link ApplicationType} without going through all registrations.
+ * <p>
+ * Names are kept sorted per type, along with the versions registered under each name, so
+ * that looking up the names starting with a prefix only visits the matching names.
+ */
+public class AppNameIndex {
+
+	private final Map<ApplicationType, TreeMap<String, Set<String>>> names = new EnumMap<>(ApplicationType.class);
+
+	private int size;
+
+	/**
+	 * Index an app registration. Indexing the same registration again has no effect.
+	 *
+	 * @param type the type of the app
+	 * @param name the name of the app
+	 * @param version the version of the app
+	 */
+	public synchronized void add(ApplicationType type, String name, String version) {
+		Assert.notNull(type, "type must not be null");
+		Assert.hasText(name, "name must not be empty nor null");
+		Assert.notNull(version, "version must not be null");
+		if (this.names.computeIfAbsent(type, key -> new TreeMap<>())
+				.computeIfAbsent(name, key -> new HashSet<>()).add(version)) {
+			this.size++;
+		}
+	}
+
+	/**
+	 * Remove an app registration from the index.
+	 *
+	 * @param type the type of the app
+	 * @param name the name of the app
+	 * @param version the version of the app, or {@code null} to remove all versions
+	 */
+	public synchronized void remove(ApplicationType type, String name, String version) {
+		TreeMap<String, Set<String>> namesOfType = this.names.get(type);
+		Set<String> versions = namesOfType != null ? namesOfType.get(name) : null;
+		if (versions == null) {
+			return;
+		}
+		if (version == null) {
+			this.size -= versions.size();
+			versions.clear();
+		}
+		else if (versions.remove(version)) {
+			this.size--;
+		}
+		if (versions.isEmpty()) {
+			namesOfType.remove(name);
+		}
+	}
+
+	/**
+	 * Find the names of the apps of the given type starting with the given prefix.
+	 *
+	 * @param type the type of the apps
+	 * @param prefix the prefix of the names, or an empty string to find all names
+	 * @return the matching names, in alphabetical order
+	 */
+	public synchronized List<String> find(ApplicationType type, String prefix) {
+		Assert.notNull(prefix, "prefix must not be null");
+		List<String> result = new ArrayList<>();
+		TreeMap<String, Set<String>> namesOfType = this.names.get(type);
+		if (namesOfType == null) {
+			return result;
+		}
+		for (String name : namesOfType.tailMap(prefix, true).keySet()) {
+			if (!name.startsWith(prefix)) {
+				break;
+			}
+			result.add(name);
+		}
+		return result;
+	}
+
+	/**
+	 * @return the number of indexed app registrations, counting each version
+	 */
+	public synchronized int size() {
+		return this.size;
+	}
+
+	public synchronized void clear() {
+		this.names.clear();
+		this.size = 0;
+	}
+}
@@ -152,6 +152,28 @@ public class AppRegistryTests {
 						hasProperty("metadataUri", nullValue()), hasProperty("type", is(sink)))));
 	}
 
+	@Test
+	public void testFindNames() {
+		appRegistry.save("foo", source, URI.create("classpath:/foo-source"), null);
+		appRegistry.save("foobar", source, URI.create("classpath:/foobar-source"), null);
+		appRegistry.save("bar", source, URI.create("classpath:/bar-source"), null);
+		appRegistry.save("foo", sink, URI.create("classpath:/foo-sink"), null);
+
+		assertThat(appRegistry.findNames(source, "foo"), contains("foo", "foobar"));
+		assertThat(appRegistry.findNames(source, ""), contains("bar", "foo", "foobar"));
+		assertThat(appRegistry.findNames(sink, "f"), contains("foo"));
+		assertThat(appRegistry.findNames(sink, "b"), empty());
+
+		appRegistry.delete("foo", source);
+		assertThat(appRegistry.findNames(source, "foo"), contains("foobar"));
+
+		// registrations not made through the app registry are picked up once invalidated
+		uriRegistry.register("source.food", URI.create("classpath:/food-source"));
+		assertThat(appRegistry.findNames(source, "foo"), contains("foobar"));
+		appRegistry.invalidateAppNameIndex();
+		assertThat(appRegistry.findNames(source, "foo"), contains("food", "foobar"));
+	}
+
 	@Test
 	public void testDelete() {
 		// pre-register an app
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.registry.support;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.cloud.dataflow.core.ApplicationType.processor;
+import static org.springframework.cloud.dataflow.core.ApplicationType.source;
+
+public class AppNameIndexTests {
+
+	private final AppNameIndex index = new AppNameIndex();
+
+	@Test
+	public void namesAreFoundByTypeAndPrefix() {
+		index.add(source, "http", "1.0");
+		index.add(source, "hdfs", "1.0");
+		index.add(source, "time", "1.0");
+		index.add(processor, "httpclient", "1.0");
+
+		assertThat(index.find(source, "h")).containsExactly("hdfs", "http");
+		assertThat(index.find(source, "http")).containsExactly("http");
+		assertThat(index.find(source, "")).containsExactly("hdfs", "http", "time");
+		assertThat(index.find(source, "x")).isEmpty();
+		assertThat(index.find(processor, "http")).containsExactly("httpclient");
+	}
+
+	@Test
+	public void namesAreRemovedWithTheirLastVersion() {
+		index.add(source, "http", "1.0");
+		index.add(source, "http", "2.0");
+		index.add(source, "http", "2.0");
+		assertThat(index.size()).isEqualTo(2);
+		assertThat(index.find(source, "")).containsExactly("http");
+
+		index.remove(source, "http", "1.0");
+		assertThat(index.find(source, "")).containsExactly("http");
+		index.remove(source, "http", "2.0");
+		assertThat(index.find(source, "")).isEmpty();
+		assertThat(index.size()).isEqualTo(0);
+
+		index.add(source, "http", "1.0");
+		index.add(source, "http", "2.0");
+		index.remove(source, "http", null);
+		assertThat(index.find(source, "")).isEmpty();
+		assertThat(index.size()).isEqualTo(0);
+	}
+}
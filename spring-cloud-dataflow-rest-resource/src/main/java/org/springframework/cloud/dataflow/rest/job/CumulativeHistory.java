@@ -30,6 +30,22 @@ public class CumulativeHistory {
 
 	private double max;
 
+	public CumulativeHistory() {
+	}
+
+	/**
+	 * Create a copy of the given history.
+	 *
+	 * @param other the history to copy
+	 */
+	public CumulativeHistory(CumulativeHistory other) {
+		this.count = other.count;
+		this.sum = other.sum;
+		this.sumSquares = other.sumSquares;
+		this.min = other.min;
+		this.max = other.max;
+	}
+
 	public void append(double value) {
 		if (value > max || count == 0)
 			max = value;
@@ -136,7 +136,8 @@ import org.springframework.web.client.RestTemplate;
 @Configuration
 @Import(CompletionConfiguration.class)
 @ConditionalOnBean({ EnableDataFlowServerConfiguration.Marker.class, TaskLauncher.class })
-@EnableConfigurationProperties({ FeaturesProperties.class, VersionInfoProperties.class, MetricsProperties.class })
+@EnableConfigurationProperties({ FeaturesProperties.class, VersionInfoProperties.class, MetricsProperties.class,
+		StreamDeployerProperties.class })
 @ConditionalOnProperty(prefix = "dataflow.server", name = "enabled", havingValue = "true", matchIfMissing = true)
 @EnableCircuitBreaker
 @EntityScan({ "org.springframework.cloud.dataflow.registry.domain" })
@@ -199,10 +200,18 @@ public class DataFlowControllerAutoConfiguration {
 		@ConditionalOnBean(StreamDefinitionRepository.class)
 		public SkipperStreamDeployer skipperStreamDeployer(SkipperClient skipperClient,
 				StreamDefinitionRepository streamDefinitionRepository,
+				DeploymentIdRepository deploymentIdRepository,
 				SkipperClientProperties skipperClientProperties,
-				ForkJoinPool runtimeAppsStatusFJPFB) {
+				ForkJoinPool runtimeAppsStatusFJPFB,
+				StreamDeployerProperties streamDeployerProperties) {
 			logger.info("Skipper URI [" + skipperClientProperties.getServerUri() + "]");
-			return new SkipperStreamDeployer(skipperClient, streamDefinitionRepository, runtimeAppsStatusFJPFB);
+			SkipperStreamDeployer skipperStreamDeployer = new SkipperStreamDeployer(skipperClient,
+					streamDefinitionRepository, deploymentIdRepository, runtimeAppsStatusFJPFB);
+			skipperStreamDeployer.setStatusConcurrency(streamDeployerProperties.getSkipperStatusConcurrency());
+			skipperStreamDeployer.setStatusTimeout(streamDeployerProperties.getSkipperStatusTimeout());
+			skipperStreamDeployer.setStateTtl(streamDeployerProperties.getSkipperStateTtl());
+			skipperStreamDeployer.setStatusRefreshInterval(streamDeployerProperties.getStatusRefreshInterval());
+			return skipperStreamDeployer;
 		}
 
 		@Bean
@@ -247,9 +256,13 @@ public class DataFlowControllerAutoConfiguration {
 		public AppDeployerStreamDeployer appDeployerStreamDeployer(AppDeployer appDeployer,
 				DeploymentIdRepository deploymentIdRepository,
 				StreamDefinitionRepository streamDefinitionRepository,
-				StreamDeploymentRepository streamDeploymentRepository, ForkJoinPool appRegistryFJPFB) {
-			return new AppDeployerStreamDeployer(appDeployer, deploymentIdRepository, streamDefinitionRepository,
-					streamDeploymentRepository, appRegistryFJPFB);
+				StreamDeploymentRepository streamDeploymentRepository, ForkJoinPool appRegistryFJPFB,
+				StreamDeployerProperties streamDeployerProperties) {
+			AppDeployerStreamDeployer appDeployerStreamDeployer = new AppDeployerStreamDeployer(appDeployer,
+					deploymentIdRepository, streamDefinitionRepository, streamDeploymentRepository, appRegistryFJPFB);
+			appDeployerStreamDeployer.setParallelDeployment(streamDeployerProperties.isParallelDeployment());
+			appDeployerStreamDeployer.setStatusRefreshInterval(streamDeployerProperties.getStatusRefreshInterval());
+			return appDeployerStreamDeployer;
 		}
 
 		@Bean
@@ -15,6 +15,9 @@
  */
 package org.springframework.cloud.dataflow.server.config;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.cloud.dataflow.core.DataFlowPropertyKeys;
 
@@ -30,6 +33,12 @@ public class MetricsProperties {
 
 	private Collector collector = new Collector();
 
+	/**
+	 * Names of additional collector metrics rendered along with the status of app
+	 * instances, as attributes prefixed with 'metrics.'.
+	 */
+	private List<String> instanceMetrics = new ArrayList<>();
+
 	public Collector getCollector() {
 		return collector;
 	}
@@ -38,6 +47,14 @@ public class MetricsProperties {
 		this.collector = collector;
 	}
 
+	public List<String> getInstanceMetrics() {
+		return instanceMetrics;
+	}
+
+	public void setInstanceMetrics(List<String> instanceMetrics) {
+		this.instanceMetrics = instanceMetrics;
+	}
+
 	public static class Collector {
 		private String uri;
 
@@ -47,6 +64,12 @@ public class MetricsProperties {
 
 		private boolean skipSslValidation;
 
+		/**
+		 * Interval, in milliseconds, at which metrics are fetched from the collector in the
+		 * background. Metrics are fetched on every request when not positive.
+		 */
+		private long refreshInterval = 5000;
+
 		public String getUri() {
 			return uri;
 		}
@@ -78,5 +101,13 @@ public class MetricsProperties {
 		public void setSkipSslValidation(boolean skipSslValidation) {
 			this.skipSslValidation = skipSslValidation;
 		}
+
+		public long getRefreshInterval() {
+			return refreshInterval;
+		}
+
+		public void setRefreshInterval(long refreshInterval) {
+			this.refreshInterval = refreshInterval;
+		}
 	}
 }
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.dataflow.server.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.cloud.dataflow.core.DataFlowPropertyKeys;
+
+/**
+ * Configuration properties for namespace 'spring.cloud.dataflow.stream-deployer'.
+ */
+@ConfigurationProperties(prefix = StreamDeployerProperties.PREFIX)
+public class StreamDeployerProperties {
+
+	public static final String PREFIX = DataFlowPropertyKeys.PREFIX + "stream-deployer";
+
+	/**
+	 * Whether apps of a stream that consume from the stream (processors and sinks) are
+	 * deployed concurrently, before the app at the head of the stream.
+	 */
+	private boolean parallelDeployment = false;
+
+	/**
+	 * Interval, in milliseconds, at which the status of deployed apps is refreshed in the
+	 * background. Not refreshed in the background when not positive, which is the
+	 * default: statuses are then queried from the platform on every request, or once
+	 * older than the Skipper state time to live when deploying with Skipper.
+	 */
+	private long statusRefreshInterval = 0;
+
+	/**
+	 * Maximum number of concurrent Skipper status calls made when computing the state of
+	 * several streams.
+	 */
+	private int skipperStatusConcurrency = 8;
+
+	/**
+	 * Time, in milliseconds, to wait for the status of streams from Skipper before
+	 * reporting the state of the ones not known yet as unknown.
+	 */
+	private long skipperStatusTimeout = 10000;
+
+	/**
+	 * Time, in milliseconds, during which the app statuses of a stream, and so its state,
+	 * queried from Skipper are reused when not refreshed in the background. Skipper is
+	 * queried on every request when not positive.
+	 */
+	private long skipperStateTtl = 2000;
+
+	public boolean isParallelDeployment() {
+		return parallelDeployment;
+	}
+
+	public void setParallelDeployment(boolean parallelDeployment) {
+		this.parallelDeployment = parallelDeployment;
+	}
+
+	public long getStatusRefreshInterval() {
+		return statusRefreshInterval;
+	}
+
+	public void setStatusRefreshInterval(long statusRefreshInterval) {
+		this.statusRefreshInterval = statusRefreshInterval;
+	}
+
+	public int getSkipperStatusConcurrency() {
+		return skipperStatusConcurrency;
+	}
+
+	public void setSkipperStatusConcurrency(int skipperStatusConcurrency) {
+		this.skipperStatusConcurrency = skipperStatusConcurrency;
+	}
+
+	public long getSkipperStatusTimeout() {
+		return skipperStatusTimeout;
+	}
+
+	public void setSkipperStatusTimeout(long skipperStatusTimeout) {
+		this.skipperStatusTimeout = skipperStatusTimeout;
+	}
+
+	public long getSkipperStateTtl() {
+		return skipperStateTtl;
+	}
+
+	public void setSkipperStateTtl(long skipperStateTtl) {
+		this.skipperStateTtl = skipperStateTtl;
+	}
+}
@@ -18,6 +18,7 @@ package org.springframework.cloud.dataflow.server.config.features;
 import javax.sql.DataSource;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.health.RedisHealthIndicator;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
@@ -47,8 +48,10 @@ public class FeaturesConfiguration {
 	@ConditionalOnExpression("#{'${" + FeaturesProperties.FEATURES_PREFIX + "." + FeaturesProperties.STREAMS_ENABLED
 			+ ":true}'.equalsIgnoreCase('true') || " + "'${" + FeaturesProperties.FEATURES_PREFIX + "."
 			+ FeaturesProperties.TASKS_ENABLED + ":true}'.equalsIgnoreCase('true') }")
-	public DeploymentIdRepository deploymentIdRepository(DataSource dataSource) {
-		return new RdbmsDeploymentIdRepository(dataSource);
+	public DeploymentIdRepository deploymentIdRepository(DataSource dataSource,
+			@Value("${" + FeaturesProperties.FEATURES_PREFIX + "." + FeaturesProperties.TASKS_ENABLED
+					+ ":true}") boolean tasksEnabled) {
+		return new RdbmsDeploymentIdRepository(dataSource, tasksEnabled);
 	}
 
 	@Bean
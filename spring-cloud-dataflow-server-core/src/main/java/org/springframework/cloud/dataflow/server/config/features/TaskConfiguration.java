@@ -37,7 +37,9 @@ import org.springframework.cloud.dataflow.configuration.metadata.ApplicationConf
 import org.springframework.cloud.dataflow.registry.AppRegistryCommon;
 import org.springframework.cloud.dataflow.server.job.TaskExplorerFactoryBean;
 import org.springframework.cloud.dataflow.server.repository.DeploymentIdRepository;
+import org.springframework.cloud.dataflow.server.repository.RdbmsTaskBatchRepository;
 import org.springframework.cloud.dataflow.server.repository.RdbmsTaskDefinitionRepository;
+import org.springframework.cloud.dataflow.server.repository.TaskBatchRepository;
 import org.springframework.cloud.dataflow.server.repository.TaskDefinitionRepository;
 import org.springframework.cloud.dataflow.server.service.TaskJobService;
 import org.springframework.cloud.dataflow.server.service.TaskService;
@@ -100,8 +102,17 @@ public class TaskConfiguration {
 	@Bean
 	@ConditionalOnBean(TaskDefinitionRepository.class)
 	public TaskJobService taskJobExecutionRepository(JobService service, TaskExplorer taskExplorer,
-			TaskDefinitionRepository taskDefinitionRepository, TaskService taskService) {
-		return new DefaultTaskJobService(service, taskExplorer, taskDefinitionRepository, taskService);
+			TaskDefinitionRepository taskDefinitionRepository, TaskService taskService,
+			TaskBatchRepository taskBatchRepository) {
+		return new DefaultTaskJobService(service, taskExplorer, taskDefinitionRepository, taskService,
+				taskBatchRepository);
+	}
+
+	@Bean
+	public TaskBatchRepository taskBatchRepository(DataSource dataSource) {
+		// default table prefixes, the same as the task explorer and job service whose rows
+		// it looks up
+		return new RdbmsTaskBatchRepository(dataSource);
 	}
 
 	@Bean
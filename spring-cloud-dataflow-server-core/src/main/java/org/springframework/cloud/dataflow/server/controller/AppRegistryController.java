@@ -196,6 +196,9 @@ public class AppRegistryController implements ResourceLoaderAware {
 		try {
 			AppRegistration registration = appRegistry.save(name, type, new URI(uri),
 					metadataUri != null ? new URI(metadataUri) : null);
+			if (previous != null) {
+				evictMetadata(previous);
+			}
 			prefetchMetadata(Arrays.asList(registration));
 		}
 		catch (URISyntaxException e) {
@@ -213,7 +216,9 @@ public class AppRegistryController implements ResourceLoaderAware {
 	@RequestMapping(value = "/{type}/{name}", method = RequestMethod.DELETE)
 	@ResponseStatus(HttpStatus.OK)
 	public void unregister(@PathVariable("type") ApplicationType type, @PathVariable("name") String name) {
+		AppRegistration registration = appRegistry.find(name, type);
 		appRegistry.delete(name, type);
+		evictMetadata(registration);
 	}
 
 	/**
@@ -254,15 +259,18 @@ public class AppRegistryController implements ResourceLoaderAware {
 
 	/**
 	 * Trigger early resolution of the metadata resource of registrations that have an
-	 * explicit metadata artifact. This assumes usage of
+	 * explicit metadata artifact, and extraction of the configuration metadata it
+	 * contains so that it is readily available (and indexed, if the resolver supports
+	 * it). This assumes usage of
 	 * {@link org.springframework.cloud.deployer.resource.support.DelegatingResourceLoader}.
 	 */
 	private void prefetchMetadata(List<AppRegistration> appRegistrations) {
+		appRegistrations.forEach(this::evictMetadata);
 		forkJoinPool.execute(() -> {
 			appRegistrations.stream().filter(r -> r.getMetadataUri() != null).parallel().forEach(r -> {
 				logger.info("Eagerly fetching {}", r.getMetadataUri());
 				try {
-					this.appRegistry.getAppMetadataResource(r);
+					metadataResolver.listProperties(this.appRegistry.getAppMetadataResource(r), true);
 				}
 				catch (Exception e) {
 					logger.warn("Could not fetch " + r.getMetadataUri(), e);
@@ -271,6 +279,16 @@ public class AppRegistryController implements ResourceLoaderAware {
 		});
 	}
 
+	/**
+	 * Discard any metadata cached for the given registration, so that a re-registered
+	 * app is not served stale configuration properties.
+	 */
+	private void evictMetadata(AppRegistration registration) {
+		if (registration != null) {
+			metadataResolver.evict(appRegistry.getAppMetadataResource(registration));
+		}
+	}
+
 	@Override
 	public void setResourceLoader(ResourceLoader resourceLoader) {
 		this.resourceLoader = resourceLoader;
@@ -24,6 +24,7 @@ import org.springframework.batch.core.launch.NoSuchJobExecutionException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cloud.dataflow.rest.job.StepExecutionHistory;
 import org.springframework.cloud.dataflow.rest.resource.StepExecutionProgressInfoResource;
+import org.springframework.cloud.dataflow.server.job.support.StepExecutionHistoryCache;
 import org.springframework.cloud.dataflow.server.job.support.StepExecutionProgressInfo;
 import org.springframework.hateoas.ExposesResourceFor;
 import org.springframework.hateoas.mvc.ResourceAssemblerSupport;
@@ -45,6 +46,8 @@ public class JobStepExecutionProgressController {
 
 	private final JobService jobService;
 
+	private final StepExecutionHistoryCache stepExecutionHistoryCache;
+
 	private final Assembler stepAssembler = new Assembler();
 
 	/**
@@ -58,6 +61,7 @@ public class JobStepExecutionProgressController {
 	public JobStepExecutionProgressController(JobService jobService) {
 		Assert.notNull(jobService, "repository must not be null");
 		this.jobService = jobService;
+		this.stepExecutionHistoryCache = new StepExecutionHistoryCache(jobService);
 	}
 
 	/**
@@ -84,7 +88,7 @@ public class JobStepExecutionProgressController {
 				stepName = stepName.replaceAll("(:partition).*", "$1*");
 			}
 			String jobName = stepExecution.getJobExecution().getJobInstance().getJobName();
-			StepExecutionHistory stepExecutionHistory = computeHistory(jobName, stepName);
+			StepExecutionHistory stepExecutionHistory = stepExecutionHistoryCache.getHistory(jobName, stepName);
 			return stepAssembler.toResource(new StepExecutionProgressInfo(stepExecution, stepExecutionHistory));
 		}
 		catch (NoSuchStepExecutionException e) {
@@ -95,24 +99,6 @@ public class JobStepExecutionProgressController {
 		}
 	}
 
-	/**
-	 * Compute step execution history for the given jobs step.
-	 *
-	 * @param jobName the name of the job
-	 * @param stepName the name of the step
-	 * @return the step execution history for the given step
-	 */
-	private StepExecutionHistory computeHistory(String jobName, String stepName) {
-		int total = jobService.countStepExecutionsForStep(jobName, stepName);
-		StepExecutionHistory stepExecutionHistory = new StepExecutionHistory(stepName);
-		for (int i = 0; i < total; i += 1000) {
-			for (StepExecution stepExecution : jobService.listStepExecutionsForStep(jobName, stepName, i, 1000)) {
-				stepExecutionHistory.append(stepExecution);
-			}
-		}
-		return stepExecutionHistory;
-	}
-
 	/**
 	 * {@link org.springframework.hateoas.ResourceAssembler} implementation that converts
 	 * {@link StepExecutionProgressInfo}s to a {@link StepExecutionProgressInfoResource}.
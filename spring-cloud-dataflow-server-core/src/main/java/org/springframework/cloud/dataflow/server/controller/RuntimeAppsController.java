@@ -19,21 +19,20 @@ package org.springframework.cloud.dataflow.server.controller;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.ExecutionException;
 
 import org.springframework.cloud.dataflow.rest.resource.AppInstanceStatusResource;
 import org.springframework.cloud.dataflow.rest.resource.AppStatusResource;
-import org.springframework.cloud.dataflow.server.controller.support.ApplicationsMetrics;
 import org.springframework.cloud.dataflow.server.controller.support.ControllerUtils;
+import org.springframework.cloud.dataflow.server.controller.support.InstanceMetricsIndex;
 import org.springframework.cloud.dataflow.server.controller.support.MetricStore;
 import org.springframework.cloud.dataflow.server.stream.StreamDeployer;
 import org.springframework.cloud.deployer.spi.app.AppInstanceStatus;
 import org.springframework.cloud.deployer.spi.app.AppStatus;
 import org.springframework.cloud.deployer.spi.app.DeploymentState;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PagedResourcesAssembler;
@@ -43,9 +42,9 @@ import org.springframework.hateoas.ResourceAssembler;
 import org.springframework.hateoas.Resources;
 import org.springframework.hateoas.mvc.ResourceAssemblerSupport;
 import org.springframework.util.Assert;
-import org.springframework.util.ObjectUtils;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 /**
@@ -93,61 +92,21 @@ public class RuntimeAppsController {
 	}
 
 	@RequestMapping
-	public PagedResources<AppStatusResource> list(Pageable pageable, PagedResourcesAssembler<AppStatus> assembler)
-			throws ExecutionException, InterruptedException {
+	public PagedResources<AppStatusResource> list(Pageable pageable,
+			@RequestParam(value = "fresh", defaultValue = "false") boolean fresh,
+			PagedResourcesAssembler<AppStatus> assembler) throws ExecutionException, InterruptedException {
 
-		List<AppStatus> statuses = streamDeployer.getAppStatuses(pageable);
+		Page<AppStatus> statuses = streamDeployer.getAppStatuses(pageable, fresh);
 
-		enrichWithMetrics(statuses);
-		int deploymentSize = statuses.size(); // TODO to check if this count is the expected one.
-		// finally, pass in pageable and tell how many items we have in all pages
-		return assembler.toResource(new PageImpl<>(statuses, pageable, deploymentSize), statusAssembler);
+		// metrics are only formatted when rendered
+		return assembler.toResource(statuses, new Assembler(metricStore.getInstanceMetrics()));
 
 	}
 
-	private void enrichWithMetrics(List<AppStatus> statuses) {
-		List<ApplicationsMetrics> metricsIn = metricStore.getMetrics();
-		Map<String, ApplicationsMetrics.Instance> metricsInstanceMap = new HashMap<>();
-		for (ApplicationsMetrics am : metricsIn) {
-			for (ApplicationsMetrics.Application a : am.getApplications()) {
-				for (ApplicationsMetrics.Instance i : a.getInstances()) {
-					metricsInstanceMap.put(i.getGuid(), i);
-				}
-			}
-		}
-
-		for (AppStatus appStatus : statuses) {
-			Map<String, AppInstanceStatus> appInstanceStatusMap = appStatus.getInstances();
-			appInstanceStatusMap.forEach((k, appInstanceStatus) -> {
-				Map<String, String> attributes = appInstanceStatus.getAttributes();
-				if (attributes != null && !attributes.isEmpty()) {
-					String trackingKey = attributes.get("guid");
-					if (metricsInstanceMap.containsKey(trackingKey)) {
-						ApplicationsMetrics.Instance metricsAppInstance = metricsInstanceMap.get(trackingKey);
-						List<ApplicationsMetrics.Metric> metrics = metricsAppInstance.getMetrics();
-						if (metrics != null) {
-							for (ApplicationsMetrics.Metric m : metrics) {
-								if (ObjectUtils.nullSafeEquals("integration.channel.input.send.mean", m.getName())) {
-									appInstanceStatus.getAttributes()
-											.put("metrics.integration.channel.input.receiveRate",
-													String.format(Locale.US, "%.2f", m.getValue()));
-								}
-								else if (ObjectUtils
-										.nullSafeEquals("integration.channel.output.send.mean", m.getName())) {
-									appInstanceStatus.getAttributes().put("metrics.integration.channel.output.sendRate",
-											String.format(Locale.US, "%.2f", m.getValue()));
-								}
-							}
-						}
-					}
-				}
-			});
-		}
-	}
-
 	@RequestMapping("/{id}")
-	public AppStatusResource display(@PathVariable String id) {
-		AppStatus status = streamDeployer.getAppStatus(id);
+	public AppStatusResource display(@PathVariable String id,
+			@RequestParam(value = "fresh", defaultValue = "false") boolean fresh) {
+		AppStatus status = streamDeployer.getAppStatus(id, fresh);
 		if (status.getState().equals(DeploymentState.unknown)) {
 			throw new NoSuchAppException(id);
 		}
@@ -156,8 +115,15 @@ public class RuntimeAppsController {
 
 	private static class Assembler extends ResourceAssemblerSupport<AppStatus, AppStatusResource> {
 
+		private final InstanceMetricsIndex instanceMetrics;
+
 		public Assembler() {
+			this(null);
+		}
+
+		Assembler(InstanceMetricsIndex instanceMetrics) {
 			super(RuntimeAppsController.class, AppStatusResource.class);
+			this.instanceMetrics = instanceMetrics;
 		}
 
 		@Override
@@ -170,7 +136,7 @@ public class RuntimeAppsController {
 			AppStatusResource resource = new AppStatusResource(entity.getDeploymentId(),
 					ControllerUtils.mapState(entity.getState()).getKey());
 			List<AppInstanceStatusResource> instanceStatusResources = new ArrayList<>();
-			InstanceAssembler instanceAssembler = new InstanceAssembler(entity);
+			InstanceAssembler instanceAssembler = new InstanceAssembler(entity, instanceMetrics);
 			List<AppInstanceStatus> instanceStatuses = new ArrayList<>(entity.getInstances().values());
 			Collections.sort(instanceStatuses, INSTANCE_SORTER);
 			for (AppInstanceStatus appInstanceStatus : instanceStatuses) {
@@ -194,8 +160,9 @@ public class RuntimeAppsController {
 
 		@RequestMapping
 		public PagedResources<AppInstanceStatusResource> list(Pageable pageable, @PathVariable String appId,
+				@RequestParam(value = "fresh", defaultValue = "false") boolean fresh,
 				PagedResourcesAssembler<AppInstanceStatus> assembler) {
-			AppStatus status = streamDeployer.getAppStatus(appId);
+			AppStatus status = streamDeployer.getAppStatus(appId, fresh);
 			if (status.getState().equals(DeploymentState.unknown)) {
 				throw new NoSuchAppException(appId);
 			}
@@ -206,8 +173,9 @@ public class RuntimeAppsController {
 		}
 
 		@RequestMapping("/{instanceId}")
-		public AppInstanceStatusResource display(@PathVariable String appId, @PathVariable String instanceId) {
-			AppStatus status = streamDeployer.getAppStatus(appId);
+		public AppInstanceStatusResource display(@PathVariable String appId, @PathVariable String instanceId,
+				@RequestParam(value = "fresh", defaultValue = "false") boolean fresh) {
+			AppStatus status = streamDeployer.getAppStatus(appId, fresh);
 			if (status.getState().equals(DeploymentState.unknown)) {
 				throw new NoSuchAppException(appId);
 			}
@@ -224,9 +192,16 @@ public class RuntimeAppsController {
 
 		private final AppStatus owningApp;
 
+		private final InstanceMetricsIndex instanceMetrics;
+
 		InstanceAssembler(AppStatus owningApp) {
+			this(owningApp, null);
+		}
+
+		InstanceAssembler(AppStatus owningApp, InstanceMetricsIndex instanceMetrics) {
 			super(AppInstanceController.class, AppInstanceStatusResource.class);
 			this.owningApp = owningApp;
+			this.instanceMetrics = instanceMetrics;
 		}
 
 		@Override
@@ -236,8 +211,10 @@ public class RuntimeAppsController {
 
 		@Override
 		protected AppInstanceStatusResource instantiateResource(AppInstanceStatus entity) {
+			Map<String, String> attributes = instanceMetrics == null ? entity.getAttributes()
+					: instanceMetrics.enrich(entity.getAttributes());
 			return new AppInstanceStatusResource(entity.getId(), ControllerUtils.mapState(entity.getState()).getKey(),
-					entity.getAttributes());
+					attributes);
 		}
 	}
 }
@@ -19,6 +19,7 @@ package org.springframework.cloud.dataflow.server.controller;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -31,8 +32,6 @@ import org.springframework.cloud.dataflow.core.ApplicationType;
 import org.springframework.cloud.dataflow.core.StreamAppDefinition;
 import org.springframework.cloud.dataflow.core.StreamDefinition;
 import org.springframework.cloud.dataflow.core.dsl.ParseException;
-import org.springframework.cloud.dataflow.core.dsl.StreamNode;
-import org.springframework.cloud.dataflow.core.dsl.StreamParser;
 import org.springframework.cloud.dataflow.registry.AppRegistryCommon;
 import org.springframework.cloud.dataflow.rest.resource.DeploymentStateResource;
 import org.springframework.cloud.dataflow.rest.resource.StreamDefinitionResource;
@@ -165,12 +164,16 @@ public class StreamDefinitionController {
 	 * @param pageable page-able collection of {@code StreamDefinitionResource}s.
 	 * @param assembler assembler for {@link StreamDefinition}
 	 * @param search optional search parameter
+	 * @param fresh whether to query the platform for app statuses rather than rely on
+	 * cached ones
 	 * @return list of stream definitions
 	 */
 	@RequestMapping(value = "", method = RequestMethod.GET)
 	@ResponseStatus(HttpStatus.OK)
 	public PagedResources<StreamDefinitionResource> list(Pageable pageable,
-			@RequestParam(required = false) String search, PagedResourcesAssembler<StreamDefinition> assembler) {
+			@RequestParam(required = false) String search,
+			@RequestParam(value = "fresh", defaultValue = "false") boolean fresh,
+			PagedResourcesAssembler<StreamDefinition> assembler) {
 		Page<StreamDefinition> streamDefinitions;
 		if (search != null) {
 			final SearchPageable searchPageable = new SearchPageable(pageable, search);
@@ -184,7 +187,7 @@ public class StreamDefinitionController {
 		else {
 			streamDefinitions = streamDefinitionRepository.findAll(pageable);
 		}
-		return assembler.toResource(streamDefinitions, new Assembler(streamDefinitions));
+		return assembler.toResource(streamDefinitions, new Assembler(streamDefinitions, fresh));
 	}
 
 	/**
@@ -270,37 +273,46 @@ public class StreamDefinitionController {
 			@PathVariable("name") String name,
 			@RequestParam(value = "nested", required = false, defaultValue = "false") boolean nested,
 			PagedResourcesAssembler<StreamDefinition> assembler) {
-		Set<StreamDefinition> relatedDefinitions = new LinkedHashSet<>();
 		StreamDefinition currentStreamDefinition = streamDefinitionRepository.findOne(name);
 		if (currentStreamDefinition == null) {
 			throw new NoSuchStreamDefinitionException(name);
 		}
-		Iterable<StreamDefinition> definitions = streamDefinitionRepository.findAll();
-		List<StreamDefinition> result = new ArrayList<>(findRelatedDefinitions(currentStreamDefinition, definitions,
-				relatedDefinitions, nested));
-		Page<StreamDefinition> page = new PageImpl<>(result, pageable,
-				definitions.spliterator().getExactSizeIfKnown());
+		Set<String> relatedNames = new LinkedHashSet<>();
+		relatedNames.add(name);
+		findRelatedStreamNames(name, relatedNames, nested);
+		// only the definitions of the requested page are read
+		List<String> names = new ArrayList<>(relatedNames);
+		int from = Math.min(pageable.getOffset(), names.size());
+		int to = Math.min(from + pageable.getPageSize(), names.size());
+		Map<String, StreamDefinition> relatedDefinitions = new LinkedHashMap<>();
+		for (String relatedName : names.subList(from, to)) {
+			relatedDefinitions.put(relatedName, null);
+		}
+		if (!relatedDefinitions.isEmpty()) {
+			for (StreamDefinition definition : streamDefinitionRepository.findAll(relatedDefinitions.keySet())) {
+				relatedDefinitions.put(definition.getName(), definition);
+			}
+		}
+		if (relatedDefinitions.containsKey(name)) {
+			relatedDefinitions.put(name, currentStreamDefinition);
+		}
+		List<StreamDefinition> result = new ArrayList<>();
+		for (StreamDefinition definition : relatedDefinitions.values()) {
+			// skip streams deleted since they were looked up
+			if (definition != null) {
+				result.add(definition);
+			}
+		}
+		Page<StreamDefinition> page = new PageImpl<>(result, pageable, names.size());
 		return assembler.toResource(page, new Assembler(page));
 	}
 
-	private Set<StreamDefinition> findRelatedDefinitions(StreamDefinition currentStreamDefinition,
-			Iterable<StreamDefinition> definitions, Set<StreamDefinition> relatedDefinitions, boolean nested) {
-		relatedDefinitions.add(currentStreamDefinition);
-		String currentStreamName = currentStreamDefinition.getName();
-		String indexedStreamName = currentStreamName + ".";
-		for (StreamDefinition definition : definitions) {
-			StreamNode sn = new StreamParser(definition.getName(), definition.getDslText()).parse();
-			if (sn.getSourceDestinationNode() != null) {
-				String nameComponent = sn.getSourceDestinationNode().getDestinationName();
-				if (nameComponent.equals(currentStreamName) || nameComponent.startsWith(indexedStreamName)) {
-					relatedDefinitions.add(definition);
-					if (nested) {
-						findRelatedDefinitions(definition, definitions, relatedDefinitions, true);
-					}
-				}
+	private void findRelatedStreamNames(String streamName, Set<String> relatedNames, boolean nested) {
+		for (String relatedName : streamDefinitionRepository.findRelatedStreamNames(streamName)) {
+			if (relatedNames.add(relatedName) && nested) {
+				findRelatedStreamNames(relatedName, relatedNames, true);
 			}
 		}
-		return relatedDefinitions;
 	}
 
 	/**
@@ -340,9 +352,14 @@ public class StreamDefinitionController {
 		private final Map<StreamDefinition, DeploymentState> streamDeploymentStates;
 
 		public Assembler(Page<StreamDefinition> streamDefinitions) {
+			this(streamDefinitions, false);
+		}
+
+		public Assembler(Page<StreamDefinition> streamDefinitions, boolean fresh) {
 			super(StreamDefinitionController.class, StreamDefinitionResource.class);
-			streamDeploymentStates = StreamDefinitionController.this.streamService
-					.state(streamDefinitions.getContent());
+			StreamService streamService = StreamDefinitionController.this.streamService;
+			streamDeploymentStates = fresh ? streamService.state(streamDefinitions.getContent(), true)
+					: streamService.state(streamDefinitions.getContent());
 
 		}
 
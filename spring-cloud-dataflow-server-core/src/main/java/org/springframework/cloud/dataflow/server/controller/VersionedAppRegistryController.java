@@ -187,6 +187,9 @@ public class VersionedAppRegistryController {
 		try {
 			AppRegistration registration = this.appRegistryService.save(name, type, version, new URI(uri),
 					metadataUri != null ? new URI(metadataUri) : null);
+			if (previous != null) {
+				evictMetadata(previous);
+			}
 			prefetchMetadata(Arrays.asList(registration));
 		}
 		catch (URISyntaxException e) {
@@ -230,7 +233,9 @@ public class VersionedAppRegistryController {
 	@ResponseStatus(HttpStatus.OK)
 	public void unregister(@PathVariable("type") ApplicationType type, @PathVariable("name") String name,
 			@PathVariable("version") String version) {
+		AppRegistration registration = appRegistryService.find(name, type, version);
 		appRegistryService.delete(name, type, version);
+		evictMetadata(registration);
 	}
 
 	@Deprecated
@@ -286,15 +291,18 @@ public class VersionedAppRegistryController {
 
 	/**
 	 * Trigger early resolution of the metadata resource of registrations that have an
-	 * explicit metadata artifact. This assumes usage of
+	 * explicit metadata artifact, and extraction of the configuration metadata it
+	 * contains so that it is readily available (and indexed, if the resolver supports
+	 * it). This assumes usage of
 	 * {@link org.springframework.cloud.deployer.resource.support.DelegatingResourceLoader}.
 	 */
 	private void prefetchMetadata(List<AppRegistration> appRegistrations) {
+		appRegistrations.forEach(this::evictMetadata);
 		forkJoinPool.execute(() -> {
 			appRegistrations.stream().filter(r -> r.getMetadataUri() != null).parallel().forEach(r -> {
 				logger.info("Eagerly fetching {}", r.getMetadataUri());
 				try {
-					appRegistryService.getAppMetadataResource(r);
+					metadataResolver.listProperties(appRegistryService.getAppMetadataResource(r), true);
 				}
 				catch (Exception e) {
 					logger.warn("Could not fetch " + r.getMetadataUri(), e);
@@ -303,6 +311,16 @@ public class VersionedAppRegistryController {
 		});
 	}
 
+	/**
+	 * Discard any metadata cached for the given registration, so that a re-registered
+	 * app is not served stale configuration properties.
+	 */
+	private void evictMetadata(AppRegistration registration) {
+		if (registration != null) {
+			metadataResolver.evict(appRegistryService.getAppMetadataResource(registration));
+		}
+	}
+
 	class Assembler extends ResourceAssemblerSupport<AppRegistration, AppRegistrationResource> {
 
 		public Assembler() {
@@ -0,0 +1,283 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.controller.support;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.springframework.util.Assert;
+
+/**
+ * Index of the metrics rendered along with the status of app instances, keyed by app
+ * instance guid.
+ * <p>
+ * Only the values of the metrics to render are kept, and they are only formatted when the
+ * attributes returned by {@link #enrich(Map)} are read, typically during serialization.
+ */
+public class InstanceMetricsIndex {
+
+	/**
+	 * Name of the app instance attribute holding the guid used by the collector.
+	 */
+	public static final String GUID_ATTRIBUTE = "guid";
+
+	private final String[] metricNames;
+
+	private final String[] attributeNames;
+
+	private final Map<String, double[]> values;
+
+	/**
+	 * Build an index of the given metrics.
+	 *
+	 * @param metrics the metrics returned by the collector
+	 * @param renderedMetrics the attribute names under which metrics are rendered, keyed by
+	 * metric name. Other metrics are ignored
+	 */
+	public InstanceMetricsIndex(List<ApplicationsMetrics> metrics, Map<String, String> renderedMetrics) {
+		Assert.notNull(metrics, "metrics must not be null");
+		Assert.notNull(renderedMetrics, "renderedMetrics must not be null");
+		this.metricNames = renderedMetrics.keySet().toArray(new String[renderedMetrics.size()]);
+		this.attributeNames = renderedMetrics.values().toArray(new String[renderedMetrics.size()]);
+		Map<String, double[]> values = new HashMap<>();
+		for (ApplicationsMetrics am : metrics) {
+			if (am.getApplications() == null) {
+				continue;
+			}
+			for (ApplicationsMetrics.Application a : am.getApplications()) {
+				if (a.getInstances() == null) {
+					continue;
+				}
+				for (ApplicationsMetrics.Instance i : a.getInstances()) {
+					double[] instanceValues = indexMetrics(i.getMetrics());
+					if (instanceValues != null) {
+						values.put(i.getGuid(), instanceValues);
+					}
+				}
+			}
+		}
+		this.values = values;
+	}
+
+	/**
+	 * Return the attributes of an app instance, along with its rendered metrics.
+	 *
+	 * @param attributes the attributes of the app instance
+	 * @return a read only view of the attributes of the app instance including its
+	 * metrics, or the given attributes if there are no metrics for that app instance
+	 */
+	public Map<String, String> enrich(Map<String, String> attributes) {
+		if (attributes == null || attributes.isEmpty()) {
+			return attributes;
+		}
+		double[] instanceValues = this.values.get(attributes.get(GUID_ATTRIBUTE));
+		if (instanceValues == null) {
+			return attributes;
+		}
+		for (String attributeName : this.attributeNames) {
+			if (attributes.containsKey(attributeName)) {
+				// rendered metrics take precedence over existing attributes
+				Map<String, String> enriched = new LinkedHashMap<>(attributes);
+				for (int i = 0; i < instanceValues.length; i++) {
+					if (!Double.isNaN(instanceValues[i])) {
+						enriched.put(this.attributeNames[i], format(instanceValues[i]));
+					}
+				}
+				return Collections.unmodifiableMap(enriched);
+			}
+		}
+		return new MetricsAttributes(attributes, instanceValues);
+	}
+
+	private double[] indexMetrics(List<ApplicationsMetrics.Metric> metrics) {
+		if (metrics == null) {
+			return null;
+		}
+		double[] instanceValues = null;
+		for (ApplicationsMetrics.Metric m : metrics) {
+			for (int i = 0; i < this.metricNames.length; i++) {
+				if (this.metricNames[i].equals(m.getName())) {
+					double value = toDouble(m.getValue());
+					if (Double.isFinite(value)) {
+						if (instanceValues == null) {
+							instanceValues = new double[this.metricNames.length];
+							Arrays.fill(instanceValues, Double.NaN);
+						}
+						instanceValues[i] = value;
+					}
+					break;
+				}
+			}
+		}
+		return instanceValues;
+	}
+
+	private static double toDouble(Object value) {
+		if (value instanceof Number) {
+			return ((Number) value).doubleValue();
+		}
+		if (value instanceof String) {
+			try {
+				return Double.parseDouble((String) value);
+			}
+			catch (NumberFormatException e) {
+				return Double.NaN;
+			}
+		}
+		return Double.NaN;
+	}
+
+	/**
+	 * Formats a metric value the same way as {@code String.format(Locale.US, "%.2f", value)}.
+	 */
+	private static String format(double value) {
+		return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP).toPlainString();
+	}
+
+	/**
+	 * Read only view of the attributes of an app instance followed by its metrics, for app
+	 * instances whose attributes do not already include any rendered metric.
+	 */
+	private class MetricsAttributes extends AbstractMap<String, String> {
+
+		private final Map<String, String> attributes;
+
+		private final double[] instanceValues;
+
+		MetricsAttributes(Map<String, String> attributes, double[] instanceValues) {
+			this.attributes = attributes;
+			this.instanceValues = instanceValues;
+		}
+
+		@Override
+		public Set<Entry<String, String>> entrySet() {
+			return new AbstractSet<Entry<String, String>>() {
+
+				@Override
+				public Iterator<Entry<String, String>> iterator() {
+					return new MetricsAttributesIterator(attributes.entrySet().iterator(), instanceValues);
+				}
+
+				@Override
+				public int size() {
+					int size = attributes.size();
+					for (double value : instanceValues) {
+						if (!Double.isNaN(value)) {
+							size++;
+						}
+					}
+					return size;
+				}
+			};
+		}
+	}
+
+	private class MetricsAttributesIterator implements Iterator<Map.Entry<String, String>> {
+
+		private final Iterator<Map.Entry<String, String>> attributes;
+
+		private final double[] instanceValues;
+
+		private int next = -1;
+
+		MetricsAttributesIterator(Iterator<Map.Entry<String, String>> attributes, double[] instanceValues) {
+			this.attributes = attributes;
+			this.instanceValues = instanceValues;
+			advance();
+		}
+
+		@Override
+		public boolean hasNext() {
+			return this.attributes.hasNext() || this.next < this.instanceValues.length;
+		}
+
+		@Override
+		public Map.Entry<String, String> next() {
+			if (this.attributes.hasNext()) {
+				return this.attributes.next();
+			}
+			if (this.next >= this.instanceValues.length) {
+				throw new NoSuchElementException();
+			}
+			int index = this.next;
+			advance();
+			return new MetricEntry(attributeNames[index], this.instanceValues[index]);
+		}
+
+		private void advance() {
+			do {
+				this.next++;
+			}
+			while (this.next < this.instanceValues.length && Double.isNaN(this.instanceValues[this.next]));
+		}
+	}
+
+	/**
+	 * Metric attribute whose value is formatted when read.
+	 */
+	private static class MetricEntry implements Map.Entry<String, String> {
+
+		private final String key;
+
+		private final double value;
+
+		MetricEntry(String key, double value) {
+			this.key = key;
+			this.value = value;
+		}
+
+		@Override
+		public String getKey() {
+			return this.key;
+		}
+
+		@Override
+		public String getValue() {
+			return format(this.value);
+		}
+
+		@Override
+		public String setValue(String value) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof Map.Entry)) {
+				return false;
+			}
+			Map.Entry<?, ?> other = (Map.Entry<?, ?>) o;
+			return this.key.equals(other.getKey()) && getValue().equals(other.getValue());
+		}
+
+		@Override
+		public int hashCode() {
+			return this.key.hashCode() ^ getValue().hashCode();
+		}
+	}
+}
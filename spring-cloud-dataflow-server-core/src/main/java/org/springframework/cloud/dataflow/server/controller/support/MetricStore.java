@@ -20,14 +20,20 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.netflix.hystrix.contrib.javanica.annotation.HystrixCommand;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.cloud.dataflow.rest.util.HttpClientConfigurer;
 import org.springframework.cloud.dataflow.server.config.MetricsProperties;
 import org.springframework.core.ParameterizedTypeReference;
@@ -36,6 +42,7 @@ import org.springframework.hateoas.hal.Jackson2HalModule;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.util.CustomizableThreadCreator;
 import org.springframework.util.StringUtils;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
@@ -43,12 +50,16 @@ import org.springframework.web.util.UriComponentsBuilder;
 
 
 /**
- * Store implementation returning metrics info from a collector application. Implemented
- * via hystrix command having a fallback to empty response.
+ * Store implementation returning metrics info from a collector application.
+ * <p>
+ * The latest metrics returned by the collector are kept in memory and refreshed in the
+ * background, so that reading them never waits on the collector. Metrics are empty until
+ * the collector first responds, and the last known ones are kept when it can not be
+ * reached.
  *
  * @author Janne Valkealahti
  */
-public class MetricStore {
+public class MetricStore implements DisposableBean {
 
 	private final static List<ApplicationsMetrics> EMPTY_RESPONSE = new ArrayList<ApplicationsMetrics>();
 
@@ -60,6 +71,12 @@ public class MetricStore {
 
 	private String collectorEndpoint;
 
+	private final Map<String, String> renderedInstanceMetrics = new LinkedHashMap<>();
+
+	private ScheduledExecutorService scheduler;
+
+	private volatile Snapshot snapshot;
+
 	/**
 	 * Instantiates a new metric store.
 	 *
@@ -74,6 +91,13 @@ public class MetricStore {
 		messageConverter.setSupportedMediaTypes(MediaType.parseMediaTypes("application/hal+json"));
 		messageConverter.setObjectMapper(mapper);
 		restTemplate = new RestTemplate(Arrays.asList(messageConverter));
+		renderedInstanceMetrics.put("integration.channel.input.send.mean",
+				"metrics.integration.channel.input.receiveRate");
+		renderedInstanceMetrics.put("integration.channel.output.send.mean",
+				"metrics.integration.channel.output.sendRate");
+		for (String metricName : metricsProperties.getInstanceMetrics()) {
+			renderedInstanceMetrics.put(metricName, "metrics." + metricName);
+		}
 		final MetricsProperties.Collector collector = metricsProperties.getCollector();
 		String baseURI = collector.getUri();
 		if (StringUtils.hasText(baseURI)) {
@@ -84,18 +108,19 @@ public class MetricStore {
 				logger.info("Metrics Collector URI = [" + collectorEndpoint + "]");
 				validateUsernamePassword(collector.getUsername(),
 						collector.getPassword());
+				// always go through a pooled client, so that connections to the collector are reused
+				HttpClientConfigurer httpClientConfigurer = HttpClientConfigurer.create()
+						.targetHost(new URI(collectorEndpoint));
 				if (StringUtils.hasText(collector.getUsername())
 						&& StringUtils.hasText(collector.getPassword())) {
-					this.restTemplate.setRequestFactory(HttpClientConfigurer.create()
-							.targetHost(new URI(collectorEndpoint))
-							.basicAuthCredentials(collector.getUsername(), collector.getPassword())
-							.skipTlsCertificateVerification(collector.isSkipSslValidation())
-							.buildClientHttpRequestFactory());
+					httpClientConfigurer.basicAuthCredentials(collector.getUsername(), collector.getPassword())
+							.skipTlsCertificateVerification(collector.isSkipSslValidation());
 					logger.debug("Configured basic security for Metrics Collector endpoint");
 				}
 				else {
 					logger.debug("Not configuring basic security for Metrics Collector endpoint");
 				}
+				this.restTemplate.setRequestFactory(httpClientConfigurer.buildClientHttpRequestFactory());
 			}
 			catch (URISyntaxException e) {
 				logger.warn("Could not parse collector URI, stream metrics monitoring will not be available");
@@ -104,10 +129,58 @@ public class MetricStore {
 		else {
 			logger.info("Metrics Collector URI = []");
 		}
+		this.snapshot = new Snapshot(EMPTY_RESPONSE, new InstanceMetricsIndex(EMPTY_RESPONSE,
+				this.renderedInstanceMetrics));
+		if (StringUtils.hasText(this.collectorEndpoint) && collector.getRefreshInterval() > 0) {
+			CustomizableThreadCreator threadCreator = new CustomizableThreadCreator("metrics-collector-refresh-");
+			threadCreator.setDaemon(true);
+			this.scheduler = Executors.newSingleThreadScheduledExecutor(threadCreator::createThread);
+			this.scheduler.scheduleWithFixedDelay(this::refresh, 0, collector.getRefreshInterval(),
+					TimeUnit.MILLISECONDS);
+		}
 	}
 
-	@HystrixCommand(fallbackMethod = "defaultMetrics")
+	/**
+	 * Return the latest metrics returned by the collector.
+	 *
+	 * @return the metrics of stream apps, or an empty list if not available
+	 */
 	public List<ApplicationsMetrics> getMetrics() {
+		return getSnapshot().metrics;
+	}
+
+	/**
+	 * Return the metrics rendered along with the status of app instances, as of the latest
+	 * response of the collector.
+	 *
+	 * @return the metrics of app instances, indexed by guid
+	 */
+	public InstanceMetricsIndex getInstanceMetrics() {
+		return getSnapshot().instances;
+	}
+
+	/**
+	 * Query the collector and replace the metrics kept in memory with its response. The
+	 * metrics kept in memory are left as they are if the collector can not be reached.
+	 */
+	public void refresh() {
+		List<ApplicationsMetrics> metrics;
+		try {
+			metrics = fetchMetrics();
+		}
+		catch (Exception e) {
+			logger.warn("Keeping the last known metrics, as refreshing them failed: " + e.getMessage());
+			return;
+		}
+		this.snapshot = new Snapshot(metrics, new InstanceMetricsIndex(metrics, this.renderedInstanceMetrics));
+	}
+
+	/**
+	 * Query the collector for the metrics of stream apps.
+	 *
+	 * @return the metrics of stream apps
+	 */
+	protected List<ApplicationsMetrics> fetchMetrics() {
 		List<ApplicationsMetrics> metrics = null;
 		if (StringUtils.hasText(this.collectorEndpoint)) {
 			try {
@@ -146,6 +219,21 @@ public class MetricStore {
 		return EMPTY_RESPONSE;
 	}
 
+	@Override
+	public void destroy() {
+		if (this.scheduler != null) {
+			this.scheduler.shutdownNow();
+		}
+	}
+
+	private Snapshot getSnapshot() {
+		if (this.scheduler == null) {
+			// metrics are not refreshed in the background
+			refresh();
+		}
+		return this.snapshot;
+	}
+
 	private void validateUsernamePassword(String userName, String password) {
 		if (!StringUtils.isEmpty(password) && StringUtils.isEmpty(userName)) {
 			logger.warn("A password may be specified only together with a username");
@@ -155,4 +243,19 @@ public class MetricStore {
 			logger.warn("A username may be specified only together with a password");
 		}
 	}
+
+	/**
+	 * Metrics returned by the collector at some point in time.
+	 */
+	private static class Snapshot {
+
+		private final List<ApplicationsMetrics> metrics;
+
+		private final InstanceMetricsIndex instances;
+
+		Snapshot(List<ApplicationsMetrics> metrics, InstanceMetricsIndex instances) {
+			this.metrics = Collections.unmodifiableList(metrics);
+			this.instances = instances;
+		}
+	}
 }
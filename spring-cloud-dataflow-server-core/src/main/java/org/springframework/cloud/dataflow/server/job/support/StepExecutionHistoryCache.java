@@ -0,0 +1,147 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.job.support;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+import org.springframework.batch.admin.service.JobService;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.cloud.dataflow.rest.job.StepExecutionHistory;
+import org.springframework.util.Assert;
+
+/**
+ * Keeps the {@link StepExecutionHistory} of job steps, so that computing it again only
+ * reads the step executions that were not accounted for yet.
+ * <p>
+ * Step executions are read newest first, down to a watermark below which all executions
+ * have already been appended to the history. Unfinished executions hold the watermark
+ * back until they finish, unless more than {@value #PAGE_SIZE} newer executions of the
+ * same step exist, in which case they are assumed to never finish.
+ */
+public class StepExecutionHistoryCache {
+
+	static final int PAGE_SIZE = 1000;
+
+	private static final int DEFAULT_CACHE_SIZE = 100;
+
+	private final JobService jobService;
+
+	private final Map<String, Entry> entries;
+
+	public StepExecutionHistoryCache(JobService jobService) {
+		this(jobService, DEFAULT_CACHE_SIZE);
+	}
+
+	/**
+	 * Create a cache keeping the history of up to {@code cacheSize} steps, least recently
+	 * used ones being discarded first.
+	 *
+	 * @param jobService the service used to read step executions
+	 * @param cacheSize the maximum number of steps to keep the history of
+	 */
+	public StepExecutionHistoryCache(JobService jobService, int cacheSize) {
+		Assert.notNull(jobService, "jobService must not be null");
+		this.jobService = jobService;
+		this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+				return size() > cacheSize;
+			}
+		};
+	}
+
+	/**
+	 * Compute the execution history of the given job step.
+	 *
+	 * @param jobName the name of the job
+	 * @param stepName the name of the step, possibly ending with a wildcard
+	 * @return a copy of the step execution history, including all finished executions
+	 */
+	public StepExecutionHistory getHistory(String jobName, String stepName) {
+		Entry entry;
+		synchronized (this.entries) {
+			entry = this.entries.computeIfAbsent(jobName + ':' + stepName, key -> new Entry(stepName));
+		}
+		synchronized (entry) {
+			update(entry, jobName, stepName);
+			return new StepExecutionHistory(entry.history);
+		}
+	}
+
+	private void update(Entry entry, String jobName, String stepName) {
+		// executions above the watermark, newest first
+		List<StepExecution> stepExecutions = new ArrayList<>();
+		boolean done = false;
+		for (int start = 0; !done; start += PAGE_SIZE) {
+			Collection<StepExecution> page = this.jobService.listStepExecutionsForStep(jobName, stepName, start,
+					PAGE_SIZE);
+			for (StepExecution stepExecution : page) {
+				if (stepExecution.getId() <= entry.watermark) {
+					done = true;
+					break;
+				}
+				stepExecutions.add(stepExecution);
+			}
+			done = done || page.size() < PAGE_SIZE;
+		}
+		if (stepExecutions.isEmpty()) {
+			return;
+		}
+		long oldestPending = -1;
+		for (int i = stepExecutions.size() - 1; i >= 0; i--) {
+			StepExecution stepExecution = stepExecutions.get(i);
+			long id = stepExecution.getId();
+			if (entry.appended.contains(id)) {
+				continue;
+			}
+			if (stepExecution.getEndTime() != null) {
+				entry.history.append(stepExecution);
+				entry.appended.add(id);
+			}
+			else if (oldestPending < 0 && i < PAGE_SIZE) {
+				oldestPending = id;
+			}
+		}
+		entry.watermark = oldestPending >= 0 ? oldestPending - 1 : stepExecutions.get(0).getId();
+		entry.appended.headSet(entry.watermark, true).clear();
+	}
+
+	private static class Entry {
+
+		private final StepExecutionHistory history;
+
+		/**
+		 * All step executions up to this id have been accounted for.
+		 */
+		private long watermark = -1;
+
+		/**
+		 * Ids of the step executions above the watermark that have already been appended.
+		 */
+		private final NavigableSet<Long> appended = new TreeSet<>();
+
+		Entry(String stepName) {
+			this.history = new StepExecutionHistory(stepName);
+		}
+	}
+}
@@ -0,0 +1,262 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.repository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.cloud.dataflow.server.repository.support.DefinitionSearchIndex;
+import org.springframework.cloud.dataflow.server.repository.support.SearchPageable;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.util.Assert;
+
+/**
+ * Abstract class for the RDBMS based repositories of definitions, which can be searched.
+ * <p>
+ * Searches are answered from a {@link DefinitionSearchIndex} loaded from the database on
+ * first use, and then kept current as definitions are saved and deleted through this
+ * repository. Every change also increments the version of the definitions table kept in
+ * the {@code DEFINITION_VERSIONS} table, so that a search reloads the index as soon as
+ * definitions were changed by another server. Without that table, the index is reloaded
+ * on every search.
+ */
+public abstract class AbstractRdbmsDefinitionRepository<D> extends AbstractRdbmsKeyValueRepository<D> {
+
+	private static final Logger logger = LoggerFactory.getLogger(AbstractRdbmsDefinitionRepository.class);
+
+	private static final String SELECT_VERSION = "SELECT DEFINITION_VERSION FROM DEFINITION_VERSIONS "
+			+ "where DEFINITION_TABLE = ?";
+
+	private static final String INCREMENT_VERSION = "UPDATE DEFINITION_VERSIONS "
+			+ "SET DEFINITION_VERSION = DEFINITION_VERSION + 1 where DEFINITION_TABLE = ?";
+
+	private static final String INSERT_VERSION = "INSERT into DEFINITION_VERSIONS "
+			+ "(DEFINITION_TABLE, DEFINITION_VERSION) values (?, 1)";
+
+	private final String definitionTable;
+
+	private final DefinitionSearchIndex searchIndex = new DefinitionSearchIndex();
+
+	/**
+	 * Version of the definitions table the search index is current with, or
+	 * {@literal null} if the index is not loaded or its version is unknown.
+	 */
+	private Long searchIndexVersion;
+
+	public AbstractRdbmsDefinitionRepository(DataSource dataSource, String tablePrefix, String tableSuffix,
+			RowMapper<D> rowMapper, String keyColumn, String valueColumn) {
+		super(dataSource, tablePrefix, tableSuffix, rowMapper, keyColumn, valueColumn);
+		this.definitionTable = tableName.trim();
+	}
+
+	/**
+	 * Search the definitions whose key or value, depending on the searched columns,
+	 * contains the search query, ignoring case. Results can only be sorted by the key and
+	 * value columns, and definitions sorted equally or not sorted at all are ordered by
+	 * key.
+	 *
+	 * @param searchPageable the search query, searched columns and requested page
+	 * @return the requested page of matching definitions
+	 * @throws IllegalArgumentException if a searched column or sort property is neither
+	 * the key nor the value column
+	 */
+	public Page<D> search(SearchPageable searchPageable) {
+		Assert.notNull(searchPageable, "searchPageable must not be null.");
+		boolean searchKeys = false;
+		boolean searchValues = false;
+		for (String column : searchPageable.getColumns()) {
+			if (keyColumn.equalsIgnoreCase(column)) {
+				searchKeys = true;
+			}
+			else if (valueColumn.equalsIgnoreCase(column)) {
+				searchValues = true;
+			}
+			else {
+				throw new IllegalArgumentException(String.format("Cannot search unknown column %s", column));
+			}
+		}
+		List<DefinitionSearchIndex.Entry> matches;
+		synchronized (this.searchIndex) {
+			// read the version first, so that changes made while loading trigger a reload
+			Long version = findVersion();
+			if (version == null || !version.equals(this.searchIndexVersion)) {
+				this.searchIndex.clear();
+				jdbcTemplate.query(findAllQuery, resultSet -> {
+					this.searchIndex.add(resultSet.getString(keyColumn), resultSet.getString(valueColumn));
+				});
+				this.searchIndexVersion = version;
+			}
+			matches = this.searchIndex.search(searchPageable.getSearchQuery(), searchKeys, searchValues);
+		}
+		Pageable pageable = searchPageable.getPageable();
+		matches.sort(searchOrder(pageable.getSort()));
+		int from = Math.min(pageable.getOffset(), matches.size());
+		int to = Math.min(from + pageable.getPageSize(), matches.size());
+		List<String> keys = new ArrayList<>();
+		for (DefinitionSearchIndex.Entry match : matches.subList(from, to)) {
+			keys.add(match.getName());
+		}
+		return new PageImpl<>(findAllInOrder(keys), pageable, matches.size());
+	}
+
+	/**
+	 * Record a saved or updated definition, once written to the database.
+	 *
+	 * @param key the key of the definition
+	 * @param value the value of the definition
+	 */
+	protected void updateSearchIndex(String key, String value) {
+		synchronized (this.searchIndex) {
+			if (incrementVersion()) {
+				this.searchIndex.add(key, value);
+			}
+		}
+	}
+
+	@Override
+	public void delete(String name) {
+		super.delete(name);
+		synchronized (this.searchIndex) {
+			if (incrementVersion()) {
+				this.searchIndex.remove(name);
+			}
+		}
+	}
+
+	@Override
+	public void deleteAll() {
+		super.deleteAll();
+		synchronized (this.searchIndex) {
+			if (incrementVersion()) {
+				this.searchIndex.clear();
+			}
+		}
+	}
+
+	/**
+	 * Increment the version of the definitions table, after a change to it.
+	 *
+	 * @return whether the search index, if loaded, is to be updated with the change, which
+	 * is only the case when no other server changed the definitions since it was loaded
+	 */
+	private boolean incrementVersion() {
+		try {
+			if (jdbcTemplate.update(INCREMENT_VERSION, definitionTable) == 0) {
+				try {
+					jdbcTemplate.update(INSERT_VERSION, definitionTable);
+				}
+				catch (DataIntegrityViolationException e) {
+					// inserted by another server in the meantime
+					jdbcTemplate.update(INCREMENT_VERSION, definitionTable);
+				}
+			}
+		}
+		catch (DataAccessException e) {
+			logger.debug("Cannot increment the version of {}: {}", definitionTable, e.getMessage());
+			this.searchIndexVersion = null;
+			return false;
+		}
+		Long version = findVersion();
+		if (this.searchIndexVersion != null && version != null && version == this.searchIndexVersion + 1) {
+			this.searchIndexVersion = version;
+			return true;
+		}
+		this.searchIndexVersion = null;
+		return false;
+	}
+
+	/**
+	 * Find the current version of the definitions table.
+	 *
+	 * @return the version, or {@literal null} if it cannot be read
+	 */
+	private Long findVersion() {
+		try {
+			return jdbcTemplate.queryForObject(SELECT_VERSION, Long.class, definitionTable);
+		}
+		catch (EmptyResultDataAccessException e) {
+			return 0L;
+		}
+		catch (DataAccessException e) {
+			logger.debug("Cannot read the version of {}: {}", definitionTable, e.getMessage());
+			return null;
+		}
+	}
+
+	private Comparator<DefinitionSearchIndex.Entry> searchOrder(Sort sort) {
+		Comparator<DefinitionSearchIndex.Entry> byKey = Comparator.comparing(DefinitionSearchIndex.Entry::getName);
+		Comparator<DefinitionSearchIndex.Entry> order = null;
+		if (sort != null) {
+			for (Sort.Order sortOrder : sort) {
+				Comparator<DefinitionSearchIndex.Entry> comparator;
+				if (keyColumn.equalsIgnoreCase(sortOrder.getProperty())) {
+					comparator = byKey;
+				}
+				else if (valueColumn.equalsIgnoreCase(sortOrder.getProperty())) {
+					comparator = Comparator.comparing(DefinitionSearchIndex.Entry::getText);
+				}
+				else {
+					throw new IllegalArgumentException(
+							String.format("Cannot sort by unknown column %s", sortOrder.getProperty()));
+				}
+				if (!sortOrder.isAscending()) {
+					comparator = comparator.reversed();
+				}
+				order = order == null ? comparator : order.thenComparing(comparator);
+			}
+		}
+		// break ties by key, so that pages do not overlap
+		return order == null ? byKey : order.thenComparing(byKey);
+	}
+
+	private List<D> findAllInOrder(List<String> keys) {
+		if (keys.isEmpty()) {
+			return new ArrayList<>();
+		}
+		MapSqlParameterSource namedParameters = new MapSqlParameterSource();
+		namedParameters.addValue(LIST_OF_NAMES, keys);
+		Map<String, D> rows = new HashMap<>();
+		namedParameterJdbcTemplate.query(findAllWhereInClause, namedParameters, resultSet -> {
+			rows.put(resultSet.getString(keyColumn), rowMapper.mapRow(resultSet, rows.size()));
+		});
+		List<D> result = new ArrayList<>();
+		for (String key : keys) {
+			D row = rows.get(key);
+			// skip rows deleted since the index was searched
+			if (row != null) {
+				result.add(row);
+			}
+		}
+		return result;
+	}
+}
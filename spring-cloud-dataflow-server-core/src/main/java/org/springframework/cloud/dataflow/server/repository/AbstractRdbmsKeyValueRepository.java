@@ -20,12 +20,14 @@ import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.sql.DataSource;
 
+import org.springframework.cloud.dataflow.server.repository.support.DatabaseType;
 import org.springframework.cloud.dataflow.server.repository.support.Order;
 import org.springframework.cloud.dataflow.server.repository.support.PagingQueryProvider;
-import org.springframework.cloud.dataflow.server.repository.support.SearchPageable;
 import org.springframework.cloud.dataflow.server.repository.support.SqlPagingQueryProviderFactoryBean;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.data.domain.Page;
@@ -38,6 +40,7 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.MetaDataAccessException;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
@@ -51,6 +54,11 @@ import org.springframework.util.StringUtils;
  */
 public abstract class AbstractRdbmsKeyValueRepository<D> implements PagingAndSortingRepository<D, String> {
 
+	/**
+	 * Maximum number of cached paging query providers, as sort keys come from requests.
+	 */
+	private static final int MAX_PAGING_QUERY_PROVIDERS = 64;
+
 	protected final String LIST_OF_NAMES = "listnames";
 
 	protected final RowMapper<D> rowMapper;
@@ -81,7 +89,7 @@ public abstract class AbstractRdbmsKeyValueRepository<D> implements PagingAndSor
 
 	protected LinkedHashMap<String, Order> orderMap;
 
-	private String findAllQuery;
+	protected String findAllQuery;
 
 	private String findAllWhereClauseByKey;
 
@@ -89,12 +97,19 @@ public abstract class AbstractRdbmsKeyValueRepository<D> implements PagingAndSor
 
 	private String countByKey;
 
-	private String findAllWhereInClause = findAllQuery + whereClauseByKey;
+	protected String findAllWhereInClause = findAllQuery + whereClauseByKey;
 
 	private String deleteFromTableClause = "DELETE FROM " + tableName;
 
 	protected String deleteFromTableByKey = deleteFromTableClause + whereClauseByKey;
 
+	/**
+	 * Paging query providers, keyed by where clause and sort keys.
+	 */
+	private final Map<String, PagingQueryProvider> pagingQueryProviders = new ConcurrentHashMap<>();
+
+	private volatile DatabaseType databaseType;
+
 	public AbstractRdbmsKeyValueRepository(DataSource dataSource, String tablePrefix, String tableSuffix,
 			RowMapper<D> rowMapper, String keyColumn, String valueColumn) {
 		Assert.notNull(dataSource, "dataSource mut not be null");
@@ -139,35 +154,10 @@ public abstract class AbstractRdbmsKeyValueRepository<D> implements PagingAndSor
 		return jdbcTemplate.query(query, rowMapper);
 	}
 
-	public Page<D> search(SearchPageable searchPageable) {
-		Assert.notNull(searchPageable, "searchPageable must not be null.");
-
-		final StringBuilder whereClause = new StringBuilder("WHERE ");
-		final List<String> params = new ArrayList<>();
-		final Iterator<String> columnIterator = searchPageable.getColumns().iterator();
-
-		while (columnIterator.hasNext()) {
-			whereClause.append("lower(" + columnIterator.next()).append(") like ").append("lower(?)");
-			params.add("%" + searchPageable.getSearchQuery() + "%");
-			if (columnIterator.hasNext()) {
-				whereClause.append(" OR ");
-			}
-		}
-		StringBuilder sql = new StringBuilder();
-		sql.append("SELECT ").append(" ").append(selectClause);
-		sql.append(" FROM ").append(tableName);
-		sql.append(whereClause == null ? "" : whereClause);
-
-		String query = sql.toString();
-		List<D> result = jdbcTemplate.query(query, params.toArray(), rowMapper);
-		return queryForPageableResults(searchPageable.getPageable(), selectClause, tableName, whereClause.toString(),
-				params.toArray(), result.size());
-	}
-
 	@Override
 	public Page<D> findAll(Pageable pageable) {
 		Assert.notNull(pageable, "pageable must not be null");
-		return queryForPageableResults(pageable, selectClause, tableName, null, new Object[] {}, count());
+		return queryForPageableResults(pageable, null, new Object[] {}, count());
 	}
 
 	@Override
@@ -256,17 +246,17 @@ public abstract class AbstractRdbmsKeyValueRepository<D> implements PagingAndSor
 		return StringUtils.replace(updatedPrefix, "%SUFFIX%", tableSuffix);
 	}
 
-	private Page<D> queryForPageableResults(Pageable pageable, String selectClause, String tableName,
-			String whereClause, Object[] queryParam, long totalCount) {
-		// FIXME Possible performance improvement refactoring so factory isn't called
-		// every time.
-		SqlPagingQueryProviderFactoryBean factoryBean = new SqlPagingQueryProviderFactoryBean();
-		factoryBean.setSelectClause(selectClause);
-		factoryBean.setFromClause(tableName);
-		if (StringUtils.hasText(whereClause)) {
-			factoryBean.setWhereClause(whereClause);
-		}
-
+	/**
+	 * Query a page of rows, optionally restricted by a where clause.
+	 *
+	 * @param pageable the page to return
+	 * @param whereClause the where clause restricting rows, or {@literal null}
+	 * @param queryParam the parameters of the where clause
+	 * @param totalCount the total number of rows matching the where clause
+	 * @return the requested page of rows
+	 */
+	protected Page<D> queryForPageableResults(Pageable pageable, String whereClause, Object[] queryParam,
+			long totalCount) {
 		final Sort sort = pageable.getSort();
 		final LinkedHashMap<String, Order> sortOrderMap = new LinkedHashMap<>();
 
@@ -275,25 +265,54 @@ public abstract class AbstractRdbmsKeyValueRepository<D> implements PagingAndSor
 				sortOrderMap.put(sortOrder.getProperty(), sortOrder.isAscending() ? Order.ASCENDING : Order.DESCENDING);
 			}
 		}
-
-		if (!CollectionUtils.isEmpty(sortOrderMap)) {
-			factoryBean.setSortKeys(sortOrderMap);
-		}
-		else {
-			factoryBean.setSortKeys(this.orderMap);
+		Map<String, Order> sortKeys = CollectionUtils.isEmpty(sortOrderMap) ? this.orderMap : sortOrderMap;
+
+		String providerKey = (StringUtils.hasText(whereClause) ? whereClause : "") + " ORDER BY " + sortKeys;
+		PagingQueryProvider pagingQueryProvider = this.pagingQueryProviders.get(providerKey);
+		if (pagingQueryProvider == null) {
+			pagingQueryProvider = createPagingQueryProvider(whereClause, sortKeys);
+			if (this.pagingQueryProviders.size() < MAX_PAGING_QUERY_PROVIDERS) {
+				this.pagingQueryProviders.putIfAbsent(providerKey, pagingQueryProvider);
+			}
 		}
+		String query = pagingQueryProvider.getPageQuery(pageable);
+		List<D> resultList = jdbcTemplate.query(query, queryParam, rowMapper);
+		return new PageImpl<>(resultList, pageable, totalCount);
+	}
 
+	private PagingQueryProvider createPagingQueryProvider(String whereClause, Map<String, Order> sortKeys) {
+		SqlPagingQueryProviderFactoryBean factoryBean = new SqlPagingQueryProviderFactoryBean();
+		factoryBean.setDatabaseType(databaseType().name());
+		factoryBean.setSelectClause(selectClause);
+		factoryBean.setFromClause(tableName);
+		if (StringUtils.hasText(whereClause)) {
+			factoryBean.setWhereClause(whereClause);
+		}
+		factoryBean.setSortKeys(sortKeys);
 		factoryBean.setDataSource(this.dataSource);
-		PagingQueryProvider pagingQueryProvider;
 		try {
-			pagingQueryProvider = factoryBean.getObject();
-			pagingQueryProvider.init(this.dataSource);
+			return factoryBean.getObject();
 		}
 		catch (Exception e) {
 			throw new IllegalStateException(e);
 		}
-		String query = pagingQueryProvider.getPageQuery(pageable);
-		List<D> resultList = jdbcTemplate.query(query, queryParam, rowMapper);
-		return new PageImpl<>(resultList, pageable, totalCount);
+	}
+
+	/**
+	 * Detect the database type from the metadata of the data source, the first time it is
+	 * needed only.
+	 */
+	private DatabaseType databaseType() {
+		DatabaseType type = this.databaseType;
+		if (type == null) {
+			try {
+				type = DatabaseType.fromMetaData(this.dataSource);
+			}
+			catch (MetaDataAccessException e) {
+				throw new IllegalStateException("Could not inspect meta data for database type", e);
+			}
+			this.databaseType = type;
+		}
+		return type;
 	}
 }
@@ -16,6 +16,11 @@
 
 package org.springframework.cloud.dataflow.server.repository;
 
+import java.util.Collection;
+import java.util.Map;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -36,6 +41,13 @@ public interface DeploymentIdRepository extends org.springframework.data.reposit
 	 */
 	void save(String key, String id);
 
+	/**
+	 * Associates several app deployment keys with their identifiers at once.
+	 *
+	 * @param keysToIds the identifiers, indexed by app deployment key
+	 */
+	void save(Map<String, String> keysToIds);
+
 	/**
 	 * Find an identifier by its key.
 	 *
@@ -44,10 +56,38 @@ public interface DeploymentIdRepository extends org.springframework.data.reposit
 	 */
 	String findOne(String key);
 
+	/**
+	 * Find the identifiers of several app deployment keys at once.
+	 *
+	 * @param keys the app deployment keys
+	 * @return the identifiers indexed by app deployment key. Keys that have no associated
+	 * identifier are absent from the map
+	 */
+	Map<String, String> findIdsByKeys(Collection<String> keys);
+
+	/**
+	 * Find a page of the identifiers of the apps of deployed streams, ordered by
+	 * identifier. Only the page number and size of the request are taken into account.
+	 *
+	 * @param pageable the page to return
+	 * @return the requested page of identifiers, along with the total number of stream
+	 * app identifiers
+	 */
+	Page<String> findStreamAppIds(Pageable pageable);
+
 	/**
 	 * Delete the entries associated with the app deployment key.
 	 *
 	 * @param key the app deployment key
 	 */
 	void delete(String key);
+
+	/**
+	 * Delete the entries whose key starts with the given prefix and that are associated
+	 * with the given identifier.
+	 *
+	 * @param keyPrefix the prefix of the keys, which must not contain SQL wildcards
+	 * @param id the identifier
+	 */
+	void deleteByKeyPrefixAndId(String keyPrefix, String id);
 }
@@ -29,6 +29,11 @@ import org.springframework.util.Assert;
  */
 public abstract class DeploymentKey {
 
+	/**
+	 * Prefix of the keys under which the names of Skipper releases are stored.
+	 */
+	public static final String SKIPPER_PREFIX = "skipper:";
+
 	/**
 	 * Determines a deployment key for a stream application.
 	 *
@@ -46,6 +51,18 @@ public abstract class DeploymentKey {
 		return String.format("%s.%s", streamName, appDefinition.getName());
 	}
 
+	/**
+	 * Determines the key under which the name of the Skipper release an app belongs to is
+	 * stored, when streams are deployed through Skipper.
+	 *
+	 * @param deploymentId the deployment id of the app
+	 * @return the deployment key
+	 */
+	public static String forSkipperDeploymentId(String deploymentId) {
+		Assert.hasText(deploymentId, "deploymentId must not be empty nor null");
+		return SKIPPER_PREFIX + deploymentId;
+	}
+
 	/**
 	 * Determines a deployment key for a task application.
 	 *
@@ -19,10 +19,21 @@ package org.springframework.cloud.dataflow.server.repository;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import javax.sql.DataSource;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.util.Assert;
 
 /**
@@ -33,13 +44,60 @@ import org.springframework.util.Assert;
 public class RdbmsDeploymentIdRepository extends AbstractRdbmsKeyValueRepository<String>
 		implements DeploymentIdRepository {
 
+	private static final int MAX_IN_CLAUSE_SIZE = 1000;
+
+	/**
+	 * The name of a deployed stream, as a {@code LIKE} pattern matching itself only.
+	 */
+	private static final String ESCAPED_STREAM_NAME = "REPLACE(REPLACE(REPLACE(s.STREAM_NAME, '!', '!!'), "
+			+ "'_', '!_'), '%', '!%')";
+
+	private final String streamAppKeys;
+
+	private final String countStreamApps;
+
+	private final String deleteByKeyPrefixAndId;
+
 	public RdbmsDeploymentIdRepository(DataSource dataSource) {
+		this(dataSource, true);
+	}
+
+	/**
+	 * Creates the repository.
+	 *
+	 * @param dataSource the data source
+	 * @param tasksEnabled whether the task definitions table exists, in which case the
+	 * keys of task apps are told apart from the keys of stream apps
+	 */
+	public RdbmsDeploymentIdRepository(DataSource dataSource, boolean tasksEnabled) {
 		super(dataSource, "DEPLOYMENT_", "IDS", new RowMapper<String>() {
 			@Override
 			public String mapRow(ResultSet resultSet, int i) throws SQLException {
 				return resultSet.getString("DEPLOYMENT_ID");
 			}
 		}, "DEPLOYMENT_KEY", "DEPLOYMENT_ID");
+		streamAppKeys = streamAppKeys(keyColumn, tasksEnabled);
+		countStreamApps = "SELECT COUNT(*) FROM " + tableName + streamAppKeys;
+		deleteByKeyPrefixAndId = "DELETE FROM " + tableName + "where " + keyColumn + " like ? and " + valueColumn
+				+ " = ?";
+	}
+
+	/**
+	 * Restricts rows to the apps of deployed streams, whose keys are made of the stream
+	 * name and the app name. This leaves out the Skipper release names, the ids of apps
+	 * whose stream is no longer deployed and, when tasks are enabled, the keys of tasks
+	 * whose registered app has the name of a deployed stream.
+	 */
+	private static String streamAppKeys(String keyColumn, boolean tasksEnabled) {
+		StringBuilder where = new StringBuilder("where exists (select 1 from ")
+				.append(RdbmsStreamDeploymentRepository.TABLE_NAME).append(" s where ").append(keyColumn)
+				.append(" like CONCAT(").append(ESCAPED_STREAM_NAME).append(", '.%') escape '!'");
+		if (tasksEnabled) {
+			where.append(" and not exists (select 1 from ").append(RdbmsTaskDefinitionRepository.TABLE_PREFIX)
+					.append(RdbmsTaskDefinitionRepository.TABLE_SUFFIX).append(" t where ").append(keyColumn)
+					.append(" = CONCAT(CONCAT(s.STREAM_NAME, '.'), t.DEFINITION_NAME))");
+		}
+		return where.append(") ").toString();
 	}
 
 	@Override
@@ -48,6 +106,39 @@ public class RdbmsDeploymentIdRepository extends AbstractRdbmsKeyValueRepository
 		jdbcTemplate.update(saveRow, insertParameters, new int[] { Types.VARCHAR, Types.VARCHAR });
 	}
 
+	@Override
+	public void save(Map<String, String> keysToIds) {
+		List<Object[]> batchParameters = new ArrayList<>(keysToIds.size());
+		for (Map.Entry<String, String> entry : keysToIds.entrySet()) {
+			batchParameters.add(new Object[] { entry.getKey(), entry.getValue() });
+		}
+		if (!batchParameters.isEmpty()) {
+			jdbcTemplate.batchUpdate(saveRow, batchParameters, new int[] { Types.VARCHAR, Types.VARCHAR });
+		}
+	}
+
+	@Override
+	public Map<String, String> findIdsByKeys(Collection<String> keys) {
+		Map<String, String> result = new HashMap<>(keys.size());
+		List<String> allKeys = new ArrayList<>(keys);
+		// keep IN lists within what all supported databases accept
+		for (int from = 0; from < allKeys.size(); from += MAX_IN_CLAUSE_SIZE) {
+			List<String> chunk = allKeys.subList(from, Math.min(from + MAX_IN_CLAUSE_SIZE, allKeys.size()));
+			MapSqlParameterSource namedParameters = new MapSqlParameterSource(LIST_OF_NAMES, chunk);
+			namedParameterJdbcTemplate.query(findAllWhereInClause, namedParameters,
+					(RowCallbackHandler) rs -> result.put(rs.getString(keyColumn), rs.getString(valueColumn)));
+		}
+		return result;
+	}
+
+	@Override
+	public Page<String> findStreamAppIds(Pageable pageable) {
+		long count = jdbcTemplate.queryForObject(countStreamApps, Long.class);
+		return queryForPageableResults(
+				new PageRequest(pageable.getPageNumber(), pageable.getPageSize(), new Sort(valueColumn)),
+				streamAppKeys, new Object[] {}, count);
+	}
+
 	@Override
 	public String save(String key) {
 		throw new UnsupportedOperationException();
@@ -58,4 +149,12 @@ public class RdbmsDeploymentIdRepository extends AbstractRdbmsKeyValueRepository
 		Assert.hasText(name, "name must not be empty nor null");
 		jdbcTemplate.update(deleteFromTableByKey, name);
 	}
+
+	@Override
+	public void deleteByKeyPrefixAndId(String keyPrefix, String id) {
+		Assert.hasText(keyPrefix, "keyPrefix must not be empty nor null");
+		Assert.isTrue(!keyPrefix.contains("%") && !keyPrefix.contains("_"), "keyPrefix must not contain wildcards");
+		Assert.hasText(id, "id must not be empty nor null");
+		jdbcTemplate.update(deleteByKeyPrefixAndId, keyPrefix + "%", id);
+	}
 }
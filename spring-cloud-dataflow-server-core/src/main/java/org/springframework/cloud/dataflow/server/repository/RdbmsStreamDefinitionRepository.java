@@ -19,28 +19,43 @@ package org.springframework.cloud.dataflow.server.repository;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Types;
+import java.util.List;
+import java.util.Set;
 
 import javax.sql.DataSource;
 
 import org.springframework.cloud.dataflow.core.StreamDefinition;
+import org.springframework.cloud.dataflow.server.repository.support.StreamDestinationIndex;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.util.Assert;
 
 /**
  * RDBMS implementation of {@link StreamDefinitionRepository}.
+ * <p>
+ * Related streams are found without an index maintained across lookups: a {@code LIKE}
+ * query pre-filters the definitions mentioning the stream name, which are then parsed to
+ * keep those reading from the stream. Definitions changed by other servers are thus
+ * always taken into account.
  *
  * @author Ilayaperumal Gopinathan
  */
-public class RdbmsStreamDefinitionRepository extends AbstractRdbmsKeyValueRepository<StreamDefinition>
+public class RdbmsStreamDefinitionRepository extends AbstractRdbmsDefinitionRepository<StreamDefinition>
 		implements StreamDefinitionRepository {
 
+	private final String updateRow;
+
+	private final String findByValueLike;
+
 	public RdbmsStreamDefinitionRepository(DataSource dataSource) {
 		super(dataSource, "STREAM_", "DEFINITIONS", new RowMapper<StreamDefinition>() {
 			@Override
 			public StreamDefinition mapRow(ResultSet resultSet, int i) throws SQLException {
-				return new StreamDefinition(resultSet.getString("DEFINITION_NAME"), resultSet.getString("DEFINITION"));
+				return new StreamDefinition(resultSet.getString("DEFINITION_NAME"), resultSet.getString("DEFINITION"),
+						true);
 			}
 		}, "DEFINITION_NAME", "DEFINITION");
+		updateRow = "UPDATE " + tableName + "SET " + valueColumn + " = ? " + whereClauseByKey;
+		findByValueLike = "SELECT " + selectClause + "FROM " + tableName + "where " + valueColumn + " like ?";
 	}
 
 	@Override
@@ -53,6 +68,19 @@ public class RdbmsStreamDefinitionRepository extends AbstractRdbmsKeyValueReposi
 		}
 		Object[] insertParameters = new Object[] { definition.getName(), definition.getDslText() };
 		jdbcTemplate.update(saveRow, insertParameters, new int[] { Types.VARCHAR, Types.CLOB });
+		updateSearchIndex(definition.getName(), definition.getDslText());
+		return definition;
+	}
+
+	@Override
+	public StreamDefinition update(StreamDefinition definition) {
+		Assert.notNull(definition, "definition must not be null");
+		Object[] updateParameters = new Object[] { definition.getDslText(), definition.getName() };
+		int updated = jdbcTemplate.update(updateRow, updateParameters, new int[] { Types.CLOB, Types.VARCHAR });
+		if (updated == 0) {
+			throw new NoSuchStreamDefinitionException(definition.getName());
+		}
+		updateSearchIndex(definition.getName(), definition.getDslText());
 		return definition;
 	}
 
@@ -61,4 +89,13 @@ public class RdbmsStreamDefinitionRepository extends AbstractRdbmsKeyValueReposi
 		Assert.notNull(definition, "definition must not null");
 		delete(definition.getName());
 	}
+
+	@Override
+	public Set<String> findRelatedStreamNames(String name) {
+		Assert.hasText(name, "name must not be empty nor null");
+		// only definitions mentioning the stream can read from it, any wildcard in the name
+		// merely widens the candidates
+		List<StreamDefinition> candidates = jdbcTemplate.query(findByValueLike, rowMapper, "%" + name + "%");
+		return new StreamDestinationIndex(candidates).findRelatedStreamNames(name);
+	}
 }
@@ -34,7 +34,7 @@ import org.springframework.util.Assert;
  */
 public class RdbmsStreamDeploymentRepository implements StreamDeploymentRepository {
 
-	private static final String TABLE_NAME = "STREAM_DEPLOYMENTS";
+	static final String TABLE_NAME = "STREAM_DEPLOYMENTS";
 
 	private static final String SELECT_ONE_SQL = String.format("select STREAM_NAME, DEPLOYMENT_PROPS from %s where STREAM_NAME = ?", TABLE_NAME);
 
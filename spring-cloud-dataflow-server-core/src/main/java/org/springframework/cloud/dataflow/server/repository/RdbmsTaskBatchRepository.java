@@ -0,0 +1,143 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.util.Assert;
+
+/**
+ * RDBMS implementation of {@link TaskBatchRepository}, reading the Spring Cloud Task and
+ * Spring Batch tables with one query per {@value #MAX_IN_CLAUSE_SIZE} ids.
+ */
+public class RdbmsTaskBatchRepository implements TaskBatchRepository {
+
+	private static final int MAX_IN_CLAUSE_SIZE = 1000;
+
+	private static final String IDS = "ids";
+
+	private static final String FIND_TASK_EXECUTION_IDS = "SELECT JOB_EXECUTION_ID, TASK_EXECUTION_ID "
+			+ "FROM %TASK_PREFIX%TASK_BATCH WHERE JOB_EXECUTION_ID IN (:" + IDS + ")";
+
+	private static final String FIND_TASK_NAMES = "SELECT TASK_EXECUTION_ID, TASK_NAME "
+			+ "FROM %TASK_PREFIX%EXECUTION WHERE TASK_EXECUTION_ID IN (:" + IDS + ")";
+
+	private static final String FIND_STEP_EXECUTIONS = "SELECT STEP_EXECUTION_ID, STEP_NAME, START_TIME, END_TIME, "
+			+ "STATUS, COMMIT_COUNT, READ_COUNT, FILTER_COUNT, WRITE_COUNT, EXIT_CODE, EXIT_MESSAGE, READ_SKIP_COUNT, "
+			+ "WRITE_SKIP_COUNT, PROCESS_SKIP_COUNT, ROLLBACK_COUNT, LAST_UPDATED, VERSION, JOB_EXECUTION_ID "
+			+ "FROM %BATCH_PREFIX%STEP_EXECUTION WHERE JOB_EXECUTION_ID IN (:" + IDS + ") "
+			+ "ORDER BY STEP_EXECUTION_ID";
+
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+
+	private final String findTaskExecutionIds;
+
+	private final String findTaskNames;
+
+	private final String findStepExecutions;
+
+	public RdbmsTaskBatchRepository(DataSource dataSource) {
+		this(dataSource, "TASK_", "BATCH_");
+	}
+
+	/**
+	 * Create a repository reading tables with the given prefixes.
+	 *
+	 * @param dataSource the data source holding the task and batch tables
+	 * @param taskTablePrefix the prefix of Spring Cloud Task tables
+	 * @param batchTablePrefix the prefix of Spring Batch tables
+	 */
+	public RdbmsTaskBatchRepository(DataSource dataSource, String taskTablePrefix, String batchTablePrefix) {
+		Assert.notNull(dataSource, "dataSource must not be null");
+		Assert.notNull(taskTablePrefix, "taskTablePrefix must not be null");
+		Assert.notNull(batchTablePrefix, "batchTablePrefix must not be null");
+		this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+		this.findTaskExecutionIds = FIND_TASK_EXECUTION_IDS.replace("%TASK_PREFIX%", taskTablePrefix);
+		this.findTaskNames = FIND_TASK_NAMES.replace("%TASK_PREFIX%", taskTablePrefix);
+		this.findStepExecutions = FIND_STEP_EXECUTIONS.replace("%BATCH_PREFIX%", batchTablePrefix);
+	}
+
+	@Override
+	public Map<Long, Long> findTaskExecutionIds(Collection<Long> jobExecutionIds) {
+		Map<Long, Long> result = new HashMap<>(jobExecutionIds.size());
+		query(this.findTaskExecutionIds, jobExecutionIds,
+				rs -> result.put(rs.getLong("JOB_EXECUTION_ID"), rs.getLong("TASK_EXECUTION_ID")));
+		return result;
+	}
+
+	@Override
+	public Map<Long, String> findTaskNames(Collection<Long> taskExecutionIds) {
+		Map<Long, String> result = new HashMap<>(taskExecutionIds.size());
+		query(this.findTaskNames, taskExecutionIds,
+				rs -> result.put(rs.getLong("TASK_EXECUTION_ID"), rs.getString("TASK_NAME")));
+		return result;
+	}
+
+	@Override
+	public void addStepExecutions(Collection<JobExecution> jobExecutions) {
+		Map<Long, JobExecution> jobExecutionsById = new HashMap<>(jobExecutions.size());
+		for (JobExecution jobExecution : jobExecutions) {
+			jobExecutionsById.put(jobExecution.getId(), jobExecution);
+		}
+		Map<Long, List<StepExecution>> stepExecutions = new HashMap<>(jobExecutions.size());
+		// Spring Batch only reads the step executions of one job execution at a time, and
+		// keeps its row mapper private: this is the same mapping as JdbcStepExecutionDao's
+		query(this.findStepExecutions, jobExecutionsById.keySet(), rs -> {
+			JobExecution jobExecution = jobExecutionsById.get(rs.getLong("JOB_EXECUTION_ID"));
+			StepExecution stepExecution = new StepExecution(rs.getString("STEP_NAME"), jobExecution);
+			stepExecution.setId(rs.getLong("STEP_EXECUTION_ID"));
+			stepExecution.setStartTime(rs.getTimestamp("START_TIME"));
+			stepExecution.setEndTime(rs.getTimestamp("END_TIME"));
+			stepExecution.setStatus(BatchStatus.valueOf(rs.getString("STATUS")));
+			stepExecution.setCommitCount(rs.getInt("COMMIT_COUNT"));
+			stepExecution.setReadCount(rs.getInt("READ_COUNT"));
+			stepExecution.setFilterCount(rs.getInt("FILTER_COUNT"));
+			stepExecution.setWriteCount(rs.getInt("WRITE_COUNT"));
+			stepExecution.setExitStatus(new ExitStatus(rs.getString("EXIT_CODE"), rs.getString("EXIT_MESSAGE")));
+			stepExecution.setReadSkipCount(rs.getInt("READ_SKIP_COUNT"));
+			stepExecution.setWriteSkipCount(rs.getInt("WRITE_SKIP_COUNT"));
+			stepExecution.setProcessSkipCount(rs.getInt("PROCESS_SKIP_COUNT"));
+			stepExecution.setRollbackCount(rs.getInt("ROLLBACK_COUNT"));
+			stepExecution.setLastUpdated(rs.getTimestamp("LAST_UPDATED"));
+			stepExecution.setVersion(rs.getInt("VERSION"));
+			stepExecutions.computeIfAbsent(jobExecution.getId(), id -> new ArrayList<>()).add(stepExecution);
+		});
+		stepExecutions.forEach((id, executions) -> jobExecutionsById.get(id).addStepExecutions(executions));
+	}
+
+	private void query(String sql, Collection<Long> ids, RowCallbackHandler rowCallbackHandler) {
+		List<Long> allIds = new ArrayList<>(ids);
+		// keep IN lists within what all supported databases accept
+		for (int from = 0; from < allIds.size(); from += MAX_IN_CLAUSE_SIZE) {
+			List<Long> chunk = allIds.subList(from, Math.min(from + MAX_IN_CLAUSE_SIZE, allIds.size()));
+			this.jdbcTemplate.query(sql, new MapSqlParameterSource(IDS, chunk), rowCallbackHandler);
+		}
+	}
+}
@@ -32,11 +32,15 @@ import org.springframework.util.Assert;
  * @author Glenn Renfro
  * @author Ilayaperumal Gopinathan
  */
-public class RdbmsTaskDefinitionRepository extends AbstractRdbmsKeyValueRepository<TaskDefinition>
+public class RdbmsTaskDefinitionRepository extends AbstractRdbmsDefinitionRepository<TaskDefinition>
 		implements TaskDefinitionRepository {
 
+	static final String TABLE_PREFIX = "TASK_";
+
+	static final String TABLE_SUFFIX = "DEFINITIONS";
+
 	public RdbmsTaskDefinitionRepository(DataSource dataSource) {
-		super(dataSource, "TASK_", "DEFINITIONS", new RowMapper<TaskDefinition>() {
+		super(dataSource, TABLE_PREFIX, TABLE_SUFFIX, new RowMapper<TaskDefinition>() {
 			@Override
 			public TaskDefinition mapRow(ResultSet resultSet, int i) throws SQLException {
 				return new TaskDefinition(resultSet.getString("DEFINITION_NAME"), resultSet.getString("DEFINITION"));
@@ -54,6 +58,7 @@ public class RdbmsTaskDefinitionRepository extends AbstractRdbmsKeyValueReposito
 		}
 		Object[] insertParameters = new Object[] { definition.getName(), definition.getDslText() };
 		jdbcTemplate.update(saveRow, insertParameters, new int[] { Types.VARCHAR, Types.CLOB });
+		updateSearchIndex(definition.getName(), definition.getDslText());
 		return definition;
 	}
 
@@ -16,6 +16,8 @@
 
 package org.springframework.cloud.dataflow.server.repository;
 
+import java.util.Set;
+
 import org.springframework.cloud.dataflow.core.StreamDefinition;
 import org.springframework.cloud.dataflow.server.repository.support.SearchPageable;
 import org.springframework.data.domain.Page;
@@ -30,4 +32,22 @@ public interface StreamDefinitionRepository extends PagingAndSortingRepository<S
 
 	Page<StreamDefinition> search(SearchPageable searchPageable);
 
+	/**
+	 * Replace the DSL of an existing stream definition, in a single operation.
+	 *
+	 * @param definition the stream definition holding the new DSL
+	 * @return the updated stream definition
+	 * @throws NoSuchStreamDefinitionException if no stream definition exists with that name
+	 */
+	StreamDefinition update(StreamDefinition definition);
+
+	/**
+	 * Find the streams whose source is either the named destination of the given stream
+	 * name or a tap on one of the apps of that stream.
+	 *
+	 * @param name the name of the stream
+	 * @return the sorted names of the related streams, possibly empty
+	 */
+	Set<String> findRelatedStreamNames(String name);
+
 }
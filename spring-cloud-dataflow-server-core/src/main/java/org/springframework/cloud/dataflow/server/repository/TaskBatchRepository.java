@@ -0,0 +1,55 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.repository;
+
+import java.util.Collection;
+import java.util.Map;
+
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+
+/**
+ * Reads the associations between task executions and batch job executions, for several
+ * job executions at once.
+ */
+public interface TaskBatchRepository {
+
+	/**
+	 * Find the ids of the task executions that launched the given job executions.
+	 *
+	 * @param jobExecutionIds the ids of the job executions
+	 * @return the task execution ids indexed by job execution id. Job executions that are
+	 * not associated with a task execution are absent from the map
+	 */
+	Map<Long, Long> findTaskExecutionIds(Collection<Long> jobExecutionIds);
+
+	/**
+	 * Find the names of the tasks of the given task executions.
+	 *
+	 * @param taskExecutionIds the ids of the task executions
+	 * @return the task names indexed by task execution id. Unknown task executions are
+	 * absent from the map
+	 */
+	Map<Long, String> findTaskNames(Collection<Long> taskExecutionIds);
+
+	/**
+	 * Add their persisted {@link StepExecution}s to the given job executions.
+	 *
+	 * @param jobExecutions the job executions to complete
+	 */
+	void addStepExecutions(Collection<JobExecution> jobExecutions);
+}
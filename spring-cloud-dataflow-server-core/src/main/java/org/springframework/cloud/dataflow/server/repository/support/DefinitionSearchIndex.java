@@ -0,0 +1,173 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.repository.support;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.util.Assert;
+
+/**
+ * In memory index of definitions, answering case insensitive substring searches over
+ * their names and DSL texts without scanning all of them.
+ * <p>
+ * Every distinct trigram (sequence of three characters) of the names and texts is
+ * indexed, which takes space linear in the length of the definitions. A search looks up
+ * the trigram of the query contained in the fewest definitions, and then only checks
+ * those candidates for the whole query. Queries shorter than a trigram check all
+ * definitions.
+ */
+public class DefinitionSearchIndex {
+
+	private static final int GRAM_LENGTH = 3;
+
+	private final Map<String, Entry> entries = new HashMap<>();
+
+	/**
+	 * Names of the definitions containing a trigram, keyed by trigram.
+	 */
+	private final Map<String, Set<String>> trigrams = new HashMap<>();
+
+	/**
+	 * Index a definition, replacing the one previously indexed with the same name.
+	 *
+	 * @param name the name of the definition
+	 * @param text the DSL text of the definition
+	 */
+	public synchronized void add(String name, String text) {
+		Assert.hasText(name, "name must not be empty nor null");
+		remove(name);
+		Entry entry = new Entry(name, text);
+		this.entries.put(name, entry);
+		for (String trigram : trigrams(entry)) {
+			this.trigrams.computeIfAbsent(trigram, key -> new HashSet<>()).add(name);
+		}
+	}
+
+	/**
+	 * Remove a definition from the index.
+	 *
+	 * @param name the name of the definition
+	 */
+	public synchronized void remove(String name) {
+		Entry entry = this.entries.remove(name);
+		if (entry == null) {
+			return;
+		}
+		for (String trigram : trigrams(entry)) {
+			Set<String> names = this.trigrams.get(trigram);
+			names.remove(name);
+			if (names.isEmpty()) {
+				this.trigrams.remove(trigram);
+			}
+		}
+	}
+
+	/**
+	 * Remove all definitions from the index.
+	 */
+	public synchronized void clear() {
+		this.entries.clear();
+		this.trigrams.clear();
+	}
+
+	/**
+	 * @return the number of indexed definitions
+	 */
+	public synchronized int size() {
+		return this.entries.size();
+	}
+
+	/**
+	 * Find the definitions whose name or text contains the given query, ignoring case.
+	 *
+	 * @param query the text to search for
+	 * @param searchNames whether to search definition names
+	 * @param searchTexts whether to search definition texts
+	 * @return the matching definitions, in no particular order
+	 */
+	public synchronized List<Entry> search(String query, boolean searchNames, boolean searchTexts) {
+		Assert.notNull(query, "query must not be null");
+		String lowerCaseQuery = query.toLowerCase(Locale.ROOT);
+		Set<String> candidates = this.entries.keySet();
+		for (int i = 0; i + GRAM_LENGTH <= lowerCaseQuery.length(); i++) {
+			Set<String> names = this.trigrams.get(lowerCaseQuery.substring(i, i + GRAM_LENGTH));
+			if (names == null) {
+				return new ArrayList<>();
+			}
+			if (names.size() < candidates.size()) {
+				candidates = names;
+			}
+		}
+		List<Entry> matches = new ArrayList<>();
+		for (String candidate : candidates) {
+			Entry entry = this.entries.get(candidate);
+			if ((searchNames && entry.lowerCaseName.contains(lowerCaseQuery))
+					|| (searchTexts && entry.lowerCaseText.contains(lowerCaseQuery))) {
+				matches.add(entry);
+			}
+		}
+		return matches;
+	}
+
+	private static Set<String> trigrams(Entry entry) {
+		Set<String> trigrams = new HashSet<>();
+		addTrigrams(entry.lowerCaseName, trigrams);
+		addTrigrams(entry.lowerCaseText, trigrams);
+		return trigrams;
+	}
+
+	private static void addTrigrams(String text, Set<String> trigrams) {
+		for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+			trigrams.add(text.substring(i, i + GRAM_LENGTH));
+		}
+	}
+
+	/**
+	 * An indexed definition.
+	 */
+	public static class Entry {
+
+		private final String name;
+
+		private final String text;
+
+		private final String lowerCaseName;
+
+		private final String lowerCaseText;
+
+		Entry(String name, String text) {
+			this.name = name;
+			this.text = text != null ? text : "";
+			this.lowerCaseName = name.toLowerCase(Locale.ROOT);
+			this.lowerCaseText = this.text.toLowerCase(Locale.ROOT);
+		}
+
+		public String getName() {
+			return this.name;
+		}
+
+		public String getText() {
+			return this.text;
+		}
+	}
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.repository.support;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.springframework.cloud.dataflow.core.StreamDefinition;
+import org.springframework.cloud.dataflow.core.dsl.SourceDestinationNode;
+import org.springframework.cloud.dataflow.core.dsl.StreamParser;
+import org.springframework.util.Assert;
+
+/**
+ * Index of the streams whose source is a destination, keyed by the name of the stream
+ * that destination belongs to. A stream reading from {@code :foo} or from a tap such as
+ * {@code :foo.time} is indexed under {@code foo}.
+ * <p>
+ * Since stream names may themselves contain dots, a source destination is indexed under
+ * each of its dot separated prefixes, so that {@code :foo.bar.time} is found under both
+ * {@code foo} and {@code foo.bar}.
+ * <p>
+ * The index is a snapshot of the definitions it is built from and is not updated
+ * afterwards.
+ */
+public class StreamDestinationIndex {
+
+	/**
+	 * Names of the streams reading from a destination, keyed by destination prefix.
+	 */
+	private final Map<String, Set<String>> streamNames = new HashMap<>();
+
+	/**
+	 * Index the source destinations of the given stream definitions.
+	 *
+	 * @param definitions the stream definitions to index
+	 */
+	public StreamDestinationIndex(Iterable<StreamDefinition> definitions) {
+		Assert.notNull(definitions, "definitions must not be null");
+		for (StreamDefinition definition : definitions) {
+			SourceDestinationNode sourceDestination = new StreamParser(definition.getName(),
+					definition.getDslText()).parse().getSourceDestinationNode();
+			if (sourceDestination != null) {
+				for (String prefix : prefixes(sourceDestination.getDestinationName())) {
+					this.streamNames.computeIfAbsent(prefix, key -> new TreeSet<>()).add(definition.getName());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Return the names of the streams whose source is either the named destination of the
+	 * given stream name or a tap on one of the apps of that stream.
+	 *
+	 * @param streamName the name of the stream
+	 * @return the sorted names of the related streams, possibly empty
+	 */
+	public Set<String> findRelatedStreamNames(String streamName) {
+		Set<String> names = this.streamNames.get(streamName);
+		return names == null ? Collections.emptySet() : Collections.unmodifiableSet(names);
+	}
+
+	private static Set<String> prefixes(String destinationName) {
+		Set<String> prefixes = new TreeSet<>();
+		prefixes.add(destinationName);
+		for (int i = destinationName.indexOf('.'); i != -1; i = destinationName.indexOf('.', i + 1)) {
+			if (i > 0) {
+				prefixes.add(destinationName.substring(0, i));
+			}
+		}
+		return prefixes;
+	}
+}
@@ -58,6 +58,18 @@ public interface StreamService {
 	 */
 	Map<StreamDefinition, DeploymentState> state(List<StreamDefinition> streamDefinitions);
 
+	/**
+	 * Retrieve the deployment state for the given stream definitions, optionally bypassing
+	 * any cached app status.
+	 *
+	 * @param streamDefinitions the list of Stream definitions to calculate the deployment states.
+	 * @param fresh whether to query the platform rather than rely on cached app statuses.
+	 * @return the map containing the stream definitions and their deployment states.
+	 */
+	default Map<StreamDefinition, DeploymentState> state(List<StreamDefinition> streamDefinitions, boolean fresh) {
+		return state(streamDefinitions);
+	}
+
 	/**
 	 * Update the stream using the UpdateStreamRequest.
 	 *
@@ -100,6 +100,11 @@ public class AppDeployerStreamService extends AbstractStreamService {
 		return this.appDeployerStreamDeployer.state(streamDefinitions);
 	}
 
+	@Override
+	public Map<StreamDefinition, DeploymentState> state(List<StreamDefinition> streamDefinitions, boolean fresh) {
+		return this.appDeployerStreamDeployer.state(streamDefinitions, fresh);
+	}
+
 	@Override
 	public void updateStream(String streamName, UpdateStreamRequest updateStreamRequest) {
 		throw new IncompatibleStreamDeployerException(StreamDeployers.appdeployer.toString());
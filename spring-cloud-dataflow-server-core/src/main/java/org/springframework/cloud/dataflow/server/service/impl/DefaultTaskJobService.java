@@ -18,7 +18,13 @@ package org.springframework.cloud.dataflow.server.service.impl;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -26,7 +32,6 @@ import org.slf4j.LoggerFactory;
 import org.springframework.batch.admin.service.JobService;
 import org.springframework.batch.core.JobExecution;
 import org.springframework.batch.core.JobInstance;
-import org.springframework.batch.core.StepExecution;
 import org.springframework.batch.core.launch.JobExecutionNotRunningException;
 import org.springframework.batch.core.launch.NoSuchJobException;
 import org.springframework.batch.core.launch.NoSuchJobExecutionException;
@@ -37,6 +42,7 @@ import org.springframework.cloud.dataflow.rest.job.TaskJobExecution;
 import org.springframework.cloud.dataflow.rest.job.support.JobUtils;
 import org.springframework.cloud.dataflow.server.job.support.JobNotRestartableException;
 import org.springframework.cloud.dataflow.server.repository.NoSuchTaskDefinitionException;
+import org.springframework.cloud.dataflow.server.repository.TaskBatchRepository;
 import org.springframework.cloud.dataflow.server.repository.TaskDefinitionRepository;
 import org.springframework.cloud.dataflow.server.service.TaskJobService;
 import org.springframework.cloud.dataflow.server.service.TaskService;
@@ -66,16 +72,21 @@ public class DefaultTaskJobService implements TaskJobService {
 
 	private TaskDefinitionRepository taskDefinitionRepository;
 
+	private final TaskBatchRepository taskBatchRepository;
+
 	public DefaultTaskJobService(JobService jobService, TaskExplorer taskExplorer,
-			TaskDefinitionRepository taskDefinitionRepository, TaskService taskService) {
+			TaskDefinitionRepository taskDefinitionRepository, TaskService taskService,
+			TaskBatchRepository taskBatchRepository) {
 		Assert.notNull(jobService, "jobService must not be null");
 		Assert.notNull(taskExplorer, "taskExplorer must not be null");
 		Assert.notNull(taskDefinitionRepository, "taskDefinitionRepository must not be null");
 		Assert.notNull(taskService, "taskService must not be null");
+		Assert.notNull(taskBatchRepository, "taskBatchRepository must not be null");
 		this.jobService = jobService;
 		this.taskExplorer = taskExplorer;
 		this.taskDefinitionRepository = taskDefinitionRepository;
 		this.taskService = taskService;
+		this.taskBatchRepository = taskBatchRepository;
 	}
 
 	/**
@@ -90,16 +101,7 @@ public class DefaultTaskJobService implements TaskJobService {
 		Assert.notNull(pageable, "pageable must not be null");
 		List<JobExecution> jobExecutions = new ArrayList<>(
 				jobService.listJobExecutions(pageable.getOffset(), pageable.getPageSize()));
-		for (JobExecution jobExecution : jobExecutions) {
-			Collection<StepExecution> stepExecutions = jobService.getStepExecutions(jobExecution.getId());
-			List<StepExecution> validStepExecutions = new ArrayList<>();
-			for (StepExecution stepExecution : stepExecutions) {
-				if (stepExecution.getId() != null) {
-					validStepExecutions.add(stepExecution);
-				}
-			}
-			jobExecution.addStepExecutions(validStepExecutions);
-		}
+		taskBatchRepository.addStepExecutions(jobExecutions);
 		return getTaskJobExecutionsForList(jobExecutions);
 	}
 
@@ -144,11 +146,28 @@ public class DefaultTaskJobService implements TaskJobService {
 			throws NoSuchJobException {
 		Assert.notNull(pageable, "pageable must not be null");
 		Assert.notNull(jobName, "jobName must not be null");
-		List<JobInstanceExecutions> taskJobInstances = new ArrayList<>();
+		Map<JobInstance, List<JobExecution>> jobExecutionsByInstance = new LinkedHashMap<>();
+		List<JobExecution> allJobExecutions = new ArrayList<>();
 		for (JobInstance jobInstance : jobService.listJobInstances(jobName, pageable.getOffset(),
 				pageable.getPageSize())) {
-			taskJobInstances.add(getJobInstanceExecution(jobInstance));
+			List<JobExecution> jobExecutions = new ArrayList<>(
+					jobService.getJobExecutionsForJobInstance(jobInstance.getJobName(), jobInstance.getInstanceId()));
+			jobExecutionsByInstance.put(jobInstance, jobExecutions);
+			allJobExecutions.addAll(jobExecutions);
+		}
+		// match the executions of all instances with their tasks at once
+		Map<Long, TaskJobExecution> taskJobExecutions = new HashMap<>();
+		for (TaskJobExecution taskJobExecution : getTaskJobExecutionsForList(allJobExecutions)) {
+			taskJobExecutions.put(taskJobExecution.getJobExecution().getId(), taskJobExecution);
 		}
+		List<JobInstanceExecutions> taskJobInstances = new ArrayList<>();
+		jobExecutionsByInstance.forEach((jobInstance, jobExecutions) -> {
+			List<TaskJobExecution> instanceTaskJobExecutions = new ArrayList<>();
+			for (JobExecution jobExecution : jobExecutions) {
+				instanceTaskJobExecutions.add(taskJobExecutions.get(jobExecution.getId()));
+			}
+			taskJobInstances.add(new JobInstanceExecutions(jobInstance, instanceTaskJobExecutions));
+		});
 		return taskJobInstances;
 	}
 
@@ -228,17 +247,34 @@ public class DefaultTaskJobService implements TaskJobService {
 
 	private List<TaskJobExecution> getTaskJobExecutionsForList(Collection<JobExecution> jobExecutions) {
 		Assert.notNull(jobExecutions, "jobExecutions must not be null");
+		// resolve task ids, task names and task definitions for all job executions at once
+		Set<Long> jobExecutionIds = new HashSet<>();
+		for (JobExecution jobExecution : jobExecutions) {
+			jobExecutionIds.add(jobExecution.getId());
+		}
+		Map<Long, Long> taskIds = jobExecutionIds.isEmpty() ? Collections.emptyMap()
+				: taskBatchRepository.findTaskExecutionIds(jobExecutionIds);
+		Map<Long, String> taskNames = taskIds.isEmpty() ? Collections.emptyMap()
+				: taskBatchRepository.findTaskNames(new HashSet<>(taskIds.values()));
+		Set<String> definedTaskNames = new HashSet<>();
+		if (!taskNames.isEmpty()) {
+			for (TaskDefinition taskDefinition : taskDefinitionRepository.findAll(new HashSet<>(taskNames.values()))) {
+				definedTaskNames.add(taskDefinition.getName());
+			}
+		}
 		List<TaskJobExecution> taskJobExecutions = new ArrayList<>();
 		for (JobExecution jobExecution : jobExecutions) {
-			taskJobExecutions.add(getTaskJobExecution(jobExecution));
+			Long taskId = taskIds.get(jobExecution.getId());
+			Assert.state(taskId != null, "No task execution found for job execution " + jobExecution.getId());
+			taskJobExecutions.add(new TaskJobExecution(taskId, jobExecution,
+					definedTaskNames.contains(taskNames.get(taskId))));
 		}
 		return taskJobExecutions;
 	}
 
 	private TaskJobExecution getTaskJobExecution(JobExecution jobExecution) {
 		Assert.notNull(jobExecution, "jobExecution must not be null");
-		return new TaskJobExecution(taskExplorer.getTaskExecutionIdByJobExecutionId(jobExecution.getId()), jobExecution,
-				isTaskDefined(jobExecution));
+		return getTaskJobExecutionsForList(Collections.singletonList(jobExecution)).get(0);
 	}
 
 	private JobInstanceExecutions getJobInstanceExecution(JobInstance jobInstance) throws NoSuchJobException {
@@ -247,11 +283,4 @@ public class DefaultTaskJobService implements TaskJobService {
 				jobService.getJobExecutionsForJobInstance(jobInstance.getJobName(), jobInstance.getInstanceId()));
 		return new JobInstanceExecutions(jobInstance, getTaskJobExecutionsForList(jobExecutions));
 	}
-
-	private boolean isTaskDefined(JobExecution jobExecution) {
-		TaskExecution taskExecution = taskExplorer
-				.getTaskExecution(taskExplorer.getTaskExecutionIdByJobExecutionId(jobExecution.getId()));
-		TaskDefinition definition = taskDefinitionRepository.findOne(taskExecution.getTaskName());
-		return (definition != null);
-	}
 }
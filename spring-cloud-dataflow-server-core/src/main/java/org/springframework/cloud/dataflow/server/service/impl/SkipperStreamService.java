@@ -166,10 +166,7 @@ public class SkipperStreamService extends AbstractStreamService {
 		StreamDefinition updatedStreamDefinition = new StreamDefinition(streamName, dslText);
 		logger.debug("Updated StreamDefinition: " + updatedStreamDefinition);
 
-		// TODO consider adding an explicit UPDATE method to the streamDefRepository
-		// Note: Not transactional and can lead to loosing the stream definition
-		this.streamDefinitionRepository.delete(updatedStreamDefinition);
-		this.streamDefinitionRepository.save(updatedStreamDefinition);
+		this.streamDefinitionRepository.update(updatedStreamDefinition);
 	}
 
 	private void updateAppVersionIfChanged(StreamAppDefinition appDefinition,
@@ -270,6 +267,11 @@ public class SkipperStreamService extends AbstractStreamService {
 		return this.skipperStreamDeployer.state(streamDefinitions);
 	}
 
+	@Override
+	public Map<StreamDefinition, DeploymentState> state(List<StreamDefinition> streamDefinitions, boolean fresh) {
+		return this.skipperStreamDeployer.state(streamDefinitions, fresh);
+	}
+
 	@Override
 	public String manifest(String name, int version) {
 		return this.skipperStreamDeployer.manifest(name, version);
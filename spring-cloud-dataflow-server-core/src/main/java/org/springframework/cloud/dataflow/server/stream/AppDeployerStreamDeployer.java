@@ -19,22 +19,24 @@ import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.json.JSONObject;
 
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.cloud.dataflow.core.StreamAppDefinition;
 import org.springframework.cloud.dataflow.core.StreamDefinition;
 import org.springframework.cloud.dataflow.core.StreamDeployment;
@@ -51,6 +53,8 @@ import org.springframework.cloud.deployer.spi.app.DeploymentState;
 import org.springframework.cloud.deployer.spi.app.MultiStateAppDeployer;
 import org.springframework.cloud.deployer.spi.core.AppDeploymentRequest;
 import org.springframework.cloud.deployer.spi.core.RuntimeEnvironmentInfo;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.util.Assert;
 
@@ -63,7 +67,7 @@ import static java.util.stream.Collectors.toList;
  * @author Ilayaperumal Gopinathan
  * @author Christian Tzolov
  */
-public class AppDeployerStreamDeployer implements StreamDeployer {
+public class AppDeployerStreamDeployer implements StreamDeployer, DisposableBean {
 
 	private static Log logger = LogFactory.getLog(AppDeployerStreamDeployer.class);
 
@@ -95,6 +99,13 @@ public class AppDeployerStreamDeployer implements StreamDeployer {
 	 */
 	private final ForkJoinPool forkJoinPool;
 
+	private boolean parallelDeployment;
+
+	/**
+	 * Last known statuses of deployed apps, if status caching is enabled.
+	 */
+	private AppStatusCache statusCache;
+
 	public AppDeployerStreamDeployer(AppDeployer appDeployer, DeploymentIdRepository deploymentIdRepository,
 			StreamDefinitionRepository streamDefinitionRepository,
 			StreamDeploymentRepository streamDeploymentRepository, ForkJoinPool forkJoinPool) {
@@ -110,26 +121,73 @@ public class AppDeployerStreamDeployer implements StreamDeployer {
 		this.forkJoinPool = forkJoinPool;
 	}
 
+	/**
+	 * Whether consumer apps of a stream should be deployed concurrently.
+	 *
+	 * @param parallelDeployment if {@code true}, all apps but the one at the head of the
+	 * stream are deployed concurrently, before the head app. Otherwise apps are deployed
+	 * one after the other, in deployment order.
+	 */
+	public void setParallelDeployment(boolean parallelDeployment) {
+		this.parallelDeployment = parallelDeployment;
+	}
+
+	/**
+	 * Enable caching of app statuses, refreshed in the background at the given interval.
+	 *
+	 * @param statusRefreshInterval the refresh interval in milliseconds, or a non positive
+	 * value to always query the platform
+	 */
+	public void setStatusRefreshInterval(long statusRefreshInterval) {
+		if (this.statusCache != null) {
+			this.statusCache.shutdown();
+			this.statusCache = null;
+		}
+		if (statusRefreshInterval > 0) {
+			this.statusCache = new AppStatusCache(this.appDeployer::status, this::findDeployedAppIds,
+					this.forkJoinPool, statusRefreshInterval);
+		}
+	}
+
+	@Override
+	public void destroy() {
+		if (this.statusCache != null) {
+			this.statusCache.shutdown();
+		}
+	}
+
 	public void deployStream(StreamDeploymentRequest streamDeploymentRequest) {
-		for (AppDeploymentRequest appDeploymentRequest : streamDeploymentRequest.getAppDeploymentRequests()) {
-			try {
-				logger.info(String.format(deployLoggingString, appDeploymentRequest.getDefinition().getName(),
-						streamDeploymentRequest.getStreamName(), appDeploymentRequest.getResource().getURI()));
-				String id = this.appDeployer.deploy(appDeploymentRequest);
-				this.deploymentIdRepository.save(DeploymentKey
-								.forAppDeploymentRequest(streamDeploymentRequest.getStreamName(),
-										appDeploymentRequest.getDefinition()),
-						id);
+		String streamName = streamDeploymentRequest.getStreamName();
+		List<AppDeploymentRequest> appDeploymentRequests = streamDeploymentRequest.getAppDeploymentRequests();
+		Map<String, String> deploymentIds = new ConcurrentHashMap<>();
+		try {
+			if (this.parallelDeployment && appDeploymentRequests.size() > 1) {
+				// Requests are in deployment order: the head of the stream, which is the only
+				// app not consuming from another app of the stream, comes last and is only
+				// deployed once all its consumers have been.
+				List<AppDeploymentRequest> consumers = appDeploymentRequests.subList(0,
+						appDeploymentRequests.size() - 1);
+				this.forkJoinPool.submit(() -> consumers.parallelStream()
+						.forEach(request -> deployApp(streamName, request, deploymentIds))).get();
+				deployApp(streamName, appDeploymentRequests.get(appDeploymentRequests.size() - 1), deploymentIds);
 			}
-			catch (Exception e) {
-				String errorMessage = String.format(
-						"[stream name = %s, application name = %s, application properties = %s",
-						streamDeploymentRequest.getStreamName(),
-						appDeploymentRequest.getDefinition().getName(),
-						appDeploymentRequest.getDefinition().getProperties());
-				logger.error(
-						String.format("Exception when deploying the app %s: %s", errorMessage, e.getMessage()),
-						e);
+			else {
+				for (AppDeploymentRequest appDeploymentRequest : appDeploymentRequests) {
+					deployApp(streamName, appDeploymentRequest, deploymentIds);
+				}
+			}
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while deploying stream " + streamName, e);
+		}
+		catch (ExecutionException e) {
+			throw new IllegalStateException("Exception when deploying stream " + streamName, e.getCause());
+		}
+		finally {
+			this.deploymentIdRepository.save(deploymentIds);
+			if (this.statusCache != null) {
+				this.statusCache.invalidate(deploymentIds.values());
 			}
 		}
 		Map<String, Map<String, String>> deploymentProperties = new HashMap<>();
@@ -143,12 +201,34 @@ public class AppDeployerStreamDeployer implements StreamDeployer {
 		this.streamDeploymentRepository.save(streamDeployment);
 	}
 
+	private void deployApp(String streamName, AppDeploymentRequest appDeploymentRequest,
+			Map<String, String> deploymentIds) {
+		try {
+			logger.info(String.format(deployLoggingString, appDeploymentRequest.getDefinition().getName(),
+					streamName, appDeploymentRequest.getResource().getURI()));
+			String id = this.appDeployer.deploy(appDeploymentRequest);
+			deploymentIds.put(DeploymentKey.forAppDeploymentRequest(streamName, appDeploymentRequest.getDefinition()),
+					id);
+		}
+		catch (Exception e) {
+			String errorMessage = String.format(
+					"[stream name = %s, application name = %s, application properties = %s",
+					streamName,
+					appDeploymentRequest.getDefinition().getName(),
+					appDeploymentRequest.getDefinition().getProperties());
+			logger.error(
+					String.format("Exception when deploying the app %s: %s", errorMessage, e.getMessage()),
+					e);
+		}
+	}
+
 	@Override
 	public void undeployStream(String streamName) {
 		StreamDefinition streamDefinition = this.streamDefinitionRepository.findOne(streamName);
+		Map<String, String> deploymentIds = findDeploymentIds(Collections.singletonList(streamDefinition));
 		for (StreamAppDefinition appDefinition : streamDefinition.getAppDefinitions()) {
 			String key = DeploymentKey.forStreamAppDefinition(appDefinition);
-			String id = this.deploymentIdRepository.findOne(key);
+			String id = deploymentIds.get(key);
 			// if id is null, assume nothing is deployed
 			if (id != null) {
 				AppStatus status = this.appDeployer.status(id);
@@ -156,6 +236,9 @@ public class AppDeployerStreamDeployer implements StreamDeployer {
 					this.appDeployer.undeploy(id);
 				}
 				this.deploymentIdRepository.delete(key);
+				if (this.statusCache != null) {
+					this.statusCache.invalidate(Collections.singleton(id));
+				}
 			}
 		}
 		this.streamDeploymentRepository.delete(streamDefinition.getName());
@@ -165,9 +248,10 @@ public class AppDeployerStreamDeployer implements StreamDeployer {
 	public String calculateStreamState(String streamName) {
 		Set<DeploymentState> appStates = EnumSet.noneOf(DeploymentState.class);
 		StreamDefinition stream = this.streamDefinitionRepository.findOne(streamName);
+		Map<String, String> deploymentIds = findDeploymentIds(Collections.singletonList(stream));
 		for (StreamAppDefinition appDefinition : stream.getAppDefinitions()) {
 			String key = DeploymentKey.forStreamAppDefinition(appDefinition);
-			String id = this.deploymentIdRepository.findOne(key);
+			String id = deploymentIds.get(key);
 			if (id != null) {
 				AppStatus status = this.appDeployer.status(id);
 				appStates.add(status.getState());
@@ -181,15 +265,33 @@ public class AppDeployerStreamDeployer implements StreamDeployer {
 
 	@Override
 	public Map<StreamDefinition, DeploymentState> state(List<StreamDefinition> streamDefinitions) {
+		return state(streamDefinitions, false);
+	}
+
+	@Override
+	public Map<StreamDefinition, DeploymentState> state(List<StreamDefinition> streamDefinitions, boolean fresh) {
+		Map<String, String> deploymentIds = findDeploymentIds(streamDefinitions);
 		Map<StreamDefinition, List<String>> deploymentIdsPerStream = streamDefinitions.stream()
 				.collect(Collectors.toMap(Function.identity(),
 						sd -> sd.getAppDefinitions().stream().map(
-								sad -> deploymentIdRepository.findOne(DeploymentKey.forStreamAppDefinition(sad)))
+								sad -> deploymentIds.get(DeploymentKey.forStreamAppDefinition(sad)))
 								.collect(Collectors.toList())));
 
 		// Map from app deployment id to state
-		Map<String, DeploymentState> statePerApp = gatherDeploymentStates(deploymentIdsPerStream.values().stream()
-				.flatMap(Collection::stream).filter(Objects::nonNull).toArray(String[]::new));
+		Map<String, DeploymentState> statePerApp = new HashMap<>();
+		List<String> idsToQuery = new ArrayList<>();
+		deploymentIdsPerStream.values().stream().flatMap(Collection::stream).filter(Objects::nonNull).forEach(id -> {
+			AppStatus cached = (this.statusCache != null && !fresh) ? this.statusCache.getIfPresent(id) : null;
+			if (cached != null) {
+				statePerApp.put(id, cached.getState());
+			}
+			else {
+				idsToQuery.add(id);
+			}
+		});
+		if (!idsToQuery.isEmpty()) {
+			statePerApp.putAll(gatherDeploymentStates(idsToQuery.toArray(new String[idsToQuery.size()])));
+		}
 
 		// Map from SCDF Stream to aggregate state
 		return deploymentIdsPerStream.entrySet().stream()
@@ -200,6 +302,19 @@ public class AppDeployerStreamDeployer implements StreamDeployer {
 				.collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
 	}
 
+	/**
+	 * Fetch the deployment ids of all the apps of the given streams with a single query.
+	 *
+	 * @return the deployment ids indexed by {@link DeploymentKey}
+	 */
+	private Map<String, String> findDeploymentIds(Collection<StreamDefinition> streamDefinitions) {
+		List<String> keys = streamDefinitions.stream()
+				.flatMap(sd -> sd.getAppDefinitions().stream())
+				.map(DeploymentKey::forStreamAppDefinition)
+				.collect(toList());
+		return keys.isEmpty() ? Collections.emptyMap() : this.deploymentIdRepository.findIdsByKeys(keys);
+	}
+
 	private Map<String, DeploymentState> gatherDeploymentStates(String... ids) {
 		if (appDeployer instanceof MultiStateAppDeployer) {
 			return ((MultiStateAppDeployer) appDeployer).states(ids);
@@ -211,44 +326,50 @@ public class AppDeployerStreamDeployer implements StreamDeployer {
 	}
 
 	@Override
-	public List<AppStatus> getAppStatuses(Pageable pageable) throws ExecutionException, InterruptedException {
+	public Page<AppStatus> getAppStatuses(Pageable pageable) throws ExecutionException, InterruptedException {
+		return getAppStatuses(pageable, false);
+	}
 
-		Iterable<StreamDefinition> streamDefinitions = this.streamDefinitionRepository.findAll();
-		Iterable<StreamDeployment> streamDeployments = this.streamDeploymentRepository.findAll();
+	@Override
+	public Page<AppStatus> getAppStatuses(Pageable pageable, boolean fresh)
+			throws ExecutionException, InterruptedException {
+		// Only the requested page of deployment ids of stream apps is read, ordered by id so
+		// that paging is predictable, and only the statuses of those apps are queried.
+		Page<String> deploymentIds = this.deploymentIdRepository.findStreamAppIds(pageable);
 
-		List<String> appDeployerStreams = new ArrayList<>();
-		for (StreamDeployment streamDeployment : streamDeployments) {
-			appDeployerStreams.add(streamDeployment.getStreamName());
+		// Running this inside the FJP will make sure it is used by the parallel stream
+		List<AppStatus> statuses = this.forkJoinPool.submit(() -> deploymentIds.getContent().stream()
+				.parallel().map(id -> getAppStatus(id, fresh)).collect(toList())).get();
+		return new PageImpl<>(statuses, pageable, deploymentIds.getTotalElements());
+	}
 
-		}
+	@Override
+	public AppStatus getAppStatus(String id) {
+		return getAppStatus(id, false);
+	}
 
-		List<StreamDefinition> appDeployerStreamDefinitions = new ArrayList<>();
-		for (StreamDefinition streamDefinition : streamDefinitions) {
-			if (appDeployerStreams.contains(streamDefinition.getName())) {
-				appDeployerStreamDefinitions.add(streamDefinition);
-			}
+	@Override
+	public AppStatus getAppStatus(String id, boolean fresh) {
+		if (this.statusCache == null) {
+			return appDeployer.status(id);
 		}
-
-		// First build a sorted list of deployment id's so that we have a predictable paging order.
-		List<String> deploymentIds = appDeployerStreamDefinitions.stream()
-				.flatMap(sd -> sd.getAppDefinitions().stream()).flatMap(sad -> {
-					String key = DeploymentKey.forStreamAppDefinition(sad);
-					String id = this.deploymentIdRepository.findOne(key);
-					return id != null ? Stream.of(id) : Stream.empty();
-				}).sorted(String::compareTo).collect(toList());
-
-		// Running this this inside the FJP will make sure it is used by the parallel stream
-		// Skip first items depending on page size, then take page and discard rest.
-		// todo: Use correct pageable values based on the number of apps deployed via all supported StreamDeployers
-		return this.forkJoinPool.submit(() -> deploymentIds.stream()
-				.skip(pageable.getPageNumber() * pageable.getPageSize())
-				.limit(pageable.getPageSize()).parallel().map(appDeployer::status).collect(toList()))
-				.get();
+		return fresh ? this.statusCache.fetch(id) : this.statusCache.get(id);
 	}
 
-	@Override
-	public AppStatus getAppStatus(String id) {
-		return appDeployer.status(id);
+	/**
+	 * Return the deployment ids of the apps of all streams deployed through this deployer.
+	 */
+	private Collection<String> findDeployedAppIds() {
+		List<String> streamNames = new ArrayList<>();
+		for (StreamDeployment streamDeployment : this.streamDeploymentRepository.findAll()) {
+			streamNames.add(streamDeployment.getStreamName());
+		}
+		if (streamNames.isEmpty()) {
+			return Collections.emptyList();
+		}
+		List<StreamDefinition> streamDefinitions = new ArrayList<>();
+		this.streamDefinitionRepository.findAll(streamNames).forEach(streamDefinitions::add);
+		return findDeploymentIds(streamDefinitions).values();
 	}
 
 	@Override
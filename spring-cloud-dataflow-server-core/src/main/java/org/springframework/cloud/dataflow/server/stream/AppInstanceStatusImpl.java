@@ -34,6 +34,12 @@ public class AppInstanceStatusImpl implements AppInstanceStatus {
 	public AppInstanceStatusImpl() {
 	}
 
+	public AppInstanceStatusImpl(String id, DeploymentState state, Map<String, String> attributes) {
+		this.id = id;
+		this.state = state;
+		this.attributes = attributes;
+	}
+
 	@Override
 	public String getId() {
 		return id;
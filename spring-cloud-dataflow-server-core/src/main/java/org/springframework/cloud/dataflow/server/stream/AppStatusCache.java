@@ -0,0 +1,206 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.dataflow.server.stream;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.cloud.deployer.spi.app.AppStatus;
+import org.springframework.util.Assert;
+import org.springframework.util.CustomizableThreadCreator;
+
+/**
+ * Keeps the last known {@link AppStatus} of deployed apps, so that status queries do not
+ * hit the underlying platform on every request.
+ * <p>
+ * Statuses of all currently deployed apps are refreshed in the background at a fixed
+ * interval. Entries can also be invalidated explicitly, typically when apps are deployed
+ * or undeployed. Statuses queried before an app was invalidated are discarded, even when
+ * the query completes afterwards.
+ */
+public class AppStatusCache {
+
+	private static final Log logger = LogFactory.getLog(AppStatusCache.class);
+
+	private final Map<String, AppStatus> statuses = new ConcurrentHashMap<>();
+
+	private final Function<String, AppStatus> statusFetcher;
+
+	private final Supplier<Collection<String>> deployedAppIds;
+
+	private final ForkJoinPool forkJoinPool;
+
+	private final ScheduledExecutorService scheduler;
+
+	/**
+	 * Guards the invalidation bookkeeping below, and updates of {@link #statuses}.
+	 */
+	private final Object monitor = new Object();
+
+	private final QueryInvalidations<String> invalidations = new QueryInvalidations<>();
+
+	/**
+	 * Create a cache and start refreshing it in the background.
+	 *
+	 * @param statusFetcher queries the platform for the status of an app, given its
+	 * deployment id
+	 * @param deployedAppIds supplies the deployment ids of all currently deployed apps
+	 * @param forkJoinPool the pool used to query statuses concurrently
+	 * @param refreshInterval the interval between two refreshes, in milliseconds
+	 */
+	public AppStatusCache(Function<String, AppStatus> statusFetcher, Supplier<Collection<String>> deployedAppIds,
+			ForkJoinPool forkJoinPool, long refreshInterval) {
+		Assert.notNull(statusFetcher, "statusFetcher must not be null");
+		Assert.notNull(deployedAppIds, "deployedAppIds must not be null");
+		Assert.notNull(forkJoinPool, "ForkJoinPool must not be null");
+		Assert.isTrue(refreshInterval > 0, "refreshInterval must be positive");
+		this.statusFetcher = statusFetcher;
+		this.deployedAppIds = deployedAppIds;
+		this.forkJoinPool = forkJoinPool;
+		CustomizableThreadCreator threadCreator = new CustomizableThreadCreator("app-status-refresh-");
+		threadCreator.setDaemon(true);
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(threadCreator::createThread);
+		this.scheduler.scheduleWithFixedDelay(this::refresh, refreshInterval, refreshInterval, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Return the last known status of the given app, querying the platform only if it is
+	 * not known yet.
+	 *
+	 * @param id the deployment id of the app
+	 * @return the status of the app
+	 */
+	public AppStatus get(String id) {
+		AppStatus status = this.statuses.get(id);
+		return status != null ? status : fetch(id);
+	}
+
+	/**
+	 * Return the last known status of the given app, if any.
+	 *
+	 * @param id the deployment id of the app
+	 * @return the status of the app, or {@literal null} if not known yet
+	 */
+	public AppStatus getIfPresent(String id) {
+		return this.statuses.get(id);
+	}
+
+	/**
+	 * Query the platform for the status of the given app, bypassing (and updating) the
+	 * cache.
+	 *
+	 * @param id the deployment id of the app
+	 * @return the status of the app
+	 */
+	public AppStatus fetch(String id) {
+		long start = startQuery();
+		AppStatus status = null;
+		try {
+			status = this.statusFetcher.apply(id);
+			return status;
+		}
+		finally {
+			endQuery(start, status != null ? Collections.singletonMap(id, status) : Collections.emptyMap(), null);
+		}
+	}
+
+	/**
+	 * Discard the last known status of the given apps.
+	 *
+	 * @param ids the deployment ids of the apps
+	 */
+	public void invalidate(Collection<String> ids) {
+		synchronized (this.monitor) {
+			this.invalidations.invalidate(ids);
+			this.statuses.keySet().removeAll(ids);
+		}
+	}
+
+	/**
+	 * Query the status of all currently deployed apps, and forget about apps that are no
+	 * longer deployed.
+	 */
+	public void refresh() {
+		long start = startQuery();
+		Map<String, AppStatus> refreshed = new ConcurrentHashMap<>();
+		Set<String> ids = null;
+		try {
+			Set<String> deployed = new HashSet<>(this.deployedAppIds.get());
+			this.forkJoinPool.submit(() -> deployed.parallelStream()
+					.forEach(id -> refreshed.put(id, this.statusFetcher.apply(id)))).get();
+			ids = deployed;
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		catch (Exception e) {
+			logger.warn("Failed to refresh the status of deployed apps", e);
+		}
+		finally {
+			endQuery(start, refreshed, ids);
+		}
+	}
+
+	private long startQuery() {
+		synchronized (this.monitor) {
+			return this.invalidations.startQuery();
+		}
+	}
+
+	/**
+	 * Store the statuses returned by a query, unless their app has been invalidated since
+	 * the query started.
+	 *
+	 * @param start the generation at which the query started
+	 * @param fetched the statuses returned by the query
+	 * @param deployedIds the ids of all deployed apps, if known, so that other apps are
+	 * forgotten
+	 */
+	private void endQuery(long start, Map<String, AppStatus> fetched, Set<String> deployedIds) {
+		synchronized (this.monitor) {
+			if (deployedIds != null) {
+				this.statuses.keySet().retainAll(deployedIds);
+			}
+			fetched.forEach((id, status) -> {
+				if (this.invalidations.isCurrent(id, start)) {
+					this.statuses.put(id, status);
+				}
+			});
+			this.invalidations.endQuery(start);
+		}
+	}
+
+	/**
+	 * Stop refreshing the cache in the background.
+	 */
+	public void shutdown() {
+		this.scheduler.shutdownNow();
+	}
+
+}
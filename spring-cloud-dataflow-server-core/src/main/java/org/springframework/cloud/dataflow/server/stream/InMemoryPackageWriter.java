@@ -0,0 +1,116 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.dataflow.server.stream;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.nodes.Tag;
+import org.yaml.snakeyaml.representer.Representer;
+
+import org.springframework.cloud.skipper.domain.Package;
+import org.springframework.cloud.skipper.domain.PackageMetadata;
+import org.springframework.cloud.skipper.domain.Template;
+import org.springframework.cloud.skipper.io.DefaultPackageWriter;
+import org.springframework.util.Assert;
+
+/**
+ * Writes Skipper packages as zip archives held in memory, with the same layout as the
+ * archives written to disk by {@link DefaultPackageWriter}:
+ * <pre>
+ * name-version/package.yml
+ * name-version/values.yml
+ * name-version/templates/...
+ * name-version/packages/dependency/package.yml
+ * ...
+ * </pre>
+ */
+public class InMemoryPackageWriter {
+
+	private final Yaml yaml;
+
+	public InMemoryPackageWriter() {
+		DumperOptions dumperOptions = new DumperOptions();
+		dumperOptions.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
+		dumperOptions.setPrettyFlow(true);
+		Representer representer = new Representer();
+		representer.addClassTag(PackageMetadata.class, Tag.MAP);
+		this.yaml = new Yaml(representer, dumperOptions);
+	}
+
+	/**
+	 * Write the given package and its dependencies.
+	 *
+	 * @param pkg the package to write
+	 * @return the content of the package zip file
+	 */
+	public byte[] write(Package pkg) {
+		Assert.notNull(pkg, "Package must not be null");
+		PackageMetadata metadata = pkg.getMetadata();
+		Assert.notNull(metadata, "Package metadata must not be null");
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+			String rootDirectory = String.format("%s-%s/", metadata.getName(), metadata.getVersion());
+			writeDirectory(zip, rootDirectory);
+			writePackage(zip, pkg, rootDirectory);
+			if (pkg.getDependencies() != null && !pkg.getDependencies().isEmpty()) {
+				String packagesDirectory = rootDirectory + "packages/";
+				writeDirectory(zip, packagesDirectory);
+				for (Package dependency : pkg.getDependencies()) {
+					String packageDirectory = packagesDirectory + dependency.getMetadata().getName() + "/";
+					writeDirectory(zip, packageDirectory);
+					writePackage(zip, dependency, packageDirectory);
+				}
+			}
+		}
+		catch (IOException e) {
+			throw new IllegalArgumentException("Can't write package " + metadata.getName(), e);
+		}
+		return bytes.toByteArray();
+	}
+
+	private void writePackage(ZipOutputStream zip, Package pkg, String directory) throws IOException {
+		writeText(zip, directory + "package.yml", this.yaml.dump(pkg.getMetadata()));
+		if (pkg.getConfigValues() != null) {
+			writeText(zip, directory + "values.yml", pkg.getConfigValues().getRaw());
+		}
+		if (pkg.getTemplates() != null) {
+			String templatesDirectory = directory + "templates/";
+			writeDirectory(zip, templatesDirectory);
+			for (Template template : pkg.getTemplates()) {
+				writeText(zip, templatesDirectory + template.getName(), template.getData());
+			}
+		}
+	}
+
+	private static void writeDirectory(ZipOutputStream zip, String name) throws IOException {
+		zip.putNextEntry(new ZipEntry(name));
+		zip.closeEntry();
+	}
+
+	private static void writeText(ZipOutputStream zip, String name, String text) throws IOException {
+		zip.putNextEntry(new ZipEntry(name));
+		if (text != null) {
+			zip.write(text.getBytes(StandardCharsets.UTF_8));
+		}
+		zip.closeEntry();
+	}
+}
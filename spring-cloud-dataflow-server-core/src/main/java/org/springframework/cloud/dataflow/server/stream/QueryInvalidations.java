@@ -0,0 +1,103 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.dataflow.server.stream;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Keeps track of the keys of a cache invalidated while queries are in progress, so that
+ * what a query returns for a key invalidated after the query started is not cached.
+ * <p>
+ * Not thread safe: callers guard all calls, and the updates of their cache, with the
+ * same lock.
+ *
+ * @param <K> the type of the keys of the cache
+ */
+class QueryInvalidations<K> {
+
+	/**
+	 * Incremented on every invalidation.
+	 */
+	private long generation;
+
+	/**
+	 * Generation at which keys were last invalidated, for keys invalidated while queries
+	 * were in progress.
+	 */
+	private final Map<K, Long> invalidations = new HashMap<>();
+
+	/**
+	 * Number of queries in progress, by generation at which they started.
+	 */
+	private final TreeMap<Long, Integer> queriesInProgress = new TreeMap<>();
+
+	/**
+	 * Record the start of a query.
+	 *
+	 * @return the generation at which the query started, to pass on to the other methods
+	 */
+	long startQuery() {
+		this.queriesInProgress.merge(this.generation, 1, Integer::sum);
+		return this.generation;
+	}
+
+	/**
+	 * Record the invalidation of the given keys.
+	 *
+	 * @param keys the invalidated keys
+	 */
+	void invalidate(Collection<K> keys) {
+		this.generation++;
+		if (!this.queriesInProgress.isEmpty()) {
+			for (K key : keys) {
+				this.invalidations.put(key, this.generation);
+			}
+		}
+	}
+
+	/**
+	 * Tell whether what a query returned for the given key may be cached.
+	 *
+	 * @param key the key
+	 * @param start the generation at which the query started
+	 * @return whether the key was not invalidated since the query started
+	 */
+	boolean isCurrent(K key, long start) {
+		Long invalidated = this.invalidations.get(key);
+		return invalidated == null || invalidated <= start;
+	}
+
+	/**
+	 * Record the end of a query.
+	 *
+	 * @param start the generation at which the query started
+	 */
+	void endQuery(long start) {
+		this.queriesInProgress.computeIfPresent(start, (generation, count) -> count > 1 ? count - 1 : null);
+		if (this.queriesInProgress.isEmpty()) {
+			this.invalidations.clear();
+		}
+		else {
+			// invalidations older than all queries in progress no longer matter
+			long oldest = this.queriesInProgress.firstKey();
+			this.invalidations.values().removeIf(generation -> generation <= oldest);
+		}
+	}
+
+}
@@ -0,0 +1,276 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.dataflow.server.stream;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.cloud.deployer.spi.app.AppStatus;
+import org.springframework.util.Assert;
+import org.springframework.util.CustomizableThreadCreator;
+
+/**
+ * Keeps the last known {@link AppStatus} of the apps of each Skipper release, so that
+ * listing apps and computing the state of streams does not query Skipper on every
+ * request.
+ * <p>
+ * Statuses are reused for a limited time after being queried, unless they are refreshed
+ * in the background at a fixed interval, in which case they are kept until refreshed.
+ * Background refreshes only query the releases known to be deployed: a release found to
+ * have no apps is queried again on the next read following a refresh. Entries can also be
+ * invalidated explicitly, typically when a release is installed, upgraded or deleted.
+ * Statuses queried before a release was invalidated are discarded, even when the query
+ * completes afterwards. Statuses that could not be queried are not cached: the failure is
+ * reported to the caller and the last known statuses are kept.
+ */
+public class ReleaseStatusCache {
+
+	private static final Log logger = LogFactory.getLog(ReleaseStatusCache.class);
+
+	private final Map<String, Entry> statuses = new ConcurrentHashMap<>();
+
+	private final Function<String, List<AppStatus>> statusFetcher;
+
+	private final Supplier<Collection<String>> releaseNames;
+
+	private final ForkJoinPool forkJoinPool;
+
+	private final long timeToLive;
+
+	private final ScheduledExecutorService scheduler;
+
+	/**
+	 * Guards the invalidation bookkeeping below, and updates of {@link #statuses}.
+	 */
+	private final Object monitor = new Object();
+
+	private final QueryInvalidations<String> invalidations = new QueryInvalidations<>();
+
+	/**
+	 * Create a cache, refreshing it in the background if a positive refresh interval is
+	 * given.
+	 *
+	 * @param statusFetcher queries Skipper for the statuses of the apps of a release, given
+	 * its name. Returns an empty list if the release does not exist
+	 * @param releaseNames supplies the names of all the releases that may be deployed
+	 * @param forkJoinPool the pool used to query statuses concurrently
+	 * @param timeToLive the time during which statuses are reused when not refreshed in the
+	 * background, in milliseconds, or a non positive value to always query Skipper
+	 * @param refreshInterval the interval between two background refreshes, in
+	 * milliseconds, or a non positive value to not refresh statuses in the background
+	 */
+	public ReleaseStatusCache(Function<String, List<AppStatus>> statusFetcher,
+			Supplier<Collection<String>> releaseNames, ForkJoinPool forkJoinPool, long timeToLive,
+			long refreshInterval) {
+		Assert.notNull(statusFetcher, "statusFetcher must not be null");
+		Assert.notNull(releaseNames, "releaseNames must not be null");
+		Assert.notNull(forkJoinPool, "ForkJoinPool must not be null");
+		this.statusFetcher = statusFetcher;
+		this.releaseNames = releaseNames;
+		this.forkJoinPool = forkJoinPool;
+		this.timeToLive = timeToLive;
+		if (refreshInterval > 0) {
+			CustomizableThreadCreator threadCreator = new CustomizableThreadCreator("release-status-refresh-");
+			threadCreator.setDaemon(true);
+			this.scheduler = Executors.newSingleThreadScheduledExecutor(threadCreator::createThread);
+			this.scheduler.scheduleWithFixedDelay(this::refresh, refreshInterval, refreshInterval,
+					TimeUnit.MILLISECONDS);
+		}
+		else {
+			this.scheduler = null;
+		}
+	}
+
+	/**
+	 * Return the last known statuses of the apps of the given release, querying Skipper
+	 * only if they are not known or no longer reused.
+	 *
+	 * @param releaseName the name of the release
+	 * @return the statuses of the apps of the release
+	 */
+	public List<AppStatus> get(String releaseName) {
+		List<AppStatus> releaseStatuses = getIfPresent(releaseName);
+		return releaseStatuses != null ? releaseStatuses : fetch(releaseName);
+	}
+
+	/**
+	 * Return the last known statuses of the apps of the given release, if any and still
+	 * reused.
+	 *
+	 * @param releaseName the name of the release
+	 * @return the statuses of the apps of the release, or {@literal null}
+	 */
+	public List<AppStatus> getIfPresent(String releaseName) {
+		Entry entry = this.statuses.get(releaseName);
+		return entry != null && isValid(entry, System.currentTimeMillis()) ? entry.statuses : null;
+	}
+
+	/**
+	 * Query Skipper for the statuses of the apps of the given release, bypassing (and
+	 * updating) the cache. The last known statuses are kept if the query fails.
+	 *
+	 * @param releaseName the name of the release
+	 * @return the statuses of the apps of the release
+	 */
+	public List<AppStatus> fetch(String releaseName) {
+		long start;
+		synchronized (this.monitor) {
+			start = this.invalidations.startQuery();
+		}
+		List<AppStatus> releaseStatuses = null;
+		try {
+			releaseStatuses = Collections.unmodifiableList(new ArrayList<>(this.statusFetcher.apply(releaseName)));
+			return releaseStatuses;
+		}
+		finally {
+			synchronized (this.monitor) {
+				if (releaseStatuses != null && this.invalidations.isCurrent(releaseName, start)) {
+					this.statuses.put(releaseName, new Entry(releaseStatuses, System.currentTimeMillis()));
+				}
+				this.invalidations.endQuery(start);
+			}
+		}
+	}
+
+	/**
+	 * Return the last known statuses of the apps of all releases, ordered by release name.
+	 * Releases whose statuses are not known, or no longer reused, are queried
+	 * concurrently.
+	 *
+	 * @return the statuses of all apps
+	 * @throws ExecutionException if querying statuses failed
+	 * @throws InterruptedException if interrupted while querying statuses
+	 */
+	public List<AppStatus> getAll() throws ExecutionException, InterruptedException {
+		Set<String> names = new TreeSet<>(this.releaseNames.get());
+		Map<String, List<AppStatus>> known = new ConcurrentHashMap<>();
+		List<String> missing = new ArrayList<>();
+		for (String name : names) {
+			List<AppStatus> releaseStatuses = getIfPresent(name);
+			if (releaseStatuses != null) {
+				known.put(name, releaseStatuses);
+			}
+			else {
+				missing.add(name);
+			}
+		}
+		if (!missing.isEmpty()) {
+			this.forkJoinPool.submit(() -> missing.parallelStream().forEach(name -> known.put(name, fetch(name))))
+					.get();
+		}
+		List<AppStatus> all = new ArrayList<>();
+		for (String name : names) {
+			all.addAll(known.get(name));
+		}
+		return all;
+	}
+
+	/**
+	 * Discard the last known statuses of the apps of the given release.
+	 *
+	 * @param releaseName the name of the release
+	 */
+	public void invalidate(String releaseName) {
+		synchronized (this.monitor) {
+			this.invalidations.invalidate(Collections.singleton(releaseName));
+			this.statuses.remove(releaseName);
+		}
+	}
+
+	/**
+	 * Query the statuses of the apps of the releases known to be deployed, and forget
+	 * about releases that no longer exist or had no apps. The last known statuses of
+	 * releases that could not be queried are kept.
+	 */
+	public void refresh() {
+		try {
+			Set<String> names = new TreeSet<>(this.releaseNames.get());
+			Set<String> deployed = new TreeSet<>();
+			synchronized (this.monitor) {
+				this.statuses.keySet().retainAll(names);
+				// releases not deployed when last queried are only queried again when read
+				this.statuses.values().removeIf(entry -> entry.statuses.isEmpty());
+				deployed.addAll(this.statuses.keySet());
+			}
+			AtomicInteger failures = new AtomicInteger();
+			this.forkJoinPool.submit(() -> deployed.parallelStream().forEach(name -> {
+				try {
+					fetch(name);
+				}
+				catch (Exception e) {
+					failures.incrementAndGet();
+					logger.debug("Failed to refresh the status of Skipper release " + name, e);
+				}
+			})).get();
+			if (failures.get() > 0) {
+				logger.warn("Failed to refresh the status of " + failures.get() + " Skipper releases");
+			}
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		catch (Exception e) {
+			logger.warn("Failed to refresh the status of Skipper releases", e);
+		}
+	}
+
+	/**
+	 * Stop refreshing the cache in the background.
+	 */
+	public void shutdown() {
+		if (this.scheduler != null) {
+			this.scheduler.shutdownNow();
+		}
+	}
+
+	private boolean isValid(Entry entry, long now) {
+		// entries refreshed in the background are kept until refreshed or invalidated
+		return this.scheduler != null || now - entry.fetchedAt < this.timeToLive;
+	}
+
+	/**
+	 * Statuses of the apps of a release, as queried at some point in time.
+	 */
+	private static class Entry {
+
+		private final List<AppStatus> statuses;
+
+		private final long fetchedAt;
+
+		Entry(List<AppStatus> statuses, long fetchedAt) {
+			this.statuses = statuses;
+			this.fetchedAt = fetchedAt;
+		}
+	}
+
+}
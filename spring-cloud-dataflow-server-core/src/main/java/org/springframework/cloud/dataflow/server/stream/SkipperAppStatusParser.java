@@ -0,0 +1,181 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.dataflow.server.stream;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.Version;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.module.SimpleAbstractTypeResolver;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+import org.springframework.cloud.deployer.spi.app.AppInstanceStatus;
+import org.springframework.cloud.deployer.spi.app.AppStatus;
+import org.springframework.cloud.deployer.spi.app.DeploymentState;
+
+/**
+ * Reads the platform status of a Skipper release, that is the JSON serialized list of
+ * the {@link AppStatus} of its apps.
+ * <p>
+ * {@link #parse(String)} reads the JSON tokens directly, only keeping the deployment id
+ * and state of apps and the id, state and attributes of their instances.
+ * {@link #bind(String)} maps the same JSON through data binding. Both are thread safe.
+ */
+public final class SkipperAppStatusParser {
+
+	private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+	private static final ObjectReader APP_STATUS_READER = createAppStatusReader();
+
+	private SkipperAppStatusParser() {
+	}
+
+	/**
+	 * Parse a platform status, reading its JSON tokens one after the other.
+	 *
+	 * @param platformStatus the JSON platform status
+	 * @return the statuses of the apps
+	 * @throws IOException if the platform status is not a valid list of app statuses
+	 */
+	public static List<AppStatus> parse(String platformStatus) throws IOException {
+		try (JsonParser parser = JSON_FACTORY.createParser(platformStatus)) {
+			List<AppStatus> appStatuses = new ArrayList<>();
+			if (parser.nextToken() != JsonToken.START_ARRAY) {
+				throw new JsonParseException(parser, "Expected an array of app statuses");
+			}
+			while (parser.nextToken() == JsonToken.START_OBJECT) {
+				appStatuses.add(parseAppStatus(parser));
+			}
+			if (parser.getCurrentToken() != JsonToken.END_ARRAY) {
+				throw new JsonParseException(parser, "Expected an app status");
+			}
+			return appStatuses;
+		}
+	}
+
+	/**
+	 * Map a platform status to app statuses through a shared, pre-configured
+	 * {@link ObjectReader}.
+	 *
+	 * @param platformStatus the JSON platform status
+	 * @return the statuses of the apps
+	 * @throws IOException if the platform status is not a valid list of app statuses
+	 */
+	public static List<AppStatus> bind(String platformStatus) throws IOException {
+		return APP_STATUS_READER.readValue(platformStatus);
+	}
+
+	private static AppStatus parseAppStatus(JsonParser parser) throws IOException {
+		String deploymentId = null;
+		DeploymentState state = null;
+		List<AppInstanceStatus> instances = new ArrayList<>();
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String fieldName = parser.getCurrentName();
+			JsonToken value = parser.nextToken();
+			if ("deploymentId".equals(fieldName)) {
+				deploymentId = parser.getValueAsString();
+			}
+			else if ("state".equals(fieldName)) {
+				state = parseState(parser);
+			}
+			else if ("instances".equals(fieldName) && value == JsonToken.START_OBJECT) {
+				// instances are keyed by instance id
+				while (parser.nextToken() == JsonToken.FIELD_NAME) {
+					if (parser.nextToken() == JsonToken.START_OBJECT) {
+						instances.add(parseAppInstanceStatus(parser));
+					}
+				}
+			}
+			else {
+				parser.skipChildren();
+			}
+		}
+		AppStatus.Builder builder = AppStatus.of(deploymentId).generalState(state);
+		for (AppInstanceStatus instance : instances) {
+			builder.with(instance);
+		}
+		return builder.build();
+	}
+
+	private static AppInstanceStatus parseAppInstanceStatus(JsonParser parser) throws IOException {
+		String id = null;
+		DeploymentState state = null;
+		Map<String, String> attributes = null;
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String fieldName = parser.getCurrentName();
+			JsonToken value = parser.nextToken();
+			if ("id".equals(fieldName)) {
+				id = parser.getValueAsString();
+			}
+			else if ("state".equals(fieldName)) {
+				state = parseState(parser);
+			}
+			else if ("attributes".equals(fieldName) && value == JsonToken.START_OBJECT) {
+				attributes = new HashMap<>();
+				while (parser.nextToken() == JsonToken.FIELD_NAME) {
+					String name = parser.getCurrentName();
+					if (parser.nextToken().isScalarValue()) {
+						attributes.put(name, parser.getValueAsString());
+					}
+					else {
+						parser.skipChildren();
+					}
+				}
+			}
+			else {
+				parser.skipChildren();
+			}
+		}
+		return new AppInstanceStatusImpl(id, state, attributes);
+	}
+
+	private static DeploymentState parseState(JsonParser parser) throws IOException {
+		String state = parser.getValueAsString();
+		if (state == null) {
+			return null;
+		}
+		try {
+			return DeploymentState.valueOf(state);
+		}
+		catch (IllegalArgumentException e) {
+			throw new JsonParseException(parser, "Unknown deployment state " + state, e);
+		}
+	}
+
+	private static ObjectReader createAppStatusReader() {
+		ObjectMapper mapper = new ObjectMapper();
+		mapper.addMixIn(AppStatus.class, AppStatusMixin.class);
+		mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+		SimpleModule module = new SimpleModule("CustomModel", Version.unknownVersion());
+		SimpleAbstractTypeResolver resolver = new SimpleAbstractTypeResolver();
+		resolver.addMapping(AppInstanceStatus.class, AppInstanceStatusImpl.class);
+		module.setAbstractTypes(resolver);
+		mapper.registerModule(module);
+		return mapper.readerFor(new TypeReference<List<AppStatus>>() {
+		});
+	}
+}
@@ -15,39 +15,40 @@
  */
 package org.springframework.cloud.dataflow.server.stream;
 
-import java.io.File;
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
-import com.fasterxml.jackson.core.Version;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.module.SimpleAbstractTypeResolver;
-import com.fasterxml.jackson.databind.module.SimpleModule;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.json.JSONObject;
 import org.yaml.snakeyaml.DumperOptions;
 import org.yaml.snakeyaml.Yaml;
 
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.cloud.dataflow.core.StreamDefinition;
 import org.springframework.cloud.dataflow.core.StreamDeployment;
 import org.springframework.cloud.dataflow.registry.support.ResourceUtils;
 import org.springframework.cloud.dataflow.server.controller.NoSuchAppException;
 import org.springframework.cloud.dataflow.server.controller.StreamDefinitionController;
+import org.springframework.cloud.dataflow.server.repository.DeploymentIdRepository;
+import org.springframework.cloud.dataflow.server.repository.DeploymentKey;
 import org.springframework.cloud.dataflow.server.repository.StreamDefinitionRepository;
-import org.springframework.cloud.deployer.spi.app.AppInstanceStatus;
 import org.springframework.cloud.deployer.spi.app.AppStatus;
 import org.springframework.cloud.deployer.spi.app.DeploymentState;
 import org.springframework.cloud.deployer.spi.core.AppDeploymentRequest;
@@ -70,10 +71,12 @@ import org.springframework.cloud.skipper.domain.Template;
 import org.springframework.cloud.skipper.domain.UpgradeProperties;
 import org.springframework.cloud.skipper.domain.UpgradeRequest;
 import org.springframework.cloud.skipper.domain.UploadRequest;
-import org.springframework.cloud.skipper.io.DefaultPackageWriter;
-import org.springframework.cloud.skipper.io.PackageWriter;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.util.Assert;
+import org.springframework.util.CustomizableThreadCreator;
 import org.springframework.util.StringUtils;
 
 import static java.util.stream.Collectors.toList;
@@ -94,7 +97,13 @@ import static org.springframework.cloud.dataflow.rest.SkipperStream.SKIPPER_REPO
  * @author Glenn Renfro
  * @author Christian Tzolov
  */
-public class SkipperStreamDeployer implements StreamDeployer {
+public class SkipperStreamDeployer implements StreamDeployer, DisposableBean {
+
+	private static final int DEFAULT_STATUS_CONCURRENCY = 8;
+
+	private static final long DEFAULT_STATUS_TIMEOUT = 10000;
+
+	private static final long DEFAULT_STATE_TTL = 2000;
 
 	private static Log logger = LogFactory.getLog(SkipperStreamDeployer.class);
 
@@ -102,32 +111,110 @@ public class SkipperStreamDeployer implements StreamDeployer {
 
 	private final StreamDefinitionRepository streamDefinitionRepository;
 
+	private final DeploymentIdRepository deploymentIdRepository;
+
 	private final ForkJoinPool forkJoinPool;
 
+	private final InMemoryPackageWriter packageWriter = new InMemoryPackageWriter();
+
+	/**
+	 * Names of the releases the apps belong to, keyed by app deployment id. Mirrors the
+	 * entries of the {@link DeploymentIdRepository} this deployer knows about.
+	 */
+	private final Map<String, String> releaseNames = new ConcurrentHashMap<>();
+
+	private int statusConcurrency = DEFAULT_STATUS_CONCURRENCY;
+
+	/**
+	 * Runs Skipper status calls, created on first use.
+	 */
+	private volatile ThreadPoolExecutor statusExecutor;
+
+	private long statusTimeout = DEFAULT_STATUS_TIMEOUT;
+
+	private long stateTtl = DEFAULT_STATE_TTL;
+
+	private long statusRefreshInterval;
+
+	/**
+	 * Last known app statuses of each release, created on first use.
+	 */
+	private volatile ReleaseStatusCache statusCache;
+
 	public SkipperStreamDeployer(SkipperClient skipperClient, StreamDefinitionRepository streamDefinitionRepository,
-			ForkJoinPool forkJoinPool) {
+			DeploymentIdRepository deploymentIdRepository, ForkJoinPool forkJoinPool) {
 		Assert.notNull(skipperClient, "SkipperClient can not be null");
 		Assert.notNull(streamDefinitionRepository, "StreamDefinitionRepository can not be null");
+		Assert.notNull(deploymentIdRepository, "DeploymentIdRepository can not be null");
 		Assert.notNull(forkJoinPool, "ForkJoinPool can not be null");
 		this.skipperClient = skipperClient;
 		this.streamDefinitionRepository = streamDefinitionRepository;
+		this.deploymentIdRepository = deploymentIdRepository;
 		this.forkJoinPool = forkJoinPool;
 	}
 
+	/**
+	 * Set the maximum number of Skipper status calls made concurrently when computing the
+	 * state of several streams.
+	 *
+	 * @param statusConcurrency the maximum number of concurrent status calls
+	 */
+	public void setStatusConcurrency(int statusConcurrency) {
+		Assert.isTrue(statusConcurrency > 0, "statusConcurrency must be positive");
+		Assert.state(this.statusExecutor == null, "statusConcurrency can not be changed once states were queried");
+		this.statusConcurrency = statusConcurrency;
+	}
+
+	/**
+	 * Set how long to wait for the states of streams before reporting the ones not known
+	 * yet as unknown.
+	 *
+	 * @param statusTimeout the maximum time spent querying the states of streams, in
+	 * milliseconds
+	 */
+	public void setStatusTimeout(long statusTimeout) {
+		Assert.isTrue(statusTimeout > 0, "statusTimeout must be positive");
+		this.statusTimeout = statusTimeout;
+	}
+
+	/**
+	 * Set how long the app statuses of a release, and so the state of the stream, are
+	 * reused for when not refreshed in the background, unless fresh ones are requested.
+	 *
+	 * @param stateTtl the time to live of app statuses in milliseconds, or a non positive
+	 * value to always query Skipper
+	 */
+	public void setStateTtl(long stateTtl) {
+		Assert.state(this.statusCache == null, "stateTtl can not be changed once statuses were queried");
+		this.stateTtl = stateTtl;
+	}
+
+	/**
+	 * Refresh the app statuses of all releases in the background at the given interval,
+	 * instead of querying them once they are older than the state time to live.
+	 *
+	 * @param statusRefreshInterval the refresh interval in milliseconds, or a non positive
+	 * value to not refresh statuses in the background
+	 */
+	public void setStatusRefreshInterval(long statusRefreshInterval) {
+		Assert.state(this.statusCache == null,
+				"statusRefreshInterval can not be changed once statuses were queried");
+		this.statusRefreshInterval = statusRefreshInterval;
+	}
+
+	@Override
+	public void destroy() {
+		if (this.statusExecutor != null) {
+			this.statusExecutor.shutdownNow();
+		}
+		if (this.statusCache != null) {
+			this.statusCache.shutdown();
+		}
+	}
+
 	public static List<AppStatus> deserializeAppStatus(String platformStatus) {
 		try {
-			ObjectMapper mapper = new ObjectMapper();
-			mapper.addMixIn(AppStatus.class, AppStatusMixin.class);
-			mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-			SimpleModule module = new SimpleModule("CustomModel", Version.unknownVersion());
-			SimpleAbstractTypeResolver resolver = new SimpleAbstractTypeResolver();
-			resolver.addMapping(AppInstanceStatus.class, AppInstanceStatusImpl.class);
-			module.setAbstractTypes(resolver);
-			mapper.registerModule(module);
-			TypeReference<List<AppStatus>> typeRef = new TypeReference<List<AppStatus>>() {
-			};
-			List<AppStatus> result = mapper.readValue(platformStatus, typeRef);
-			return result;
+			return SkipperAppStatusParser.parse(platformStatus);
 		}
 		catch (Exception e) {
 			throw new IllegalArgumentException("Could not parse Skipper Platform Status JSON:" + platformStatus, e);
@@ -142,23 +229,98 @@ public class SkipperStreamDeployer implements StreamDeployer {
 
 	@Override
 	public Map<StreamDefinition, DeploymentState> state(List<StreamDefinition> streamDefinitions) {
+		return state(streamDefinitions, false);
+	}
+
+	@Override
+	public Map<StreamDefinition, DeploymentState> state(List<StreamDefinition> streamDefinitions, boolean fresh) {
 		Map<StreamDefinition, DeploymentState> states = new HashMap<>();
+		Map<StreamDefinition, Future<List<AppStatus>>> pending = new LinkedHashMap<>();
+		ReleaseStatusCache statusCache = statusCache();
+		// calls beyond the concurrency limit wait for earlier ones, within the same deadline
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(this.statusTimeout);
 		for (StreamDefinition streamDefinition : streamDefinitions) {
-			try {
-				Info info = this.skipperClient.status(streamDefinition.getName());
-				List<AppStatus> appStatusList = deserializeAppStatus(info.getStatus().getPlatformStatus());
-				Set<DeploymentState> deploymentStateList = appStatusList.stream().map(appStatus -> appStatus.getState())
-						.collect(Collectors.toSet());
-				DeploymentState aggregateState = StreamDefinitionController.aggregateState(deploymentStateList);
-				states.put(streamDefinition, aggregateState);
+			String streamName = streamDefinition.getName();
+			List<AppStatus> appStatuses = fresh ? null : statusCache.getIfPresent(streamName);
+			if (appStatuses != null) {
+				putState(states, streamDefinition, appStatuses);
 			}
-			catch (ReleaseNotFoundException e) {
-				// ignore
+			else {
+				pending.put(streamDefinition, statusExecutor().submit(() -> statusCache.fetch(streamName)));
 			}
 		}
+		try {
+			for (Map.Entry<StreamDefinition, Future<List<AppStatus>>> entry : pending.entrySet()) {
+				String streamName = entry.getKey().getName();
+				try {
+					putState(states, entry.getKey(),
+							entry.getValue().get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS));
+				}
+				catch (TimeoutException e) {
+					logger.warn("Timed out querying the status of stream " + streamName);
+					states.put(entry.getKey(), DeploymentState.unknown);
+				}
+			}
+		}
+		catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IllegalStateException("Could not query the status of streams", e.getCause());
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while querying the status of streams", e);
+		}
+		finally {
+			pending.values().forEach(future -> future.cancel(true));
+		}
 		return states;
 	}
 
+	private static void putState(Map<StreamDefinition, DeploymentState> states, StreamDefinition streamDefinition,
+			List<AppStatus> appStatuses) {
+		// streams without apps are not deployed
+		if (!appStatuses.isEmpty()) {
+			Set<DeploymentState> deploymentStates = appStatuses.stream().map(AppStatus::getState)
+					.collect(Collectors.toSet());
+			states.put(streamDefinition, StreamDefinitionController.aggregateState(deploymentStates));
+		}
+	}
+
+	private ThreadPoolExecutor statusExecutor() {
+		ThreadPoolExecutor statusExecutor = this.statusExecutor;
+		if (statusExecutor == null) {
+			synchronized (this) {
+				statusExecutor = this.statusExecutor;
+				if (statusExecutor == null) {
+					CustomizableThreadCreator threadCreator = new CustomizableThreadCreator("skipper-status-");
+					threadCreator.setDaemon(true);
+					statusExecutor = new ThreadPoolExecutor(this.statusConcurrency, this.statusConcurrency, 60,
+							TimeUnit.SECONDS, new LinkedBlockingQueue<>(), threadCreator::createThread);
+					statusExecutor.allowCoreThreadTimeOut(true);
+					this.statusExecutor = statusExecutor;
+				}
+			}
+		}
+		return statusExecutor;
+	}
+
+	private ReleaseStatusCache statusCache() {
+		ReleaseStatusCache statusCache = this.statusCache;
+		if (statusCache == null) {
+			synchronized (this) {
+				statusCache = this.statusCache;
+				if (statusCache == null) {
+					statusCache = new ReleaseStatusCache(this::skipperStatus, this::findStreamNames,
+							this.forkJoinPool, this.stateTtl, this.statusRefreshInterval);
+					this.statusCache = statusCache;
+				}
+			}
+		}
+		return statusCache;
+	}
+
 	public Release deployStream(StreamDeploymentRequest streamDeploymentRequest) {
 		Map<String, String> streamDeployerProperties = streamDeploymentRequest.getStreamDeployerProperties();
 		String packageVersion = streamDeployerProperties.get(SKIPPER_PACKAGE_VERSION);
@@ -171,19 +333,14 @@ public class SkipperStreamDeployer implements StreamDeployer {
 		String packageName = streamDeployerProperties.get(SKIPPER_PACKAGE_NAME);
 		packageName = (StringUtils.hasText(packageName)) ? packageName : streamDeploymentRequest.getStreamName();
 		// Create the package .zip file to upload
-		File packageFile = createPackageForStream(packageName, packageVersion, streamDeploymentRequest);
+		Package pkg = createPackage(packageName, packageVersion, streamDeploymentRequest);
 		// Upload the package
 		UploadRequest uploadRequest = new UploadRequest();
 		uploadRequest.setName(packageName);
 		uploadRequest.setVersion(packageVersion);
 		uploadRequest.setExtension("zip");
 		uploadRequest.setRepoName(repoName); // TODO use from skipperDeploymentProperties if set.
-		try {
-			uploadRequest.setPackageFileAsBytes(Files.readAllBytes(packageFile.toPath()));
-		}
-		catch (IOException e) {
-			throw new IllegalArgumentException("Can't read packageFile " + packageFile, e);
-		}
+		uploadRequest.setPackageFileAsBytes(this.packageWriter.write(pkg));
 		skipperClient.upload(uploadRequest);
 		// Install the package
 		String streamName = streamDeploymentRequest.getStreamName();
@@ -199,27 +356,11 @@ public class SkipperStreamDeployer implements StreamDeployer {
 		installProperties.setConfigValues(new ConfigValues());
 		installRequest.setInstallProperties(installProperties);
 		Release release = skipperClient.install(installRequest);
-		// TODO store releasename in deploymentIdRepository...
+		invalidate(streamName);
+		indexDeploymentIds(release);
 		return release;
 	}
 
-	private File createPackageForStream(String packageName, String packageVersion,
-			StreamDeploymentRequest streamDeploymentRequest) {
-		PackageWriter packageWriter = new DefaultPackageWriter();
-		Package pkgtoWrite = createPackage(packageName, packageVersion, streamDeploymentRequest);
-		Path tempPath;
-		try {
-			tempPath = Files.createTempDirectory("streampackages");
-		}
-		catch (IOException e) {
-			throw new IllegalArgumentException("Can't create temp diroectory");
-		}
-		File outputDirectory = tempPath.toFile();
-
-		File zipFile = packageWriter.write(pkgtoWrite, outputDirectory);
-		return zipFile;
-	}
-
 	private Package createPackage(String packageName, String packageVersion,
 			StreamDeploymentRequest streamDeploymentRequest) {
 		Package pkg = new Package();
@@ -307,30 +448,77 @@ public class SkipperStreamDeployer implements StreamDeployer {
 	@Override
 	public void undeployStream(String streamName) {
 		this.skipperClient.delete(streamName);
+		invalidate(streamName);
+		this.releaseNames.values().removeIf(streamName::equals);
+		try {
+			// also forgets the apps this deployer has not seen, e.g. since a restart
+			this.deploymentIdRepository.deleteByKeyPrefixAndId(DeploymentKey.SKIPPER_PREFIX, streamName);
+		}
+		catch (DataAccessException e) {
+			logger.debug("Could not remove the apps of release " + streamName + " from the release index", e);
+		}
 	}
 
 	@Override
-	public List<AppStatus> getAppStatuses(Pageable pageable) throws ExecutionException, InterruptedException {
-		List<String> skipperStreams = new ArrayList<>();
-		Iterable<StreamDefinition> streamDefinitions = this.streamDefinitionRepository.findAll();
-		for (StreamDefinition streamDefinition : streamDefinitions) {
-			skipperStreams.add(streamDefinition.getName());
+	public Page<AppStatus> getAppStatuses(Pageable pageable) throws ExecutionException, InterruptedException {
+		return getAppStatuses(pageable, false);
+	}
+
+	@Override
+	public Page<AppStatus> getAppStatuses(Pageable pageable, boolean fresh)
+			throws ExecutionException, InterruptedException {
+		List<AppStatus> statuses;
+		if (!fresh) {
+			statuses = statusCache().getAll();
+		}
+		else {
+			List<String> streamNames = new ArrayList<>(new TreeSet<>(findStreamNames()));
+			statuses = this.forkJoinPool.submit(() -> streamNames.parallelStream()
+					.map(streamName -> releaseStatuses(streamName, true)).collect(toList())).get()
+					.stream().flatMap(List::stream).collect(toList());
 		}
-		List<AppStatus> statuses = new ArrayList<>();
-		statuses.addAll(getSkipperStatuses(pageable, skipperStreams).stream().flatMap(List::stream).collect(toList()));
-		return statuses;
+		int from = Math.min(pageable.getOffset(), statuses.size());
+		int to = Math.min(from + pageable.getPageSize(), statuses.size());
+		return new PageImpl<>(statuses.subList(from, to), pageable, statuses.size());
 	}
 
 	@Override
 	public AppStatus getAppStatus(String id) {
-		Iterable<StreamDefinition> streamDefinitions = this.streamDefinitionRepository.findAll();
-		for (StreamDefinition streamDefinition : streamDefinitions) {
-			List<AppStatus> appStatuses = skipperStatus(streamDefinition.getName());
-			for (AppStatus appStatus : appStatuses) {
-				if (appStatus.getDeploymentId().equals(id)) {
+		return getAppStatus(id, false);
+	}
+
+	@Override
+	public AppStatus getAppStatus(String id, boolean fresh) {
+		String releaseName = findReleaseName(id);
+		if (releaseName != null) {
+			// failures propagate, so that the app is only forgotten once Skipper answered
+			AppStatus appStatus = findAppStatus(id, releaseStatuses(releaseName, fresh));
+			if (appStatus == null && !fresh) {
+				appStatus = findAppStatus(id, releaseStatuses(releaseName, true));
+			}
+			if (appStatus != null) {
+				return appStatus;
+			}
+			// the app is no longer part of that release, e.g. after an upgrade
+			forgetDeploymentId(id);
+		}
+		RuntimeException failure = null;
+		for (String streamName : findStreamNames()) {
+			try {
+				AppStatus appStatus = findAppStatus(id, releaseStatuses(streamName, fresh));
+				if (appStatus != null) {
 					return appStatus;
 				}
 			}
+			catch (RuntimeException e) {
+				// the app may be part of another release
+				if (failure == null) {
+					failure = e;
+				}
+			}
+		}
+		if (failure != null) {
+			throw failure;
 		}
 		throw new NoSuchAppException(id);
 	}
@@ -363,27 +551,116 @@ public class SkipperStreamDeployer implements StreamDeployer {
 		}
 	}
 
-	private List<List<AppStatus>> getSkipperStatuses(Pageable pageable, List<String> skipperStreamNames)
-			throws ExecutionException, InterruptedException {
-		//todo: Pageable values correspond to the number apps while Skipper status is done at the stream level.
-		//todo: Fix the mismatch with Skipper stream apps' pagination
-		return this.forkJoinPool
-				.submit(() -> skipperStreamNames.stream().skip(pageable.getPageNumber() * pageable.getPageSize())
-						.limit(pageable.getPageSize()).parallel().map(this::skipperStatus).collect(toList())).get();
+	private List<String> findStreamNames() {
+		List<String> streamNames = new ArrayList<>();
+		for (StreamDefinition streamDefinition : this.streamDefinitionRepository.findAll()) {
+			streamNames.add(streamDefinition.getName());
+		}
+		return streamNames;
+	}
+
+	private List<AppStatus> releaseStatuses(String releaseName, boolean fresh) {
+		return fresh ? statusCache().fetch(releaseName) : statusCache().get(releaseName);
+	}
+
+	private static AppStatus findAppStatus(String id, List<AppStatus> appStatuses) {
+		for (AppStatus appStatus : appStatuses) {
+			if (id.equals(appStatus.getDeploymentId())) {
+				return appStatus;
+			}
+		}
+		return null;
+	}
+
+	private void invalidate(String releaseName) {
+		if (this.statusCache != null) {
+			this.statusCache.invalidate(releaseName);
+		}
 	}
 
+	/**
+	 * Query the statuses of the apps of the given release, which has none if it does not
+	 * exist. Other failures propagate, so that they are not mistaken for undeployed apps.
+	 */
 	private List<AppStatus> skipperStatus(String streamName) {
-		List<AppStatus> appStatuses = new ArrayList<>();
+		Info info;
 		try {
-			Info info = this.skipperClient.status(streamName);
-			appStatuses.addAll(SkipperStreamDeployer.deserializeAppStatus(info.getStatus().getPlatformStatus()));
+			info = this.skipperClient.status(streamName);
 		}
-		catch (Exception e) {
-			// ignore as we query status for all the streams.
+		catch (ReleaseNotFoundException e) {
+			// we query status for all the streams, deployed or not
+			return Collections.emptyList();
 		}
+		List<AppStatus> appStatuses = SkipperStreamDeployer.deserializeAppStatus(info.getStatus().getPlatformStatus());
+		indexDeploymentIds(streamName, appStatuses);
 		return appStatuses;
 	}
 
+	private String findReleaseName(String deploymentId) {
+		String releaseName = this.releaseNames.get(deploymentId);
+		if (releaseName == null) {
+			releaseName = this.deploymentIdRepository.findOne(DeploymentKey.forSkipperDeploymentId(deploymentId));
+			if (releaseName != null) {
+				this.releaseNames.put(deploymentId, releaseName);
+			}
+		}
+		return releaseName;
+	}
+
+	private void indexDeploymentIds(Release release) {
+		if (release != null && release.getInfo() != null && release.getInfo().getStatus() != null
+				&& StringUtils.hasText(release.getInfo().getStatus().getPlatformStatus())) {
+			indexDeploymentIds(release.getName(),
+					deserializeAppStatus(release.getInfo().getStatus().getPlatformStatus()));
+		}
+	}
+
+	/**
+	 * Record the release the given apps belong to, so that looking up the status of one of
+	 * them later only requires the status of that release.
+	 */
+	private void indexDeploymentIds(String releaseName, List<AppStatus> appStatuses) {
+		Map<String, String> keys = new HashMap<>();
+		for (AppStatus appStatus : appStatuses) {
+			String deploymentId = appStatus.getDeploymentId();
+			if (deploymentId != null && !releaseName.equals(this.releaseNames.get(deploymentId))) {
+				keys.put(DeploymentKey.forSkipperDeploymentId(deploymentId), deploymentId);
+			}
+		}
+		if (keys.isEmpty()) {
+			return;
+		}
+		try {
+			Map<String, String> persisted = this.deploymentIdRepository.findIdsByKeys(keys.keySet());
+			Map<String, String> keysToReleaseNames = new HashMap<>();
+			for (Map.Entry<String, String> entry : keys.entrySet()) {
+				String persistedReleaseName = persisted.get(entry.getKey());
+				if (!releaseName.equals(persistedReleaseName)) {
+					if (persistedReleaseName != null) {
+						this.deploymentIdRepository.delete(entry.getKey());
+					}
+					keysToReleaseNames.put(entry.getKey(), releaseName);
+				}
+				this.releaseNames.put(entry.getValue(), releaseName);
+			}
+			this.deploymentIdRepository.save(keysToReleaseNames);
+		}
+		catch (DataAccessException e) {
+			// the index is only a shortcut, lookups fall back to querying all the releases
+			logger.debug("Could not index the apps of release " + releaseName, e);
+		}
+	}
+
+	private void forgetDeploymentId(String deploymentId) {
+		this.releaseNames.remove(deploymentId);
+		try {
+			this.deploymentIdRepository.delete(DeploymentKey.forSkipperDeploymentId(deploymentId));
+		}
+		catch (DataAccessException e) {
+			logger.debug("Could not remove app " + deploymentId + " from the release index", e);
+		}
+	}
+
 	/**
 	 * Update the stream identified by the PackageIdentifier and runtime configuration values.
 	 * @param streamName the name of the stream to upgrade
@@ -399,7 +676,10 @@ public class SkipperStreamDeployer implements StreamDeployer {
 		upgradeProperties.setConfigValues(configValues);
 		upgradeProperties.setReleaseName(streamName);
 		upgradeRequest.setUpgradeProperties(upgradeProperties);
-		return this.skipperClient.upgrade(upgradeRequest);
+		Release release = this.skipperClient.upgrade(upgradeRequest);
+		invalidate(streamName);
+		indexDeploymentIds(release);
+		return release;
 	}
 
 	/**
@@ -409,6 +689,7 @@ public class SkipperStreamDeployer implements StreamDeployer {
 	 */
 	public void rollbackStream(String streamName, int releaseVersion) {
 		this.skipperClient.rollback(streamName, releaseVersion);
+		invalidate(streamName);
 	}
 
 	public String manifest(String name, int version) {
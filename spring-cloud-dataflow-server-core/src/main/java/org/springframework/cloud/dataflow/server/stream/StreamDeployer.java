@@ -24,6 +24,7 @@ import org.springframework.cloud.dataflow.core.StreamDeployment;
 import org.springframework.cloud.deployer.spi.app.AppStatus;
 import org.springframework.cloud.deployer.spi.app.DeploymentState;
 import org.springframework.cloud.deployer.spi.core.RuntimeEnvironmentInfo;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 /**
@@ -38,6 +39,17 @@ public interface StreamDeployer {
 
 	Map<StreamDefinition, DeploymentState> state(List<StreamDefinition> content);
 
+	/**
+	 * Variant of {@link #state(List)} that can bypass any cached app status.
+	 *
+	 * @param content the stream definitions to compute the state of
+	 * @param fresh whether to query the platform rather than rely on cached statuses
+	 * @return the deployment state of each stream
+	 */
+	default Map<StreamDefinition, DeploymentState> state(List<StreamDefinition> content, boolean fresh) {
+		return state(content);
+	}
+
 	/**
 	 * Undeploys the stream identified by the given stream name.
 	 *
@@ -45,10 +57,44 @@ public interface StreamDeployer {
 	 */
 	void undeployStream(String name);
 
-	List<AppStatus> getAppStatuses(Pageable pageable) throws ExecutionException, InterruptedException;
+	/**
+	 * Get the statuses of a page of deployed apps.
+	 *
+	 * @param pageable the page of apps to return
+	 * @return the statuses of the apps in the requested page, along with the total number
+	 * of deployed apps
+	 * @throws ExecutionException if querying app statuses failed
+	 * @throws InterruptedException if interrupted while querying app statuses
+	 */
+	Page<AppStatus> getAppStatuses(Pageable pageable) throws ExecutionException, InterruptedException;
+
+	/**
+	 * Variant of {@link #getAppStatuses(Pageable)} that can bypass any cached app status.
+	 *
+	 * @param pageable the page of apps to return
+	 * @param fresh whether to query the platform rather than rely on cached statuses
+	 * @return the statuses of the apps in the requested page
+	 * @throws ExecutionException if querying app statuses failed
+	 * @throws InterruptedException if interrupted while querying app statuses
+	 */
+	default Page<AppStatus> getAppStatuses(Pageable pageable, boolean fresh)
+			throws ExecutionException, InterruptedException {
+		return getAppStatuses(pageable);
+	}
 
 	AppStatus getAppStatus(String id);
 
+	/**
+	 * Variant of {@link #getAppStatus(String)} that can bypass any cached app status.
+	 *
+	 * @param id the deployment id of the app
+	 * @param fresh whether to query the platform rather than rely on a cached status
+	 * @return the status of the app
+	 */
+	default AppStatus getAppStatus(String id, boolean fresh) {
+		return getAppStatus(id);
+	}
+
 	RuntimeEnvironmentInfo environmentInfo();
 
 	/**
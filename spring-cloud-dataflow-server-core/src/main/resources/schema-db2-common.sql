@@ -2,3 +2,8 @@ CREATE TABLE URI_REGISTRY  (
 	NAME VARCHAR(255) NOT NULL PRIMARY KEY,
 	URI VARCHAR(255) NOT NULL
 );
+
+CREATE TABLE DEFINITION_VERSIONS  (
+	DEFINITION_TABLE VARCHAR(255) NOT NULL PRIMARY KEY,
+	DEFINITION_VERSION BIGINT NOT NULL
+);
@@ -212,8 +212,9 @@ public class TestDependencies extends WebMvcConfigurationSupport {
 	@Bean
 	@ConditionalOnSkipperEnabled
 	public SkipperStreamDeployer skipperStreamDeployer(SkipperClient skipperClient,
-			StreamDefinitionRepository streamDefinitionRepository) {
-		return new SkipperStreamDeployer(skipperClient, streamDefinitionRepository, new ForkJoinPool(2));
+			StreamDefinitionRepository streamDefinitionRepository, DeploymentIdRepository deploymentIdRepository) {
+		return new SkipperStreamDeployer(skipperClient, streamDefinitionRepository, deploymentIdRepository,
+				new ForkJoinPool(2));
 	}
 
 	@Bean
@@ -291,7 +292,7 @@ public class TestDependencies extends WebMvcConfigurationSupport {
 	public MetricStore metricStore(MetricsProperties metricsProperties) {
 		return new MetricStore(metricsProperties) {
 			@Override
-			public List<ApplicationsMetrics> getMetrics() {
+			protected List<ApplicationsMetrics> fetchMetrics() {
 				List<ApplicationsMetrics> metrics = new ArrayList<>();
 				ApplicationsMetrics am = new ApplicationsMetrics();
 				am.setName("ticktock1");
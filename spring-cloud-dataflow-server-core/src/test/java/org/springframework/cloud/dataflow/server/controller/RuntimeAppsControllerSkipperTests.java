@@ -49,6 +49,7 @@ import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -155,9 +156,10 @@ public class RuntimeAppsControllerSkipperTests {
 	public void testListRuntimeAppsPageSizes() throws Exception {
 		MockHttpServletResponse responseString = mockMvc
 				.perform(get("/runtime/apps?page=0&size=1").accept(MediaType.APPLICATION_JSON)).andDo(print())
-				.andExpect(status().isOk()).andReturn().getResponse();
+				.andExpect(status().isOk()).andExpect(jsonPath("$.page.totalElements", is(4))).andReturn()
+				.getResponse();
 		assertThat(responseString.getContentAsString().contains("ticktock3.log"), is(true));
-		assertThat(responseString.getContentAsString().contains("ticktock3.time"), is(true));
+		assertThat(responseString.getContentAsString().contains("ticktock3.time"), is(false));
 		assertThat(responseString.getContentAsString().contains("ticktock4.log"), is(false));
 		assertThat(responseString.getContentAsString().contains("ticktock4.time"), is(false));
 
@@ -165,14 +167,19 @@ public class RuntimeAppsControllerSkipperTests {
 				.andDo(print()).andExpect(status().isOk()).andReturn().getResponse();
 		assertThat(responseString.getContentAsString().contains("ticktock3.log"), is(true));
 		assertThat(responseString.getContentAsString().contains("ticktock3.time"), is(true));
-		assertThat(responseString.getContentAsString().contains("ticktock4.log"), is(true));
-		assertThat(responseString.getContentAsString().contains("ticktock4.time"), is(true));
+		assertThat(responseString.getContentAsString().contains("ticktock4.log"), is(false));
+		assertThat(responseString.getContentAsString().contains("ticktock4.time"), is(false));
 
 		responseString = mockMvc.perform(get("/runtime/apps?page=1&size=2").accept(MediaType.APPLICATION_JSON))
 				.andDo(print()).andExpect(status().isOk()).andReturn().getResponse();
 		assertThat(responseString.getContentAsString().contains("ticktock3.log"), is(false));
 		assertThat(responseString.getContentAsString().contains("ticktock3.time"), is(false));
-		assertThat(responseString.getContentAsString().contains("ticktock4.log"), is(false));
-		assertThat(responseString.getContentAsString().contains("ticktock4.time"), is(false));
+		assertThat(responseString.getContentAsString().contains("ticktock4.log"), is(true));
+		assertThat(responseString.getContentAsString().contains("ticktock4.time"), is(true));
+
+		responseString = mockMvc.perform(get("/runtime/apps?page=2&size=2").accept(MediaType.APPLICATION_JSON))
+				.andDo(print()).andExpect(status().isOk()).andReturn().getResponse();
+		assertThat(responseString.getContentAsString().contains("ticktock3"), is(false));
+		assertThat(responseString.getContentAsString().contains("ticktock4"), is(false));
 	}
 }
@@ -166,6 +166,8 @@ public class RuntimeAppsControllerTests {
 		assertThat(responseString.getContentAsString().contains("ticktock2.log"), is(true));
 		assertThat(responseString.getContentAsString().contains("ticktock2.time"), is(true));
 
+		assertThat(responseString.getContentAsString().contains("\"totalElements\":4"), is(true));
+
 		responseString = mockMvc.perform(get("/runtime/apps?page=3&size=1").accept(MediaType.APPLICATION_JSON))
 				.andDo(print()).andExpect(status().isOk()).andReturn().getResponse();
 		assertThat(responseString.getContentAsString().contains("ticktock1.log"), is(false));
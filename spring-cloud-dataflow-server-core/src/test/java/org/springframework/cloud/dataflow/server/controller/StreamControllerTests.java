@@ -65,6 +65,7 @@ import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.startsWith;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
@@ -265,6 +266,14 @@ public class StreamControllerTests {
 		assertTrue(response3.contains(":myStream1 > log"));
 		assertTrue(response3.contains(":myStream2 > log"));
 		assertTrue(response3.contains("\"totalElements\":2"));
+
+		String response4 = mockMvc.perform(get("/streams/definitions/myStream1/related?nested=true&page=1&size=4")
+				.accept(MediaType.APPLICATION_JSON)).andReturn().getResponse().getContentAsString();
+		assertTrue(response4.contains("\"totalElements\":6"));
+		assertTrue(response4.contains(":myStream3 > log"));
+		assertTrue(response4.contains(":TapOnMyStream3 > log"));
+		assertFalse(response4.contains("time | log"));
+		assertFalse(response4.contains(":myStream1 > log"));
 	}
 
 	@Test
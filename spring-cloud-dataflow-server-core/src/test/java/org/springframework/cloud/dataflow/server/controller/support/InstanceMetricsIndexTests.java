@@ -0,0 +1,94 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.controller.support;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InstanceMetricsIndexTests {
+
+	private final Map<String, String> renderedMetrics = new LinkedHashMap<>();
+
+	public InstanceMetricsIndexTests() {
+		renderedMetrics.put("integration.channel.input.send.mean", "metrics.integration.channel.input.receiveRate");
+		renderedMetrics.put("integration.channel.output.send.mean", "metrics.integration.channel.output.sendRate");
+	}
+
+	@Test
+	public void renderedMetricsAreFormatted() {
+		InstanceMetricsIndex index = new InstanceMetricsIndex(Collections.singletonList(
+				metrics("guid1", metric("integration.channel.input.send.mean", 2.675),
+						metric("integration.channel.output.send.mean", "10"), metric("other", 1.0))),
+				renderedMetrics);
+
+		Map<String, String> attributes = new HashMap<>();
+		attributes.put("guid", "guid1");
+		Map<String, String> enriched = index.enrich(attributes);
+
+		Map<String, String> expected = new HashMap<>(attributes);
+		expected.put("metrics.integration.channel.input.receiveRate", "2.68");
+		expected.put("metrics.integration.channel.output.sendRate", "10.00");
+		assertThat(enriched).isEqualTo(expected);
+		assertThat(attributes).hasSize(1);
+	}
+
+	@Test
+	public void attributesOfUnknownInstancesAreUnchanged() {
+		InstanceMetricsIndex index = new InstanceMetricsIndex(Collections.singletonList(
+				metrics("guid1", metric("integration.channel.input.send.mean", 1.0))), renderedMetrics);
+
+		Map<String, String> attributes = Collections.singletonMap("guid", "guid2");
+		assertThat(index.enrich(attributes)).isSameAs(attributes);
+	}
+
+	@Test
+	public void renderedMetricsOverrideAttributes() {
+		InstanceMetricsIndex index = new InstanceMetricsIndex(Collections.singletonList(
+				metrics("guid1", metric("integration.channel.input.send.mean", 1.0))), renderedMetrics);
+
+		Map<String, String> attributes = new HashMap<>();
+		attributes.put("guid", "guid1");
+		attributes.put("metrics.integration.channel.input.receiveRate", "0.00");
+		assertThat(index.enrich(attributes)).containsEntry("metrics.integration.channel.input.receiveRate", "1.00")
+				.hasSize(2);
+	}
+
+	private static ApplicationsMetrics metrics(String guid, ApplicationsMetrics.Metric... metrics) {
+		ApplicationsMetrics.Instance instance = new ApplicationsMetrics.Instance();
+		instance.setGuid(guid);
+		instance.setMetrics(Arrays.asList(metrics));
+		ApplicationsMetrics.Application application = new ApplicationsMetrics.Application();
+		application.setInstances(Collections.singletonList(instance));
+		ApplicationsMetrics applicationsMetrics = new ApplicationsMetrics();
+		applicationsMetrics.setApplications(Collections.singletonList(application));
+		return applicationsMetrics;
+	}
+
+	private static ApplicationsMetrics.Metric metric(String name, Object value) {
+		ApplicationsMetrics.Metric metric = new ApplicationsMetrics.Metric();
+		metric.setName(name);
+		metric.setValue(value);
+		return metric;
+	}
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.dataflow.server.controller.support;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.cloud.dataflow.server.config.MetricsProperties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MetricStoreTests {
+
+	private final MetricsProperties metricsProperties = new MetricsProperties();
+
+	private volatile List<ApplicationsMetrics> response = Collections.singletonList(metrics("guid1", 1.0));
+
+	private volatile RuntimeException failure;
+
+	private volatile int fetches;
+
+	private volatile CountDownLatch collectorAvailable = new CountDownLatch(0);
+
+	private TestMetricStore metricStore;
+
+	@Before
+	public void setup() throws InterruptedException {
+		this.metricsProperties.getCollector().setUri("http://localhost:8080");
+		// long interval, so that refreshes after the first one only happen when explicitly
+		// requested
+		this.metricsProperties.getCollector().setRefreshInterval(60_000L);
+		this.metricStore = new TestMetricStore(this.metricsProperties);
+		awaitFirstRefresh();
+	}
+
+	@After
+	public void tearDown() {
+		this.metricStore.destroy();
+	}
+
+	@Test
+	public void metricsAreServedFromSnapshotUntilRefreshed() {
+		List<ApplicationsMetrics> metrics = this.metricStore.getMetrics();
+		assertThat(metrics).hasSize(1);
+		assertThat(enrich("guid1")).containsEntry("metrics.integration.channel.input.receiveRate", "1.00");
+
+		this.response = Collections.singletonList(metrics("guid1", 2.0));
+		assertThat(this.metricStore.getMetrics()).isEqualTo(metrics);
+		assertThat(enrich("guid1")).containsEntry("metrics.integration.channel.input.receiveRate", "1.00");
+		assertThat(this.fetches).isEqualTo(1);
+
+		this.metricStore.refresh();
+		assertThat(this.metricStore.getMetrics()).isNotEqualTo(metrics);
+		assertThat(enrich("guid1")).containsEntry("metrics.integration.channel.input.receiveRate", "2.00");
+		assertThat(this.fetches).isEqualTo(2);
+	}
+
+	@Test
+	public void failedRefreshKeepsLastKnownMetrics() {
+		this.failure = new IllegalStateException("collector is down");
+		this.metricStore.refresh();
+		assertThat(this.metricStore.getMetrics()).hasSize(1);
+		assertThat(enrich("guid1")).containsEntry("metrics.integration.channel.input.receiveRate", "1.00");
+
+		this.failure = null;
+		this.response = Collections.singletonList(metrics("guid1", 2.0));
+		this.metricStore.refresh();
+		assertThat(enrich("guid1")).containsEntry("metrics.integration.channel.input.receiveRate", "2.00");
+	}
+
+	@Test
+	public void readsDoNotWaitOnTheFirstRefresh() throws InterruptedException {
+		this.metricStore.destroy();
+		this.fetches = 0;
+		this.collectorAvailable = new CountDownLatch(1);
+		this.metricStore = new TestMetricStore(this.metricsProperties);
+		assertThat(this.metricStore.getMetrics()).isEmpty();
+		assertThat(enrich("guid1")).containsOnlyKeys("guid");
+
+		this.collectorAvailable.countDown();
+		awaitFirstRefresh();
+		assertThat(this.fetches).isEqualTo(1);
+	}
+
+	@Test
+	public void metricsAreFetchedOnEveryReadWithoutBackgroundRefresh() {
+		this.metricStore.destroy();
+		this.metricsProperties.getCollector().setRefreshInterval(0L);
+		this.metricStore = new TestMetricStore(this.metricsProperties);
+		this.fetches = 0;
+		this.metricStore.getMetrics();
+		this.metricStore.getMetrics();
+		assertThat(this.fetches).isEqualTo(2);
+	}
+
+	private void awaitFirstRefresh() throws InterruptedException {
+		for (int i = 0; i < 500 && this.metricStore.getMetrics().isEmpty(); i++) {
+			Thread.sleep(10L);
+		}
+		assertThat(this.metricStore.getMetrics()).hasSize(1);
+	}
+
+	private Map<String, String> enrich(String guid) {
+		return this.metricStore.getInstanceMetrics().enrich(Collections.singletonMap("guid", guid));
+	}
+
+	private static ApplicationsMetrics metrics(String guid, double receiveRate) {
+		ApplicationsMetrics.Metric metric = new ApplicationsMetrics.Metric();
+		metric.setName("integration.channel.input.send.mean");
+		metric.setValue(receiveRate);
+		ApplicationsMetrics.Instance instance = new ApplicationsMetrics.Instance();
+		instance.setGuid(guid);
+		instance.setMetrics(Collections.singletonList(metric));
+		ApplicationsMetrics.Application application = new ApplicationsMetrics.Application();
+		application.setName("time");
+		application.setInstances(Collections.singletonList(instance));
+		ApplicationsMetrics metrics = new ApplicationsMetrics();
+		metrics.setName("ticktock");
+		metrics.setApplications(Collections.singletonList(application));
+		return metrics;
+	}
+
+	private class TestMetricStore extends MetricStore {
+
+		TestMetricStore(MetricsProperties metricsProperties) {
+			super(metricsProperties);
+		}
+
+		@Override
+		protected List<ApplicationsMetrics> fetchMetrics() {
+			try {
+				collectorAvailable.await();
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException(e);
+			}
+			if (failure != null) {
+				fetches++;
+				throw failure;
+			}
+			List<ApplicationsMetrics> metrics = response;
+			fetches++;
+			return metrics;
+		}
+	}
+
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.job.support;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.batch.admin.service.JobService;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.cloud.dataflow.rest.job.StepExecutionHistory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class StepExecutionHistoryCacheTests {
+
+	private final List<StepExecution> stepExecutions = new ArrayList<>();
+
+	private StepExecutionHistoryCache cache;
+
+	@Before
+	public void setup() {
+		JobService jobService = mock(JobService.class);
+		// executions are listed newest first
+		when(jobService.listStepExecutionsForStep(eq("job"), eq("step"), anyInt(), anyInt())).thenAnswer(invocation -> {
+			int start = invocation.getArgumentAt(2, Integer.class);
+			int count = invocation.getArgumentAt(3, Integer.class);
+			List<StepExecution> newestFirst = new ArrayList<>();
+			for (int i = stepExecutions.size() - 1; i >= 0; i--) {
+				newestFirst.add(stepExecutions.get(i));
+			}
+			return newestFirst.subList(Math.min(start, newestFirst.size()),
+					Math.min(start + count, newestFirst.size()));
+		});
+		this.cache = new StepExecutionHistoryCache(jobService);
+	}
+
+	@Test
+	public void newExecutionsAreAppended() {
+		addStepExecution(1, 100L);
+		addStepExecution(2, 200L);
+		StepExecutionHistory history = cache.getHistory("job", "step");
+		assertThat(history.getCount()).isEqualTo(2);
+		assertThat(history.getDuration().getMean()).isEqualTo(150.0);
+
+		addStepExecution(3, 300L);
+		assertThat(cache.getHistory("job", "step").getCount()).isEqualTo(3);
+		// returned histories are not affected by later executions
+		assertThat(history.getCount()).isEqualTo(2);
+	}
+
+	@Test
+	public void unfinishedExecutionsAreAppendedOnceFinished() {
+		addStepExecution(1, 100L);
+		StepExecution running = addStepExecution(2, null);
+		addStepExecution(3, 300L);
+		assertThat(cache.getHistory("job", "step").getCount()).isEqualTo(2);
+		assertThat(cache.getHistory("job", "step").getCount()).isEqualTo(2);
+
+		running.setEndTime(new Date(running.getStartTime().getTime() + 200L));
+		StepExecutionHistory history = cache.getHistory("job", "step");
+		assertThat(history.getCount()).isEqualTo(3);
+		assertThat(history.getDuration().getMean()).isEqualTo(200.0);
+	}
+
+	private StepExecution addStepExecution(long id, Long duration) {
+		StepExecution stepExecution = new StepExecution("step", null);
+		stepExecution.setId(id);
+		stepExecution.setStartTime(new Date(0));
+		if (duration != null) {
+			stepExecution.setEndTime(new Date(duration));
+		}
+		stepExecutions.add(stepExecution);
+		return stepExecution;
+	}
+}
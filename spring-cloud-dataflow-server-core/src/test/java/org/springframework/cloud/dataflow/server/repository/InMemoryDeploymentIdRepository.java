@@ -16,9 +16,16 @@
 
 package org.springframework.cloud.dataflow.server.repository;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 import org.springframework.util.Assert;
 
 /**
@@ -41,13 +48,48 @@ public class InMemoryDeploymentIdRepository implements DeploymentIdRepository {
 		deployments.put(key, id);
 	}
 
+	@Override
+	public void save(Map<String, String> keysToIds) {
+		keysToIds.forEach(this::save);
+	}
+
 	@Override
 	public String findOne(String key) {
 		return deployments.get(key);
 	}
 
+	@Override
+	public Map<String, String> findIdsByKeys(Collection<String> keys) {
+		Map<String, String> result = new HashMap<>();
+		for (String key : keys) {
+			String id = deployments.get(key);
+			if (id != null) {
+				result.put(key, id);
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public Page<String> findStreamAppIds(Pageable pageable) {
+		// deployed streams are not known here, only Skipper release names are left out
+		List<String> ids = deployments.entrySet().stream()
+				.filter(entry -> !entry.getKey().startsWith(DeploymentKey.SKIPPER_PREFIX))
+				.map(Map.Entry::getValue)
+				.sorted()
+				.collect(Collectors.toList());
+		List<String> page = ids.stream().skip(pageable.getOffset()).limit(pageable.getPageSize())
+				.collect(Collectors.toList());
+		return new PageImpl<>(page, pageable, ids.size());
+	}
+
 	@Override
 	public void delete(String key) {
 		deployments.remove(key);
 	}
+
+	@Override
+	public void deleteByKeyPrefixAndId(String keyPrefix, String id) {
+		deployments.entrySet().removeIf(entry -> entry.getKey().startsWith(keyPrefix) && entry.getValue().equals(id));
+	}
 }
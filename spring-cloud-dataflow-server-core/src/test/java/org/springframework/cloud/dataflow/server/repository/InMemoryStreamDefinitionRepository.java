@@ -20,10 +20,12 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.cloud.dataflow.core.StreamDefinition;
 import org.springframework.cloud.dataflow.server.repository.support.SearchPageable;
+import org.springframework.cloud.dataflow.server.repository.support.StreamDestinationIndex;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -69,6 +71,14 @@ public class InMemoryStreamDefinitionRepository implements StreamDefinitionRepos
 		return definition;
 	}
 
+	@Override
+	public StreamDefinition update(StreamDefinition definition) {
+		if (definitions.replace(definition.getName(), definition) == null) {
+			throw new NoSuchStreamDefinitionException(definition.getName());
+		}
+		return definition;
+	}
+
 	@Override
 	public StreamDefinition findOne(String name) {
 		return definitions.get(name);
@@ -122,6 +132,11 @@ public class InMemoryStreamDefinitionRepository implements StreamDefinitionRepos
 		definitions.clear();
 	}
 
+	@Override
+	public Set<String> findRelatedStreamNames(String name) {
+		return new StreamDestinationIndex(definitions.values()).findRelatedStreamNames(name);
+	}
+
 	@Override
 	public Page<StreamDefinition> search(SearchPageable searchPageable) {
 		throw new UnsupportedOperationException();
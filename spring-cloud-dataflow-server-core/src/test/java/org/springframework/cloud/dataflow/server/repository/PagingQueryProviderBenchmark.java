@@ -0,0 +1,119 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.dataflow.server.repository;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import org.springframework.cloud.dataflow.core.StreamDefinition;
+import org.springframework.cloud.dataflow.server.repository.support.Order;
+import org.springframework.cloud.dataflow.server.repository.support.PagingQueryProvider;
+import org.springframework.cloud.dataflow.server.repository.support.SqlPagingQueryProviderFactoryBean;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+/**
+ * Compares the per page overhead of paging through 200 stream definitions stored in H2,
+ * with a paging query provider created for every page and with the cached ones. Run with
+ * the {@code main} method from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PagingQueryProviderBenchmark {
+
+	private static final int DEFINITIONS = 200;
+
+	private final Pageable pageable = new PageRequest(3, 20, new Sort(Sort.Direction.DESC, "DEFINITION_NAME"));
+
+	private EmbeddedDatabase dataSource;
+
+	private RdbmsStreamDefinitionRepository repository;
+
+	@Setup
+	public void setup() {
+		this.dataSource = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true)
+				.build();
+		new JdbcTemplate(this.dataSource).execute(
+				"CREATE TABLE STREAM_DEFINITIONS (DEFINITION_NAME VARCHAR(255) NOT NULL PRIMARY KEY, DEFINITION CLOB)");
+		this.repository = new RdbmsStreamDefinitionRepository(this.dataSource);
+		for (int i = 0; i < DEFINITIONS; i++) {
+			this.repository.save(new StreamDefinition("stream" + i, "time --fixed-delay=" + i + " | log"));
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		this.dataSource.shutdown();
+	}
+
+	/**
+	 * Pages the way the repository used to, detecting the database type and building the
+	 * paging query provider for every page.
+	 */
+	@Benchmark
+	public Page<StreamDefinition> providerPerPage() throws Exception {
+		SqlPagingQueryProviderFactoryBean factoryBean = new SqlPagingQueryProviderFactoryBean();
+		factoryBean.setSelectClause(this.repository.selectClause);
+		factoryBean.setFromClause(this.repository.tableName);
+		LinkedHashMap<String, Order> sortKeys = new LinkedHashMap<>();
+		for (Sort.Order sortOrder : this.pageable.getSort()) {
+			sortKeys.put(sortOrder.getProperty(), sortOrder.isAscending() ? Order.ASCENDING : Order.DESCENDING);
+		}
+		factoryBean.setSortKeys(sortKeys);
+		factoryBean.setDataSource(this.dataSource);
+		PagingQueryProvider pagingQueryProvider = factoryBean.getObject();
+		pagingQueryProvider.init(this.dataSource);
+		List<StreamDefinition> content = this.repository.jdbcTemplate
+				.query(pagingQueryProvider.getPageQuery(this.pageable), this.repository.rowMapper);
+		return new PageImpl<>(content, this.pageable, this.repository.count());
+	}
+
+	@Benchmark
+	public Page<StreamDefinition> cachedProvider() {
+		return this.repository.findAll(this.pageable);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(PagingQueryProviderBenchmark.class.getSimpleName()).build()).run();
+	}
+}
@@ -16,6 +16,10 @@
 
 package org.springframework.cloud.dataflow.server.repository;
 
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
 import javax.sql.DataSource;
 
 import org.junit.Before;
@@ -26,10 +30,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoConfiguration;
 import org.springframework.boot.autoconfigure.jdbc.EmbeddedDataSourceConfiguration;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.dataflow.core.TaskDefinition;
 import org.springframework.cloud.dataflow.server.config.features.FeaturesProperties;
 import org.springframework.cloud.dataflow.server.repository.support.DataflowRdbmsInitializer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.junit4.SpringRunner;
 
@@ -56,6 +63,8 @@ public class RdbmsDeploymentIdRepositoryTests {
 		repository = new RdbmsDeploymentIdRepository(dataSource);
 		template = new JdbcTemplate(dataSource);
 		template.execute("DELETE FROM DEPLOYMENT_IDS");
+		template.execute("DELETE FROM STREAM_DEPLOYMENTS");
+		template.execute("DELETE FROM TASK_DEFINITIONS");
 	}
 
 	@Test
@@ -76,6 +85,88 @@ public class RdbmsDeploymentIdRepositoryTests {
 		assertNull(repository.findOne("key2"));
 	}
 
+	@Test
+	public void testDeleteByKeyPrefixAndId() {
+		repository.save("skipper:ticktock.time-v1", "ticktock");
+		repository.save("skipper:ticktock.log-v1", "ticktock");
+		repository.save("skipper:other.log-v1", "other");
+		repository.save("ticktock.log", "ticktock");
+
+		repository.deleteByKeyPrefixAndId("skipper:", "ticktock");
+
+		assertNull(repository.findOne("skipper:ticktock.time-v1"));
+		assertNull(repository.findOne("skipper:ticktock.log-v1"));
+		assertEquals("other", repository.findOne("skipper:other.log-v1"));
+		assertEquals("ticktock", repository.findOne("ticktock.log"));
+	}
+
+	@Test
+	public void testBatchSave() {
+		Map<String, String> keysToIds = new HashMap<>();
+		keysToIds.put("key1", "time.1");
+		keysToIds.put("key2", "log.0");
+		repository.save(keysToIds);
+
+		assertEquals("time.1", repository.findOne("key1"));
+		assertEquals("log.0", repository.findOne("key2"));
+	}
+
+	@Test
+	public void testFindIdsByKeys() {
+		repository.save("key1", "time.1");
+		repository.save("key2", "log.0");
+		repository.save("key3", "transform.0");
+
+		Map<String, String> ids = repository.findIdsByKeys(Arrays.asList("key1", "key3", "missing"));
+		assertEquals(2, ids.size());
+		assertEquals("time.1", ids.get("key1"));
+		assertEquals("transform.0", ids.get("key3"));
+	}
+
+	@Test
+	public void testFindStreamAppIds() {
+		template.update("INSERT INTO STREAM_DEPLOYMENTS (STREAM_NAME) VALUES (?)", "ticktock");
+		template.update("INSERT INTO STREAM_DEPLOYMENTS (STREAM_NAME) VALUES (?)", "tick");
+		repository.save("ticktock.time", "ticktock.time-1");
+		repository.save("ticktock.log", "ticktock.log-0");
+		repository.save("tick.transform", "tick.transform-0");
+		// a Skipper release name, an app of a stream no longer deployed and a task
+		repository.save(DeploymentKey.forSkipperDeploymentId("other.log-0"), "other");
+		repository.save("undeployed.log", "undeployed.log-0");
+		repository.save("timestamp.mytask", "mytask-0");
+
+		Page<String> page = repository.findStreamAppIds(new PageRequest(0, 2));
+		assertEquals(3, page.getTotalElements());
+		assertEquals(Arrays.asList("tick.transform-0", "ticktock.log-0"), page.getContent());
+		page = repository.findStreamAppIds(new PageRequest(1, 2));
+		assertEquals(3, page.getTotalElements());
+		assertEquals(Arrays.asList("ticktock.time-1"), page.getContent());
+	}
+
+	@Test
+	public void testFindStreamAppIdsMatchesUnderscoresLiterally() {
+		template.update("INSERT INTO STREAM_DEPLOYMENTS (STREAM_NAME) VALUES (?)", "my_stream");
+		repository.save("my_stream.log", "my_stream.log-0");
+		repository.save("myXstream.log", "myXstream.log-0");
+
+		Page<String> page = repository.findStreamAppIds(new PageRequest(0, 10));
+		assertEquals(1, page.getTotalElements());
+		assertEquals(Arrays.asList("my_stream.log-0"), page.getContent());
+	}
+
+	@Test
+	public void testFindStreamAppIdsLeavesOutTasksOfAppsNamedAfterStreams() {
+		template.update("INSERT INTO STREAM_DEPLOYMENTS (STREAM_NAME) VALUES (?)", "timestamp");
+		template.update("INSERT INTO TASK_DEFINITIONS (DEFINITION_NAME, DEFINITION) VALUES (?, ?)", "mytask",
+				"timestamp");
+		repository.save("timestamp.log", "timestamp.log-0");
+		repository.save(DeploymentKey.forTaskDefinition(new TaskDefinition("mytask", "timestamp")), "mytask-0");
+
+		Page<String> page = repository.findStreamAppIds(new PageRequest(0, 10));
+		assertEquals(1, page.getTotalElements());
+		assertEquals(Arrays.asList("timestamp.log-0"), page.getContent());
+	}
+
 	@Configuration
 	protected static class TestConfig {
 
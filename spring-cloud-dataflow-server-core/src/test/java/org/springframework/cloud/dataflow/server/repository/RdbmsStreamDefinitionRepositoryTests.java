@@ -18,6 +18,7 @@ package org.springframework.cloud.dataflow.server.repository;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import javax.sql.DataSource;
@@ -72,7 +73,7 @@ public class RdbmsStreamDefinitionRepositoryTests {
 	@Before
 	public void setup() throws Exception {
 		template = new JdbcTemplate(dataSource);
-		template.execute("DELETE FROM STREAM_DEFINITIONS");
+		repository.deleteAll();
 	}
 
 	@Test
@@ -89,6 +90,43 @@ public class RdbmsStreamDefinitionRepositoryTests {
 		assertEquals(definition3, repository.findOne("stream3"));
 	}
 
+	@Test
+	public void testUpdate() {
+		repository.save(new StreamDefinition("stream1", "time | log"));
+		repository.save(new StreamDefinition("stream2", "http | jdbc"));
+		StreamDefinition updated = new StreamDefinition("stream1", "time --fixed-delay=2 | log");
+
+		assertEquals(updated, repository.update(updated));
+		assertEquals(updated, repository.findOne("stream1"));
+		assertEquals(new StreamDefinition("stream2", "http | jdbc"), repository.findOne("stream2"));
+		assertEquals(2, repository.count());
+	}
+
+	@Test(expected = NoSuchStreamDefinitionException.class)
+	public void testUpdateMissing() {
+		repository.update(new StreamDefinition("stream1", "time | log"));
+	}
+
+	@Test
+	public void testFindRelatedStreamNames() {
+		repository.save(new StreamDefinition("stream1", "time | log"));
+		repository.save(new StreamDefinition("tap1", ":stream1.time > log"));
+		assertEquals(Collections.singleton("tap1"), repository.findRelatedStreamNames("stream1"));
+
+		repository.save(new StreamDefinition("tap2", ":stream1 > log"));
+		repository.update(new StreamDefinition("tap1", ":stream2.time > log"));
+		assertEquals(Collections.singleton("tap2"), repository.findRelatedStreamNames("stream1"));
+		assertEquals(Collections.singleton("tap1"), repository.findRelatedStreamNames("stream2"));
+
+		repository.delete("tap2");
+		assertTrue(repository.findRelatedStreamNames("stream1").isEmpty());
+
+		// definitions saved by another server
+		template.update("INSERT INTO STREAM_DEFINITIONS (DEFINITION_NAME, DEFINITION) VALUES (?, ?)", "tap3",
+				":stream1 > log");
+		assertEquals(Collections.singleton("tap3"), repository.findRelatedStreamNames("stream1"));
+	}
+
 	@Test
 	public void testFindAllNone() {
 		Pageable pageable = new PageRequest(1, 10);
@@ -564,6 +602,37 @@ public class RdbmsStreamDefinitionRepositoryTests {
 		assertEquals(page.getContent().size(), 5);
 	}
 
+	@Test
+	public void testSearchFindsRowsChangedByOthers() {
+		initializeRepository();
+		SearchPageable searchPageable = new SearchPageable(new PageRequest(0, 10), "stream");
+		searchPageable.addColumns("DEFINITION_NAME", "DEFINITION");
+		assertEquals(3, repository.search(searchPageable).getTotalElements());
+
+		StreamDefinitionRepository otherServer = new RdbmsStreamDefinitionRepository(dataSource);
+		otherServer.save(new StreamDefinition("stream4", "time | log"));
+		assertEquals(4, repository.search(searchPageable).getTotalElements());
+
+		SearchPageable dslSearch = new SearchPageable(new PageRequest(0, 10), "transform");
+		dslSearch.addColumns("DEFINITION");
+		assertEquals(0, repository.search(dslSearch).getTotalElements());
+		otherServer.update(new StreamDefinition("stream4", "time | transform | log"));
+		assertEquals(Collections.singletonList(new StreamDefinition("stream4", "time | transform | log")),
+				repository.search(dslSearch).getContent());
+	}
+
+	@Test
+	public void testSearchFindsRowsSavedThroughTheRepository() {
+		SearchPageable searchPageable = new SearchPageable(new PageRequest(0, 10), "stream");
+		searchPageable.addColumns("DEFINITION_NAME");
+		assertEquals(0, repository.search(searchPageable).getTotalElements());
+
+		repository.save(new StreamDefinition("stream1", "time | log"));
+		assertEquals(1, repository.search(searchPageable).getTotalElements());
+		repository.delete("stream1");
+		assertEquals(0, repository.search(searchPageable).getTotalElements());
+	}
+
 	private void findAllUsingSearchPageable(SearchPageable searchPageable, String[] expectedOrder) {
 
 		assertFalse(repository.findAll().iterator().hasNext());
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.dataflow.server.repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.explore.support.JobExplorerFactoryBean;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.repository.support.JobRepositoryFactoryBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RdbmsTaskBatchRepositoryTests {
+
+	/**
+	 * More than fit in a single IN clause.
+	 */
+	private static final int TASK_EXECUTIONS = 1500;
+
+	private EmbeddedDatabase dataSource;
+
+	private JdbcTemplate jdbcTemplate;
+
+	private TaskBatchRepository repository;
+
+	@Before
+	public void setup() {
+		this.dataSource = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true)
+				.addScript("classpath:org/springframework/batch/core/schema-h2.sql")
+				.addScript("classpath:org/springframework/cloud/task/schema-h2.sql")
+				.build();
+		this.jdbcTemplate = new JdbcTemplate(this.dataSource);
+		this.repository = new RdbmsTaskBatchRepository(this.dataSource);
+		List<Object[]> taskExecutions = new ArrayList<>();
+		List<Object[]> taskBatches = new ArrayList<>();
+		for (long id = 1; id <= TASK_EXECUTIONS; id++) {
+			taskExecutions.add(new Object[] { id, "task" + id });
+			taskBatches.add(new Object[] { id, id + 10000 });
+		}
+		this.jdbcTemplate.batchUpdate("INSERT INTO TASK_EXECUTION (TASK_EXECUTION_ID, TASK_NAME) VALUES (?, ?)",
+				taskExecutions);
+		this.jdbcTemplate.batchUpdate(
+				"INSERT INTO TASK_TASK_BATCH (TASK_EXECUTION_ID, JOB_EXECUTION_ID) VALUES (?, ?)", taskBatches);
+	}
+
+	@After
+	public void tearDown() {
+		this.dataSource.shutdown();
+	}
+
+	@Test
+	public void taskExecutionIdsAreFoundByJobExecutionId() {
+		List<Long> jobExecutionIds = new ArrayList<>();
+		for (long id = 1; id <= TASK_EXECUTIONS; id++) {
+			jobExecutionIds.add(id + 10000);
+		}
+		jobExecutionIds.add(99999L);
+
+		Map<Long, Long> taskExecutionIds = this.repository.findTaskExecutionIds(jobExecutionIds);
+
+		assertThat(taskExecutionIds).hasSize(TASK_EXECUTIONS);
+		assertThat(taskExecutionIds).containsEntry(10001L, 1L).containsEntry(11000L, 1000L)
+				.containsEntry(11001L, 1001L).containsEntry(11500L, 1500L).doesNotContainKey(99999L);
+	}
+
+	@Test
+	public void taskNamesAreFoundByTaskExecutionId() {
+		List<Long> taskExecutionIds = new ArrayList<>();
+		for (long id = 1; id <= TASK_EXECUTIONS; id++) {
+			taskExecutionIds.add(id);
+		}
+		taskExecutionIds.add(99999L);
+
+		Map<Long, String> taskNames = this.repository.findTaskNames(taskExecutionIds);
+
+		assertThat(taskNames).hasSize(TASK_EXECUTIONS);
+		assertThat(taskNames).containsEntry(1L, "task1").containsEntry(1001L, "task1001")
+				.containsEntry(1500L, "task1500").doesNotContainKey(99999L);
+	}
+
+	@Test
+	public void noIdsQueryNothing() {
+		assertThat(this.repository.findTaskExecutionIds(Collections.emptyList())).isEmpty();
+		assertThat(this.repository.findTaskNames(Collections.emptyList())).isEmpty();
+		this.repository.addStepExecutions(Collections.emptyList());
+	}
+
+	@Test
+	public void tablesWithNonDefaultPrefixesAreRead() {
+		this.jdbcTemplate.execute("CREATE TABLE MY_TASK_EXECUTION AS SELECT * FROM TASK_EXECUTION WHERE 1 = 0");
+		this.jdbcTemplate.execute("CREATE TABLE MY_TASK_TASK_BATCH AS SELECT * FROM TASK_TASK_BATCH WHERE 1 = 0");
+		this.jdbcTemplate.execute(
+				"CREATE TABLE MY_BATCH_STEP_EXECUTION AS SELECT * FROM BATCH_STEP_EXECUTION WHERE 1 = 0");
+		this.jdbcTemplate.update("INSERT INTO MY_TASK_EXECUTION (TASK_EXECUTION_ID, TASK_NAME) VALUES (1, 'mytask')");
+		this.jdbcTemplate.update("INSERT INTO MY_TASK_TASK_BATCH (TASK_EXECUTION_ID, JOB_EXECUTION_ID) VALUES (1, 5)");
+		TaskBatchRepository prefixedRepository = new RdbmsTaskBatchRepository(this.dataSource, "MY_TASK_",
+				"MY_BATCH_");
+
+		assertThat(prefixedRepository.findTaskExecutionIds(Arrays.asList(5L, 10001L))).containsOnlyKeys(5L)
+				.containsEntry(5L, 1L);
+		assertThat(prefixedRepository.findTaskNames(Arrays.asList(1L, 2L))).containsOnlyKeys(1L)
+				.containsEntry(1L, "mytask");
+		JobExecution jobExecution = new JobExecution(10001L);
+		prefixedRepository.addStepExecutions(Collections.singletonList(jobExecution));
+		assertThat(jobExecution.getStepExecutions()).isEmpty();
+	}
+
+	@Test
+	public void stepExecutionsAreMappedAsSpringBatchDoes() throws Exception {
+		JobRepositoryFactoryBean jobRepositoryFactoryBean = new JobRepositoryFactoryBean();
+		jobRepositoryFactoryBean.setDataSource(this.dataSource);
+		jobRepositoryFactoryBean.setTransactionManager(new DataSourceTransactionManager(this.dataSource));
+		jobRepositoryFactoryBean.afterPropertiesSet();
+		JobRepository jobRepository = jobRepositoryFactoryBean.getObject();
+		JobExecution completed = createJobExecution(jobRepository, "completed", "step1", "step2");
+		JobExecution failed = createJobExecution(jobRepository, "failed", "step1");
+		JobExecution withoutSteps = createJobExecution(jobRepository, "withoutSteps");
+
+		List<JobExecution> jobExecutions = Arrays.asList(new JobExecution(completed.getId()),
+				new JobExecution(failed.getId()), new JobExecution(withoutSteps.getId()));
+		this.repository.addStepExecutions(jobExecutions);
+
+		JobExplorerFactoryBean jobExplorerFactoryBean = new JobExplorerFactoryBean();
+		jobExplorerFactoryBean.setDataSource(this.dataSource);
+		jobExplorerFactoryBean.afterPropertiesSet();
+		JobExplorer jobExplorer = jobExplorerFactoryBean.getObject();
+		for (JobExecution jobExecution : jobExecutions) {
+			List<StepExecution> expected = new ArrayList<>(
+					jobExplorer.getJobExecution(jobExecution.getId()).getStepExecutions());
+			List<StepExecution> actual = new ArrayList<>(jobExecution.getStepExecutions());
+			assertThat(actual).hasSameSizeAs(expected);
+			for (int i = 0; i < expected.size(); i++) {
+				assertThat(actual.get(i).getJobExecution()).isSameAs(jobExecution);
+				assertThat(actual.get(i)).isEqualToComparingOnlyGivenFields(expected.get(i), "id", "stepName",
+						"startTime", "endTime", "status", "commitCount", "readCount", "filterCount", "writeCount",
+						"exitStatus", "readSkipCount", "writeSkipCount", "processSkipCount", "rollbackCount",
+						"lastUpdated", "version");
+			}
+		}
+		assertThat(jobExecutions.get(0).getStepExecutions()).extracting("stepName").containsExactly("step1",
+				"step2");
+		assertThat(jobExecutions.get(1).getStepExecutions()).extracting("status")
+				.containsExactly(BatchStatus.FAILED);
+		assertThat(jobExecutions.get(2).getStepExecutions()).isEmpty();
+	}
+
+	private JobExecution createJobExecution(JobRepository jobRepository, String jobName, String... stepNames)
+			throws Exception {
+		JobExecution jobExecution = jobRepository.createJobExecution(jobName, new JobParameters());
+		int count = 0;
+		for (String stepName : stepNames) {
+			StepExecution stepExecution = jobExecution.createStepExecution(stepName);
+			stepExecution.setStartTime(new Date());
+			jobRepository.add(stepExecution);
+			count++;
+			stepExecution.setReadCount(10 * count);
+			stepExecution.setWriteCount(9 * count);
+			stepExecution.setFilterCount(count);
+			stepExecution.setCommitCount(2 * count);
+			stepExecution.setRollbackCount(count);
+			stepExecution.setReadSkipCount(count);
+			stepExecution.setWriteSkipCount(count);
+			stepExecution.setProcessSkipCount(count);
+			stepExecution.setEndTime(new Date());
+			if ("failed".equals(jobName)) {
+				stepExecution.setStatus(BatchStatus.FAILED);
+				stepExecution.setExitStatus(ExitStatus.FAILED.addExitDescription("step failed"));
+			}
+			else {
+				stepExecution.setStatus(BatchStatus.COMPLETED);
+				stepExecution.setExitStatus(ExitStatus.COMPLETED);
+			}
+			jobRepository.update(stepExecution);
+		}
+		return jobExecution;
+	}
+
+}
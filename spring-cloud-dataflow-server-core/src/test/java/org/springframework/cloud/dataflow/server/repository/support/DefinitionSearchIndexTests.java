@@ -0,0 +1,82 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.repository.support;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DefinitionSearchIndexTests {
+
+	private final DefinitionSearchIndex index = new DefinitionSearchIndex();
+
+	@Before
+	public void setup() {
+		index.add("ticktock", "time | log");
+		index.add("httpIngest", "http --port=9000 | jdbc");
+		index.add("tap", ":ticktock.time > log --level=WARN");
+	}
+
+	@Test
+	public void substringsOfTokensAreFound() {
+		assertThat(search("tock", true, true)).containsOnly("ticktock", "tap");
+		assertThat(search("INGEST", true, true)).containsOnly("httpIngest");
+		assertThat(search("900", true, true)).containsOnly("httpIngest");
+		assertThat(search("missing", true, true)).isEmpty();
+	}
+
+	@Test
+	public void queriesSpanningTokensAreFound() {
+		assertThat(search("time | log", true, true)).containsOnly("ticktock");
+		assertThat(search("ck.ti", true, true)).containsOnly("tap");
+		assertThat(search("|", true, true)).containsOnly("ticktock", "httpIngest");
+		assertThat(search("time log", true, true)).isEmpty();
+	}
+
+	@Test
+	public void queriesShorterThanATrigramAreFound() {
+		assertThat(search("9", true, true)).containsOnly("httpIngest");
+		assertThat(search("k.", true, true)).containsOnly("tap");
+		assertThat(search("", true, true)).containsOnly("ticktock", "httpIngest", "tap");
+	}
+
+	@Test
+	public void onlyRequestedColumnsAreSearched() {
+		assertThat(search("tick", true, false)).containsOnly("ticktock");
+		assertThat(search("tick", false, true)).containsOnly("tap");
+	}
+
+	@Test
+	public void replacedAndRemovedDefinitionsAreUnindexed() {
+		index.add("ticktock", "time | file");
+		assertThat(search("log", false, true)).containsOnly("tap");
+		assertThat(search("file", false, true)).containsOnly("ticktock");
+
+		index.remove("tap");
+		assertThat(search("log", true, true)).isEmpty();
+		assertThat(index.size()).isEqualTo(2);
+	}
+
+	private List<String> search(String query, boolean searchNames, boolean searchTexts) {
+		return index.search(query, searchNames, searchTexts).stream().map(DefinitionSearchIndex.Entry::getName)
+				.collect(Collectors.toList());
+	}
+}
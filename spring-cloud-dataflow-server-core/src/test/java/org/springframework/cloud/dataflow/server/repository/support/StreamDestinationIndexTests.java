@@ -0,0 +1,53 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.dataflow.server.repository.support;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+import org.springframework.cloud.dataflow.core.StreamDefinition;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StreamDestinationIndexTests {
+
+	@Test
+	public void destinationsAndTapsAreIndexedByStreamName() {
+		StreamDestinationIndex index = new StreamDestinationIndex(Arrays.asList(
+				new StreamDefinition("ticktock", "time | log"),
+				new StreamDefinition("tap", ":ticktock.time > log"),
+				new StreamDefinition("named", ":ticktock > log"),
+				new StreamDefinition("other", ":ticktocks > log")));
+
+		assertThat(index.findRelatedStreamNames("ticktock")).containsExactly("named", "tap");
+		assertThat(index.findRelatedStreamNames("ticktocks")).containsExactly("other");
+		assertThat(index.findRelatedStreamNames("tap")).isEmpty();
+	}
+
+	@Test
+	public void dottedStreamNamesAreIndexed() {
+		StreamDestinationIndex index = new StreamDestinationIndex(
+				Collections.singletonList(new StreamDefinition("tap", ":foo.bar.time > log")));
+
+		assertThat(index.findRelatedStreamNames("foo")).containsExactly("tap");
+		assertThat(index.findRelatedStreamNames("foo.bar")).containsExactly("tap");
+		assertThat(index.findRelatedStreamNames("foo.bar.time")).containsExactly("tap");
+		assertThat(index.findRelatedStreamNames("bar")).isEmpty();
+	}
+}
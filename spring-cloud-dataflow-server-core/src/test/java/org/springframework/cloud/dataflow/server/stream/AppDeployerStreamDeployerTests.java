@@ -0,0 +1,99 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.dataflow.server.stream;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import org.springframework.cloud.dataflow.server.repository.DeploymentIdRepository;
+import org.springframework.cloud.dataflow.server.repository.StreamDefinitionRepository;
+import org.springframework.cloud.dataflow.server.repository.StreamDeploymentRepository;
+import org.springframework.cloud.deployer.resource.docker.DockerResource;
+import org.springframework.cloud.deployer.spi.app.AppDeployer;
+import org.springframework.cloud.deployer.spi.core.AppDefinition;
+import org.springframework.cloud.deployer.spi.core.AppDeploymentRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class AppDeployerStreamDeployerTests {
+
+	private final ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+
+	private AppDeployer appDeployer;
+
+	private DeploymentIdRepository deploymentIdRepository;
+
+	private AppDeployerStreamDeployer streamDeployer;
+
+	@Before
+	public void setup() {
+		this.appDeployer = mock(AppDeployer.class);
+		this.deploymentIdRepository = mock(DeploymentIdRepository.class);
+		this.streamDeployer = new AppDeployerStreamDeployer(this.appDeployer, this.deploymentIdRepository,
+				mock(StreamDefinitionRepository.class), mock(StreamDeploymentRepository.class), this.forkJoinPool);
+		this.streamDeployer.setParallelDeployment(true);
+	}
+
+	@After
+	public void tearDown() {
+		this.forkJoinPool.shutdownNow();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void deploymentIdsOfSuccessfulAppsAreSavedWhenAnAppFailsToDeploy() {
+		when(this.appDeployer.deploy(any(AppDeploymentRequest.class))).thenAnswer(invocation -> {
+			String name = invocation.getArgumentAt(0, AppDeploymentRequest.class).getDefinition().getName();
+			if ("filter".equals(name)) {
+				throw new IllegalStateException("filter failed to deploy");
+			}
+			return "ticktock." + name + "-id";
+		});
+		List<AppDeploymentRequest> requests = Arrays.asList(request("log"), request("filter"),
+				request("transform"), request("time"));
+
+		this.streamDeployer.deployStream(new StreamDeploymentRequest("ticktock", "time | transform | filter | log",
+				requests, Collections.emptyMap()));
+
+		verify(this.appDeployer, times(4)).deploy(any(AppDeploymentRequest.class));
+		ArgumentCaptor<Map> deploymentIds = ArgumentCaptor.forClass(Map.class);
+		verify(this.deploymentIdRepository).save(deploymentIds.capture());
+		assertThat((Map<String, String>) deploymentIds.getValue())
+				.containsOnlyKeys("ticktock.log", "ticktock.transform", "ticktock.time")
+				.containsEntry("ticktock.log", "ticktock.log-id")
+				.containsEntry("ticktock.transform", "ticktock.transform-id")
+				.containsEntry("ticktock.time", "ticktock.time-id");
+	}
+
+	private static AppDeploymentRequest request(String name) {
+		return new AppDeploymentRequest(new AppDefinition(name, Collections.emptyMap()),
+				new DockerResource("springcloudstream/" + name + "-kafka:1.3.0.RELEASE"));
+	}
+
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.dataflow.server.stream;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.cloud.deployer.spi.app.AppStatus;
+import org.springframework.cloud.deployer.spi.app.DeploymentState;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class AppStatusCacheTests {
+
+	private final ForkJoinPool forkJoinPool = new ForkJoinPool(2);
+
+	private Function<String, AppStatus> statusFetcher;
+
+	private List<String> deployedAppIds;
+
+	private AppStatusCache cache;
+
+	@Before
+	@SuppressWarnings("unchecked")
+	public void setup() {
+		this.statusFetcher = mock(Function.class);
+		when(this.statusFetcher.apply(anyString())).thenAnswer(
+				invocation -> AppStatus.of(invocation.getArgumentAt(0, String.class))
+						.generalState(DeploymentState.deployed).build());
+		this.deployedAppIds = new ArrayList<>();
+		// long interval, so that refreshes only happen when explicitly requested
+		this.cache = new AppStatusCache(this.statusFetcher, () -> this.deployedAppIds, this.forkJoinPool,
+				Long.MAX_VALUE);
+	}
+
+	@After
+	public void tearDown() {
+		this.cache.shutdown();
+		this.forkJoinPool.shutdownNow();
+	}
+
+	@Test
+	public void statusIsFetchedOnlyOnce() {
+		AppStatus status = this.cache.get("foo");
+		assertThat(this.cache.get("foo")).isSameAs(status);
+		verify(this.statusFetcher, times(1)).apply("foo");
+	}
+
+	@Test
+	public void fetchBypassesCache() {
+		AppStatus status = this.cache.get("foo");
+		AppStatus fetched = this.cache.fetch("foo");
+		assertThat(fetched).isNotSameAs(status);
+		assertThat(this.cache.getIfPresent("foo")).isSameAs(fetched);
+		verify(this.statusFetcher, times(2)).apply("foo");
+	}
+
+	@Test
+	public void invalidatedStatusIsFetchedAgain() {
+		this.cache.get("foo");
+		this.cache.invalidate(Collections.singleton("foo"));
+		assertThat(this.cache.getIfPresent("foo")).isNull();
+		this.cache.get("foo");
+		verify(this.statusFetcher, times(2)).apply("foo");
+	}
+
+	@Test
+	public void refreshTracksDeployedApps() {
+		this.cache.get("foo");
+		this.deployedAppIds.addAll(Arrays.asList("bar", "baz"));
+		this.cache.refresh();
+		assertThat(this.cache.getIfPresent("foo")).isNull();
+		assertThat(this.cache.getIfPresent("bar").getDeploymentId()).isEqualTo("bar");
+		assertThat(this.cache.getIfPresent("baz").getDeploymentId()).isEqualTo("baz");
+	}
+
+	@Test
+	public void statusInvalidatedDuringRefreshIsNotStored() {
+		this.deployedAppIds.addAll(Arrays.asList("foo", "bar"));
+		when(this.statusFetcher.apply("bar")).thenAnswer(invocation -> {
+			// the app is redeployed while its status is being queried
+			this.cache.invalidate(Collections.singleton("bar"));
+			return AppStatus.of("bar").generalState(DeploymentState.deployed).build();
+		}).thenAnswer(invocation -> AppStatus.of("bar").generalState(DeploymentState.deployed).build());
+		this.cache.refresh();
+		assertThat(this.cache.getIfPresent("foo")).isNotNull();
+		assertThat(this.cache.getIfPresent("bar")).isNull();
+
+		// later queries are stored again
+		this.cache.refresh();
+		assertThat(this.cache.getIfPresent("bar")).isNotNull();
+	}
+
+	@Test
+	public void statusInvalidatedBeforeFetchIsStored() {
+		this.cache.get("foo");
+		this.cache.invalidate(Collections.singleton("foo"));
+		AppStatus status = this.cache.fetch("foo");
+		assertThat(this.cache.getIfPresent("foo")).isSameAs(status);
+	}
+
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.dataflow.server.stream;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.junit.Test;
+import org.yaml.snakeyaml.Yaml;
+
+import org.springframework.cloud.skipper.domain.ConfigValues;
+import org.springframework.cloud.skipper.domain.Package;
+import org.springframework.cloud.skipper.domain.PackageMetadata;
+import org.springframework.cloud.skipper.domain.Template;
+import org.springframework.util.StreamUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InMemoryPackageWriterTests {
+
+	@Test
+	public void packageIsWrittenWithDependencies() throws IOException {
+		Package dependency = createPackage("log", "1.0.0");
+		ConfigValues configValues = new ConfigValues();
+		configValues.setRaw("version: 1.3.0.RELEASE\n");
+		dependency.setConfigValues(configValues);
+		Template template = new Template();
+		template.setName("template.yml");
+		template.setData("kind: SpringCloudDeployerApplication\n");
+		dependency.setTemplates(Collections.singletonList(template));
+		Package pkg = createPackage("ticktock", "1.0.0");
+		pkg.setDependencies(Collections.singletonList(dependency));
+
+		Map<String, String> entries = unzip(new InMemoryPackageWriter().write(pkg));
+
+		assertThat(entries).containsOnlyKeys("ticktock-1.0.0/", "ticktock-1.0.0/package.yml",
+				"ticktock-1.0.0/packages/", "ticktock-1.0.0/packages/log/", "ticktock-1.0.0/packages/log/package.yml",
+				"ticktock-1.0.0/packages/log/values.yml", "ticktock-1.0.0/packages/log/templates/",
+				"ticktock-1.0.0/packages/log/templates/template.yml");
+		assertThat(entries.get("ticktock-1.0.0/packages/log/values.yml")).isEqualTo("version: 1.3.0.RELEASE\n");
+		assertThat(entries.get("ticktock-1.0.0/packages/log/templates/template.yml"))
+				.isEqualTo("kind: SpringCloudDeployerApplication\n");
+		PackageMetadata metadata = new Yaml().loadAs(entries.get("ticktock-1.0.0/package.yml"),
+				PackageMetadata.class);
+		assertThat(metadata.getName()).isEqualTo("ticktock");
+		assertThat(metadata.getVersion()).isEqualTo("1.0.0");
+	}
+
+	private static Package createPackage(String name, String version) {
+		PackageMetadata metadata = new PackageMetadata();
+		metadata.setName(name);
+		metadata.setVersion(version);
+		Package pkg = new Package();
+		pkg.setMetadata(metadata);
+		return pkg;
+	}
+
+	private static Map<String, String> unzip(byte[] bytes) throws IOException {
+		Map<String, String> entries = new LinkedHashMap<>();
+		try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(bytes))) {
+			ZipEntry entry;
+			while ((entry = zip.getNextEntry()) != null) {
+				entries.put(entry.getName(), StreamUtils.copyToString(zip, StandardCharsets.UTF_8));
+			}
+		}
+		return entries;
+	}
+}
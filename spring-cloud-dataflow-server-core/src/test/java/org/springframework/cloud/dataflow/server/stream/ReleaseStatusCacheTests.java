@@ -0,0 +1,185 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.dataflow.server.stream;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.cloud.deployer.spi.app.AppStatus;
+import org.springframework.cloud.deployer.spi.app.DeploymentState;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ReleaseStatusCacheTests {
+
+	private final ForkJoinPool forkJoinPool = new ForkJoinPool(2);
+
+	private Function<String, List<AppStatus>> statusFetcher;
+
+	private List<String> releaseNames;
+
+	private ReleaseStatusCache cache;
+
+	@Before
+	@SuppressWarnings("unchecked")
+	public void setup() {
+		this.statusFetcher = mock(Function.class);
+		when(this.statusFetcher.apply(anyString())).thenAnswer(invocation -> {
+			String releaseName = invocation.getArgumentAt(0, String.class);
+			return Arrays.asList(status(releaseName + ".log-v1"), status(releaseName + ".time-v1"));
+		});
+		this.releaseNames = new ArrayList<>();
+		// statuses never expire, and are only refreshed when explicitly requested
+		this.cache = new ReleaseStatusCache(this.statusFetcher, () -> this.releaseNames, this.forkJoinPool,
+				Long.MAX_VALUE, 0);
+	}
+
+	@After
+	public void tearDown() {
+		this.cache.shutdown();
+		this.forkJoinPool.shutdownNow();
+	}
+
+	@Test
+	public void allStatusesAreOrderedByRelease() throws Exception {
+		this.releaseNames.addAll(Arrays.asList("ticktock2", "ticktock1"));
+		List<AppStatus> statuses = this.cache.getAll();
+		assertThat(statuses.stream().map(AppStatus::getDeploymentId).collect(toList())).containsExactly(
+				"ticktock1.log-v1", "ticktock1.time-v1", "ticktock2.log-v1", "ticktock2.time-v1");
+		this.cache.getAll();
+		verify(this.statusFetcher, times(1)).apply("ticktock1");
+		verify(this.statusFetcher, times(1)).apply("ticktock2");
+	}
+
+	@Test
+	public void invalidatedStatusesAreFetchedAgain() throws Exception {
+		this.releaseNames.add("ticktock1");
+		this.cache.getAll();
+		this.cache.invalidate("ticktock1");
+		this.cache.getAll();
+		verify(this.statusFetcher, times(2)).apply("ticktock1");
+	}
+
+	@Test
+	public void refreshTracksReleases() throws Exception {
+		this.releaseNames.add("ticktock1");
+		this.cache.getAll();
+		this.releaseNames.set(0, "ticktock2");
+		this.cache.refresh();
+		assertThat(this.cache.getAll()).hasSize(2);
+		verify(this.statusFetcher, times(1)).apply("ticktock1");
+		verify(this.statusFetcher, times(1)).apply("ticktock2");
+	}
+
+	@Test
+	public void expiredStatusesAreFetchedAgain() throws Exception {
+		this.cache = new ReleaseStatusCache(this.statusFetcher, () -> this.releaseNames, this.forkJoinPool, 0, 0);
+		this.releaseNames.add("ticktock1");
+		this.cache.getAll();
+		assertThat(this.cache.getIfPresent("ticktock1")).isNull();
+		this.cache.get("ticktock1");
+		verify(this.statusFetcher, times(2)).apply("ticktock1");
+	}
+
+	@Test
+	public void failedFetchIsNotCached() throws Exception {
+		this.releaseNames.add("ticktock1");
+		this.cache.getAll();
+		when(this.statusFetcher.apply("ticktock1")).thenThrow(new IllegalStateException("Skipper is down"));
+		try {
+			this.cache.fetch("ticktock1");
+			fail("Expected the failure to propagate");
+		}
+		catch (IllegalStateException e) {
+			assertThat(this.cache.getIfPresent("ticktock1")).hasSize(2);
+		}
+
+		this.cache.invalidate("ticktock1");
+		try {
+			this.cache.getAll();
+			fail("Expected the failure to propagate");
+		}
+		catch (ExecutionException e) {
+			assertThat(e.getCause()).isInstanceOf(IllegalStateException.class);
+			assertThat(this.cache.getIfPresent("ticktock1")).isNull();
+		}
+	}
+
+	@Test
+	public void failedRefreshKeepsLastKnownStatuses() throws Exception {
+		this.releaseNames.addAll(Arrays.asList("ticktock1", "ticktock2"));
+		this.cache.getAll();
+		when(this.statusFetcher.apply("ticktock1")).thenThrow(new IllegalStateException("Skipper is down"));
+		this.cache.refresh();
+		assertThat(this.cache.getAll()).hasSize(4);
+		verify(this.statusFetcher, times(2)).apply("ticktock1");
+		verify(this.statusFetcher, times(2)).apply("ticktock2");
+	}
+
+	@Test
+	public void statusesFetchedBeforeInvalidationAreDiscarded() throws Exception {
+		CountDownLatch fetching = new CountDownLatch(1);
+		CountDownLatch invalidated = new CountDownLatch(1);
+		when(this.statusFetcher.apply("ticktock1")).thenAnswer(invocation -> {
+			fetching.countDown();
+			invalidated.await();
+			return Collections.singletonList(status("ticktock1.log-v1"));
+		});
+		Future<List<AppStatus>> fetch = this.forkJoinPool.submit(() -> this.cache.fetch("ticktock1"));
+		fetching.await();
+		this.cache.invalidate("ticktock1");
+		invalidated.countDown();
+
+		assertThat(fetch.get()).hasSize(1);
+		assertThat(this.cache.getIfPresent("ticktock1")).isNull();
+		this.cache.fetch("ticktock1");
+		assertThat(this.cache.getIfPresent("ticktock1")).hasSize(1);
+	}
+
+	@Test
+	public void refreshSkipsReleasesNotDeployed() throws Exception {
+		when(this.statusFetcher.apply("undeployed")).thenReturn(Collections.emptyList());
+		this.releaseNames.addAll(Arrays.asList("ticktock1", "undeployed"));
+		assertThat(this.cache.getAll()).hasSize(2);
+		this.cache.refresh();
+		verify(this.statusFetcher, times(2)).apply("ticktock1");
+		verify(this.statusFetcher, times(1)).apply("undeployed");
+		assertThat(this.cache.getIfPresent("undeployed")).isNull();
+		assertThat(this.cache.getIfPresent("ticktock1")).hasSize(2);
+	}
+
+	private static AppStatus status(String deploymentId) {
+		return AppStatus.of(deploymentId).generalState(DeploymentState.deployed).build();
+	}
+}
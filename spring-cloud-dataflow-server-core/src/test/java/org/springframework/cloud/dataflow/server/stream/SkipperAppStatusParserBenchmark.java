@@ -0,0 +1,119 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.dataflow.server.stream;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.core.Version;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleAbstractTypeResolver;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import org.springframework.cloud.deployer.spi.app.AppInstanceStatus;
+import org.springframework.cloud.deployer.spi.app.AppStatus;
+
+/**
+ * Compares the ways of reading the platform status of a Skipper release made of 5 apps
+ * of 10 instances each. Run with the {@code main} method from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SkipperAppStatusParserBenchmark {
+
+	private static final int APPS = 5;
+
+	private static final int INSTANCES_PER_APP = 10;
+
+	private String platformStatus;
+
+	@Setup
+	public void setup() {
+		StringBuilder json = new StringBuilder("[");
+		for (int app = 0; app < APPS; app++) {
+			String deploymentId = "ticktock.app" + app + "-v1";
+			json.append(app > 0 ? "," : "").append("{\"deploymentId\":\"").append(deploymentId)
+					.append("\",\"instances\":{");
+			for (int instance = 0; instance < INSTANCES_PER_APP; instance++) {
+				String id = deploymentId + "-" + instance;
+				int port = 20000 + app * INSTANCES_PER_APP + instance;
+				json.append(instance > 0 ? "," : "").append('"').append(id).append("\":{\"instanceNumber\":")
+						.append(instance).append(",\"baseUrl\":\"http://192.168.1.100:").append(port)
+						.append("\",\"process\":{\"alive\":true,\"inputStream\":{},\"outputStream\":{},"
+								+ "\"errorStream\":{}},\"attributes\":{\"guid\":\"")
+						.append(port).append("\",\"pid\":\"").append(50000 + port).append("\",\"port\":\"")
+						.append(port).append("\",\"stdout\":\"/tmp/").append(id).append("/stdout_0.log\",")
+						.append("\"stderr\":\"/tmp/").append(id).append("/stderr_0.log\",")
+						.append("\"url\":\"http://192.168.1.100:").append(port).append("\",")
+						.append("\"working.dir\":\"/tmp/").append(id).append("\"},\"id\":\"").append(id)
+						.append("\",\"state\":\"deployed\"}");
+			}
+			json.append("},\"state\":\"deployed\"}");
+		}
+		this.platformStatus = json.append(']').toString();
+	}
+
+	/**
+	 * Data binding with a mapper configured on every call.
+	 */
+	@Benchmark
+	public List<AppStatus> objectMapperPerCall() throws IOException {
+		ObjectMapper mapper = new ObjectMapper();
+		mapper.addMixIn(AppStatus.class, AppStatusMixin.class);
+		mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+		SimpleModule module = new SimpleModule("CustomModel", Version.unknownVersion());
+		SimpleAbstractTypeResolver resolver = new SimpleAbstractTypeResolver();
+		resolver.addMapping(AppInstanceStatus.class, AppInstanceStatusImpl.class);
+		module.setAbstractTypes(resolver);
+		mapper.registerModule(module);
+		return mapper.readValue(this.platformStatus, new TypeReference<List<AppStatus>>() {
+		});
+	}
+
+	@Benchmark
+	public List<AppStatus> sharedObjectReader() throws IOException {
+		return SkipperAppStatusParser.bind(this.platformStatus);
+	}
+
+	@Benchmark
+	public List<AppStatus> streamingParser() throws IOException {
+		return SkipperAppStatusParser.parse(this.platformStatus);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(SkipperAppStatusParserBenchmark.class.getSimpleName()).build()).run();
+	}
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.dataflow.server.stream;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.Test;
+
+import org.springframework.cloud.deployer.spi.app.AppInstanceStatus;
+import org.springframework.cloud.deployer.spi.app.AppStatus;
+import org.springframework.cloud.deployer.spi.app.DeploymentState;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SkipperAppStatusParserTests {
+
+	private static final String PLATFORM_STATUS = "[{\"deploymentId\":\"ticktock.log-v1\","
+			+ "\"instances\":{\"ticktock.log-v1-0\":{\"instanceNumber\":0,\"id\":\"ticktock.log-v1-0\",\"state\":\"deployed\"}},"
+			+ "\"state\":\"deployed\"},"
+			+ "{\"deploymentId\":\"ticktock.time-v1\",\"instances\":{\"ticktock.time-v1-0\":{\"instanceNumber\":0,"
+			+ "\"baseUrl\":\"http://192.168.1.100:32451\","
+			+ "\"process\":{\"alive\":true,\"inputStream\":{},\"outputStream\":{},\"errorStream\":{}},"
+			+ "\"attributes\":{\"guid\":\"32451\",\"pid\":\"53492\",\"port\":\"32451\"},"
+			+ "\"id\":\"ticktock.time-v1-0\",\"state\":\"failed\"}},\"state\":\"partial\"}]";
+
+	@Test
+	public void parseReadsAppAndInstanceStatuses() throws IOException {
+		List<AppStatus> appStatuses = SkipperAppStatusParser.parse(PLATFORM_STATUS);
+		assertThat(appStatuses).hasSize(2);
+		assertThat(appStatuses.get(0).getDeploymentId()).isEqualTo("ticktock.log-v1");
+		assertThat(appStatuses.get(0).getState()).isEqualTo(DeploymentState.deployed);
+		assertThat(appStatuses.get(1).getState()).isEqualTo(DeploymentState.partial);
+		AppInstanceStatus instance = appStatuses.get(1).getInstances().get("ticktock.time-v1-0");
+		assertThat(instance.getState()).isEqualTo(DeploymentState.failed);
+		assertThat(instance.getAttributes()).containsEntry("guid", "32451").hasSize(3);
+	}
+
+	@Test
+	public void parseMatchesDataBinding() throws IOException {
+		List<AppStatus> parsed = SkipperAppStatusParser.parse(PLATFORM_STATUS);
+		List<AppStatus> bound = SkipperAppStatusParser.bind(PLATFORM_STATUS);
+		assertThat(parsed).hasSameSizeAs(bound);
+		for (int i = 0; i < parsed.size(); i++) {
+			assertThat(parsed.get(i).getDeploymentId()).isEqualTo(bound.get(i).getDeploymentId());
+			assertThat(parsed.get(i).getState()).isEqualTo(bound.get(i).getState());
+			assertThat(parsed.get(i).getInstances().keySet()).isEqualTo(bound.get(i).getInstances().keySet());
+			for (String id : parsed.get(i).getInstances().keySet()) {
+				AppInstanceStatus parsedInstance = parsed.get(i).getInstances().get(id);
+				AppInstanceStatus boundInstance = bound.get(i).getInstances().get(id);
+				assertThat(parsedInstance.getState()).isEqualTo(boundInstance.getState());
+				assertThat(parsedInstance.getAttributes()).isEqualTo(boundInstance.getAttributes());
+			}
+		}
+	}
+
+	@Test(expected = IOException.class)
+	public void parseRejectsInvalidStatus() throws IOException {
+		SkipperAppStatusParser.parse("{\"deploymentId\":\"ticktock.log-v1\"}");
+	}
+}
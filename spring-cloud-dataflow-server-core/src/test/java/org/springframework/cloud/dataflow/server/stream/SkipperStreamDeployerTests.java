@@ -17,27 +17,41 @@ package org.springframework.cloud.dataflow.server.stream;
 
 import java.net.MalformedURLException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ForkJoinPool;
 
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
 
+import org.springframework.cloud.dataflow.core.StreamDefinition;
 import org.springframework.cloud.dataflow.registry.support.ResourceUtils;
+import org.springframework.cloud.dataflow.server.repository.DeploymentIdRepository;
+import org.springframework.cloud.dataflow.server.repository.InMemoryDeploymentIdRepository;
 import org.springframework.cloud.dataflow.server.repository.StreamDefinitionRepository;
 import org.springframework.cloud.deployer.resource.docker.DockerResource;
 import org.springframework.cloud.deployer.resource.maven.MavenResource;
+import org.springframework.cloud.deployer.spi.app.DeploymentState;
+import org.springframework.cloud.skipper.ReleaseNotFoundException;
 import org.springframework.cloud.skipper.client.SkipperClient;
+import org.springframework.cloud.skipper.domain.Info;
 import org.springframework.cloud.skipper.domain.InstallRequest;
+import org.springframework.cloud.skipper.domain.Status;
 import org.springframework.cloud.skipper.domain.UploadRequest;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
 import org.springframework.hateoas.Resources;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -91,7 +105,7 @@ public class SkipperStreamDeployerTests {
 				skipperDeployerProperties);
 		SkipperClient skipperClient = mock(SkipperClient.class);
 		SkipperStreamDeployer skipperStreamDeployer = new SkipperStreamDeployer(skipperClient,
-				mock(StreamDefinitionRepository.class), mock(ForkJoinPool.class));
+				mock(StreamDefinitionRepository.class), mock(DeploymentIdRepository.class), mock(ForkJoinPool.class));
 		skipperStreamDeployer.deployStream(streamDeploymentRequest);
 		ArgumentCaptor<UploadRequest> uploadRequestCaptor = ArgumentCaptor.forClass(UploadRequest.class);
 		ArgumentCaptor<InstallRequest> installRequestCaptor = ArgumentCaptor.forClass(InstallRequest.class);
@@ -134,7 +148,7 @@ public class SkipperStreamDeployerTests {
 	public void testManifest() {
 		SkipperClient skipperClient = mock(SkipperClient.class);
 		SkipperStreamDeployer skipperStreamDeployer = new SkipperStreamDeployer(skipperClient,
-				mock(StreamDefinitionRepository.class), mock(ForkJoinPool.class));
+				mock(StreamDefinitionRepository.class), mock(DeploymentIdRepository.class), mock(ForkJoinPool.class));
 
 		skipperStreamDeployer.manifest("name", 666);
 
@@ -146,7 +160,7 @@ public class SkipperStreamDeployerTests {
 		SkipperClient skipperClient = mock(SkipperClient.class);
 		when(skipperClient.listDeployers()).thenReturn(new Resources<>(new ArrayList<>(), new ArrayList<>()));
 		SkipperStreamDeployer skipperStreamDeployer = new SkipperStreamDeployer(skipperClient,
-				mock(StreamDefinitionRepository.class), mock(ForkJoinPool.class));
+				mock(StreamDefinitionRepository.class), mock(DeploymentIdRepository.class), mock(ForkJoinPool.class));
 		skipperStreamDeployer.platformList();
 		verify(skipperClient, times(1)).listDeployers();
 	}
@@ -155,9 +169,163 @@ public class SkipperStreamDeployerTests {
 	public void testHistory() {
 		SkipperClient skipperClient = mock(SkipperClient.class);
 		SkipperStreamDeployer skipperStreamDeployer = new SkipperStreamDeployer(skipperClient,
-				mock(StreamDefinitionRepository.class), mock(ForkJoinPool.class));
+				mock(StreamDefinitionRepository.class), mock(DeploymentIdRepository.class), mock(ForkJoinPool.class));
 		skipperStreamDeployer.history("releaseName", 666);
 		verify(skipperClient).history(eq("releaseName"), eq("666"));
 	}
 
+	@Test
+	public void testAppStatusUsesReleaseIndex() {
+		SkipperClient skipperClient = mock(SkipperClient.class);
+		when(skipperClient.status("ticktock1")).thenReturn(info("ticktock1.time-v1", "ticktock1.log-v1"));
+		when(skipperClient.status("ticktock2")).thenReturn(info("ticktock2.time-v1", "ticktock2.log-v1"));
+		StreamDefinitionRepository streamDefinitionRepository = mock(StreamDefinitionRepository.class);
+		when(streamDefinitionRepository.findAll()).thenReturn(Arrays.asList(
+				new StreamDefinition("ticktock1", "time | log"), new StreamDefinition("ticktock2", "time | log")));
+		DeploymentIdRepository deploymentIdRepository = new InMemoryDeploymentIdRepository();
+
+		SkipperStreamDeployer skipperStreamDeployer = new SkipperStreamDeployer(skipperClient,
+				streamDefinitionRepository, deploymentIdRepository, mock(ForkJoinPool.class));
+		assertThat(skipperStreamDeployer.getAppStatus("ticktock2.log-v1").getDeploymentId())
+				.isEqualTo("ticktock2.log-v1");
+		verify(skipperClient).status("ticktock1");
+		assertThat(deploymentIdRepository.findOne("skipper:ticktock2.time-v1")).isEqualTo("ticktock2");
+
+		// a new deployer only relies on the persisted index
+		skipperClient = mock(SkipperClient.class);
+		when(skipperClient.status("ticktock2")).thenReturn(info("ticktock2.time-v1", "ticktock2.log-v1"));
+		skipperStreamDeployer = new SkipperStreamDeployer(skipperClient, streamDefinitionRepository,
+				deploymentIdRepository, mock(ForkJoinPool.class));
+		assertThat(skipperStreamDeployer.getAppStatus("ticktock2.time-v1").getDeploymentId())
+				.isEqualTo("ticktock2.time-v1");
+		verify(skipperClient, times(1)).status(anyString());
+
+		skipperStreamDeployer.undeployStream("ticktock2");
+		assertThat(deploymentIdRepository.findOne("skipper:ticktock2.time-v1")).isNull();
+		assertThat(deploymentIdRepository.findOne("skipper:ticktock2.log-v1")).isNull();
+		verify(skipperClient, never()).status("ticktock1");
+	}
+
+	@Test
+	public void testAppStatusFailureKeepsReleaseIndex() {
+		SkipperClient skipperClient = mock(SkipperClient.class);
+		when(skipperClient.status("ticktock1")).thenThrow(new IllegalStateException("Skipper is down"));
+		StreamDefinitionRepository streamDefinitionRepository = mock(StreamDefinitionRepository.class);
+		when(streamDefinitionRepository.findAll())
+				.thenReturn(Collections.singletonList(new StreamDefinition("ticktock1", "time | log")));
+		DeploymentIdRepository deploymentIdRepository = new InMemoryDeploymentIdRepository();
+		deploymentIdRepository.save("skipper:ticktock1.log-v1", "ticktock1");
+
+		SkipperStreamDeployer skipperStreamDeployer = new SkipperStreamDeployer(skipperClient,
+				streamDefinitionRepository, deploymentIdRepository, mock(ForkJoinPool.class));
+		try {
+			skipperStreamDeployer.getAppStatus("ticktock1.log-v1");
+			fail("Expected the Skipper failure to propagate");
+		}
+		catch (IllegalStateException e) {
+			assertThat(deploymentIdRepository.findOne("skipper:ticktock1.log-v1")).isEqualTo("ticktock1");
+		}
+	}
+
+	@Test
+	public void testUndeployForgetsPersistedAppsOfRelease() {
+		DeploymentIdRepository deploymentIdRepository = new InMemoryDeploymentIdRepository();
+		deploymentIdRepository.save("skipper:ticktock1.time-v1", "ticktock1");
+		deploymentIdRepository.save("skipper:ticktock1.log-v1", "ticktock1");
+		deploymentIdRepository.save("skipper:ticktock2.log-v1", "ticktock2");
+		deploymentIdRepository.save("ticktock1.log", "ticktock1");
+		SkipperClient skipperClient = mock(SkipperClient.class);
+
+		// a new deployer, that has not seen the apps of the release yet
+		SkipperStreamDeployer skipperStreamDeployer = new SkipperStreamDeployer(skipperClient,
+				mock(StreamDefinitionRepository.class), deploymentIdRepository, mock(ForkJoinPool.class));
+		skipperStreamDeployer.undeployStream("ticktock1");
+
+		verify(skipperClient).delete("ticktock1");
+		assertThat(deploymentIdRepository.findOne("skipper:ticktock1.time-v1")).isNull();
+		assertThat(deploymentIdRepository.findOne("skipper:ticktock1.log-v1")).isNull();
+		assertThat(deploymentIdRepository.findOne("skipper:ticktock2.log-v1")).isEqualTo("ticktock2");
+		assertThat(deploymentIdRepository.findOne("ticktock1.log")).isEqualTo("ticktock1");
+	}
+
+	@Test
+	public void testStateIsReusedUntilExpired() {
+		SkipperClient skipperClient = mock(SkipperClient.class);
+		when(skipperClient.status("ticktock1")).thenReturn(info("ticktock1.time-v1", "ticktock1.log-v1"));
+		when(skipperClient.status("ticktock2")).thenThrow(new ReleaseNotFoundException("ticktock2"));
+		SkipperStreamDeployer skipperStreamDeployer = new SkipperStreamDeployer(skipperClient,
+				mock(StreamDefinitionRepository.class), new InMemoryDeploymentIdRepository(),
+				mock(ForkJoinPool.class));
+		skipperStreamDeployer.setStatusConcurrency(2);
+		skipperStreamDeployer.setStateTtl(Long.MAX_VALUE / 2);
+		StreamDefinition ticktock1 = new StreamDefinition("ticktock1", "time | log");
+		StreamDefinition ticktock2 = new StreamDefinition("ticktock2", "time | log");
+		List<StreamDefinition> streamDefinitions = Arrays.asList(ticktock1, ticktock2);
+		try {
+			Map<StreamDefinition, DeploymentState> states = skipperStreamDeployer.state(streamDefinitions);
+			assertThat(states).hasSize(1).containsEntry(ticktock1, DeploymentState.deployed);
+			assertThat(skipperStreamDeployer.state(streamDefinitions)).isEqualTo(states);
+			verify(skipperClient, times(1)).status("ticktock1");
+			verify(skipperClient, times(1)).status("ticktock2");
+
+			assertThat(skipperStreamDeployer.state(streamDefinitions, true)).isEqualTo(states);
+			verify(skipperClient, times(2)).status("ticktock1");
+
+			skipperStreamDeployer.undeployStream("ticktock1");
+			skipperStreamDeployer.state(streamDefinitions);
+			verify(skipperClient, times(3)).status("ticktock1");
+			verify(skipperClient, times(2)).status("ticktock2");
+		}
+		finally {
+			skipperStreamDeployer.destroy();
+		}
+	}
+
+	@Test
+	public void testStatesNotKnownWithinTimeoutAreUnknown() {
+		CountDownLatch latch = new CountDownLatch(1);
+		SkipperClient skipperClient = mock(SkipperClient.class);
+		when(skipperClient.status(anyString())).thenAnswer(invocation -> {
+			latch.await();
+			return info(invocation.getArgumentAt(0, String.class) + ".log-v1");
+		});
+		SkipperStreamDeployer skipperStreamDeployer = new SkipperStreamDeployer(skipperClient,
+				mock(StreamDefinitionRepository.class), new InMemoryDeploymentIdRepository(),
+				mock(ForkJoinPool.class));
+		skipperStreamDeployer.setStatusConcurrency(1);
+		skipperStreamDeployer.setStatusTimeout(300);
+		List<StreamDefinition> streamDefinitions = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			streamDefinitions.add(new StreamDefinition("ticktock" + i, "time | log"));
+		}
+		try {
+			long start = System.currentTimeMillis();
+			Map<StreamDefinition, DeploymentState> states = skipperStreamDeployer.state(streamDefinitions);
+			// a single deadline for all calls, not one per call waiting for a thread
+			assertThat(System.currentTimeMillis() - start).isLessThan(1200);
+			assertThat(states).hasSize(5).containsValues(DeploymentState.unknown).doesNotContainValue(
+					DeploymentState.deployed);
+		}
+		finally {
+			latch.countDown();
+			skipperStreamDeployer.destroy();
+		}
+	}
+
+	private static Info info(String... deploymentIds) {
+		StringBuilder platformStatus = new StringBuilder("[");
+		for (String deploymentId : deploymentIds) {
+			if (platformStatus.length() > 1) {
+				platformStatus.append(',');
+			}
+			platformStatus.append("{\"deploymentId\":\"").append(deploymentId)
+					.append("\",\"instances\":{},\"state\":\"deployed\"}");
+		}
+		Status status = new Status();
+		status.setPlatformStatus(platformStatus.append(']').toString());
+		Info info = new Info();
+		info.setStatus(status);
+		return info;
+	}
+
 }